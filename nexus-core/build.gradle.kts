@@ -4,6 +4,7 @@ version = "1.0-SNAPSHOT"
 plugins {
     id("io.papermc.paperweight.userdev")
     id("io.freefair.lombok") version "8.11"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 repositories {
@@ -53,13 +54,35 @@ dependencies {
         include("*.jar")
     })
 
+    testImplementation(platform("org.junit:junit-bom:5.11.4"))
+    testImplementation("org.junit.jupiter:junit-jupiter")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+    // Publisher-Tests laufen gegen einen lokalen RESP-Server, brauchen also den echten Client
+    testImplementation("redis.clients:jedis:7.1.0") {
+        exclude(group = "com.google.code.gson", module = "gson")
+    }
 
 }
 
 java {
     toolchain.languageVersion.set(JavaLanguageVersion.of(21))
 }
+
+configurations.named("jmhImplementation") {
+    // Bukkit-API kommt über paperweight in testImplementation, die Benchmarks brauchen sie ebenso
+    extendsFrom(configurations.testImplementation.get())
+}
+
+jmh {
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+}
 tasks {
+    test {
+        useJUnitPlatform()
+    }
+
     processResources {
         from(sourceSets.main.get().resources.srcDirs()) {
             filesMatching("plugin.yml") {
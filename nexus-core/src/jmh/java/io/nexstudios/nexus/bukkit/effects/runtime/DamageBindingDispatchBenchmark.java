@@ -0,0 +1,145 @@
+package io.nexstudios.nexus.bukkit.effects.runtime;
+
+import io.nexstudios.nexus.bukkit.effects.NexusDamageEffect;
+import io.nexstudios.nexus.bukkit.effects.NexusDamageMultiplierEffect;
+import io.nexstudios.nexus.bukkit.effects.filters.DamageContext;
+import org.bukkit.entity.EntityType;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Outgoing damage dispatch for one event: the precomputed {@link DamageBindingIndex.Dispatch} array
+ * against the former listener path (seen-set, list split into additive/multiplier, lambda per event).
+ * Effects only count their calls; there are no filters and no MythicMobs ids, so only the selection
+ * and ordering is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DamageBindingDispatchBenchmark {
+
+    private static final EntityType[] TYPES = {
+            EntityType.ZOMBIE, EntityType.SKELETON, EntityType.CREEPER, EntityType.SPIDER,
+            EntityType.ENDERMAN, EntityType.WITCH, EntityType.BLAZE, EntityType.PIGLIN,
+            EntityType.COW, EntityType.SHEEP, EntityType.PIG, EntityType.CHICKEN,
+            EntityType.WOLF, EntityType.IRON_GOLEM, EntityType.SLIME, EntityType.PLAYER
+    };
+
+    @Param({"10", "100", "500"})
+    public int bindings;
+
+    private DamageBindingIndex index;
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        Map<EntityType, List<DamageBindingIndex.CompiledBinding>> perType = new EnumMap<>(EntityType.class);
+        List<DamageBindingIndex.CompiledBinding> generic = new ArrayList<>();
+        for (int i = 0; i < bindings; i++) {
+            NexusDamageEffect effect = (i % 4 == 0) ? new CountingMultiplier() : new CountingEffect();
+            if (i % 10 == 0) {
+                generic.add(new DamageBindingIndex.CompiledBinding(effect, true, Set.of(), Set.of(), List.of()));
+                continue;
+            }
+            // jede Binding matcht zwei Typen, damit Duplikate zwischen den Listen vorkommen
+            EntityType a = TYPES[i % TYPES.length];
+            EntityType b = TYPES[(i * 7) % TYPES.length];
+            var cb = new DamageBindingIndex.CompiledBinding(effect, false, a == b ? Set.of(a) : Set.of(a, b), Set.of(), List.of());
+            perType.computeIfAbsent(a, __ -> new ArrayList<>()).add(cb);
+            if (b != a) perType.computeIfAbsent(b, __ -> new ArrayList<>()).add(cb);
+        }
+        perType.replaceAll((k, v) -> List.copyOf(v));
+        index = new DamageBindingIndex(perType, List.copyOf(generic), Map.of(), List.of());
+    }
+
+    private EntityType nextType() {
+        return TYPES[cursor = (cursor + 1) & (TYPES.length - 1)];
+    }
+
+    @Benchmark
+    public void dispatch(Blackhole bh) {
+        EntityType type = nextType();
+        for (DamageBindingIndex.CompiledBinding cb : index.outgoingDispatch(type).bindings()) {
+            if (cb.matchAll || cb.mcTypes.contains(type)) {
+                cb.effect.onDamage(null);
+            }
+        }
+        bh.consume(CountingEffect.calls);
+    }
+
+    @Benchmark
+    public void legacyDispatch(Blackhole bh) {
+        EntityType type = nextType();
+        Set<DamageBindingIndex.CompiledBinding> seen = new HashSet<>();
+        legacyApply(index.outgoingForTargetType(type), type, seen);
+        legacyApply(index.outgoingGeneric(), type, seen);
+        bh.consume(CountingEffect.calls);
+    }
+
+    // bisheriger Listener-Pfad ohne MythicMobs-Hook, sonst unverändert
+    private static void legacyApply(List<DamageBindingIndex.CompiledBinding> list, EntityType type,
+                                    Set<DamageBindingIndex.CompiledBinding> seen) {
+        if (list == null || list.isEmpty()) return;
+
+        List<DamageBindingIndex.CompiledBinding> nonMultipliers = new ArrayList<>();
+        List<DamageBindingIndex.CompiledBinding> multipliers = new ArrayList<>();
+
+        for (var cb : list) {
+            if (!seen.add(cb)) continue;
+
+            if (cb.effect instanceof NexusDamageMultiplierEffect) {
+                multipliers.add(cb);
+            } else {
+                nonMultipliers.add(cb);
+            }
+        }
+
+        DamageContext ctx = new DamageContext(null);
+
+        Consumer<DamageBindingIndex.CompiledBinding> run = cb -> {
+            boolean mcMatch = !cb.mcTypes.isEmpty() && cb.mcTypes.contains(type);
+            boolean baseMatch = cb.matchAll || mcMatch;
+            if (!baseMatch) return;
+
+            if (!cb.filters.isEmpty()) {
+                for (var f : cb.filters) {
+                    if (!f.test(ctx)) return;
+                }
+            }
+
+            cb.effect.onDamage(null);
+        };
+
+        for (var cb : nonMultipliers) run.accept(cb);
+        for (var cb : multipliers) run.accept(cb);
+    }
+
+    private static class CountingEffect implements NexusDamageEffect {
+        static long calls;
+
+        @Override
+        public void onDamage(EntityDamageByEntityEvent event) {
+            calls++;
+        }
+    }
+
+    private static final class CountingMultiplier extends CountingEffect implements NexusDamageMultiplierEffect {
+    }
+}
@@ -0,0 +1,131 @@
+package io.nexstudios.nexus.bukkit.levels;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Level lookup from total XP: {@link LevelDefinition} (prefix sums + binary search, in place)
+ * against the former {@code NexLevel#recalcFromTotal} (threshold array rebuilt per call, linear scan).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LevelCurveBenchmark {
+
+    private static final int SAMPLES = 1024;
+
+    @Param({"100", "1000", "10000"})
+    public int levels;
+
+    private LevelDefinition definition;
+    private double[] totals;
+    private int[] targetLevels;
+    private LevelProgress target;
+    private int cursor;
+
+    private final UUID playerId = UUID.randomUUID();
+    private final LevelKey key = new LevelKey("nexus", "benchmark");
+
+    @Setup
+    public void setup() {
+        List<Double> needed = new ArrayList<>(levels);
+        for (int i = 0; i < levels; i++) {
+            needed.add(100.0d + i * 12.5d);
+        }
+        definition = new LevelDefinition(needed);
+
+        // Zufällige Gesamt-XP über die ganze Kurve (inkl. etwas über Max-Level)
+        SplittableRandom random = new SplittableRandom(42L);
+        double max = definition.totalXpFor(levels) * 1.05d;
+        totals = new double[SAMPLES];
+        targetLevels = new int[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            totals[i] = random.nextDouble(max);
+            targetLevels[i] = random.nextInt(levels + 1);
+        }
+        target = new LevelProgress(playerId, key, 0, 0.0d, 0.0d, 0);
+    }
+
+    private int next() {
+        return cursor = (cursor + 1) & (SAMPLES - 1);
+    }
+
+    @Benchmark
+    public LevelProgress legacyRecalcFromTotal() {
+        return legacyRecalcFromTotal(playerId, key, totals[next()], definition);
+    }
+
+    @Benchmark
+    public LevelProgress applyTotal() {
+        definition.applyTotal(target, totals[next()]);
+        return target;
+    }
+
+    @Benchmark
+    public double legacyTotalXpForLevel() {
+        return legacyTotalXpForLevel(definition, targetLevels[next()]);
+    }
+
+    @Benchmark
+    public double totalXpFor() {
+        return definition.totalXpFor(targetLevels[next()]);
+    }
+
+    // ---- bisherige Implementierung aus NexLevel, unverändert übernommen ----
+
+    private static double legacyTotalXpForLevel(LevelDefinition def, int level) {
+        double sum = 0.0d;
+        for (int i = 1; i <= level; i++) {
+            sum += def.requirementFor(i);
+        }
+        return sum;
+    }
+
+    private static LevelProgress legacyRecalcFromTotal(UUID playerId, LevelKey key, double totalXp, LevelDefinition def) {
+        if (totalXp < 0.0d) {
+            totalXp = 0.0d;
+        }
+
+        List<Double> perLevelList = def.neededExp();
+        int max = perLevelList.size();
+
+        double[] thresholds = new double[max];
+        double sum = 0.0d;
+        for (int i = 0; i < max; i++) {
+            sum += perLevelList.get(i);
+            thresholds[i] = sum;
+        }
+
+        int level = 0;
+
+        for (int i = 0; i < max; i++) {
+            if (totalXp + 1e-9 >= thresholds[i]) {
+                level = i + 1;
+            } else {
+                break;
+            }
+        }
+
+        double xpInLevel;
+        if (level == 0) {
+            xpInLevel = totalXp;
+        } else {
+            double thresholdForLevel = thresholds[level - 1];
+            xpInLevel = totalXp - thresholdForLevel;
+        }
+
+        return new LevelProgress(playerId, key, level, xpInLevel, totalXp, 0);
+    }
+}
@@ -0,0 +1,160 @@
+package io.nexstudios.nexus.bukkit.levels;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 500 players quitting at once: every quit drains the player's dirty entries (the work of
+ * {@code NexLevel#flushPlayer}) on a pool of worker threads, while other dirty players wait
+ * for the next periodic flush. {@link LevelCache} (per-player node) against the former global
+ * {@code dirtyQueue}/{@code dirtyIndex} pair, whose quit scanned every queued entry.
+ * <p>
+ * The caches are refilled before every invocation; one invocation is a whole burst.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LevelQuitBurstBenchmark {
+
+    private static final int KEYS_PER_PLAYER = 4;
+
+    @Param({"500"})
+    public int quits;
+
+    // weitere Spieler mit Dirty-Einträgen, die nicht quitten (z.B. während eines Events)
+    @Param({"0", "5000"})
+    public int bystanders;
+
+    @Param({"8"})
+    public int threads;
+
+    private final List<LevelKey> keys = new ArrayList<>();
+    private UUID[] quitting;
+    // Quitter gleichmäßig zwischen die Bystander gemischt, wie sie im Betrieb dirty werden
+    private UUID[] dirtyOrder;
+    private ExecutorService pool;
+
+    private LevelCache cache;
+    private LegacyDirtyQueue legacy;
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        for (int k = 0; k < KEYS_PER_PLAYER; k++) {
+            keys.add(new LevelKey("nexus", "skill" + k));
+        }
+        quitting = new UUID[quits];
+        for (int i = 0; i < quits; i++) {
+            quitting[i] = new UUID(1L, i);
+        }
+        int total = quits + bystanders;
+        dirtyOrder = new UUID[total];
+        int q = 0;
+        int b = 0;
+        for (int i = 0; i < total; i++) {
+            boolean quitterTurn = b >= bystanders || (q < quits && (long) q * total <= (long) i * quits);
+            dirtyOrder[i] = quitterTurn ? quitting[q++] : new UUID(2L, b++);
+        }
+        pool = Executors.newFixedThreadPool(threads);
+    }
+
+    @Setup(Level.Invocation)
+    public void fill() {
+        cache = new LevelCache();
+        legacy = new LegacyDirtyQueue();
+        for (UUID pid : dirtyOrder) {
+            for (LevelKey key : keys) {
+                LevelProgress p = new LevelProgress(pid, key, 3, 10.0d, 250.0d, 3);
+                cache.put(p);
+                cache.markDirty(p);
+                legacy.markDirty(new LevelProgress(pid, key, 3, 10.0d, 250.0d, 3));
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Benchmark
+    public int stripedCache() throws InterruptedException {
+        return burst(pid -> cache.drainPlayer(pid).size());
+    }
+
+    @Benchmark
+    public int legacyQueue() throws InterruptedException {
+        return burst(legacy::flushPlayer);
+    }
+
+    private interface Quit {
+        int drain(UUID playerId);
+    }
+
+    private int burst(Quit quit) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(quitting.length);
+        AtomicInteger drained = new AtomicInteger();
+        for (UUID pid : quitting) {
+            pool.execute(() -> {
+                drained.addAndGet(quit.drain(pid));
+                done.countDown();
+            });
+        }
+        done.await();
+        return drained.get();
+    }
+
+    /**
+     * Dirty tracking of {@code NexLevel} before the per-player cache nodes.
+     */
+    private static final class LegacyDirtyQueue {
+
+        private final ConcurrentMap<String, LevelProgress> dirtyIndex = new ConcurrentHashMap<>();
+        private final ConcurrentLinkedQueue<LevelProgress> dirtyQueue = new ConcurrentLinkedQueue<>();
+
+        private static String indexKey(LevelProgress p) {
+            return p.getPlayerId() + "|" + p.getKey();
+        }
+
+        void markDirty(LevelProgress p) {
+            LevelProgress prev = dirtyIndex.put(indexKey(p), p);
+            if (prev == null) {
+                dirtyQueue.add(p);
+            }
+        }
+
+        int flushPlayer(UUID playerId) {
+            List<LevelProgress> list = new ArrayList<>();
+            dirtyQueue.removeIf(p -> {
+                if (p.getPlayerId().equals(playerId)) {
+                    LevelProgress cur = dirtyIndex.remove(indexKey(p));
+                    if (cur != null) {
+                        list.add(cur);
+                    }
+                    return true;
+                }
+                return false;
+            });
+            return list.size();
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package io.nexstudios.nexus.bukkit.placeholder;
+
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.Nullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Typical menu, scoreboard and hologram lines: cached {@link PlaceholderTemplate}s (through
+ * {@link NexusPlaceholders#resolve(String)} and a held template) against the former
+ * {@code NexusPlaceholders#resolveInternal}, which rescanned the string, lower-cased and split
+ * every token and looked up the registry on each call, then rescanned the output for more tokens.
+ * <p>
+ * {@code ttl = 0} measures provider calls, {@code ttl = 60000} the value cache hit path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PlaceholderTemplateBenchmark {
+
+    private static final String NAMESPACE = "benchmark";
+
+    @Param({
+            "<gray>Balance: <yellow>#benchmark:balance# <gray>| Level <yellow>#benchmark:level#",
+            "#benchmark:name# <gray>- <red>#benchmark:kills# <gray>kills (##1 on #Benchmark:Server#)",
+            "<gray>Click to open the shop"
+    })
+    public String line;
+
+    @Param({"0", "60000"})
+    public long ttl;
+
+    private PlaceholderTemplate template;
+
+    @Setup
+    public void setup() {
+        Map<String, PlaceholderValue> values = Map.of(
+                "balance", PlaceholderValue.ofString("1,250,000"),
+                "level", PlaceholderValue.ofString("42"),
+                "name", PlaceholderValue.ofString("Notch"),
+                "kills", PlaceholderValue.ofString("1337"),
+                "server", PlaceholderValue.ofString("survival-1"));
+        NexPlaceholderProvider provider = new NexPlaceholderProvider() {
+            @Override
+            public @Nullable PlaceholderValue resolve(String key) {
+                return values.get(key);
+            }
+
+            @Override
+            public @Nullable PlaceholderValue resolve(Player player, String key) {
+                return values.get(key);
+            }
+        };
+        NexusPlaceholderRegistry.unregister(NAMESPACE);
+        NexusPlaceholderRegistry.addRegistration(new NexusPlaceholderRegistry.Registration(
+                null, NAMESPACE, provider, NexusPlaceholderRegistry.CachePolicy.of(ttl)));
+        template = PlaceholderTemplate.compile(line);
+
+        // beide Wege müssen dasselbe liefern, sonst misst der Vergleich nichts
+        if (!LegacyResolver.resolve(line).equals(template.render())) {
+            throw new IllegalStateException("Legacy and template output differ for: " + line);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        NexusPlaceholderRegistry.unregister(NAMESPACE);
+    }
+
+    @Benchmark
+    public String legacyScan() {
+        return LegacyResolver.resolve(line);
+    }
+
+    @Benchmark
+    public String cachedTemplate() {
+        return NexusPlaceholders.resolve(line);
+    }
+
+    @Benchmark
+    public String heldTemplate() {
+        return template.render();
+    }
+
+    /**
+     * String path of {@code NexusPlaceholders} before templates (player-less, as used above).
+     */
+    private static final class LegacyResolver {
+
+        private static final int MAX_DEPTH = 3;
+
+        static String resolve(String text) {
+            return resolveInternal(text, 0);
+        }
+
+        private static String resolveInternal(String input, int depth) {
+            if (input == null || input.isEmpty()) return input;
+            if (depth >= MAX_DEPTH) return unescapeHashes(input);
+
+            StringBuilder out = new StringBuilder(input.length());
+            int i = 0;
+            while (i < input.length()) {
+                char c = input.charAt(i);
+
+                // Escaped '#': "##" -> literal '#'
+                if (c == '#' && i + 1 < input.length() && input.charAt(i + 1) == '#') {
+                    out.append('#');
+                    i += 2;
+                    continue;
+                }
+
+                if (c == '#') {
+                    int end = findClosingHash(input, i + 1);
+                    if (end > i + 1) {
+                        String token = input.substring(i + 1, end);
+                        String replacement = resolveTokenToString(token);
+                        if (replacement != null) {
+                            out.append(replacement);
+                        } else {
+                            out.append('#').append(token).append('#');
+                        }
+                        i = end + 1;
+                        continue;
+                    }
+                }
+
+                out.append(c);
+                i++;
+            }
+
+            String result = out.toString();
+            if (containsUnescapedHash(result) && depth + 1 < MAX_DEPTH) {
+                // recursive pass if more tokens remain
+                return resolveInternal(result, depth + 1);
+            }
+            return result;
+        }
+
+        private static boolean containsUnescapedHash(String s) {
+            if (s == null || s.isEmpty()) return false;
+            for (int i = 0; i < s.length(); i++) {
+                if (s.charAt(i) == '#') {
+                    if (i + 1 < s.length() && s.charAt(i + 1) == '#') {
+                        i++; // skip escaped '##'
+                    } else {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        private static int findClosingHash(String s, int start) {
+            int i = start;
+            while (i < s.length()) {
+                char c = s.charAt(i);
+                if (c == '#') {
+                    if (i + 1 < s.length() && s.charAt(i + 1) == '#') {
+                        i += 2;
+                        continue;
+                    }
+                    return i;
+                }
+                i++;
+            }
+            return -1;
+        }
+
+        private static @Nullable String resolveTokenToString(String token) {
+            PlaceholderValue val = resolveToken(token);
+            if (val == null) return null;
+            return val.stringValue();
+        }
+
+        private static @Nullable PlaceholderValue resolveToken(String token) {
+            if (token == null || token.isEmpty()) return null;
+            String t = token.toLowerCase(Locale.ROOT).trim();
+            int idx = t.indexOf(':');
+            if (idx <= 0) return null;
+            String namespace = t.substring(0, idx).trim();
+            String key = t.substring(idx + 1).trim();
+            if (namespace.isEmpty() || key.isEmpty()) return null;
+
+            var regOpt = NexusPlaceholderRegistry.getRegistration(namespace);
+            if (regOpt.isEmpty()) return null;
+            var reg = regOpt.get();
+
+            long now = System.currentTimeMillis();
+            var cachedVal = NexusPlaceholderRegistry.getCached(namespace, key, null, now);
+            if (cachedVal != null) {
+                return cachedVal;
+            }
+
+            PlaceholderValue val = reg.provider().resolve(key);
+            if (val == null) {
+                String fb = reg.provider().fallback(null, key);
+                return fb != null ? PlaceholderValue.ofString(fb).cacheable(true) : null;
+            }
+
+            boolean cacheable = val.cacheable() && !reg.cachePolicy().isNonCacheable(key) && reg.provider().isCacheable(key);
+            long ttl = Optional.ofNullable(val.ttlMillisOverride())
+                    .or(() -> Optional.ofNullable(reg.provider().ttlMillis(key)))
+                    .or(() -> Optional.ofNullable(reg.cachePolicy().perKeyTtlMillis(key)))
+                    .orElse(reg.cachePolicy().defaultTtlMillis());
+            if (cacheable && ttl > 0) {
+                NexusPlaceholderRegistry.putCached(namespace, key, null, val.stringValue(), val.componentValue(), ttl, now);
+            }
+            return val;
+        }
+
+        private static String unescapeHashes(String s) {
+            if (s == null || s.isEmpty()) return s;
+            StringBuilder out = new StringBuilder(s.length());
+            int i = 0;
+            while (i < s.length()) {
+                if (s.charAt(i) == '#' && i + 1 < s.length() && s.charAt(i + 1) == '#') {
+                    out.append('#');
+                    i += 2;
+                } else {
+                    out.append(s.charAt(i));
+                    i++;
+                }
+            }
+            return out.toString();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package io.nexstudios.nexus.bukkit.redis;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode/decode of a level sync message with {@code entries} level types, plus a location and a
+ * string list, with the JSON and the binary codec.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NexusRedisCodecBenchmark {
+
+    @Param({"json", "binary"})
+    public String codecName;
+
+    @Param({"1", "10", "50"})
+    public int entries;
+
+    private NexusRedisCodec codec;
+    private NexusRedisMessage message;
+    private byte[] frame;
+
+    @Setup
+    public void setup() {
+        codec = NexusRedisCodecs.byName(codecName);
+
+        // Aufbau wie LevelRedisSync#publish, zusätzlich eine Location wie NexusRedisPayload#putLocation
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("player", UUID.randomUUID());
+        payload.put("count", entries);
+        for (int i = 0; i < entries; i++) {
+            payload.put("ns." + i, "nexus");
+            payload.put("key." + i, "skill_" + i);
+            payload.put("xp." + i, 12_345.678d * (i + 1));
+            payload.put("applied." + i, 10 + i);
+            payload.put("ver." + i, 1_000L + i);
+        }
+        NexusRedisLocation location = new NexusRedisLocation("world", 128.5, 64.0, -512.25, 90.0f, 15.0f);
+        payload.put("spawn", location);
+        location.putFlattened("spawn", payload);
+        payload.put("servers", List.of("lobby-1", "survival-1", "survival-2"));
+
+        message = new NexusRedisMessage("LEVEL_UPDATE", "survival-1", payload);
+        frame = codec.encode(message);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return codec.encode(message);
+    }
+
+    @Benchmark
+    public NexusRedisMessage decode() {
+        return codec.decode(frame);
+    }
+
+    @Benchmark
+    public NexusRedisMessage detectAndDecode() {
+        return NexusRedisCodecs.detect(frame).decode(frame);
+    }
+}
@@ -0,0 +1,246 @@
+package io.nexstudios.nexus.bukkit.utils.expression;
+
+import io.nexstudios.nexus.bukkit.utils.NexusStringMath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Stack;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Damage expression evaluation: a {@link NexusExpression} compiled once and evaluated over a
+ * primitive frame, against the former path (replace {@code #var#} in the string, then the old
+ * stack-based {@code NexusStringMath.evaluateExpression}) and the current one-off
+ * {@link NexusStringMath#evaluateExpression}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NexusExpressionBenchmark {
+
+    @Param({
+            "#damage# * 1.5",
+            "(#damage# + #level# * 2.5) * (1 + #crit# / 100) - 4",
+            "((#damage# ^ 1.1) / (#level# + 3) + #bonus# * 2 - (#armor# / 4)) * 0.95 + 1e1"
+    })
+    public String expression;
+
+    private static final Map<String, String> VARIABLES = Map.of(
+            "damage", "12.5",
+            "level", "37",
+            "crit", "25",
+            "bonus", "3.25",
+            "armor", "18"
+    );
+
+    private NexusExpression compiled;
+    private double[] frame;
+    private String resolved;
+
+    @Setup
+    public void setup() {
+        compiled = NexusExpression.compileUncached(expression);
+        List<String> names = compiled.variables();
+        frame = new double[names.size()];
+        for (int i = 0; i < frame.length; i++) {
+            frame[i] = Double.parseDouble(VARIABLES.get(names.get(i)));
+        }
+        resolved = substitute(expression);
+
+        // beide Wege müssen dasselbe Ergebnis liefern, sonst misst der Vergleich nichts
+        double expected = LegacyStringMath.evaluate(resolved);
+        double actual = compiled.evaluate(frame);
+        if (Math.abs(expected - actual) > 1e-9 * Math.max(1.0d, Math.abs(expected))) {
+            throw new IllegalStateException("Results differ for " + expression + ": " + expected + " vs " + actual);
+        }
+    }
+
+    // wie DamageValueCache vor dem Umbau: Variablen per String-Ersetzung einsetzen
+    private static String substitute(String expression) {
+        String out = expression;
+        for (Map.Entry<String, String> e : VARIABLES.entrySet()) {
+            out = out.replace("#" + e.getKey() + "#", e.getValue());
+        }
+        return out;
+    }
+
+    @Benchmark
+    public double legacySubstituteAndEvaluate() {
+        return LegacyStringMath.evaluate(substitute(expression));
+    }
+
+    @Benchmark
+    public double legacyEvaluateResolved() {
+        return LegacyStringMath.evaluate(resolved);
+    }
+
+    @Benchmark
+    public double evaluateExpressionResolved() {
+        return NexusStringMath.evaluateExpression(resolved);
+    }
+
+    @Benchmark
+    public double compiledEvaluate() {
+        return compiled.evaluate(frame);
+    }
+
+    @Benchmark
+    public double cachedCompileAndEvaluate() {
+        return NexusExpression.compile(expression).evaluate(frame);
+    }
+
+    /**
+     * Former {@code NexusStringMath} evaluator, copied unchanged.
+     */
+    private static final class LegacyStringMath {
+
+        private static double evaluate(String expression) {
+            expression = expression.replaceAll("\\s", "");
+
+            Stack<Double> numbers = new Stack<>();
+            Stack<Character> operators = new Stack<>();
+            int length = expression.length();
+
+            for (int i = 0; i < length; i++) {
+                char c = expression.charAt(i);
+
+                // Zahl (unterstützt: Dezimalpunkt, wissenschaftliche Notation mit e/E und optionalem +/-)
+                if (Character.isDigit(c) || c == '.' || isUnarySign(expression, i)) {
+                    StringBuilder buffer = new StringBuilder();
+
+                    // optionales Vorzeichen (unäres + oder -)
+                    if (isUnarySign(expression, i)) {
+                        buffer.append(c);
+                        i++;
+                        if (i >= length) break;
+                        c = expression.charAt(i);
+                    }
+
+                    boolean sawDigit = false;
+
+                    // Mantisse (Ziffern und Punkt)
+                    while (i < length && (Character.isDigit(expression.charAt(i)) || expression.charAt(i) == '.')) {
+                        buffer.append(expression.charAt(i));
+                        sawDigit = true;
+                        i++;
+                    }
+
+                    // Exponententeil: e/E[+/-]?Ziffern+
+                    if (i < length && (expression.charAt(i) == 'e' || expression.charAt(i) == 'E')) {
+                        int expStart = i;
+                        buffer.append(expression.charAt(i)); // e/E
+                        i++;
+
+                        if (i < length && (expression.charAt(i) == '+' || expression.charAt(i) == '-')) {
+                            buffer.append(expression.charAt(i));
+                            i++;
+                        }
+
+                        int expDigitsStart = i;
+                        while (i < length && Character.isDigit(expression.charAt(i))) {
+                            buffer.append(expression.charAt(i));
+                            i++;
+                        }
+                        // wenn keine Exponenten-Ziffern, rolle zurück (e als Operator wäre ungültig, deshalb zurücknehmen)
+                        if (i == expDigitsStart) {
+                            // kein gültiger Exponent, zurücksetzen auf Position vor e/E
+                            i = expStart;
+                            buffer.setLength(buffer.length() - 1); // e/E entfernen
+                        }
+                    }
+
+                    // Schleifenindex korrigieren, da for-Schleife i++ macht
+                    i--;
+
+                    if (!sawDigit) {
+                        throw new NumberFormatException("Ungültige Zahl in Ausdruck nahe Index " + i);
+                    }
+
+                    numbers.push(Double.parseDouble(buffer.toString()));
+                }
+                else if (c == '(') {
+                    operators.push(c);
+                }
+                else if (c == ')') {
+                    while (!operators.isEmpty() && operators.peek() != '(') {
+                        numbers.push(applyOperation(operators.pop(), numbers.pop(), numbers.pop()));
+                    }
+                    if (!operators.isEmpty() && operators.peek() == '(') {
+                        operators.pop();
+                    } else {
+                        throw new IllegalArgumentException("Fehlende öffnende Klammer");
+                    }
+                }
+                else if (isOperator(c)) {
+                    // Präzedenzregeln
+                    while (!operators.isEmpty() && precedence(c) <= precedence(operators.peek())) {
+                        char op = operators.peek();
+                        if (op == '(') break;
+                        numbers.push(applyOperation(operators.pop(), numbers.pop(), numbers.pop()));
+                    }
+                    operators.push(c);
+                }
+                else {
+                    throw new IllegalArgumentException("Unerwartetes Zeichen im Ausdruck: '" + c + "'");
+                }
+            }
+
+            while (!operators.isEmpty()) {
+                char op = operators.pop();
+                if (op == '(' || op == ')') {
+                    throw new IllegalArgumentException("Unausgeglichene Klammern");
+                }
+                numbers.push(applyOperation(op, numbers.pop(), numbers.pop()));
+            }
+
+            if (numbers.isEmpty()) {
+                throw new IllegalArgumentException("Leerer oder ungültiger Ausdruck");
+            }
+            return numbers.pop();
+        }
+
+        private static boolean isOperator(char c) {
+            return c == '+' || c == '-' || c == '*' || c == '/' || c == '^';
+        }
+
+        private static int precedence(char operator) {
+            return switch (operator) {
+                case '+', '-' -> 1;
+                case '*', '/' -> 2;
+                case '^' -> 3;
+                default -> 0;
+            };
+        }
+
+        private static double applyOperation(char operator, double b, double a) {
+            return switch (operator) {
+                case '+' -> a + b;
+                case '-' -> a - b;
+                case '*' -> a * b;
+                case '/' -> {
+                    if (b == 0) throw new ArithmeticException("Cant divide by zero");
+                    yield a / b;
+                }
+                case '^' -> Math.pow(a, b);
+                default -> 0;
+            };
+        }
+
+        // erkennt unäres +/-, z. B. am Anfang, nach '(', oder nach einem Operator
+        private static boolean isUnarySign(String expr, int i) {
+            char c = expr.charAt(i);
+            if (c != '+' && c != '-') return false;
+            if (i == 0) return true;
+            char prev = expr.charAt(i - 1);
+            return prev == '(' || isOperator(prev);
+        }
+    }
+}
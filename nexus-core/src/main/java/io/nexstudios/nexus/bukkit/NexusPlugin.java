@@ -20,7 +20,10 @@ import io.nexstudios.nexus.bukkit.database.model.DatabaseCredentials;
 import io.nexstudios.nexus.bukkit.effects.EffectBinding;
 import io.nexstudios.nexus.bukkit.effects.EffectFactory;
 import io.nexstudios.nexus.bukkit.effects.NexusEffectsApi;
+import io.nexstudios.nexus.bukkit.effects.cache.DamageValueCacheListener;
 import io.nexstudios.nexus.bukkit.effects.runtime.EffectBindingRegistry;
+import io.nexstudios.nexus.bukkit.effects.stats.StatPersistence;
+import io.nexstudios.nexus.bukkit.effects.stats.StatPersistenceListener;
 import io.nexstudios.nexus.bukkit.effects.trigger.EntityDamageTriggerListener;
 import io.nexstudios.nexus.bukkit.effects.vars.PlayerVariableResolver;
 import io.nexstudios.nexus.bukkit.fakebreak.FakeBreakAllBlocksListener;
@@ -45,13 +48,16 @@ import io.nexstudios.nexus.bukkit.levels.handler.LevelPreloadJoinListener;
 import io.nexstudios.nexus.bukkit.levels.impl.DefaultLevelService;
 import io.nexstudios.nexus.bukkit.levels.LevelService;
 import io.nexstudios.nexus.bukkit.levels.NexLevel;
+import io.nexstudios.nexus.bukkit.levels.LevelRedisSync;
 import io.nexstudios.nexus.bukkit.levels.impl.LevelActionListener;
 import io.nexstudios.nexus.bukkit.placeholder.NexusPlaceholderBootstrap;
 import io.nexstudios.nexus.bukkit.placeholder.NexusPlaceholderRegistry;
 import io.nexstudios.nexus.bukkit.platform.NexServices;
 import io.nexstudios.nexus.bukkit.player.events.NoMoreFeed;
 import io.nexstudios.nexus.bukkit.redis.JedisNexusRedisService;
+import io.nexstudios.nexus.bukkit.redis.NexusRedisApi;
 import io.nexstudios.nexus.bukkit.redis.NexusRedisBukkitRegistrar;
+import io.nexstudios.nexus.bukkit.redis.NexusRedisCodecs;
 import io.nexstudios.nexus.bukkit.redis.NexusRedisService;
 import io.nexstudios.nexus.bukkit.utils.BlockUtil;
 import io.nexstudios.nexus.bukkit.utils.NexusLogger;
@@ -120,6 +126,7 @@ public final class NexusPlugin extends JavaPlugin {
     public HikariDataSource hikariDataSource;
     private NexusDatabaseService nexusDatabaseService;
     private NexusRedisService redisService;
+    private LevelRedisSync levelSync;
 
     @Override
     public void onLoad() {
@@ -147,6 +154,11 @@ public final class NexusPlugin extends JavaPlugin {
         nexusLogger.info("Checking for third party hooks ...");
         checkForHooks();
         nexusLogger.info("Register internal and third party placeholders...");
+        NexusPlaceholderRegistry.CacheConfig placeholderCache = new NexusPlaceholderRegistry.CacheConfig();
+        placeholderCache.maxEntries = settingsFile.getInt("placeholders.cache.max-entries", placeholderCache.maxEntries);
+        placeholderCache.sweepIntervalMillis = settingsFile.getInt("placeholders.cache.sweep-interval-seconds", 30) * 1000L;
+        placeholderCache.refreshAhead = settingsFile.getBoolean("placeholders.cache.refresh-ahead", false);
+        NexusPlaceholderRegistry.configureCache(placeholderCache);
         NexusPlaceholderBootstrap.registerNexusPlaceholders(this);
         int internalPlaceholders = NexusPlaceholderRegistry.countKeys("nexus");
         nexusLogger.info("Registered <yellow>" + internalPlaceholders + "<reset> internal nexus placeholders.");
@@ -174,6 +186,7 @@ public final class NexusPlugin extends JavaPlugin {
         invService.registerNamespace(this.getName().toLowerCase(Locale.ROOT), inventoryFiles);
         nexusLogger.info("Initiate Nexus level system ...");
         registerLevelService();
+        registerStatPersistence();
 
         if (levelService != null) {
             try {
@@ -184,7 +197,12 @@ public final class NexusPlugin extends JavaPlugin {
             }
         }
 
-        nexHoloService = new NexHoloService(this);
+        NexHoloService.Config holoCfg = new NexHoloService.Config();
+        holoCfg.showRadiusChunks = settingsFile.getInt("holograms.show-radius-chunks", 4);
+        holoCfg.hideRadiusChunks = settingsFile.getInt("holograms.hide-radius-chunks", 5);
+        holoCfg.entriesPerTick = settingsFile.getInt("holograms.entries-per-tick", 64);
+        holoCfg.playersPerTick = settingsFile.getInt("holograms.players-per-tick", 16);
+        nexHoloService = new NexHoloService(this, holoCfg);
         nexusLogger.info("Nexus successfully enabled");
     }
 
@@ -196,10 +214,13 @@ public final class NexusPlugin extends JavaPlugin {
                 cfg.flushIntervalMillis = 300_000L; // 5 Minuten
                 cfg.batchSize = 500;
                 cfg.tableName = "nex_player_levels";
+                cfg.maxCachedPlayers = settingsFile.getInt("level-system.cache.max-players", 0);
+                cfg.idleExpireMillis = settingsFile.getInt("level-system.cache.idle-expire-seconds", 0) * 1000L;
                 NexLevel.init(this, dbService, cfg);
 
                 this.levelService = new DefaultLevelService(NexLevel.getInstance());
                 nexusLogger.info("LevelService initialized successfully.");
+                registerLevelSync();
             } else {
                 nexusLogger.error(List.of(
                         "NexusDatabaseService not available. LevelService not initialized."
@@ -211,6 +232,34 @@ public final class NexusPlugin extends JavaPlugin {
 
     }
 
+    private void registerStatPersistence() {
+        if (nexusDatabaseService == null || !settingsFile.getBoolean("stat-system.persistence.enable", false)) {
+            return;
+        }
+        StatPersistence.Config cfg = new StatPersistence.Config();
+        cfg.flushIntervalMillis = settingsFile.getInt("stat-system.persistence.flush-interval-seconds", 60) * 1000L;
+        StatPersistence.init(nexusDatabaseService, cfg);
+        nexusLogger.info("Stat level persistence initialized successfully.");
+    }
+
+    private void registerLevelSync() {
+        if (!isCrossServerEnabled() || !settingsFile.getBoolean("level-system.sync.enable", false)) {
+            return;
+        }
+        // nur registriert, wenn die Redis-Verbindung beim Start stand
+        NexusRedisService redis = NexusRedisApi.getService().orElse(null);
+        if (redis == null) {
+            nexusLogger.warning(List.of(
+                    "Level sync is enabled, but no connected NexusRedisService is available.",
+                    "Levels are only synchronized through the database."
+            ));
+            return;
+        }
+        long interval = settingsFile.getInt("level-system.sync.publish-interval-millis", 250);
+        levelSync = new LevelRedisSync(NexLevel.getInstance(), redis, getCrossServerName(), interval);
+        levelSync.start();
+    }
+
     public NexusLogger getNexusLogger() {
         return nexusLogger;
     }
@@ -221,7 +270,13 @@ public final class NexusPlugin extends JavaPlugin {
         nexusLogger.info("Write last backups in database ...");
         try {
             nexusLogger.info("Saving NexLevel data ...");
+            if (levelSync != null) {
+                levelSync.stop();
+                levelSync = null;
+            }
             NexLevel.shutdown();
+            nexusLogger.info("Saving stat levels ...");
+            StatPersistence.shutdown();
         } catch (Throwable e) {
             e.printStackTrace();
         }
@@ -350,7 +405,7 @@ public final class NexusPlugin extends JavaPlugin {
         if (this.abstractDatabase instanceof PooledDatabase pooled) {
             try {
                 this.hikariDataSource = (HikariDataSource) pooled.getDataSource();
-                this.nexusDatabaseService = new DefaultNexusDatabaseService(pooled.getDataSource());
+                this.nexusDatabaseService = new DefaultNexusDatabaseService(pooled.getDataSource(), pooled.getAsyncExecutor());
                 NexusDatabaseBukkitRegistrar.register(this, this.nexusDatabaseService);
                 nexusLogger.info("NexusDatabaseService registered successfully.");
             } catch (Exception e) {
@@ -443,6 +498,8 @@ public final class NexusPlugin extends JavaPlugin {
         Bukkit.getPluginManager().registerEvents(new NoMoreFeed(), this);
         Bukkit.getPluginManager().registerEvents(new NexInventoryClickListener(), this);
         Bukkit.getPluginManager().registerEvents(new LevelFlushListener(), this);
+        Bukkit.getPluginManager().registerEvents(new DamageValueCacheListener(), this);
+        Bukkit.getPluginManager().registerEvents(new StatPersistenceListener(), this);
         Bukkit.getPluginManager().registerEvents(blockUtil, this);
         Bukkit.getPluginManager().registerEvents(new FakeBreakAllBlocksListener(this), this);
         Bukkit.getPluginManager().registerEvents(new LevelCheckOnJoinListener(), this);
@@ -496,7 +553,17 @@ public final class NexusPlugin extends JavaPlugin {
                 String password = cfg.getString("redis.password", "");
                 int database = cfg.getInt("storage.redis.database", 0);
 
-                this.redisService = new JedisNexusRedisService(this, host, port, password, database);
+                JedisNexusRedisService.PublishConfig publishConfig = new JedisNexusRedisService.PublishConfig();
+                publishConfig.poolSize = cfg.getInt("redis.publisher.pool-size", publishConfig.poolSize);
+                publishConfig.flushWindowMillis = cfg.getLong("redis.publisher.flush-window-millis", publishConfig.flushWindowMillis);
+                publishConfig.maxBatchSize = cfg.getInt("redis.publisher.max-batch-size", publishConfig.maxBatchSize);
+                publishConfig.codec = NexusRedisCodecs.byName(cfg.getString("redis.publisher.codec", "json"));
+
+                JedisNexusRedisService.SubscribeConfig subscribeConfig = new JedisNexusRedisService.SubscribeConfig();
+                subscribeConfig.asyncDispatch = cfg.getBoolean("redis.subscriber.async-dispatch", subscribeConfig.asyncDispatch);
+                subscribeConfig.dispatchThreads = cfg.getInt("redis.subscriber.dispatch-threads", subscribeConfig.dispatchThreads);
+
+                this.redisService = new JedisNexusRedisService(this, host, port, password, database, publishConfig, subscribeConfig);
                 ((JedisNexusRedisService) this.redisService).start();
 
                 if (!redisService.isConnected()) {
@@ -0,0 +1,37 @@
+package io.nexstudios.nexus.bukkit.conditions;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A condition with its config already parsed, created once by {@link NexusCondition#compile(ConditionData)}.
+ * <p>
+ * Simple conditions only implement {@link #test(NexusConditionContext)}. Conditions that may have to
+ * wait for something (e.g. an offline LuckPerms lookup) report that through {@link #isAsync(NexusConditionContext)}
+ * and implement {@link #testAsync(NexusConditionContext)}.
+ */
+@FunctionalInterface
+public interface CompiledCondition {
+
+    /**
+     * Synchronous check. Only called by {@link CompiledConditionPlan} if {@link #isAsync(NexusConditionContext)} is false.
+     */
+    boolean test(NexusConditionContext context);
+
+    /**
+     * @return true if the check needs async work for this context
+     */
+    default boolean isAsync(NexusConditionContext context) {
+        return false;
+    }
+
+    default CompletableFuture<Boolean> testAsync(NexusConditionContext context) {
+        return CompletableFuture.completedFuture(test(context));
+    }
+
+    /**
+     * Condition with a fixed result, e.g. for invalid config that was already reported while compiling.
+     */
+    static CompiledCondition constant(boolean result) {
+        return context -> result;
+    }
+}
@@ -0,0 +1,217 @@
+package io.nexstudios.nexus.bukkit.conditions;
+
+import io.nexstudios.nexus.bukkit.NexusPlugin;
+import io.nexstudios.nexus.bukkit.actions.NexParams;
+import org.bukkit.Location;
+import org.bukkit.OfflinePlayer;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Immutable, pre-parsed condition list, created by {@link ConditionFactory#compile(List)}.
+ * <p>
+ * Every entry holds its {@link ConditionData} and {@link CompiledCondition}, so an evaluation does
+ * not copy or parse config anymore. {@link #test} runs fully synchronous and without futures;
+ * futures are only created for conditions that actually need async work.
+ * <p>
+ * Semantics are the same as the old condition chain: an empty list passes, a list without any
+ * valid condition fails, otherwise all conditions must pass. The first failing condition sends
+ * its message and stops the evaluation.
+ * <p>
+ * Entries with an id that is not registered yet stay in the plan and look the id up again after
+ * the next {@link ConditionFactory#registerCondition}, so conditions of plugins that register
+ * after the plan was compiled are still evaluated. Until then they are skipped.
+ */
+public final class CompiledConditionPlan {
+
+    /**
+     * Plan for a missing or empty condition list, always passes.
+     */
+    public static final CompiledConditionPlan EMPTY = new CompiledConditionPlan(new Entry[0], true);
+
+    static final class Entry {
+        private final String id;
+        private final ConditionData data;
+        private final ConditionFactory factory;
+        private volatile NexusCondition condition;
+        // null, solange die Id nicht registriert ist
+        private volatile CompiledCondition compiled;
+        // Registrierungsstand der Factory beim letzten erfolglosen Nachschlagen
+        private volatile int checkedGeneration;
+
+        Entry(String id, NexusCondition condition, ConditionData data, CompiledCondition compiled) {
+            this.id = id;
+            this.data = data;
+            this.factory = null;
+            this.condition = condition;
+            this.compiled = compiled;
+        }
+
+        /**
+         * Entry for an id that is not registered yet; resolved lazily by {@link #resolve()}.
+         */
+        Entry(String id, ConditionData data, ConditionFactory factory, int generation) {
+            this.id = id;
+            this.data = data;
+            this.factory = factory;
+            this.checkedGeneration = generation;
+        }
+
+        String id() {
+            return id;
+        }
+
+        ConditionData data() {
+            return data;
+        }
+
+        NexusCondition condition() {
+            return condition;
+        }
+
+        CompiledCondition compiled() {
+            return compiled;
+        }
+
+        /**
+         * @return {@code false} while the condition id is still not registered
+         */
+        boolean resolve() {
+            if (compiled != null) return true;
+            // nur nach einer neuen Registrierung erneut nachschlagen
+            int generation = factory.generation();
+            if (generation == checkedGeneration) return false;
+            synchronized (this) {
+                if (compiled != null) return true;
+                NexusCondition found = factory.getCondition(id);
+                if (found == null) {
+                    checkedGeneration = generation;
+                    return false;
+                }
+                CompiledCondition c = factory.compileCondition(id, found, data);
+                condition = found;
+                compiled = c;
+                NexusPlugin.nexusLogger.debug("Resolved condition " + id + " after late registration", 3);
+                return true;
+            }
+        }
+    }
+
+    private final Entry[] entries;
+    // Ergebnis ohne gültige Conditions: leere Liste -> true, nur ungültige Einträge -> false
+    private final boolean resultWithoutEntries;
+
+    CompiledConditionPlan(Entry[] entries, boolean resultWithoutEntries) {
+        this.entries = entries;
+        this.resultWithoutEntries = resultWithoutEntries;
+    }
+
+    /**
+     * @return number of conditions in this plan, including ids that are not registered yet
+     */
+    public int size() {
+        return entries.length;
+    }
+
+    public boolean isEmpty() {
+        return entries.length == 0;
+    }
+
+    /**
+     * Synchronous evaluation. Blocks only if a condition needs async work for this subject.
+     */
+    public boolean test(@Nullable OfflinePlayer subject, @Nullable Location location, @Nullable NexParams params) {
+        if (entries.length == 0) return resultWithoutEntries;
+        if (subject == null) return false;
+        NexParams p = params == null ? NexParams.empty() : params;
+
+        boolean anyChecked = false;
+        for (Entry e : entries) {
+            if (!e.resolve()) continue;
+            anyChecked = true;
+            NexusConditionContext ctx = new NexusConditionContext(subject, location, e.data(), p);
+            try {
+                boolean ok = e.compiled().isAsync(ctx)
+                        ? e.compiled().testAsync(ctx).join()
+                        : e.compiled().test(ctx);
+                if (!ok) {
+                    sendMessage(e, ctx);
+                    return false;
+                }
+            } catch (Exception ex) {
+                logCheckError(e, ex);
+                return false;
+            }
+        }
+        return anyChecked || resultWithoutEntries;
+    }
+
+    /**
+     * Asynchronous evaluation. Synchronous conditions are checked directly; the future only waits
+     * for conditions that need async work.
+     */
+    public CompletableFuture<Boolean> evaluateAsync(@Nullable OfflinePlayer subject, @Nullable Location location, @Nullable NexParams params) {
+        if (entries.length == 0) return CompletableFuture.completedFuture(resultWithoutEntries);
+        if (subject == null) return CompletableFuture.completedFuture(false);
+        return evaluateFrom(0, false, subject, location, params == null ? NexParams.empty() : params);
+    }
+
+    private CompletableFuture<Boolean> evaluateFrom(int start, boolean anyChecked, OfflinePlayer subject, @Nullable Location location, NexParams params) {
+        for (int i = start; i < entries.length; i++) {
+            Entry e = entries[i];
+            if (!e.resolve()) continue;
+            anyChecked = true;
+            NexusConditionContext ctx = new NexusConditionContext(subject, location, e.data(), params);
+            try {
+                boolean ok;
+                if (e.compiled().isAsync(ctx)) {
+                    CompletableFuture<Boolean> future = e.compiled().testAsync(ctx);
+                    if (!future.isDone()) {
+                        // ab hier asynchron weiter
+                        int next = i + 1;
+                        return future.thenCompose(result -> {
+                            if (!result) {
+                                sendMessage(e, ctx);
+                                return CompletableFuture.completedFuture(false);
+                            }
+                            return evaluateFrom(next, true, subject, location, params);
+                        });
+                    }
+                    ok = future.join();
+                } else {
+                    ok = e.compiled().test(ctx);
+                }
+                if (!ok) {
+                    sendMessage(e, ctx);
+                    return CompletableFuture.completedFuture(false);
+                }
+            } catch (Exception ex) {
+                logCheckError(e, ex);
+                return CompletableFuture.completedFuture(false);
+            }
+        }
+        return CompletableFuture.completedFuture(anyChecked || resultWithoutEntries);
+    }
+
+    private static void sendMessage(Entry e, NexusConditionContext ctx) {
+        try {
+            e.condition().sendMessage(ctx);
+        } catch (Exception ex) {
+            NexusPlugin.nexusLogger.error(List.of(
+                    "Error while sending condition message: " + e.id(),
+                    "Error: " + ex.getMessage()
+            ));
+            ex.printStackTrace();
+        }
+    }
+
+    private static void logCheckError(Entry e, Exception ex) {
+        NexusPlugin.nexusLogger.error(List.of(
+                "Error while checking condition: " + e.id(),
+                "Error: " + ex.getMessage()
+        ));
+        ex.printStackTrace();
+    }
+}
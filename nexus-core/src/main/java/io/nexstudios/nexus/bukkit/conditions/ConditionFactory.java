@@ -3,12 +3,14 @@ package io.nexstudios.nexus.bukkit.conditions;
 import io.nexstudios.nexus.bukkit.NexusPlugin;
 import io.nexstudios.nexus.bukkit.actions.NexParams;
 import io.nexstudios.nexus.bukkit.conditions.impl.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import org.bukkit.Location;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.entity.Player;
 
 import javax.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -18,6 +20,9 @@ import java.util.concurrent.CompletableFuture;
 public class ConditionFactory {
 
     private final HashMap<String, NexusCondition> availableConditions;
+    // wird bei jeder Registrierung erhöht, damit kompilierte Pläne unbekannte Ids erneut nachschlagen
+    @Getter(AccessLevel.NONE)
+    private volatile int generation;
 
     public ConditionFactory() {
         this.availableConditions = new HashMap<>();
@@ -53,9 +58,14 @@ public class ConditionFactory {
         }
 
         this.availableConditions.put(id, condition);
+        this.generation++;
         return true;
     }
 
+    int generation() {
+        return generation;
+    }
+
     public NexusCondition getCondition(String conditionID) {
         return this.availableConditions.get(conditionID);
     }
@@ -67,9 +77,58 @@ public class ConditionFactory {
         return new ConditionChainBuilder(this);
     }
 
+    /**
+     * Kompiliert eine Condition-Liste einmalig in einen wiederverwendbaren Plan.
+     * Ungültige Einträge werden hier (einmal) gemeldet und übersprungen; unbekannte Ids bleiben im Plan
+     * und werden nach einer späteren {@link #registerCondition} erneut nachgeschlagen.
+     */
+    public CompiledConditionPlan compile(@Nullable List<Map<String, Object>> conditions) {
+        if (conditions == null || conditions.isEmpty()) {
+            return CompiledConditionPlan.EMPTY;
+        }
+
+        List<CompiledConditionPlan.Entry> entries = new ArrayList<>(conditions.size());
+        for (Map<String, Object> conditionMap : conditions) {
+            Object idObj = conditionMap.get("id");
+            if (!(idObj instanceof String conditionID)) {
+                NexusPlugin.nexusLogger.warning("Condition entry without valid 'id' in Condition Section");
+                continue;
+            }
+
+            ConditionData conditionData = new ConditionData();
+            conditionData.getData().putAll(conditionMap);
+
+            NexusCondition condition = getCondition(conditionID);
+            if (condition == null) {
+                // evtl. registriert ein anderes Plugin die Condition erst später
+                NexusPlugin.nexusLogger.warning("Unknown condition: " + conditionID + " in Condition Section (skipped until it is registered)");
+                entries.add(new CompiledConditionPlan.Entry(conditionID, conditionData, this, generation));
+                continue;
+            }
+
+            entries.add(new CompiledConditionPlan.Entry(conditionID, condition, conditionData, compileCondition(conditionID, condition, conditionData)));
+        }
+
+        // nur ungültige Einträge -> keine Condition geprüft -> false (wie bisher)
+        return new CompiledConditionPlan(entries.toArray(new CompiledConditionPlan.Entry[0]), false);
+    }
+
+    CompiledCondition compileCondition(String conditionID, NexusCondition condition, ConditionData conditionData) {
+        try {
+            return condition.compile(conditionData);
+        } catch (Exception e) {
+            NexusPlugin.nexusLogger.error(List.of(
+                    "Error while compiling condition: " + conditionID,
+                    "Error: " + e.getMessage()
+            ));
+            e.printStackTrace();
+            return CompiledCondition.constant(false);
+        }
+    }
+
     /**
      * Alte synchrone API – optional als Übergang behalten.
-     * Nutzt intern den asynchronen Builder und blockiert bis zum Ergebnis.
+     * Kompiliert die Liste bei jedem Aufruf; für wiederholte Prüfungen {@link #compile(List)} nutzen.
      */
     @Deprecated
     public boolean checkConditions(Player player, @Nullable Location targetLocation, List<Map<String, Object>> conditions) {
@@ -78,16 +137,8 @@ public class ConditionFactory {
             return true;
         }
 
-        OfflinePlayer subject = player; // Player ist auch OfflinePlayer
-
         try {
-            return newBuilder()
-                    .subject(subject)
-                    .location(targetLocation)
-                    .conditions(conditions)
-                    .params(NexParams.empty())
-                    .evaluateAsync()
-                    .join(); // Achtung: blockierend – nur für Legacy-Verwendung
+            return compile(conditions).test(player, targetLocation, NexParams.empty());
         } catch (Exception e) {
             NexusPlugin.nexusLogger.error(List.of(
                     "Error while checking conditions (legacy API).",
@@ -108,6 +159,7 @@ public class ConditionFactory {
         private OfflinePlayer subject;
         private Location location;
         private List<Map<String, Object>> rawConditions;
+        private CompiledConditionPlan plan;
         private NexParams params = NexParams.empty();
 
         private ConditionChainBuilder(ConditionFactory factory) {
@@ -131,6 +183,16 @@ public class ConditionFactory {
 
         public ConditionChainBuilder conditions(List<Map<String, Object>> conditions) {
             this.rawConditions = conditions;
+            this.plan = null;
+            return this;
+        }
+
+        /**
+         * Nutzt einen bereits kompilierten Plan statt roher Conditions.
+         */
+        public ConditionChainBuilder plan(CompiledConditionPlan plan) {
+            this.plan = plan;
+            this.rawConditions = null;
             return this;
         }
 
@@ -154,70 +216,18 @@ public class ConditionFactory {
          * und keine davon fehlgeschlagen ist.
          */
         public CompletableFuture<Boolean> evaluateAsync() {
-
-            if (rawConditions == null || rawConditions.isEmpty()) {
-                return CompletableFuture.completedFuture(true);
-            }
-            if (subject == null) {
-                return CompletableFuture.completedFuture(false);
-            }
-
-            return evaluateIndex(0, false);
+            return resolvePlan().evaluateAsync(subject, location, params);
         }
 
-        private CompletableFuture<Boolean> evaluateIndex(int index, boolean anyConditionChecked) {
-            if (rawConditions == null || index >= rawConditions.size()) {
-                // keine weiteren Conditions
-                return CompletableFuture.completedFuture(anyConditionChecked);
-            }
-
-            Map<String, Object> conditionMap = rawConditions.get(index);
-            Object idObj = conditionMap.get("id");
-            if (!(idObj instanceof String conditionID)) {
-                NexusPlugin.nexusLogger.warning("Condition entry without valid 'id' in Condition Section");
-                // nächste Condition
-                return evaluateIndex(index + 1, anyConditionChecked);
-            }
-
-            NexusCondition condition = factory.getCondition(conditionID);
-            if (condition == null) {
-                NexusPlugin.nexusLogger.warning("Unknown condition: " + conditionID + " in Condition Section");
-                // nächste Condition
-                return evaluateIndex(index + 1, anyConditionChecked);
-            }
+        /**
+         * Synchrone Auswertung; blockiert nur, wenn eine Condition asynchron prüfen muss.
+         */
+        public boolean evaluate() {
+            return resolvePlan().test(subject, location, params);
+        }
 
-            ConditionData conditionData = new ConditionData();
-            conditionData.getData().putAll(conditionMap);
-            anyConditionChecked = true;
-
-            NexusConditionContext ctx = new NexusConditionContext(subject, location, conditionData, params);
-
-            try {
-                return condition.checkAsync(ctx).thenCompose(result -> {
-                    if (!result) {
-                        try {
-                            condition.sendMessage(ctx);
-                        } catch (Exception ex) {
-                            NexusPlugin.nexusLogger.error(List.of(
-                                    "Error while sending condition message: " + conditionID,
-                                    "Error: " + ex.getMessage()
-                            ));
-                            ex.printStackTrace();
-                        }
-                        // Kette abbrechen
-                        return CompletableFuture.completedFuture(false);
-                    }
-                    // nächste Condition
-                    return evaluateIndex(index + 1, true);
-                });
-            } catch (Exception e) {
-                NexusPlugin.nexusLogger.error(List.of(
-                        "Error while checking condition: " + conditionID,
-                        "Error: " + e.getMessage()
-                ));
-                e.printStackTrace();
-                return CompletableFuture.completedFuture(false);
-            }
+        private CompiledConditionPlan resolvePlan() {
+            return plan != null ? plan : factory.compile(rawConditions);
         }
     }
-}
\ No newline at end of file
+}
@@ -25,6 +25,29 @@ public interface NexusCondition {
         throw new UnsupportedOperationException("checkSync not implemented for " + getClass().getName());
     }
 
+    /**
+     * Parst die Config einmalig in eine wiederverwendbare Prüfung (siehe {@link CompiledConditionPlan}).
+     * Default: Fallback auf checkAsync(...) bei jeder Prüfung, für Conditions ohne eigenes compile(...).
+     */
+    default CompiledCondition compile(ConditionData data) {
+        return new CompiledCondition() {
+            @Override
+            public boolean test(NexusConditionContext context) {
+                return checkAsync(context).join();
+            }
+
+            @Override
+            public boolean isAsync(NexusConditionContext context) {
+                return true;
+            }
+
+            @Override
+            public CompletableFuture<Boolean> testAsync(NexusConditionContext context) {
+                return checkAsync(context);
+            }
+        };
+    }
+
     /**
      * Nachricht senden, wenn die Condition nicht erfüllt ist.
      */
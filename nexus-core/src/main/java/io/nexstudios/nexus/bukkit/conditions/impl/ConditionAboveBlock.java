@@ -1,6 +1,7 @@
 package io.nexstudios.nexus.bukkit.conditions.impl;
 
 import io.nexstudios.nexus.bukkit.NexusPlugin;
+import io.nexstudios.nexus.bukkit.conditions.CompiledCondition;
 import io.nexstudios.nexus.bukkit.conditions.ConditionData;
 import io.nexstudios.nexus.bukkit.conditions.NexusCondition;
 import io.nexstudios.nexus.bukkit.conditions.NexusConditionContext;
@@ -26,16 +27,14 @@ public class ConditionAboveBlock implements NexusCondition {
      */
     @Override
     public boolean checkSync(NexusConditionContext context) {
-        ConditionData data = context.data();
-        Location targetLocation = context.location();
-
-        if (targetLocation == null) {
-            NexusPlugin.nexusLogger.error(List.of(
-                    "Condition 'above-block' needs a target location to work"
-            ));
-            return false;
-        }
+        return compile(context.data()).test(context);
+    }
 
+    /**
+     * Materialien und Offset werden einmalig geparst, ungültige Config wird nur hier gemeldet.
+     */
+    @Override
+    public CompiledCondition compile(ConditionData data) {
         String notBlock = String.valueOf(data.getData().getOrDefault("not-block", "not_found"));
 
         Object offsetObj = data.getData().getOrDefault("offset", 1);
@@ -50,13 +49,14 @@ public class ConditionAboveBlock implements NexusCondition {
             }
         }
 
-        if (!data.validate(data.getData().get("target-block"), String.class)) {
+        Object targetObj = data.getData().get("target-block");
+        if (targetObj == null || !data.validate(targetObj, String.class)) {
             NexusPlugin.nexusLogger.error("Invalid target block data.");
             NexusPlugin.nexusLogger.error("Missing 'target-block' parameter for condition above-block");
-            return false;
+            return CompiledCondition.constant(false);
         }
 
-        String targetBlock = (String) data.getData().getOrDefault("target-block", "air");
+        String targetBlock = (String) targetObj;
         Material targetMaterial;
         try {
             targetMaterial = Material.valueOf(targetBlock.toUpperCase());
@@ -65,7 +65,7 @@ public class ConditionAboveBlock implements NexusCondition {
                     "Invalid material in condition above-block: '" + targetBlock + "'",
                     "The 'target-block' material must be a valid block!"
             ));
-            return false;
+            return CompiledCondition.constant(false);
         }
 
         if (!targetMaterial.isBlock()) {
@@ -73,69 +73,69 @@ public class ConditionAboveBlock implements NexusCondition {
                     "Invalid block data in condition above-block",
                     "The 'target-block' material must be a valid block!"
             ));
-            return false;
-        }
-
-        if (targetLocation.getBlock().getType() != targetMaterial) {
-            return false;
+            return CompiledCondition.constant(false);
         }
 
-        Location aboveBlockLocation = targetLocation.clone().add(0, offset, 0);
-
+        boolean negate;
+        Material aboveMaterial;
         if (!notBlock.equalsIgnoreCase("not_found")) {
             // Variante: NOT-BLOCK darf NICHT über dem Ziel stehen
-            Material notMaterial;
-            try {
-                notMaterial = Material.valueOf(notBlock.toUpperCase());
-            } catch (IllegalArgumentException ex) {
-                NexusPlugin.nexusLogger.error(List.of(
-                        "Invalid block data in condition above-block",
-                        "The 'not-block' material must be a valid block!"
-                ));
-                return false;
-            }
-
-            if (!notMaterial.isBlock()) {
-                NexusPlugin.nexusLogger.error(List.of(
-                        "Invalid block data in condition above-block",
-                        "The 'not-block' material must be a valid block!"
-                ));
-                return false;
-            }
-
-            return aboveBlockLocation.getBlock().getType() != notMaterial;
+            negate = true;
+            aboveMaterial = parseBlock(notBlock, "The 'not-block' material must be a valid block!");
         } else {
             // Variante: ein bestimmter BLOCK MUSS über dem Ziel stehen
+            negate = false;
             Object blockObj = data.getData().get("block");
             if (!(blockObj instanceof String blockStr)) {
                 NexusPlugin.nexusLogger.error(List.of(
                         "Invalid block data in condition above-block",
                         "Missing or non-string 'block' parameter while 'not-block' is not set"
                 ));
-                return false;
+                return CompiledCondition.constant(false);
             }
+            aboveMaterial = parseBlock(blockStr, "The 'block' must be a valid block!");
+        }
+        if (aboveMaterial == null) {
+            return CompiledCondition.constant(false);
+        }
 
-            Material material;
-            try {
-                material = Material.valueOf(blockStr.toUpperCase());
-            } catch (IllegalArgumentException ex) {
+        int dy = offset;
+        return context -> {
+            Location targetLocation = context.location();
+            if (targetLocation == null) {
                 NexusPlugin.nexusLogger.error(List.of(
-                        "Invalid block data in condition above-block",
-                        "The 'block' must be a valid block!"
+                        "Condition 'above-block' needs a target location to work"
                 ));
                 return false;
             }
 
-            if (!material.isBlock()) {
-                NexusPlugin.nexusLogger.error(List.of(
-                        "Invalid block data in condition above-block",
-                        "The 'block' must be a valid block!"
-                ));
+            if (targetLocation.getBlock().getType() != targetMaterial) {
                 return false;
             }
 
-            return aboveBlockLocation.getBlock().getType() == material;
+            // Block über dem Ziel ohne Location-Klon
+            Material above = targetLocation.getWorld()
+                    .getBlockAt(targetLocation.getBlockX(), targetLocation.getBlockY() + dy, targetLocation.getBlockZ())
+                    .getType();
+            return negate ? above != aboveMaterial : above == aboveMaterial;
+        };
+    }
+
+    private static Material parseBlock(String raw, String hint) {
+        Material material;
+        try {
+            material = Material.valueOf(raw.toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            material = null;
+        }
+        if (material == null || !material.isBlock()) {
+            NexusPlugin.nexusLogger.error(List.of(
+                    "Invalid block data in condition above-block",
+                    hint
+            ));
+            return null;
         }
+        return material;
     }
 
     @Override
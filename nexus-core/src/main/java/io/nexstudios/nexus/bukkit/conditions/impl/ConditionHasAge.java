@@ -1,6 +1,7 @@
 package io.nexstudios.nexus.bukkit.conditions.impl;
 
 import io.nexstudios.nexus.bukkit.NexusPlugin;
+import io.nexstudios.nexus.bukkit.conditions.CompiledCondition;
 import io.nexstudios.nexus.bukkit.conditions.ConditionData;
 import io.nexstudios.nexus.bukkit.conditions.NexusCondition;
 import io.nexstudios.nexus.bukkit.conditions.NexusConditionContext;
@@ -27,79 +28,87 @@ public class ConditionHasAge implements NexusCondition {
      */
     @Override
     public boolean checkSync(NexusConditionContext context) {
-        ConditionData data = context.data();
-        Location targetLocation = context.location();
-
-        if (targetLocation == null) {
-            NexusPlugin.nexusLogger.error(List.of(
-                    "Could not check provided condition",
-                    "Condition 'has_age' needs a target location to work"
-            ));
-            return false;
-        }
-
-        Block blockAtLocation = targetLocation.getBlock();
+        return compile(context.data()).test(context);
+    }
 
+    /**
+     * Alter, Modus und Block-Filter werden einmalig geparst.
+     */
+    @Override
+    public CompiledCondition compile(ConditionData data) {
         Object onlyBlockObj = data.getData().get("block");
-        if (onlyBlockObj != null) {
-            String onlyBlockId = String.valueOf(onlyBlockObj).trim();
-            if (!onlyBlockId.isEmpty()) {
-                // Uses StringUtils prefix-based block matcher (minecraft/vanilla/itemsadder)
-                if (!StringUtils.matchesBlock(blockAtLocation, onlyBlockId)) {
-                    // Not the configured block -> fail silently (no log)
-                    return false;
-                }
-            }
-        }
+        String onlyBlockId = onlyBlockObj == null ? null : String.valueOf(onlyBlockObj).trim();
+        String blockFilter = onlyBlockId == null || onlyBlockId.isEmpty() ? null : onlyBlockId;
 
         Object ageObj = data.getData().get("age");
         if (ageObj == null) {
             NexusPlugin.nexusLogger.error("Missing 'age' parameter for condition has-age");
-            return false;
+            return CompiledCondition.constant(false);
         }
 
-        int requiredAge;
+        int parsedAge;
         if (ageObj instanceof Number n) {
-            requiredAge = n.intValue();
+            parsedAge = n.intValue();
         } else {
             try {
-                requiredAge = Integer.parseInt(String.valueOf(ageObj));
+                parsedAge = Integer.parseInt(String.valueOf(ageObj));
             } catch (NumberFormatException e) {
                 NexusPlugin.nexusLogger.error(List.of(
                         "Invalid age value for condition has-age: " + ageObj,
                         "Expected an integer age value."
                 ));
-                return false;
+                return CompiledCondition.constant(false);
             }
         }
+        int configuredAge = parsedAge;
 
         String modeRaw = String.valueOf(data.getData().getOrDefault("mode", "=="));
         Mode mode = Mode.fromConfig(modeRaw);
 
         boolean clampToRange = (boolean) data.getData().getOrDefault("clamp-to-range", false);
 
-        if (!(blockAtLocation.getBlockData() instanceof Ageable ageable)) {
-            // Not ageable -> fail silently to avoid console spam
-            return false;
-        }
+        return context -> {
+            Location targetLocation = context.location();
+            if (targetLocation == null) {
+                NexusPlugin.nexusLogger.error(List.of(
+                        "Could not check provided condition",
+                        "Condition 'has_age' needs a target location to work"
+                ));
+                return false;
+            }
 
-        int maxAge = ageable.getMaximumAge();
+            Block blockAtLocation = targetLocation.getBlock();
 
-        if (requiredAge < 0 || requiredAge > maxAge) {
-            if (!clampToRange) {
+            // Uses StringUtils prefix-based block matcher (minecraft/vanilla/itemsadder)
+            if (blockFilter != null && !StringUtils.matchesBlock(blockAtLocation, blockFilter)) {
+                // Not the configured block -> fail silently (no log)
                 return false;
             }
-            requiredAge = Math.max(0, Math.min(requiredAge, maxAge));
-        }
 
-        int currentAge = ageable.getAge();
+            if (!(blockAtLocation.getBlockData() instanceof Ageable ageable)) {
+                // Not ageable -> fail silently to avoid console spam
+                return false;
+            }
+
+            int maxAge = ageable.getMaximumAge();
+            int requiredAge = configuredAge;
+
+            if (requiredAge < 0 || requiredAge > maxAge) {
+                if (!clampToRange) {
+                    return false;
+                }
+                requiredAge = Math.max(0, Math.min(requiredAge, maxAge));
+            }
+
+            int currentAge = ageable.getAge();
 
-        return switch (mode) {
-            case EQ -> currentAge == requiredAge;
-            case GT -> currentAge > requiredAge;
-            case GTE -> currentAge >= requiredAge;
-            case LT -> currentAge < requiredAge;
-            case LTE -> currentAge <= requiredAge;
+            return switch (mode) {
+                case EQ -> currentAge == requiredAge;
+                case GT -> currentAge > requiredAge;
+                case GTE -> currentAge >= requiredAge;
+                case LT -> currentAge < requiredAge;
+                case LTE -> currentAge <= requiredAge;
+            };
         };
     }
 
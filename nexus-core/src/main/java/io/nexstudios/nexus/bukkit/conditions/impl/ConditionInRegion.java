@@ -1,6 +1,7 @@
 package io.nexstudios.nexus.bukkit.conditions.impl;
 
 import io.nexstudios.nexus.bukkit.NexusPlugin;
+import io.nexstudios.nexus.bukkit.conditions.CompiledCondition;
 import io.nexstudios.nexus.bukkit.conditions.ConditionData;
 import io.nexstudios.nexus.bukkit.conditions.NexusCondition;
 import io.nexstudios.nexus.bukkit.conditions.NexusConditionContext;
@@ -28,40 +29,45 @@ public class ConditionInRegion implements NexusCondition {
      */
     @Override
     public boolean checkSync(NexusConditionContext context) {
-        ConditionData data = context.data();
-
-        // Zielposition: erst explizite Location, sonst Spielerposition
-        Location location = context.location();
-        if (location == null) {
-            Player p = context.player();
-            if (p != null) {
-                location = p.getLocation();
-            }
-        }
-
-        if (location == null) {
-            return false;
-        }
+        return compile(context.data()).test(context);
+    }
 
+    @Override
+    public CompiledCondition compile(ConditionData data) {
         @SuppressWarnings("unchecked")
         List<String> regionsConfig = (List<String>) data.getData().getOrDefault("regions", List.of());
         String regionConfig = (String) data.getData().getOrDefault("region", "no_region_found");
 
-        // Keine Regionen-Liste → einzelne Region / "irgendeine Region" am Ort
-        if (regionsConfig.isEmpty()) {
-            return NexusPlugin.getInstance()
-                    .getWorldGuardHook()
-                    .isInRegion(location, regionConfig);
-        }
+        return context -> {
+            // Zielposition: erst explizite Location, sonst Spielerposition
+            Location location = context.location();
+            if (location == null) {
+                Player p = context.player();
+                if (p != null) {
+                    location = p.getLocation();
+                }
+            }
 
-        // Mindestens eine der angegebenen Regionen muss zutreffen
-        for (String region : regionsConfig) {
-            if (NexusPlugin.getInstance().getWorldGuardHook().isInRegion(location, region)) {
-                return true;
+            if (location == null) {
+                return false;
+            }
+
+            // Keine Regionen-Liste → einzelne Region / "irgendeine Region" am Ort
+            if (regionsConfig.isEmpty()) {
+                return NexusPlugin.getInstance()
+                        .getWorldGuardHook()
+                        .isInRegion(location, regionConfig);
+            }
+
+            // Mindestens eine der angegebenen Regionen muss zutreffen
+            for (String region : regionsConfig) {
+                if (NexusPlugin.getInstance().getWorldGuardHook().isInRegion(location, region)) {
+                    return true;
+                }
             }
-        }
 
-        return false;
+            return false;
+        };
     }
 
     @Override
@@ -1,6 +1,7 @@
 package io.nexstudios.nexus.bukkit.conditions.impl;
 
 import io.nexstudios.nexus.bukkit.NexusPlugin;
+import io.nexstudios.nexus.bukkit.conditions.CompiledCondition;
 import io.nexstudios.nexus.bukkit.conditions.ConditionData;
 import io.nexstudios.nexus.bukkit.conditions.NexusCondition;
 import io.nexstudios.nexus.bukkit.conditions.NexusConditionContext;
@@ -10,8 +11,9 @@ import org.bukkit.World;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
 
-import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 public class ConditionInWorld implements NexusCondition {
 
@@ -29,23 +31,12 @@ public class ConditionInWorld implements NexusCondition {
      */
     @Override
     public boolean checkSync(NexusConditionContext context) {
-        ConditionData data = context.data();
-
-        // Zielposition: zuerst explizite Location, sonst Spielerlocation
-        Location location = context.location();
-        if (location == null) {
-            Player p = context.player();
-            if (p != null) {
-                location = p.getLocation();
-            }
-        }
-
-        if (location == null) {
-            NexusPlugin.nexusLogger.error("Condition 'in-world' could not determine a target location.");
-            return false;
-        }
+        return compile(context.data()).test(context);
+    }
 
-        List<String> worldsList = new ArrayList<>();
+    @Override
+    public CompiledCondition compile(ConditionData data) {
+        Set<String> worlds = new HashSet<>();
 
         // Liste von Welten
         Object worldsObj = data.getData().get("worlds");
@@ -53,28 +44,44 @@ public class ConditionInWorld implements NexusCondition {
             for (Object o : list) {
                 if (o == null) continue;
                 String s = String.valueOf(o).trim();
-                if (!s.isEmpty()) worldsList.add(s.toLowerCase());
+                if (!s.isEmpty()) worlds.add(s.toLowerCase());
             }
         }
 
         // Abwärtskompatibel: einzelnes "world" Feld
         Object singleWorldObj = data.getData().get("world");
-        if (worldsList.isEmpty() && singleWorldObj instanceof String sw && !sw.isBlank()) {
-            worldsList.add(sw.toLowerCase());
+        if (worlds.isEmpty() && singleWorldObj instanceof String sw && !sw.isBlank()) {
+            worlds.add(sw.toLowerCase());
         }
 
-        if (worldsList.isEmpty()) {
+        if (worlds.isEmpty()) {
             NexusPlugin.nexusLogger.error("Invalid target world data for condition 'in-world'. Expected 'world' or 'worlds'.");
-            return false;
+            return CompiledCondition.constant(false);
         }
 
-        World world = location.getWorld();
-        if (world == null) {
-            return false;
-        }
+        Set<String> worldNames = Set.copyOf(worlds);
+        return context -> {
+            // Zielposition: zuerst explizite Location, sonst Spielerlocation
+            Location location = context.location();
+            if (location == null) {
+                Player p = context.player();
+                if (p != null) {
+                    location = p.getLocation();
+                }
+            }
+
+            if (location == null) {
+                NexusPlugin.nexusLogger.error("Condition 'in-world' could not determine a target location.");
+                return false;
+            }
+
+            World world = location.getWorld();
+            if (world == null) {
+                return false;
+            }
 
-        String currentNameLower = world.getName().toLowerCase();
-        return worldsList.contains(currentNameLower);
+            return worldNames.contains(world.getName().toLowerCase());
+        };
     }
 
     @Override
@@ -1,6 +1,7 @@
 package io.nexstudios.nexus.bukkit.conditions.impl;
 
 import io.nexstudios.nexus.bukkit.NexusPlugin;
+import io.nexstudios.nexus.bukkit.conditions.CompiledCondition;
 import io.nexstudios.nexus.bukkit.conditions.ConditionData;
 import io.nexstudios.nexus.bukkit.conditions.NexusCondition;
 import io.nexstudios.nexus.bukkit.conditions.NexusConditionContext;
@@ -39,8 +40,15 @@ public class ConditionLuckPermission implements NexusCondition {
      */
     @Override
     public CompletableFuture<Boolean> checkAsync(NexusConditionContext context) {
-        ConditionData data = context.data();
+        return compile(context.data()).testAsync(context);
+    }
 
+    /**
+     * Parses permissions, groups and require-all once.
+     * Online players are checked synchronously via the LuckPerms caches; only offline players load the user async.
+     */
+    @Override
+    public CompiledCondition compile(ConditionData data) {
         List<String> permissions = readStringList(data, "permissions", "permission");
         List<String> groups = readStringList(data, "groups", "group");
 
@@ -49,38 +57,81 @@ public class ConditionLuckPermission implements NexusCondition {
                     "Invalid permission condition data.",
                     "Missing 'permission'/'permissions' and 'group'/'groups' for condition permission"
             ));
-            return CompletableFuture.completedFuture(false);
+            return CompiledCondition.constant(false);
         }
 
         boolean requireAll = readBoolean(data);
 
+        List<String> lowerGroups = new ArrayList<>(groups.size());
+        for (String g : groups) {
+            lowerGroups.add(g.toLowerCase(Locale.ROOT));
+        }
+
+        return new Compiled(permissions, List.copyOf(lowerGroups), requireAll);
+    }
+
+    private final class Compiled implements CompiledCondition {
+
+        private final List<String> permissions;
+        private final List<String> groups;   // lowercase
+        private final boolean requireAll;
+
+        private Compiled(List<String> permissions, List<String> groups, boolean requireAll) {
+            this.permissions = permissions;
+            this.groups = groups;
+            this.requireAll = requireAll;
+        }
+
+        @Override
+        public boolean isAsync(NexusConditionContext context) {
+            return context.player() == null;
+        }
+
+        @Override
+        public boolean test(NexusConditionContext context) {
+            LuckPerms luckPerms = luckPerms();
+            Player online = context.player();
+            if (luckPerms == null || online == null) return false;
+            return evaluateOnline(luckPerms, online, permissions, groups, requireAll);
+        }
+
+        @Override
+        public CompletableFuture<Boolean> testAsync(NexusConditionContext context) {
+            LuckPerms luckPerms = luckPerms();
+            if (luckPerms == null) {
+                return CompletableFuture.completedFuture(false);
+            }
+
+            Player online = context.player();
+            if (online != null) {
+                boolean ok = evaluateOnline(luckPerms, online, permissions, groups, requireAll);
+                return CompletableFuture.completedFuture(ok);
+            }
+
+            UUID uuid = context.offlinePlayer().getUniqueId();
+            return luckPerms.getUserManager()
+                    .loadUser(uuid)
+                    .thenApply(user -> user != null && evaluateUser(luckPerms, user, permissions, groups, requireAll))
+                    .exceptionally(ex -> {
+                        NexusPlugin.nexusLogger.error(List.of(
+                                "Error while checking LuckPerms permission/groups for offline user " + uuid,
+                                "Error: " + ex.getMessage()
+                        ));
+                        ex.printStackTrace();
+                        return false;
+                    });
+        }
+    }
+
+    private static LuckPerms luckPerms() {
         LuckPerms luckPerms = NexusPlugin.getInstance().getLuckPermsHook().getLuckPermsAPI();
         if (luckPerms == null) {
             NexusPlugin.nexusLogger.error(List.of(
                     "LuckPermsHook returned null API instance in ConditionLuckPermission.",
                     "Is LuckPerms enabled and registered correctly?"
             ));
-            return CompletableFuture.completedFuture(false);
-        }
-
-        Player online = context.player();
-        if (online != null) {
-            boolean ok = evaluateOnline(luckPerms, online, permissions, groups, requireAll);
-            return CompletableFuture.completedFuture(ok);
-        }
-
-        UUID uuid = context.offlinePlayer().getUniqueId();
-        return luckPerms.getUserManager()
-                .loadUser(uuid)
-                .thenApply(user -> user != null && evaluateUser(luckPerms, user, permissions, groups, requireAll))
-                .exceptionally(ex -> {
-                    NexusPlugin.nexusLogger.error(List.of(
-                            "Error while checking LuckPerms permission/groups for offline user " + uuid,
-                            "Error: " + ex.getMessage()
-                    ));
-                    ex.printStackTrace();
-                    return false;
-                });
+        }
+        return luckPerms;
     }
 
     private boolean evaluateOnline(LuckPerms luckPerms,
@@ -164,14 +215,15 @@ public class ConditionLuckPermission implements NexusCondition {
             userGroups.add(g.getName().toLowerCase(Locale.ROOT));
         }
 
+        // groups sind bereits beim Kompilieren lowercase
         if (requireAll) {
             for (String g : groups) {
-                if (!userGroups.contains(g.toLowerCase(Locale.ROOT))) return false;
+                if (!userGroups.contains(g)) return false;
             }
             return true;
         } else {
             for (String g : groups) {
-                if (userGroups.contains(g.toLowerCase(Locale.ROOT))) return true;
+                if (userGroups.contains(g)) return true;
             }
             return false;
         }
@@ -1,6 +1,7 @@
 package io.nexstudios.nexus.bukkit.conditions.impl;
 
 import io.nexstudios.nexus.bukkit.NexusPlugin;
+import io.nexstudios.nexus.bukkit.conditions.CompiledCondition;
 import io.nexstudios.nexus.bukkit.conditions.ConditionData;
 import io.nexstudios.nexus.bukkit.conditions.NexusCondition;
 import io.nexstudios.nexus.bukkit.conditions.NexusConditionContext;
@@ -12,6 +13,7 @@ import org.bukkit.inventory.EquipmentSlot;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public class ConditionNeedTool implements NexusCondition {
@@ -23,52 +25,86 @@ public class ConditionNeedTool implements NexusCondition {
 
     @Override
     public boolean checkSync(NexusConditionContext context) {
-        Player player = context.player();
-        if (player == null) return false;
-
-        ConditionData data = context.data();
+        return compile(context.data()).test(context);
+    }
 
+    /**
+     * Slot und Vanilla-Materialien werden einmalig aufgelöst. Items aus Hooks (nexitems, mmoitems, ecoitems)
+     * werden weiterhin bei der Prüfung geparst, da deren Items später geladen sein können.
+     */
+    @Override
+    public CompiledCondition compile(ConditionData data) {
         String slotStr = String.valueOf(data.getData().getOrDefault("equipment-slot", "mainhand")).toUpperCase();
-        EquipmentSlot slot;
+        EquipmentSlot parsedSlot;
         try {
-            slot = EquipmentSlot.valueOf(slotStr.replace("mainhand", "offhand"));
+            parsedSlot = EquipmentSlot.valueOf(slotStr.replace("mainhand", "offhand"));
         } catch (IllegalArgumentException e) {
-            slot = EquipmentSlot.HAND;
+            parsedSlot = EquipmentSlot.HAND;
         }
+        EquipmentSlot slot = parsedSlot;
 
         Object toolsObj = data.getData().get("tools");
         if (!(toolsObj instanceof List<?> toolList)) {
-            return false;
+            return CompiledCondition.constant(false);
         }
 
-        ItemStack itemInSlot = player.getInventory().getItem(slot);
-        Material currentMaterial = itemInSlot.getType();
-        String currentCustomId = StringUtils.getCustomId(itemInSlot);
-
+        List<Tool> parsedTools = new ArrayList<>(toolList.size());
         for (Object obj : toolList) {
             String toolId = String.valueOf(obj);
-
-            // 1. Check für Custom Items (ID Vergleich)
-            if (currentCustomId != null && currentCustomId.equalsIgnoreCase(toolId)) {
-                return true;
-            }
-
-            // 2. Check für Vanilla / Material
-            ItemStack targetStack = StringUtils.parseItem(toolId);
-            if (targetStack == null) continue;
-            Material targetMaterial = targetStack.getType();
-
-            // 3. Air -> Hand
-            if (targetMaterial.isAir() && currentMaterial.isAir()) {
-                return true;
+            if (isHookItem(toolId)) {
+                parsedTools.add(new Tool(toolId, null));
+                continue;
             }
-
-            if (currentMaterial == targetMaterial && currentCustomId == null) {
-                return true;
+            try {
+                ItemStack targetStack = StringUtils.parseItem(toolId);
+                parsedTools.add(new Tool(toolId, targetStack == null ? null : targetStack.getType()));
+            } catch (IllegalArgumentException e) {
+                NexusPlugin.nexusLogger.error("Invalid tool in condition need-tool: " + toolId);
             }
         }
+        Tool[] tools = parsedTools.toArray(new Tool[0]);
+
+        return context -> {
+            Player player = context.player();
+            if (player == null) return false;
+
+            ItemStack itemInSlot = player.getInventory().getItem(slot);
+            Material currentMaterial = itemInSlot.getType();
+            String currentCustomId = StringUtils.getCustomId(itemInSlot);
+
+            for (Tool tool : tools) {
+                // 1. Check für Custom Items (ID Vergleich)
+                if (currentCustomId != null && currentCustomId.equalsIgnoreCase(tool.id())) {
+                    return true;
+                }
+
+                // 2. Check für Vanilla / Material
+                Material targetMaterial = tool.material();
+                if (targetMaterial == null && isHookItem(tool.id())) {
+                    ItemStack targetStack = StringUtils.parseItem(tool.id());
+                    if (targetStack != null) targetMaterial = targetStack.getType();
+                }
+                if (targetMaterial == null) continue;
+
+                // 3. Air -> Hand
+                if (targetMaterial.isAir() && currentMaterial.isAir()) {
+                    return true;
+                }
+
+                if (currentMaterial == targetMaterial && currentCustomId == null) {
+                    return true;
+                }
+            }
+
+            return false;
+        };
+    }
+
+    private record Tool(String id, Material material) {
+    }
 
-        return false;
+    private static boolean isHookItem(String toolId) {
+        return toolId.startsWith("nexitems:") || toolId.startsWith("mmoitems:") || toolId.startsWith("ecoitems:");
     }
 
     @Override
@@ -1,6 +1,7 @@
 package io.nexstudios.nexus.bukkit.conditions.impl;
 
 import io.nexstudios.nexus.bukkit.NexusPlugin;
+import io.nexstudios.nexus.bukkit.conditions.CompiledCondition;
 import io.nexstudios.nexus.bukkit.conditions.ConditionData;
 import io.nexstudios.nexus.bukkit.conditions.NexusCondition;
 import io.nexstudios.nexus.bukkit.conditions.NexusConditionContext;
@@ -19,27 +20,27 @@ public class ConditionPermission implements NexusCondition {
 
     @Override
     public boolean checkSync(NexusConditionContext context) {
-        ConditionData data = context.data();
+        return compile(context.data()).test(context);
+    }
+
+    @Override
+    public CompiledCondition compile(ConditionData data) {
         Object permObj = data.getData().get("permission");
 
         if (permObj == null || !data.validate(permObj, String.class)) {
             NexusPlugin.nexusLogger.error("Invalid permission data.");
             NexusPlugin.nexusLogger.error("Missing 'permission' parameter for condition");
-            return false;
+            return CompiledCondition.constant(false);
         }
 
-        Player player = context.player();
-        if (player == null) {
-            // Subjekt ist nur OfflinePlayer (UUID), Bukkit-Permissions sind nur für Online-Player verfügbar
-            return false;
-        }
+        String configured = (String) permObj;
+        String permission = configured.isEmpty() ? "no.permission.found" : configured;
 
-        String permission = (String) permObj;
-        if (permission.isEmpty()) {
-            permission = "no.permission.found";
-        }
-
-        return player.hasPermission(permission);
+        return context -> {
+            Player player = context.player();
+            // Subjekt ist nur OfflinePlayer (UUID), Bukkit-Permissions sind nur für Online-Player verfügbar
+            return player != null && player.hasPermission(permission);
+        };
     }
 
     @Override
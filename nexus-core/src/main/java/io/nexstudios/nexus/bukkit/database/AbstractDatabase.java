@@ -39,6 +39,9 @@ public abstract class AbstractDatabase {
             new ThreadPoolExecutor.CallerRunsPolicy()
     );
 
+    // delegiert an den jeweils aktuellen Executor, da dieser bei Pool-Wechseln ersetzt wird
+    private final Executor asyncExecutorView = command -> asyncSqlExecutor.execute(command);
+
     AbstractDatabase(NexusPlugin plugin) {
         this.plugin = plugin;
         startMonitoring();
@@ -91,6 +94,14 @@ public abstract class AbstractDatabase {
         exec.shutdown();
     }
 
+    /**
+     * Gemeinsamer Executor für blockierende DB-Arbeit; skaliert mit dem Pool
+     * und wird erst in {@link #close()} gestoppt.
+     */
+    public Executor getAsyncExecutor() {
+        return asyncExecutorView;
+    }
+
     public CompletableFuture<Integer> executeSqlFuture(String sql, Object... replacements) {
         CompletableFuture<Integer> future = new CompletableFuture<>();
         CompletableFuture.runAsync(() -> {
@@ -1,17 +1,26 @@
 package io.nexstudios.nexus.bukkit.database.api;
 
 import javax.sql.DataSource;
+import java.util.concurrent.Executor;
 
 public class DefaultNexusDatabaseService implements NexusDatabaseService {
     private final DataSource dataSource;
+    private final Executor executor;
 
-    public DefaultNexusDatabaseService(DataSource dataSource) {
+    public DefaultNexusDatabaseService(DataSource dataSource, Executor executor) {
         if (dataSource == null) throw new IllegalArgumentException("dataSource must not be null");
+        if (executor == null) throw new IllegalArgumentException("executor must not be null");
         this.dataSource = dataSource;
+        this.executor = executor;
     }
 
     @Override
     public DataSource getDataSource() {
         return dataSource;
     }
+
+    @Override
+    public Executor executor() {
+        return executor;
+    }
 }
\ No newline at end of file
@@ -4,12 +4,22 @@ import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
 public interface NexusDatabaseService {
     DataSource getDataSource();
 
+    /**
+     * Executor for blocking database work. Nexus backs it with the pool-sized executor of its
+     * database, which is stopped only after all Nexus systems have flushed on shutdown.
+     */
+    default Executor executor() {
+        return ForkJoinPool.commonPool();
+    }
+
     default boolean isHealthy() {
         try (Connection c = getDataSource().getConnection()) {
             return c != null && c.isValid(2);
@@ -2,30 +2,65 @@ package io.nexstudios.nexus.bukkit.effects.cache;
 
 import io.nexstudios.nexus.bukkit.effects.vars.PlayerVariableResolver;
 import io.nexstudios.nexus.bukkit.effects.vars.PlayerVariables;
-import io.nexstudios.nexus.bukkit.utils.NexusStringMath;
+import io.nexstudios.nexus.bukkit.utils.expression.NexusExpression;
 import org.bukkit.entity.Player;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * Cache of evaluated effect expressions per player.
+ * <p>
+ * Every player owns one node that holds the values of a single {@link PlayerVariables#version}.
+ * When the version changes (or the player quits) the whole node is replaced or dropped in O(1),
+ * so values of outdated versions never pile up. A node holds at most 512
+ * values and is cleared when it overflows. Cache hits allocate nothing; hits, misses and evictions
+ * are reported through {@link #stats()}.
+ */
 public final class DamageValueCache {
 
     private DamageValueCache() {}
 
-    private static final Map<Key, Entry> CACHE = new ConcurrentHashMap<>();
+    // Obergrenze pro Spieler (Ausdruck x Kontext); bei Überlauf wird der Node geleert
+    static final int MAX_ENTRIES_PER_PLAYER = 512;
 
-    private record Key(UUID playerId, String expr, String context, long version) {
-        Key(UUID playerId, String expr, String context, long version) {
-            this.playerId = playerId;
-            this.expr = expr;
-            this.context = context == null ? "" : context;
-            this.version = version;
+    private static final Map<UUID, Node> NODES = new ConcurrentHashMap<>();
+
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+    private static final LongAdder EVICTIONS = new LongAdder();
+
+    /**
+     * Snapshot of the cache counters.
+     *
+     * @param hits      lookups answered from the cache
+     * @param misses    lookups that evaluated the expression
+     * @param evictions values dropped by version changes, quits or overflow
+     * @param players   players with a cache node
+     * @param entries   cached values over all players
+     */
+    public record Stats(long hits, long misses, long evictions, int players, int entries) {
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
         }
     }
 
-    private record Entry(double value) {}
+    private static final class Node {
+        final long version;
+        // Kontext ("" = ohne) -> Ausdruck -> Wert; zweistufig, damit Lookups keinen Key allokieren
+        final Map<String, Map<String, Double>> byContext = new ConcurrentHashMap<>();
+        final AtomicInteger size = new AtomicInteger();
+
+        Node(long version) {
+            this.version = version;
+        }
+    }
 
     // Bestehender Overload bleibt bestehen (backward compatible)
     public static double getOrCompute(Player player, String expression, PlayerVariableResolver resolver) {
@@ -37,30 +72,106 @@ public final class DamageValueCache {
         Objects.requireNonNull(player, "player");
         Objects.requireNonNull(expression, "expression");
 
-        long version = PlayerVariables.version(player.getUniqueId());
-        Key key = new Key(player.getUniqueId(), expression, contextKey, version);
+        UUID playerId = player.getUniqueId();
+        long version = PlayerVariables.version(playerId);
+        String context = contextKey == null ? "" : contextKey;
+
+        Node node = nodeFor(playerId, version);
+        if (node != null) {
+            Map<String, Double> values = node.byContext.get(context);
+            Double cached = values == null ? null : values.get(expression);
+            if (cached != null) {
+                HITS.increment();
+                return cached;
+            }
+        }
+        MISSES.increment();
+
+        double result = compute(player, expression, resolver);
+        if (node != null) {
+            store(node, context, expression, result);
+        }
+        return result;
+    }
+
+    /**
+     * @return the node of the given version, replacing an older one; {@code null} if a newer
+     * version is already cached (the caller raced with a variable change and must not cache)
+     */
+    private static Node nodeFor(UUID playerId, long version) {
+        Node node = NODES.get(playerId);
+        if (node != null && node.version == version) {
+            return node;
+        }
+        Node current = NODES.compute(playerId, (id, old) -> {
+            if (old == null) return new Node(version);
+            if (old.version >= version) return old;
+            EVICTIONS.add(old.size.get());
+            return new Node(version);
+        });
+        return current.version == version ? current : null;
+    }
 
-        Entry cached = CACHE.get(key);
-        if (cached != null) return cached.value();
+    private static void store(Node node, String context, String expression, double value) {
+        Map<String, Double> values = node.byContext.computeIfAbsent(context, __ -> new ConcurrentHashMap<>());
+        if (values.put(expression, value) != null) {
+            return;
+        }
+        if (node.size.incrementAndGet() > MAX_ENTRIES_PER_PLAYER) {
+            // Überlauf (z. B. dynamische Ausdrücke) -> Node leeren statt unbegrenzt wachsen
+            EVICTIONS.add(node.size.getAndSet(0));
+            node.byContext.clear();
+        }
+    }
 
-        // Variablen auflösen und Ausdruck rechnen
-        Map<String, String> vars = resolver != null ? resolver.resolve(player) : Map.of();
-        String exprResolved = expression;
-        for (var e : vars.entrySet()) {
-            // Ersetzt #key# durch den Wert.
-            exprResolved = exprResolved.replace("#" + e.getKey() + "#", e.getValue());
+    /**
+     * Drops all cached values of a player (called on quit).
+     */
+    public static void invalidate(UUID playerId) {
+        Node removed = NODES.remove(playerId);
+        if (removed != null) {
+            EVICTIONS.add(removed.size.get());
         }
+    }
 
-        double result = 0.0;
+    public static Stats stats() {
+        int entries = 0;
+        for (Node node : NODES.values()) {
+            entries += node.size.get();
+        }
+        return new Stats(HITS.sum(), MISSES.sum(), EVICTIONS.sum(), NODES.size(), entries);
+    }
+
+    // Ausdruck einmal kompilieren, Variablen in einen primitiven Frame binden und auswerten
+    private static double compute(Player player, String expression, PlayerVariableResolver resolver) {
         try {
-            result = NexusStringMath.evaluateExpression(exprResolved);
-        } catch (Exception ignored) { }
+            NexusExpression compiled = NexusExpression.compile(expression);
+            if (compiled.isConstant()) {
+                return compiled.evaluate();
+            }
 
-        CACHE.put(key, new Entry(result));
-        return result;
+            if (resolver == null) {
+                return 0.0;
+            }
+            List<String> names = compiled.variables();
+            double[] frame = new double[names.size()];
+            for (int i = 0; i < frame.length; i++) {
+                double v = resolver.resolveNumber(player, names.get(i));
+                if (Double.isNaN(v)) {
+                    // nicht aufgelöste Variable -> ungültiger Ausdruck (wie bisher)
+                    return 0.0;
+                }
+                frame[i] = v;
+            }
+            return compiled.evaluate(frame);
+        } catch (Exception ignored) {
+            return 0.0;
+        }
     }
 
     public static void clearAll() {
-        CACHE.clear();
+        for (UUID playerId : NODES.keySet()) {
+            invalidate(playerId);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package io.nexstudios.nexus.bukkit.effects.cache;
+
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+public class DamageValueCacheListener implements Listener {
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent e) {
+        DamageValueCache.invalidate(e.getPlayer().getUniqueId());
+    }
+
+}
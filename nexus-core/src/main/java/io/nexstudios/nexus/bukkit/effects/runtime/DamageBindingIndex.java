@@ -2,6 +2,7 @@ package io.nexstudios.nexus.bukkit.effects.runtime;
 
 import io.nexstudios.nexus.bukkit.effects.EffectBinding;
 import io.nexstudios.nexus.bukkit.effects.NexusDamageEffect;
+import io.nexstudios.nexus.bukkit.effects.NexusDamageMultiplierEffect;
 import io.nexstudios.nexus.bukkit.effects.filters.DamageContext;
 import io.nexstudios.nexus.bukkit.effects.filters.FilterFactory;
 import io.nexstudios.nexus.bukkit.effects.filters.NexusFilter;
@@ -9,17 +10,61 @@ import org.bukkit.entity.EntityType;
 
 import java.util.*;
 
-public record DamageBindingIndex(
-        Map<EntityType, List<CompiledBinding>> outgoingPerTargetType,
-        List<CompiledBinding> outgoingGeneric,
-        Map<EntityType, List<CompiledBinding>> incomingPerDamagerType,
-        List<CompiledBinding> incomingGeneric
-) {
+/**
+ * Damage bindings indexed by entity type.
+ * <p>
+ * Besides the raw per-type and generic lists, the index precomputes one {@link Dispatch} per
+ * entity type and direction: the type-specific and generic bindings merged, de-duplicated and
+ * ordered non-multipliers first (see {@link NexusDamageMultiplierEffect}). The damage listener
+ * only walks that array, so dispatching an event allocates nothing.
+ */
+public final class DamageBindingIndex {
+
+    private static final DamageBindingIndex EMPTY = new DamageBindingIndex(Map.of(), List.of(), Map.of(), List.of());
+
+    /**
+     * Precomputed bindings for one entity type and direction.
+     *
+     * @param bindings    de-duplicated, non-multipliers first
+     * @param needsMythic {@code true} if any binding matches MythicMobs ids
+     */
+    public record Dispatch(CompiledBinding[] bindings, boolean needsMythic) {
+        static final Dispatch EMPTY = new Dispatch(new CompiledBinding[0], false);
+    }
+
+    private final Map<EntityType, List<CompiledBinding>> outgoingPerTargetType;
+    private final List<CompiledBinding> outgoingGeneric;
+    private final Map<EntityType, List<CompiledBinding>> incomingPerDamagerType;
+    private final List<CompiledBinding> incomingGeneric;
+
+    private final Map<EntityType, Dispatch> outgoingDispatch;
+    private final Dispatch outgoingGenericDispatch;
+    private final Map<EntityType, Dispatch> incomingDispatch;
+    private final Dispatch incomingGenericDispatch;
+
+    public DamageBindingIndex(Map<EntityType, List<CompiledBinding>> outgoingPerTargetType,
+                              List<CompiledBinding> outgoingGeneric,
+                              Map<EntityType, List<CompiledBinding>> incomingPerDamagerType,
+                              List<CompiledBinding> incomingGeneric) {
+        this.outgoingPerTargetType = outgoingPerTargetType;
+        this.outgoingGeneric = outgoingGeneric;
+        this.incomingPerDamagerType = incomingPerDamagerType;
+        this.incomingGeneric = incomingGeneric;
+
+        this.outgoingGenericDispatch = dispatchOf(List.of(), outgoingGeneric);
+        this.outgoingDispatch = dispatchByType(outgoingPerTargetType, outgoingGeneric);
+        this.incomingGenericDispatch = dispatchOf(List.of(), incomingGeneric);
+        this.incomingDispatch = dispatchByType(incomingPerDamagerType, incomingGeneric);
+    }
+
+    public static DamageBindingIndex empty() {
+        return EMPTY;
+    }
 
     public static final class CompiledBinding {
         public final NexusDamageEffect effect;
         public final boolean matchAll;
-        public final Set<EntityType> mcTypes;
+        public final Set<EntityType> mcTypes;   // EnumSet
         public final Set<String> mythicIds;
         public final List<NexusFilter<DamageContext>> filters;
 
@@ -30,7 +75,7 @@ public record DamageBindingIndex(
                                List<NexusFilter<DamageContext>> filters) {
             this.effect = effect;
             this.matchAll = matchAll;
-            this.mcTypes = mcTypes;
+            this.mcTypes = mcTypes == null || mcTypes.isEmpty() ? EnumSet.noneOf(EntityType.class) : EnumSet.copyOf(mcTypes);
             this.mythicIds = mythicIds;
             this.filters = (filters == null || filters.isEmpty()) ? List.of() : List.copyOf(filters);
         }
@@ -38,7 +83,7 @@ public record DamageBindingIndex(
 
     public static DamageBindingIndex build(List<EffectBinding> bindings) {
         if (bindings == null || bindings.isEmpty()) {
-            return new DamageBindingIndex(Map.of(), List.of(), Map.of(), List.of());
+            return EMPTY;
         }
 
         Map<EntityType, List<CompiledBinding>> outgoingPerTarget = new EnumMap<>(EntityType.class);
@@ -96,6 +141,22 @@ public record DamageBindingIndex(
         );
     }
 
+    public Map<EntityType, List<CompiledBinding>> outgoingPerTargetType() {
+        return outgoingPerTargetType;
+    }
+
+    public List<CompiledBinding> outgoingGeneric() {
+        return outgoingGeneric;
+    }
+
+    public Map<EntityType, List<CompiledBinding>> incomingPerDamagerType() {
+        return incomingPerDamagerType;
+    }
+
+    public List<CompiledBinding> incomingGeneric() {
+        return incomingGeneric;
+    }
+
     public List<CompiledBinding> outgoingForTargetType(EntityType type) {
         return outgoingPerTargetType.getOrDefault(type, List.of());
     }
@@ -104,6 +165,48 @@ public record DamageBindingIndex(
         return incomingPerDamagerType.getOrDefault(type, List.of());
     }
 
+    /**
+     * @return all outgoing bindings to run when a player damages an entity of the given type
+     */
+    public Dispatch outgoingDispatch(EntityType targetType) {
+        Dispatch d = outgoingDispatch.get(targetType);
+        return d != null ? d : outgoingGenericDispatch;
+    }
+
+    /**
+     * @return all incoming bindings to run when a player is damaged by an entity of the given type
+     */
+    public Dispatch incomingDispatch(EntityType damagerType) {
+        Dispatch d = incomingDispatch.get(damagerType);
+        return d != null ? d : incomingGenericDispatch;
+    }
+
+    private static Map<EntityType, Dispatch> dispatchByType(Map<EntityType, List<CompiledBinding>> perType,
+                                                           List<CompiledBinding> generic) {
+        if (perType.isEmpty()) return Map.of();
+        Map<EntityType, Dispatch> out = new EnumMap<>(EntityType.class);
+        perType.forEach((type, list) -> out.put(type, dispatchOf(list, generic)));
+        return out;
+    }
+
+    // Typ-spezifisch vor generisch, Duplikate raus, dann stabil: additive Effekte vor Multiplikatoren
+    private static Dispatch dispatchOf(List<CompiledBinding> specific, List<CompiledBinding> generic) {
+        Set<CompiledBinding> unique = new LinkedHashSet<>(specific);
+        unique.addAll(generic);
+        if (unique.isEmpty()) return Dispatch.EMPTY;
+
+        List<CompiledBinding> ordered = new ArrayList<>(unique.size());
+        boolean needsMythic = false;
+        for (CompiledBinding cb : unique) {
+            if (!(cb.effect instanceof NexusDamageMultiplierEffect)) ordered.add(cb);
+            needsMythic |= !cb.mythicIds.isEmpty();
+        }
+        for (CompiledBinding cb : unique) {
+            if (cb.effect instanceof NexusDamageMultiplierEffect) ordered.add(cb);
+        }
+        return new Dispatch(ordered.toArray(new CompiledBinding[0]), needsMythic);
+    }
+
     private static final class ParsedDamageTriggers {
         final boolean hasOutgoing;
         final boolean outgoingMatchAll;
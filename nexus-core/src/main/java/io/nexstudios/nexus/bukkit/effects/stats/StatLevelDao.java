@@ -0,0 +1,119 @@
+package io.nexstudios.nexus.bukkit.effects.stats;
+
+import io.nexstudios.nexus.bukkit.levels.LevelSqlDialect;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+record StatLevelDao(String tableName, LevelSqlDialect dialect) {
+
+    // 3 Parameter pro Zeile -> 300 Bind-Parameter, bleibt unter dem alten SQLite-Limit von 999
+    static final int ROWS_PER_STATEMENT = 100;
+
+    /**
+     * Eine gespeicherte Stat-Stufe.
+     */
+    record Row(UUID playerId, String statId, int level) {
+    }
+
+    /**
+     * Lädt alle Stat-Stufen eines Spielers mit einer einzigen Abfrage.
+     */
+    public Map<String, Integer> loadAllForPlayer(Connection c, UUID playerId) throws Exception {
+        String sql = "SELECT stat_id, level FROM " + tableName + " WHERE player_uuid=?";
+        Map<String, Integer> out = new HashMap<>();
+        try (PreparedStatement ps = c.prepareStatement(sql)) {
+            ps.setString(1, playerId.toString());
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    out.put(rs.getString(1), rs.getInt(2));
+                }
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Schreibt alle Einträge per Upsert; die Transaktion wird vom Aufrufer gesteuert.
+     */
+    public void upsertBatch(Connection c, List<Row> batch) throws Exception {
+        if (batch.isEmpty()) {
+            return;
+        }
+        if (dialect == LevelSqlDialect.GENERIC) {
+            upsertBatchGeneric(c, batch);
+            return;
+        }
+        for (int from = 0; from < batch.size(); from += ROWS_PER_STATEMENT) {
+            int to = Math.min(batch.size(), from + ROWS_PER_STATEMENT);
+            try (PreparedStatement ps = c.prepareStatement(upsertSql(to - from))) {
+                int idx = 1;
+                for (int i = from; i < to; i++) {
+                    Row r = batch.get(i);
+                    ps.setString(idx++, r.playerId().toString());
+                    ps.setString(idx++, r.statId());
+                    ps.setInt(idx++, r.level());
+                }
+                ps.executeUpdate();
+            }
+        }
+    }
+
+    private String upsertSql(int rows) {
+        StringBuilder sb = new StringBuilder(128 + rows * 32);
+        sb.append("INSERT INTO ").append(tableName)
+                .append(" (player_uuid, stat_id, level, updated_at) VALUES ");
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) sb.append(',');
+            sb.append("(?, ?, ?, CURRENT_TIMESTAMP)");
+        }
+        if (dialect == LevelSqlDialect.MYSQL) {
+            sb.append(" ON DUPLICATE KEY UPDATE level=VALUES(level), updated_at=VALUES(updated_at)");
+        } else {
+            sb.append(" ON CONFLICT(player_uuid, stat_id) DO UPDATE SET level=excluded.level, updated_at=excluded.updated_at");
+        }
+        return sb.toString();
+    }
+
+    // Fallback für Datenbanken ohne bekannte Upsert-Syntax
+    private void upsertBatchGeneric(Connection c, List<Row> batch) throws Exception {
+        String update = "UPDATE " + tableName + " SET level=?, updated_at=CURRENT_TIMESTAMP WHERE player_uuid=? AND stat_id=?";
+        String insert = "INSERT INTO " + tableName + " (player_uuid, stat_id, level, updated_at) VALUES (?, ?, ?, CURRENT_TIMESTAMP)";
+
+        try (PreparedStatement up = c.prepareStatement(update);
+             PreparedStatement in = c.prepareStatement(insert)) {
+            for (Row r : batch) {
+                up.clearParameters();
+                up.setInt(1, r.level());
+                up.setString(2, r.playerId().toString());
+                up.setString(3, r.statId());
+                if (up.executeUpdate() == 0) {
+                    in.clearParameters();
+                    in.setString(1, r.playerId().toString());
+                    in.setString(2, r.statId());
+                    in.setInt(3, r.level());
+                    in.addBatch();
+                }
+            }
+            in.executeBatch();
+        }
+    }
+
+    public void ensureSchema(Connection c) throws Exception {
+        String ddl = "CREATE TABLE IF NOT EXISTS " + tableName + " (" +
+                "player_uuid VARCHAR(36) NOT NULL," +
+                "stat_id VARCHAR(64) NOT NULL," +
+                "level INT NOT NULL DEFAULT 0," +
+                "updated_at TIMESTAMP NULL," +
+                "PRIMARY KEY (player_uuid, stat_id)" +
+                ")";
+        try (PreparedStatement ps = c.prepareStatement(ddl)) {
+            ps.execute();
+        }
+    }
+}
@@ -0,0 +1,368 @@
+package io.nexstudios.nexus.bukkit.effects.stats;
+
+import io.nexstudios.nexus.bukkit.NexusPlugin;
+import io.nexstudios.nexus.bukkit.database.api.NexusDatabaseService;
+import io.nexstudios.nexus.bukkit.effects.vars.PlayerVariables;
+import io.nexstudios.nexus.bukkit.levels.LevelSqlDialect;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Database persistence of stat levels set through {@link StatsApi}.
+ * <p>
+ * Stat levels live in {@link PlayerVariables}; this class mirrors them into one table of the
+ * shared {@link NexusDatabaseService}:
+ * <ul>
+ *     <li>{@link StatsApi#setPlayerStatLevel} marks the (player, stat) pair dirty; a periodic
+ *         task writes dirty levels in batches (write-behind, same model as NexLevel)</li>
+ *     <li>On join all stat levels of the player are loaded with a single query</li>
+ *     <li>On quit the player's dirty levels are flushed immediately</li>
+ * </ul>
+ * Flushes and loads run on the executor of the database service. Drained levels stay in an
+ * in-flight set until their batch is committed: a (player, stat) pair is never written by two
+ * batches at once, and a load skips every pair that is dirty or in flight, so a quick rejoin
+ * never applies a level the database does not have yet.
+ * <p>
+ * Loaded levels are applied silently (no {@code PlayerStatLevelChangeEvent}) on the main thread;
+ * levels changed while the load was running are not overwritten. Every change takes a sequence
+ * number; while a load of the player is pending, the last number per stat is kept, and the load
+ * skips every stat changed after it was submitted, even if that change is already committed.
+ */
+public final class StatPersistence {
+
+    public static final class Config {
+        public long flushIntervalMillis = 60_000L;
+        public int batchSize = 500;
+        public String tableName = "nex_player_stats";
+    }
+
+    private static volatile StatPersistence instance;
+
+    private final NexusDatabaseService db;
+    private final Config cfg;
+
+    private final Object lock = new Object();
+    // guarded by lock: Spieler -> (statId -> Level), noch nicht geschrieben
+    private final Map<UUID, Map<String, Integer>> dirty = new HashMap<>();
+    // guarded by lock: Spieler -> (statId -> Level), in einem laufenden Batch bis zum Commit
+    private final Map<UUID, Map<String, Integer>> inflight = new HashMap<>();
+    // guarded by lock: fortlaufende Nummer jeder Änderung
+    private long changeSeq;
+    // guarded by lock: nur für Spieler mit laufendem Load, letzte Änderung pro Stat
+    private final Map<UUID, LoadWindow> loads = new HashMap<>();
+
+    private static final class LoadWindow {
+        int pending;
+        final Map<String, Long> changedAt = new HashMap<>();
+    }
+
+    // laufende Flushes/Loads auf dem DB-Executor, damit der Shutdown auf sie warten kann
+    private final Set<CompletableFuture<Void>> running = ConcurrentHashMap.newKeySet();
+
+    private BukkitTask flushTask;
+    private final AtomicBoolean shuttingDown = new AtomicBoolean(false);
+    private volatile StatLevelDao dao;
+
+    private StatPersistence(NexusDatabaseService db, Config cfg) {
+        this.db = db;
+        this.cfg = cfg;
+        this.dao = new StatLevelDao(cfg.tableName, LevelSqlDialect.GENERIC);
+    }
+
+    public static StatPersistence getInstance() {
+        return instance;
+    }
+
+    /**
+     * Initializes persistence (schema, flush task) and loads all online players.
+     */
+    public static synchronized StatPersistence init(NexusDatabaseService db, Config cfg) {
+        if (instance != null) return instance;
+        StatPersistence p = new StatPersistence(db, cfg);
+        p.bootstrap();
+        instance = p;
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            p.loadPlayer(player.getUniqueId());
+        }
+        return p;
+    }
+
+    /**
+     * Waits for running flushes (max. 10 seconds) and flushes all dirty levels blocking.
+     */
+    public static synchronized void shutdown() {
+        if (instance == null) return;
+        instance.teardown();
+        instance = null;
+    }
+
+    private void bootstrap() {
+        try {
+            db.withConnection(c -> {
+                try {
+                    LevelSqlDialect dialect = LevelSqlDialect.detect(c);
+                    dao = new StatLevelDao(cfg.tableName, dialect);
+                    dao.ensureSchema(c);
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            });
+        } catch (Exception e) {
+            NexusPlugin.nexusLogger.error("[NexStats] Schema-Init fehlgeschlagen: " + e.getMessage());
+        }
+        long ticks = Math.max(1L, cfg.flushIntervalMillis / 50L);
+        // der Timer stößt nur an, geschrieben wird auf dem Executor des DB-Services
+        flushTask = Bukkit.getScheduler().runTaskTimerAsynchronously(NexusPlugin.getInstance(),
+                () -> submit(this::flushOnceSafe), ticks, ticks);
+    }
+
+    private void teardown() {
+        shuttingDown.set(true);
+        if (flushTask != null) {
+            flushTask.cancel();
+        }
+        try {
+            if (!running.isEmpty()) {
+                CompletableFuture.allOf(running.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ignored) {
+            // bereits im Task geloggt
+        } catch (TimeoutException e) {
+            NexusPlugin.nexusLogger.warning("[NexStats] Running flushes did not finish within 10 seconds during shutdown. Some stat levels might not be flushed.");
+        }
+        flushAllBlocking();
+    }
+
+    private boolean submit(Runnable task) {
+        if (shuttingDown.get()) return false;
+        CompletableFuture<Void> future = CompletableFuture.runAsync(task, db.executor());
+        running.add(future);
+        future.whenComplete((v, t) -> running.remove(future));
+        return true;
+    }
+
+    // ---- Write-behind ----
+
+    void markDirty(UUID playerId, String statId, int level) {
+        String id = normalize(statId);
+        synchronized (lock) {
+            dirty.computeIfAbsent(playerId, __ -> new HashMap<>()).put(id, level);
+            long seq = ++changeSeq;
+            LoadWindow window = loads.get(playerId);
+            if (window != null) {
+                window.changedAt.put(id, seq);
+            }
+        }
+    }
+
+    /**
+     * Releases the in-flight entries of a finished batch; after a failure they are queued again
+     * unless a newer level was set in the meantime.
+     */
+    private void complete(List<StatLevelDao.Row> rows, boolean committed) {
+        synchronized (lock) {
+            for (StatLevelDao.Row r : rows) {
+                Map<String, Integer> m = inflight.get(r.playerId());
+                if (m != null) {
+                    m.remove(r.statId());
+                    if (m.isEmpty()) inflight.remove(r.playerId());
+                }
+                if (!committed && !shuttingDown.get()) {
+                    dirty.computeIfAbsent(r.playerId(), __ -> new HashMap<>()).putIfAbsent(r.statId(), r.level());
+                }
+            }
+        }
+    }
+
+    private List<StatLevelDao.Row> drain(int max) {
+        List<StatLevelDao.Row> out = new ArrayList<>();
+        synchronized (lock) {
+            Iterator<UUID> it = dirty.keySet().iterator();
+            while (out.size() < max && it.hasNext()) {
+                UUID playerId = it.next();
+                drainPlayerLocked(playerId, out);
+                if (dirty.get(playerId).isEmpty()) it.remove();
+            }
+        }
+        return out;
+    }
+
+    // guarded by lock; Stufen mit laufendem Flush bleiben dirty, bis dieser committed ist
+    private void drainPlayerLocked(UUID playerId, List<StatLevelDao.Row> out) {
+        Map<String, Integer> m = dirty.get(playerId);
+        if (m == null) return;
+        Map<String, Integer> busy = inflight.get(playerId);
+        Iterator<Map.Entry<String, Integer>> it = m.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Integer> e = it.next();
+            if (busy != null && busy.containsKey(e.getKey())) continue;
+            out.add(new StatLevelDao.Row(playerId, e.getKey(), e.getValue()));
+            inflight.computeIfAbsent(playerId, __ -> new HashMap<>()).put(e.getKey(), e.getValue());
+            it.remove();
+        }
+    }
+
+    private void flushOnceSafe() {
+        try {
+            List<StatLevelDao.Row> batch = drain(cfg.batchSize);
+            if (!batch.isEmpty()) flushBatch(batch);
+        } catch (Throwable t) {
+            NexusPlugin.nexusLogger.error("[NexStats] Flush failed: " + t.getMessage());
+        }
+    }
+
+    private void flushAllBlocking() {
+        try {
+            while (true) {
+                List<StatLevelDao.Row> batch = drain(cfg.batchSize);
+                if (batch.isEmpty()) break;
+                flushBatch(batch);
+            }
+        } catch (Throwable t) {
+            NexusPlugin.nexusLogger.error("[NexStats] Complete Flush failed on shutdown: " + t.getMessage());
+        }
+    }
+
+    /**
+     * Writes the dirty levels of one player now (asynchronously), e.g. on quit.
+     */
+    public void flushPlayer(UUID playerId) {
+        List<StatLevelDao.Row> rows = new ArrayList<>();
+        synchronized (lock) {
+            drainPlayerLocked(playerId, rows);
+            Map<String, Integer> m = dirty.get(playerId);
+            if (m != null && m.isEmpty()) dirty.remove(playerId);
+        }
+        if (rows.isEmpty()) return;
+        if (shuttingDown.get()) {
+            // Shutdown-Flush läuft gleich ohnehin, Stufen wieder einreihen
+            complete(rows, false);
+            return;
+        }
+        submit(() -> flushBatch(rows));
+    }
+
+    private void flushBatch(List<StatLevelDao.Row> batch) {
+        boolean committed = false;
+        try {
+            db.withConnection(c -> {
+                boolean oldAutoCommit = true;
+                try {
+                    oldAutoCommit = c.getAutoCommit();
+                    c.setAutoCommit(false);
+                    dao.upsertBatch(c, batch);
+                    c.commit();
+                } catch (Exception e) {
+                    try {
+                        c.rollback();
+                    } catch (Exception ignored) {
+                    }
+                    throw new RuntimeException(e);
+                } finally {
+                    try {
+                        c.setAutoCommit(oldAutoCommit);
+                    } catch (Exception ignored) {
+                    }
+                }
+            });
+            committed = true;
+            NexusPlugin.nexusLogger.debug("[NexStats] Flushed " + batch.size() + " stat levels", 3);
+        } catch (Exception e) {
+            NexusPlugin.nexusLogger.error("[NexStats] Batch-Flush failed: " + e.getMessage());
+        } finally {
+            complete(batch, committed);
+        }
+    }
+
+    // ---- Load ----
+
+    /**
+     * Loads all stored stat levels of the player asynchronously into {@link PlayerVariables}.
+     * The query runs on the database service executor, the result is applied on the main thread.
+     */
+    public void loadPlayer(UUID playerId) {
+        long since;
+        synchronized (lock) {
+            since = changeSeq;
+            loads.computeIfAbsent(playerId, __ -> new LoadWindow()).pending++;
+        }
+        boolean submitted = submit(() -> {
+            Map<String, Integer> levels;
+            try {
+                levels = db.withConnection(c -> {
+                    try {
+                        return dao.loadAllForPlayer(c, playerId);
+                    } catch (Exception e) {
+                        throw new RuntimeException(e);
+                    }
+                });
+            } catch (Exception e) {
+                NexusPlugin.nexusLogger.error("[NexStats] Loading stat levels of " + playerId + " failed: " + e.getMessage());
+                endLoad(playerId);
+                return;
+            }
+            if (levels.isEmpty()) {
+                endLoad(playerId);
+                return;
+            }
+            // Main-Thread: Stufen werden dort gesetzt, der Abgleich mit dirty/inflight ist damit atomar
+            Bukkit.getScheduler().runTask(NexusPlugin.getInstance(), () -> applyLoaded(playerId, levels, since));
+        });
+        if (!submitted) {
+            endLoad(playerId);
+        }
+    }
+
+    private void applyLoaded(UUID playerId, Map<String, Integer> levels, long since) {
+        synchronized (lock) {
+            Map<String, Integer> pending = dirty.get(playerId);
+            Map<String, Integer> busy = inflight.get(playerId);
+            LoadWindow window = loads.get(playerId);
+            for (Map.Entry<String, Integer> e : levels.entrySet()) {
+                // geänderte oder noch nicht committete Stufen sind neuer als die DB
+                if (pending != null && pending.containsKey(e.getKey())) continue;
+                if (busy != null && busy.containsKey(e.getKey())) continue;
+                // nach dem Absenden des Loads geändert (evtl. schon committet): DB-Stand ist älter
+                if (window != null && window.changedAt.getOrDefault(e.getKey(), 0L) > since) continue;
+                PlayerVariables.setInt(playerId, PlayerVariables.id(StatsApi.levelKey(e.getKey())), e.getValue());
+            }
+            endLoadLocked(playerId);
+        }
+    }
+
+    private void endLoad(UUID playerId) {
+        synchronized (lock) {
+            endLoadLocked(playerId);
+        }
+    }
+
+    // guarded by lock
+    private void endLoadLocked(UUID playerId) {
+        LoadWindow window = loads.get(playerId);
+        if (window != null && --window.pending <= 0) {
+            loads.remove(playerId);
+        }
+    }
+
+    private static String normalize(String statId) {
+        return statId.toLowerCase(Locale.ROOT).trim();
+    }
+}
@@ -0,0 +1,26 @@
+package io.nexstudios.nexus.bukkit.effects.stats;
+
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+public final class StatPersistenceListener implements Listener {
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onJoin(PlayerJoinEvent event) {
+        StatPersistence persistence = StatPersistence.getInstance();
+        if (persistence != null) {
+            persistence.loadPlayer(event.getPlayer().getUniqueId());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        StatPersistence persistence = StatPersistence.getInstance();
+        if (persistence != null) {
+            persistence.flushPlayer(event.getPlayer().getUniqueId());
+        }
+    }
+}
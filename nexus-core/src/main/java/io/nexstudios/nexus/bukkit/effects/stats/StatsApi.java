@@ -132,7 +132,8 @@ public final class StatsApi {
         if (playerId == null || statId == null) return;
         // alten Wert lesen
         int old = getPlayerStatLevel(playerId, statId, Integer.MIN_VALUE);
-        PlayerVariables.set(playerId, levelKey(statId), String.valueOf(level));
+        PlayerVariables.setInt(playerId, PlayerVariables.id(levelKey(statId)), level);
+        persist(playerId, statId, old, level);
         // Event nur bei Änderung
         if (old != level) {
             NexusStat stat = findStat(statId);
@@ -143,14 +144,14 @@ public final class StatsApi {
 
     public static int getPlayerStatLevel(UUID playerId, String statId, int def) {
         if (playerId == null || statId == null) return def;
-        String s = PlayerVariables.get(playerId, levelKey(statId), String.valueOf(def));
-        try { return Integer.parseInt(s); } catch (NumberFormatException e) { return def; }
+        return PlayerVariables.getInt(playerId, PlayerVariables.existingId(levelKey(statId)), def);
     }
 
     public static void setPlayerStatLevel(UUID playerId, NexusStat stat, int level) {
         if (playerId == null || stat == null) return;
         int old = getPlayerStatLevel(playerId, stat, Integer.MIN_VALUE);
-        PlayerVariables.set(playerId, stat.keyLevel(), String.valueOf(level));
+        PlayerVariables.setInt(playerId, PlayerVariables.id(stat.keyLevel()), level);
+        persist(playerId, stat.id(), old, level);
         if (old != level) {
             callSync(new PlayerStatLevelChangeEvent(playerId, stat, old == Integer.MIN_VALUE ? 0 : old, level));
         }
@@ -159,15 +160,11 @@ public final class StatsApi {
 
     public static int getPlayerStatLevel(UUID playerId, NexusStat stat, int def) {
         if (playerId == null || stat == null) return def;
-        String s = PlayerVariables.get(playerId, stat.keyLevel(), String.valueOf(def));
-        try { return Integer.parseInt(s); } catch (NumberFormatException e) { return def; }
+        return PlayerVariables.getInt(playerId, PlayerVariables.existingId(stat.keyLevel()), def);
     }
 
     private static EffectFactory buildFactoryForStat(String statId) {
-        PlayerVariableResolver statLevelResolver = PlayerVariableResolver.ofConstant(
-                "stat-level",
-                (player, key) -> PlayerVariables.get(player.getUniqueId(), levelKey(statId), "0")
-        );
+        PlayerVariableResolver statLevelResolver = PlayerVariableResolver.ofVariable("stat-level", levelKey(statId));
 
         PlayerVariableResolver composite = PlayerVariableResolver.composite(
                 PlayerVariableResolver.ofStore(),
@@ -187,7 +184,15 @@ public final class StatsApi {
         return dot > 0 ? n.substring(0, dot) : n;
     }
 
-    private static String levelKey(String statId) {
+    // Write-behind in die Datenbank, falls StatPersistence aktiv ist
+    private static void persist(UUID playerId, String statId, int old, int level) {
+        StatPersistence persistence = StatPersistence.getInstance();
+        if (persistence != null && old != level) {
+            persistence.markDirty(playerId, statId, level);
+        }
+    }
+
+    static String levelKey(String statId) {
         return LEVEL_KEY_PREFIX + statId.toLowerCase(Locale.ROOT).trim() + LEVEL_KEY_SUFFIX;
     }
 
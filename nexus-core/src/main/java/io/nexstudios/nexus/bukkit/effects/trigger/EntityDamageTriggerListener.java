@@ -1,21 +1,19 @@
 package io.nexstudios.nexus.bukkit.effects.trigger;
 
 import io.nexstudios.nexus.bukkit.NexusPlugin;
-import io.nexstudios.nexus.bukkit.effects.NexusDamageMultiplierEffect;
 import io.nexstudios.nexus.bukkit.effects.filters.DamageContext;
+import io.nexstudios.nexus.bukkit.effects.filters.NexusFilter;
 import io.nexstudios.nexus.bukkit.effects.runtime.DamageBindingIndex;
 import io.nexstudios.nexus.bukkit.effects.runtime.EffectBindingRegistry;
+import io.nexstudios.nexus.bukkit.hooks.mythicmobs.MythicMobsHook;
+import org.bukkit.entity.Entity;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityDamageByEntityEvent;
 
-import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
-import java.util.function.Consumer;
 
 public record EntityDamageTriggerListener(EffectBindingRegistry registry) implements Listener {
 
@@ -25,100 +23,59 @@ public record EntityDamageTriggerListener(EffectBindingRegistry registry) implem
         if (registry.isEmpty()) return;
 
         DamageBindingIndex index = registry.getDamageIndex();
+        Entity damager = event.getDamager();
+        Entity target = event.getEntity();
 
-        // OUTGOING: Damager muss Player sein (wie bisher)
-        if (event.getDamager() instanceof Player) {
-            EntityType targetType = event.getEntity().getType();
-            Set<DamageBindingIndex.CompiledBinding> seen = new HashSet<>();
-            applyOutgoing(index.outgoingForTargetType(targetType), event, seen);
-            applyOutgoing(index.outgoingGeneric(), event, seen);
+        // OUTGOING: Damager muss Player sein (wie bisher), gematcht wird das Ziel
+        if (damager instanceof Player) {
+            dispatch(index.outgoingDispatch(target.getType()), event, target);
         }
 
-        // INCOMING: Target muss Player sein
-        if (event.getEntity() instanceof Player) {
-            EntityType damagerType = event.getDamager().getType();
-            Set<DamageBindingIndex.CompiledBinding> seen = new HashSet<>();
-            applyIncoming(index.incomingForDamagerType(damagerType), event, seen);
-            applyIncoming(index.incomingGeneric(), event, seen);
+        // INCOMING: Target muss Player sein, gematcht wird der Angreifer
+        if (target instanceof Player) {
+            dispatch(index.incomingDispatch(damager.getType()), event, damager);
         }
     }
 
-    private void applyOutgoing(List<DamageBindingIndex.CompiledBinding> list,
-                               EntityDamageByEntityEvent event,
-                               Set<DamageBindingIndex.CompiledBinding> seen) {
-        apply(list, event, seen, MatchSide.OUTGOING);
-    }
-
-    private void applyIncoming(List<DamageBindingIndex.CompiledBinding> list,
-                               EntityDamageByEntityEvent event,
-                               Set<DamageBindingIndex.CompiledBinding> seen) {
-        apply(list, event, seen, MatchSide.INCOMING);
-    }
-
-    private enum MatchSide { OUTGOING, INCOMING }
-
-    private void apply(List<DamageBindingIndex.CompiledBinding> list,
-                       EntityDamageByEntityEvent event,
-                       Set<DamageBindingIndex.CompiledBinding> seen,
-                       MatchSide side) {
-        if (list == null || list.isEmpty()) return;
-
-        var hook = NexusPlugin.getInstance().getMythicMobsHook();
+    // Bindings sind vorberechnet (dedupliziert, additive vor Multiplikatoren) -> keine Allokation pro Event
+    private void dispatch(DamageBindingIndex.Dispatch dispatch, EntityDamageByEntityEvent event, Entity matched) {
+        DamageBindingIndex.CompiledBinding[] bindings = dispatch.bindings();
+        if (bindings.length == 0) return;
 
-        List<DamageBindingIndex.CompiledBinding> nonMultipliers = new ArrayList<>();
-        List<DamageBindingIndex.CompiledBinding> multipliers = new ArrayList<>();
+        EntityType matchedType = matched.getType();
 
-        for (var cb : list) {
-            if (!seen.add(cb)) continue;
-
-            if (cb.effect instanceof NexusDamageMultiplierEffect) {
-                multipliers.add(cb);
-            } else {
-                nonMultipliers.add(cb);
+        // MythicMob-Typ einmal pro Event auflösen, danach nur Set-Lookups
+        String mythicType = null;
+        if (dispatch.needsMythic()) {
+            MythicMobsHook hook = NexusPlugin.getInstance().getMythicMobsHook();
+            if (hook != null) {
+                mythicType = hook.getMythicMobType(matched);
             }
         }
 
-        DamageContext ctx = new DamageContext(event);
-
-        Consumer<DamageBindingIndex.CompiledBinding> run = cb -> {
-            boolean mcMatch;
-            boolean mythicMatch = false;
-
-            if (side == MatchSide.OUTGOING) {
-                mcMatch = !cb.mcTypes.isEmpty() && cb.mcTypes.contains(event.getEntity().getType());
-                if (!cb.mythicIds.isEmpty() && hook != null) {
-                    for (String id : cb.mythicIds) {
-                        if (hook.isMythicMob(event.getEntity(), id)) {
-                            mythicMatch = true;
-                            break;
-                        }
-                    }
-                }
-            } else {
-                mcMatch = !cb.mcTypes.isEmpty() && cb.mcTypes.contains(event.getDamager().getType());
-                if (!cb.mythicIds.isEmpty() && hook != null) {
-                    for (String id : cb.mythicIds) {
-                        if (hook.isMythicMob(event.getDamager(), id)) {
-                            mythicMatch = true;
-                            break;
-                        }
-                    }
-                }
-            }
+        // Context nur erzeugen, wenn tatsächlich ein Filter geprüft wird
+        DamageContext ctx = null;
 
-            boolean baseMatch = cb.matchAll || mcMatch || mythicMatch;
-            if (!baseMatch) return;
+        for (DamageBindingIndex.CompiledBinding cb : bindings) {
+            boolean baseMatch = cb.matchAll
+                    || cb.mcTypes.contains(matchedType)
+                    || (mythicType != null && cb.mythicIds.contains(mythicType));
+            if (!baseMatch) continue;
 
-            if (!cb.filters.isEmpty()) {
-                for (var f : cb.filters) {
-                    if (!f.test(ctx)) return;
-                }
+            List<NexusFilter<DamageContext>> filters = cb.filters;
+            if (!filters.isEmpty()) {
+                if (ctx == null) ctx = new DamageContext(event);
+                if (!testAll(filters, ctx)) continue;
             }
 
             cb.effect.onDamage(event);
-        };
+        }
+    }
 
-        for (var cb : nonMultipliers) run.accept(cb);
-        for (var cb : multipliers) run.accept(cb);
+    private static boolean testAll(List<NexusFilter<DamageContext>> filters, DamageContext ctx) {
+        for (int i = 0, n = filters.size(); i < n; i++) {
+            if (!filters.get(i).test(ctx)) return false;
+        }
+        return true;
     }
-}
\ No newline at end of file
+}
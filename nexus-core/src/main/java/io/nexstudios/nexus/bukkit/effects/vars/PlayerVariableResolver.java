@@ -9,25 +9,87 @@ import java.util.function.BiFunction;
 public interface PlayerVariableResolver {
     Map<String, String> resolve(Player player);
 
+    /**
+     * Numeric value of a single variable, {@code NaN} if unknown.
+     * The default goes through {@link #resolve(Player)}; store-backed resolvers read primitives directly.
+     */
+    default double resolveNumber(Player player, String name) {
+        return PlayerVariables.parseNumber(resolve(player).get(name));
+    }
+
     static PlayerVariableResolver composite(PlayerVariableResolver... resolvers) {
-        return player -> {
-            Map<String, String> result = new HashMap<>();
-            for (PlayerVariableResolver r : resolvers) {
-                result.putAll(r.resolve(player));
+        return new PlayerVariableResolver() {
+            @Override
+            public Map<String, String> resolve(Player player) {
+                Map<String, String> result = new HashMap<>();
+                for (PlayerVariableResolver r : resolvers) {
+                    result.putAll(r.resolve(player));
+                }
+                return result;
+            }
+
+            @Override
+            public double resolveNumber(Player player, String name) {
+                // spätere Resolver überschreiben frühere (wie putAll)
+                for (int i = resolvers.length - 1; i >= 0; i--) {
+                    double v = resolvers[i].resolveNumber(player, name);
+                    if (!Double.isNaN(v)) return v;
+                }
+                return Double.NaN;
             }
-            return result;
         };
     }
 
     static PlayerVariableResolver ofStore() {
-        return player -> new HashMap<>(PlayerVariables.snapshot(player.getUniqueId()));
+        return new PlayerVariableResolver() {
+            @Override
+            public Map<String, String> resolve(Player player) {
+                return PlayerVariables.snapshot(player.getUniqueId());
+            }
+
+            @Override
+            public double resolveNumber(Player player, String name) {
+                int id = PlayerVariables.existingId(name);
+                if (id < 0) return Double.NaN;
+                PlayerVariables.Frame frame = PlayerVariables.frame(player.getUniqueId());
+                double v = frame.getDouble(id, Double.NaN);
+                // nicht-numerische Werte (z. B. "2*3") wie bisher als Ausdruck lesen
+                return Double.isNaN(v) && frame.has(id) ? PlayerVariables.parseNumber(frame.getString(id, null)) : v;
+            }
+        };
+    }
+
+    /**
+     * Exposes a store variable under another name, e.g. {@code stat-level} for {@code stats:<id>:level}.
+     */
+    static PlayerVariableResolver ofVariable(String name, String storeKey) {
+        int id = PlayerVariables.id(storeKey);
+        return new PlayerVariableResolver() {
+            @Override
+            public Map<String, String> resolve(Player player) {
+                String val = PlayerVariables.frame(player.getUniqueId()).getString(id, null);
+                return val == null ? Map.of() : Map.of(name, val);
+            }
+
+            @Override
+            public double resolveNumber(Player player, String n) {
+                return name.equals(n) ? PlayerVariables.frame(player.getUniqueId()).getDouble(id, Double.NaN) : Double.NaN;
+            }
+        };
     }
 
     static PlayerVariableResolver ofConstant(String key, BiFunction<Player, String, String> provider) {
-        return player -> {
-            String val = provider.apply(player, key);
-            return val == null ? Map.of() : Map.of(key, val);
+        return new PlayerVariableResolver() {
+            @Override
+            public Map<String, String> resolve(Player player) {
+                String val = provider.apply(player, key);
+                return val == null ? Map.of() : Map.of(key, val);
+            }
+
+            @Override
+            public double resolveNumber(Player player, String name) {
+                return key.equals(name) ? PlayerVariables.parseNumber(provider.apply(player, key)) : Double.NaN;
+            }
         };
     }
 }
-
@@ -1,42 +1,234 @@
 package io.nexstudios.nexus.bukkit.effects.vars;
 
+import io.nexstudios.nexus.bukkit.utils.expression.NexusExpression;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * The PlayerVariables class provides a thread-safe mechanism for managing
- * key-value pair storage associated with individual players, identified by their UUIDs.
+ * variables associated with individual players, identified by their UUIDs.
  * Each player has an independent storage space for their variables, with additional support
  * for a versioning system to track updates.
  *
- * This utility class includes methods for setting, retrieving, and snapshotting variables,
- * as well as checking the version of a player's stored variables. It also ensures safe
- * concurrent access for managing player-specific data.
+ * Variable names are interned once into int ids ({@link #id(String)}). Every player holds an
+ * immutable {@link Frame} with primitive values indexed by id; writes publish a new frame
+ * (copy-on-write), so reads and snapshots never lock and never copy. Numbers are stored as
+ * primitives, other values as strings; the string API ({@link #get}, {@link #snapshot}) remains
+ * available as a view.
  *
  * This class is designed to work in scenarios where dynamic, player-specific
  * data needs to be managed, and is particularly useful in games or
  * systems requiring real-time variable updates and retrievals.
  */
 public final class PlayerVariables {
-    private static final Map<UUID, Map<String, String>> STORE = new ConcurrentHashMap<>();
-    private static final Map<UUID, AtomicLong> VERSION = new ConcurrentHashMap<>();
+
+    private static final byte ABSENT = 0;
+    private static final byte INT = 1;
+    private static final byte DOUBLE = 2;
+    private static final byte STRING = 3;
+
+    private static final Map<String, Integer> IDS = new ConcurrentHashMap<>();
+    // guarded by IDS_LOCK (copy-on-write, Index = Variablen-Id)
+    private static volatile String[] names = new String[0];
+    private static final Object IDS_LOCK = new Object();
+
+    private static final Map<UUID, Store> STORE = new ConcurrentHashMap<>();
+    // global fortlaufend, damit Versionen auch nach clear(...) nie zurückspringen
+    private static final AtomicLong VERSION_SEQ = new AtomicLong();
 
     private PlayerVariables() {}
 
+    /**
+     * Immutable variable values of one player at one version.
+     */
+    public static final class Frame {
+        static final Frame EMPTY = new Frame(0L, new byte[0], new double[0], new String[0]);
+
+        private final long version;
+        private final byte[] kinds;
+        private final double[] numbers;
+        private final String[] strings;
+        private Map<String, String> view;
+
+        private Frame(long version, byte[] kinds, double[] numbers, String[] strings) {
+            this.version = version;
+            this.kinds = kinds;
+            this.numbers = numbers;
+            this.strings = strings;
+        }
+
+        public long version() {
+            return version;
+        }
+
+        public boolean has(int id) {
+            return id >= 0 && id < kinds.length && kinds[id] != ABSENT;
+        }
+
+        /**
+         * @return the numeric value, or {@code def} if absent or not numeric
+         */
+        public double getDouble(int id, double def) {
+            if (id < 0 || id >= kinds.length) return def;
+            byte k = kinds[id];
+            return k == INT || k == DOUBLE ? numbers[id] : def;
+        }
+
+        /**
+         * @return the numeric value truncated to int, or {@code def} if absent or not numeric
+         */
+        public int getInt(int id, int def) {
+            if (id < 0 || id >= kinds.length) return def;
+            byte k = kinds[id];
+            return k == INT || k == DOUBLE ? (int) numbers[id] : def;
+        }
+
+        /**
+         * @return the value as string (numbers formatted), or {@code def} if absent
+         */
+        public String getString(int id, String def) {
+            if (id < 0 || id >= kinds.length) return def;
+            byte k = kinds[id];
+            if (k == ABSENT) return def;
+            // per String gesetzte Werte behalten ihre Originalschreibweise
+            if (strings[id] != null) return strings[id];
+            return k == INT ? Integer.toString((int) numbers[id]) : Double.toString(numbers[id]);
+        }
+
+        /**
+         * Unmodifiable string view (name -> value) of this frame. Created once, no copy of the values.
+         */
+        public Map<String, String> asMap() {
+            Map<String, String> v = view;
+            if (v == null) {
+                v = new FrameView(this);
+                view = v;
+            }
+            return v;
+        }
+
+        private Frame with(int id, byte kind, double number, String string, long newVersion) {
+            int len = Math.max(kinds.length, id + 1);
+            byte[] k = Arrays.copyOf(kinds, len);
+            double[] n = Arrays.copyOf(numbers, len);
+            String[] s = Arrays.copyOf(strings, len);
+            k[id] = kind;
+            n[id] = number;
+            s[id] = string;
+            return new Frame(newVersion, k, n, s);
+        }
+
+        // beide Formen vergleichen: Zahlen aus dem String-Setter tragen zusätzlich ihre Originalschreibweise ("01" vs. "1")
+        private boolean holds(int id, byte kind, double number, String string) {
+            if (id >= kinds.length || kinds[id] != kind) return false;
+            if (!Objects.equals(string, strings[id])) return false;
+            return kind == STRING || Double.compare(numbers[id], number) == 0;
+        }
+    }
+
+    private static final class Store {
+        volatile Frame frame = Frame.EMPTY;
+    }
+
+    // ---- Ids ----
+
+    /**
+     * Interns a variable name.
+     *
+     * @return the stable id of the variable
+     */
+    public static int id(String key) {
+        Integer id = IDS.get(key);
+        if (id != null) return id;
+        synchronized (IDS_LOCK) {
+            id = IDS.get(key);
+            if (id != null) return id;
+            String[] n = Arrays.copyOf(names, names.length + 1);
+            n[n.length - 1] = key;
+            names = n;
+            id = n.length - 1;
+            IDS.put(key, id);
+            return id;
+        }
+    }
+
+    /**
+     * @return the id of an already interned variable, or {@code -1}
+     */
+    public static int existingId(String key) {
+        Integer id = IDS.get(key);
+        return id == null ? -1 : id;
+    }
+
+    public static String name(int id) {
+        return names[id];
+    }
+
+    // ---- Typed access ----
+
+    /**
+     * Returns the current frame of the player (never null). The frame is immutable;
+     * later writes publish a new frame.
+     */
+    public static Frame frame(UUID playerId) {
+        Store s = STORE.get(playerId);
+        return s == null ? Frame.EMPTY : s.frame;
+    }
+
+    public static void setInt(UUID playerId, int id, int value) {
+        write(playerId, id, INT, value, null);
+    }
+
+    public static void setDouble(UUID playerId, int id, double value) {
+        write(playerId, id, DOUBLE, value, null);
+    }
+
+    public static int getInt(UUID playerId, int id, int def) {
+        return frame(playerId).getInt(id, def);
+    }
+
+    public static double getDouble(UUID playerId, int id, double def) {
+        return frame(playerId).getDouble(id, def);
+    }
+
+    // ---- String access (compatible API) ----
+
     /**
      * Sets a key-value pair for the specified player's variable storage.
      * If the player's storage does not exist, it will be initialized.
-     * Simultaneously increments the version counter for the player's variable storage.
+     * Numeric values are stored as primitives. The version counter of the player's
+     * variable storage is incremented if the value changed.
      *
      * @param playerId the unique identifier of the player
      * @param key the key under which the value will be stored
      * @param value the value to be stored associated with the provided key
      */
     public static void set(UUID playerId, String key, String value) {
-        STORE.computeIfAbsent(playerId, id -> new ConcurrentHashMap<>()).put(key, value);
-        VERSION.computeIfAbsent(playerId, id -> new AtomicLong()).incrementAndGet();
+        int id = id(key);
+        if (value != null) {
+            String v = value.trim();
+            try {
+                write(playerId, id, INT, Integer.parseInt(v), v);
+                return;
+            } catch (NumberFormatException ignored) {
+            }
+            try {
+                write(playerId, id, DOUBLE, Double.parseDouble(v), v);
+                return;
+            } catch (NumberFormatException ignored) {
+            }
+        }
+        write(playerId, id, STRING, 0.0, String.valueOf(value));
     }
 
     /**
@@ -49,21 +241,19 @@ public final class PlayerVariables {
      * @return the value associated with the specified key, or the default value if the key does not exist
      */
     public static String get(UUID playerId, String key, String def) {
-        Map<String, String> m = STORE.get(playerId);
-        if (m == null) return def;
-        return m.getOrDefault(key, def);
+        return frame(playerId).getString(existingId(key), def);
     }
 
     /**
      * Returns an unmodifiable snapshot of the variable storage for the specified player.
      * If no variables are stored for the player, an empty map is returned.
+     * The snapshot is a view of an immutable frame and does not copy.
      *
      * @param playerId the unique identifier of the player
      * @return an unmodifiable map containing the player's variable storage, or an empty map if no variables exist
      */
     public static Map<String, String> snapshot(UUID playerId) {
-        Map<String, String> m = STORE.get(playerId);
-        return m == null ? Map.of() : Map.copyOf(m);
+        return frame(playerId).asMap();
     }
 
     /**
@@ -74,9 +264,112 @@ public final class PlayerVariables {
      * @return the current version number of the player's variable storage
      */
     public static long version(UUID playerId) {
-        AtomicLong v = VERSION.get(playerId);
-        return v == null ? 0L : v.get();
+        return frame(playerId).version();
     }
-}
 
+    /**
+     * Removes all variables of the player.
+     *
+     * @param playerId the unique identifier of the player
+     */
+    public static void clear(UUID playerId) {
+        STORE.remove(playerId);
+    }
 
+    /**
+     * Parses a variable value as number: plain numbers directly, otherwise as expression (e.g. "2*3").
+     *
+     * @return the value, or {@code NaN} if it is neither
+     */
+    public static double parseNumber(String raw) {
+        if (raw == null) return Double.NaN;
+        try {
+            return Double.parseDouble(raw.trim());
+        } catch (NumberFormatException e) {
+            try {
+                return NexusExpression.compileUncached(raw).evaluate();
+            } catch (RuntimeException ex) {
+                return Double.NaN;
+            }
+        }
+    }
+
+    private static void write(UUID playerId, int id, byte kind, double number, String string) {
+        Store s = STORE.computeIfAbsent(playerId, __ -> new Store());
+        synchronized (s) {
+            Frame f = s.frame;
+            // unveränderter Wert -> keine neue Version (Damage-Cache bleibt gültig)
+            if (f.holds(id, kind, number, string)) return;
+            s.frame = f.with(id, kind, number, string, VERSION_SEQ.incrementAndGet());
+        }
+    }
+
+    // ---- String view ----
+
+    private static final class FrameView extends AbstractMap<String, String> {
+        private final Frame frame;
+        private int size = -1;
+
+        FrameView(Frame frame) {
+            this.frame = frame;
+        }
+
+        @Override
+        public String get(Object key) {
+            return key instanceof String k ? frame.getString(existingId(k), null) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof String k && frame.has(existingId(k));
+        }
+
+        @Override
+        public int size() {
+            int s = size;
+            if (s < 0) {
+                s = 0;
+                for (byte k : frame.kinds) {
+                    if (k != ABSENT) s++;
+                }
+                size = s;
+            }
+            return s;
+        }
+
+        @Override
+        public Set<Entry<String, String>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<String, String>> iterator() {
+                    return new Iterator<>() {
+                        int next = advance(0);
+
+                        private int advance(int from) {
+                            while (from < frame.kinds.length && frame.kinds[from] == ABSENT) from++;
+                            return from;
+                        }
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < frame.kinds.length;
+                        }
+
+                        @Override
+                        public Entry<String, String> next() {
+                            if (!hasNext()) throw new NoSuchElementException();
+                            int id = next;
+                            next = advance(id + 1);
+                            return new SimpleImmutableEntry<>(name(id), frame.getString(id, null));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return FrameView.this.size();
+                }
+            };
+        }
+    }
+}
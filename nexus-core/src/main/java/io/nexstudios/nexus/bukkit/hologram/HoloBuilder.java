@@ -30,6 +30,7 @@ public interface HoloBuilder {
     // Sichtbarkeit
     HoloBuilder viewersEveryOne();
     HoloBuilder viewerOnly(Player p);
+    HoloBuilder viewersNone();                 // keine Viewer beim Bauen, Sichtbarkeit nur über showTo(...)
 
     // Fallback (ArmorStand) deaktivieren/aktivieren
     HoloBuilder useTextDisplay(boolean use);
@@ -19,13 +19,74 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
+/**
+ * Registry of server-side holograms with per-player visibility.
+ * <p>
+ * Holograms are indexed by world and chunk. A player only receives holograms within
+ * {@link Config#showRadiusChunks} chunks; they are removed again beyond {@link Config#hideRadiusChunks}
+ * (hysteresis, so walking along a chunk border does not respawn them). Visibility of a player is only
+ * recomputed when they cross a chunk border or change worlds. Players are indexed by chunk as well, so a
+ * hologram refresh only looks at players within the hide radius. Hologram refreshes (lines, predicate)
+ * are queued by due tick and limited per tick by {@link Config#entriesPerTick}; attached entities are
+ * checked every tick, so holograms of dead or removed entities disappear right away.
+ * Holograms with static lines share one entity for all viewers; only per-player lines get one per viewer.
+ * All state is main-thread only.
+ */
 public final class NexHoloService implements NexHologramService, Listener {
 
+    /**
+     * Culling and tick budget settings ({@code holograms} section in settings.yml).
+     */
+    public static final class Config {
+        public int showRadiusChunks = 4;
+        public int hideRadiusChunks = 5;
+        public int entriesPerTick = 64;
+        public int playersPerTick = 16;
+    }
+
+    private static final class Viewer {
+        final Player player;
+        UUID world;
+        int chunkX;
+        int chunkZ;
+        // Position im Viewer-Index
+        boolean indexed;
+        final Set<Entry> shown = new HashSet<>();
+
+        Viewer(Player player) {
+            this.player = player;
+        }
+    }
+
+    private final int showRadiusChunks;
+    private final int hideRadiusChunks;
+    private final int entriesPerTick;
+    private final int playersPerTick;
     private final Map<UUID, Entry> registry = new ConcurrentHashMap<>();
+    // Welt -> Chunk-Key -> Holos in diesem Chunk
+    private final Map<UUID, Map<Long, Set<Entry>>> index = new HashMap<>();
+    private final Map<UUID, Viewer> viewers = new HashMap<>();
+    // Welt -> Chunk-Key -> Spieler in diesem Chunk
+    private final Map<UUID, Map<Long, Set<Viewer>>> viewerIndex = new HashMap<>();
+    // Holos mit angehängter Entity, werden jeden Tick auf Gültigkeit geprüft
+    private final Set<Entry> attached = new LinkedHashSet<>();
+    // Spieler mit Chunk-Wechsel, deren Sichtbarkeit noch neu berechnet werden muss
+    private final Set<UUID> dirtyViewers = new LinkedHashSet<>();
+    private final PriorityQueue<Entry> due = new PriorityQueue<>(Comparator.comparingLong((Entry e) -> e.nextDue));
+    private final Location scratch = new Location(null, 0, 0, 0);
     private int schedulerTaskId = -1;
     private long tickNow = 0L;
 
     public NexHoloService(Plugin plugin) {
+        this(plugin, new Config());
+    }
+
+    public NexHoloService(Plugin plugin, Config cfg) {
+        // Werte kopieren, die übergebene Config bleibt unverändert
+        this.showRadiusChunks = Math.max(0, cfg.showRadiusChunks);
+        this.hideRadiusChunks = Math.max(this.showRadiusChunks, cfg.hideRadiusChunks);
+        this.entriesPerTick = Math.max(1, cfg.entriesPerTick);
+        this.playersPerTick = Math.max(1, cfg.playersPerTick);
         Bukkit.getPluginManager().registerEvents(this, plugin);
         this.schedulerTaskId = Bukkit.getScheduler().runTaskTimer(plugin, this::onTick, 1L, 1L).getTaskId();
     }
@@ -39,10 +100,12 @@ public final class NexHoloService implements NexHologramService, Listener {
         UUID id = UUID.randomUUID();
         Entry e = new Entry(id, spec);
         registry.put(id, e);
+        if (e.attachTo != null) attached.add(e);
 
-        for (Player p : Bukkit.getOnlinePlayers()) {
-            if (e.visibleFor(p)) e.ensureShown(p);
-        }
+        e.reindex();
+        updateViewers(e);
+        e.nextDue = tickNow + e.currentRefreshTicks;
+        due.add(e);
         return e;
     }
 
@@ -66,6 +129,12 @@ public final class NexHoloService implements NexHologramService, Listener {
     public void shutdown() {
         for (Entry e : new ArrayList<>(registry.values())) e.destroy();
         registry.clear();
+        index.clear();
+        viewers.clear();
+        viewerIndex.clear();
+        attached.clear();
+        dirtyViewers.clear();
+        due.clear();
         if (schedulerTaskId != -1) {
             Bukkit.getScheduler().cancelTask(schedulerTaskId);
             schedulerTaskId = -1;
@@ -78,51 +147,182 @@ public final class NexHoloService implements NexHologramService, Listener {
     // Tick-Loop
     private void onTick() {
         tickNow++;
-        for (Entry e : new java.util.ArrayList<>(registry.values())) {
-
-            if (e.attachTo != null) {
-                boolean invalid = !e.attachTo.isValid();
-                boolean dead = (e.attachTo instanceof org.bukkit.entity.LivingEntity le) && le.isDead();
-                if (invalid || dead) {
-                    e.destroy();
-                    registry.remove(e.id());
-                    continue;
-                }
+        trackViewers();
+        checkAttached();
+
+        int players = playersPerTick;
+        Iterator<UUID> it = dirtyViewers.iterator();
+        while (players > 0 && it.hasNext()) {
+            Viewer v = viewers.get(it.next());
+            it.remove();
+            if (v == null) continue;
+            recompute(v);
+            players--;
+        }
+
+        // fällige Holos nach Fälligkeit, Rest wandert in die nächsten Ticks
+        int entries = entriesPerTick;
+        while (entries > 0 && !due.isEmpty() && due.peek().nextDue <= tickNow) {
+            Entry e = due.poll();
+            if (registry.get(e.id) != e) continue; // inzwischen entfernt
+            entries--;
+            if (refresh(e)) {
+                e.nextDue = tickNow + e.currentRefreshTicks;
+                due.add(e);
+            }
+        }
+    }
+
+    /**
+     * @return false if the hologram was destroyed (attached entity gone)
+     */
+    private boolean refresh(Entry e) {
+        if (e.attachTo != null) {
+            if (!e.attachValid()) {
+                e.destroy();
+                return false;
             }
+            // angehängte Holos wandern mit der Entity
+            e.reindex();
+        }
+        updateViewers(e);
+        e.refreshVisible();
+        return true;
+    }
+
+    // tote oder entfernte Entities sofort aufräumen, nicht erst beim nächsten Refresh
+    private void checkAttached() {
+        if (attached.isEmpty()) return;
+        List<Entry> gone = null;
+        for (Entry e : attached) {
+            if (e.attachValid()) continue;
+            if (gone == null) gone = new ArrayList<>();
+            gone.add(e);
+        }
+        if (gone == null) return;
+        for (Entry e : gone) e.destroy();
+    }
+
+    // Spieler-Chunks abgleichen: nur bei Chunk- oder Weltwechsel wird neu berechnet
+    private void trackViewers() {
+        for (Player p : Bukkit.getOnlinePlayers()) {
+            track(p);
+        }
+    }
+
+    private Viewer track(Player p) {
+        Viewer v = viewers.get(p.getUniqueId());
+        if (v == null) {
+            v = new Viewer(p);
+            viewers.put(p.getUniqueId(), v);
+        }
+        p.getLocation(scratch);
+        UUID world = scratch.getWorld() == null ? null : scratch.getWorld().getUID();
+        int cx = scratch.getBlockX() >> 4;
+        int cz = scratch.getBlockZ() >> 4;
+        if ((v.indexed || world == null) && Objects.equals(world, v.world) && cx == v.chunkX && cz == v.chunkZ) {
+            scratch.setWorld(null);
+            return v;
+        }
+        unindexViewer(v);
+        v.world = world;
+        v.chunkX = cx;
+        v.chunkZ = cz;
+        if (world != null) {
+            viewerIndex.computeIfAbsent(world, __ -> new HashMap<>())
+                    .computeIfAbsent(chunkKey(cx, cz), __ -> new HashSet<>())
+                    .add(v);
+            v.indexed = true;
+        }
+        dirtyViewers.add(p.getUniqueId());
+        scratch.setWorld(null);
+        return v;
+    }
 
-            if (tickNow < e.nextDue) continue;
-            e.nextDue = tickNow + e.refreshTicks;
+    private void unindexViewer(Viewer v) {
+        if (!v.indexed) return;
+        v.indexed = false;
+        Map<Long, Set<Viewer>> chunks = viewerIndex.get(v.world);
+        if (chunks == null) return;
+        long key = chunkKey(v.chunkX, v.chunkZ);
+        Set<Viewer> set = chunks.get(key);
+        if (set != null) {
+            set.remove(v);
+            if (set.isEmpty()) chunks.remove(key);
+        }
+        if (chunks.isEmpty()) viewerIndex.remove(v.world);
+    }
+
+    private void recompute(Viewer v) {
+        Player p = v.player;
+        if (!p.isOnline()) return;
+
+        for (Entry e : new ArrayList<>(v.shown)) {
+            if (e.chunkDistance(v) > hideRadiusChunks) e.ensureHidden(p);
+        }
 
-            for (org.bukkit.entity.Player p : org.bukkit.Bukkit.getOnlinePlayers()) {
-                boolean wanted = e.visibleFor(p);
-                boolean currently = e.visiblePlayers.contains(p.getUniqueId());
-                if (wanted && !currently) e.ensureShown(p);
-                else if (!wanted && currently) e.ensureHidden(p);
+        Map<Long, Set<Entry>> chunks = v.world == null ? null : index.get(v.world);
+        if (chunks == null) return;
+        int r = showRadiusChunks;
+        for (int dx = -r; dx <= r; dx++) {
+            for (int dz = -r; dz <= r; dz++) {
+                Set<Entry> set = chunks.get(chunkKey(v.chunkX + dx, v.chunkZ + dz));
+                if (set == null) continue;
+                for (Entry e : set) {
+                    if (!v.shown.contains(e) && e.visibleFor(p)) e.ensureShown(p);
+                }
             }
+        }
+    }
 
-            e.refreshVisible();
+    // Sichtbarkeit eines Holos für alle Spieler in Reichweite; das Prädikat wird nur für nahe Spieler geprüft
+    private void updateViewers(Entry e) {
+        // bisherige Viewer außerhalb des Hide-Radius (z. B. nach Bewegung des Holos) ausblenden
+        for (UUID uid : new ArrayList<>(e.visiblePlayers)) {
+            Viewer v = viewers.get(uid);
+            if (v != null && e.chunkDistance(v) > hideRadiusChunks) e.ensureHidden(v.player);
+        }
+
+        Map<Long, Set<Viewer>> chunks = e.indexed ? viewerIndex.get(e.world) : null;
+        if (chunks == null) return;
+        int r = hideRadiusChunks;
+        for (int dx = -r; dx <= r; dx++) {
+            for (int dz = -r; dz <= r; dz++) {
+                Set<Viewer> set = chunks.get(chunkKey(e.chunkX + dx, e.chunkZ + dz));
+                if (set == null) continue;
+                for (Viewer v : set) {
+                    boolean currently = v.shown.contains(e);
+                    if (e.chunkDistance(v) > showRadiusChunks && !currently) continue; // Hysterese-Zone
+                    boolean wanted = e.visibleFor(v.player);
+                    if (wanted && !currently) e.ensureShown(v.player);
+                    else if (!wanted && currently) e.ensureHidden(v.player);
+                }
+            }
         }
     }
 
+    private static long chunkKey(int x, int z) {
+        return ((long) x << 32) | (z & 0xFFFFFFFFL);
+    }
+
     // Events
     @EventHandler public void onJoin(PlayerJoinEvent ev) {
-        Player p = ev.getPlayer();
-        for (Entry e : registry.values()) {
-            if (e.visibleFor(p)) e.ensureShown(p);
-        }
+        track(ev.getPlayer());
     }
     @EventHandler public void onQuit(PlayerQuitEvent ev) {
         Player p = ev.getPlayer();
-        for (Entry e : registry.values()) e.ensureHidden(p);
+        dirtyViewers.remove(p.getUniqueId());
+        Viewer v = viewers.remove(p.getUniqueId());
+        if (v == null) return;
+        unindexViewer(v);
+        for (Entry e : new ArrayList<>(v.shown)) e.ensureHidden(p);
     }
     @EventHandler public void onWorldChange(PlayerChangedWorldEvent ev) {
         Player p = ev.getPlayer();
-        for (Entry e : registry.values()) {
-            boolean wanted = e.visibleFor(p);
-            boolean currently = e.visiblePlayers.contains(p.getUniqueId());
-            if (wanted && !currently) e.ensureShown(p);
-            else if (!wanted && currently) e.ensureHidden(p);
-        }
+        Viewer v = track(p);
+        // sofort, damit Holos der alten Welt nicht bis zum nächsten Budget-Slot stehen bleiben
+        dirtyViewers.remove(p.getUniqueId());
+        recompute(v);
     }
 
     // -------- internal Entry-Implementer (Handle) --------
@@ -135,7 +335,7 @@ public final class NexHoloService implements NexHologramService, Listener {
         int currentRefreshTicks;
 
         final Function<Player, List<Component>> perPlayer;
-        final List<Component> staticLines;
+        List<Component> staticLines;
 
         Entity attachTo;
 
@@ -143,9 +343,17 @@ public final class NexHoloService implements NexHologramService, Listener {
         final Map<UUID, List<Component>> lastRendered = new HashMap<>();
 
         final Map<UUID, NexHologram> perViewerHolo = new HashMap<>();
+        // staticLines: ein gemeinsames Entity (gleiche Pakete) für alle Viewer statt einem pro Viewer
+        NexHologram shared;
 
         long nextDue = 0L;
 
+        // Position im Index
+        boolean indexed;
+        UUID world;
+        int chunkX;
+        int chunkZ;
+
         Entry(UUID id, Spec spec) {
             this.id = id;
             this.base = spec.baseLocation.clone();
@@ -158,17 +366,69 @@ public final class NexHoloService implements NexHologramService, Listener {
             this.nextDue = tickNow;
         }
 
+        boolean attachValid() {
+            if (attachTo == null) return true;
+            return attachTo.isValid() && !((attachTo instanceof org.bukkit.entity.LivingEntity le) && le.isDead());
+        }
+
         boolean visibleFor(Player p) {
             return p != null && p.isOnline() && visibility.test(p);
         }
 
+        // Chebyshev-Abstand in Chunks, MAX_VALUE bei anderer Welt
+        int chunkDistance(Viewer v) {
+            if (!indexed || v.world == null || !v.world.equals(world)) return Integer.MAX_VALUE;
+            return Math.max(Math.abs(chunkX - v.chunkX), Math.abs(chunkZ - v.chunkZ));
+        }
+
+        void reindex() {
+            Location loc = attachTo != null ? attachTo.getLocation(scratch) : base;
+            UUID w = loc.getWorld() == null ? null : loc.getWorld().getUID();
+            int cx = loc.getBlockX() >> 4;
+            int cz = loc.getBlockZ() >> 4;
+            scratch.setWorld(null);
+            if (indexed && Objects.equals(w, world) && cx == chunkX && cz == chunkZ) return;
+
+            unindex();
+            if (w == null) return;
+            world = w;
+            chunkX = cx;
+            chunkZ = cz;
+            index.computeIfAbsent(w, __ -> new HashMap<>())
+                    .computeIfAbsent(chunkKey(cx, cz), __ -> new HashSet<>())
+                    .add(this);
+            indexed = true;
+        }
+
+        void unindex() {
+            if (!indexed) return;
+            indexed = false;
+            Map<Long, Set<Entry>> chunks = index.get(world);
+            if (chunks == null) return;
+            long key = chunkKey(chunkX, chunkZ);
+            Set<Entry> set = chunks.get(key);
+            if (set != null) {
+                set.remove(this);
+                if (set.isEmpty()) chunks.remove(key);
+            }
+            if (chunks.isEmpty()) index.remove(world);
+        }
+
         void ensureShown(Player p) {
             if (p == null || !p.isOnline()) return;
+            Viewer v = viewers.get(p.getUniqueId());
+            if (v != null) v.shown.add(this);
             if (visiblePlayers.add(p.getUniqueId())) {
+                if (isShared()) {
+                    sharedHolo().showTo(p);
+                    return;
+                }
+
+                List<Component> lines = resolveLinesFor(p);
                 // create holo for target player
                 NexHologram holo = NexServices.newHoloBuilder()
                         .location(base)
-                        .lines(resolveLinesFor(p))
+                        .lines(lines)
                         .viewerOnly(p)
                         .billboard("center")
                         .lineWidth(200)
@@ -176,12 +436,32 @@ public final class NexHoloService implements NexHologramService, Listener {
                         .attachToEntity(attachTo)
                         .build();
                 perViewerHolo.put(p.getUniqueId(), holo);
-                lastRendered.put(p.getUniqueId(), resolveLinesFor(p));
+                lastRendered.put(p.getUniqueId(), lines);
             }
         }
 
+        boolean isShared() {
+            return perPlayer == null;
+        }
+
+        NexHologram sharedHolo() {
+            if (shared == null) {
+                shared = NexServices.newHoloBuilder()
+                        .location(base)
+                        .lines(staticLines)
+                        .viewersNone()
+                        .billboard("center")
+                        .lineWidth(200)
+                        .backgroundColor(0x00000000)
+                        .attachToEntity(attachTo)
+                        .build();
+            }
+            return shared;
+        }
+
         void ensureHidden(Player p) {
             UUID uid = p.getUniqueId();
+            if (shared != null && visiblePlayers.contains(uid)) shared.hideFrom(p);
             NexHologram holo = perViewerHolo.remove(uid);
             if (holo != null) {
                 holo.hideFrom(p);
@@ -189,13 +469,22 @@ public final class NexHoloService implements NexHologramService, Listener {
             }
             visiblePlayers.remove(uid);
             lastRendered.remove(uid);
+            Viewer v = viewers.get(uid);
+            if (v != null) v.shown.remove(this);
         }
 
         @Override public UUID id() { return id; }
         @Override public Location baseLocation() { return base.clone(); }
         @Override public int refreshTicks() { return currentRefreshTicks; }
         @Override public void setRefreshTicks(int ticks) { currentRefreshTicks = Math.max(1, ticks); }
-        @Override public void setAttachTo(Entity entity) { this.attachTo = entity; }
+        @Override public void setAttachTo(Entity entity) {
+            this.attachTo = entity;
+            if (entity != null) {
+                if (registry.get(id) == this) attached.add(this);
+            } else {
+                attached.remove(this);
+            }
+        }
         @Override public void setVisibilityPredicate(Predicate<Player> predicate) { /* optional live-change */ }
 
         // NexHologram delegationen (global)
@@ -206,6 +495,7 @@ public final class NexHoloService implements NexHologramService, Listener {
         @Override public void teleport(Location newBase) {
             if (newBase == null) return;
             base.setX(newBase.getX()); base.setY(newBase.getY()); base.setZ(newBase.getZ());
+            if (shared != null) shared.teleport(base);
 
             for (UUID uid : new ArrayList<>(visiblePlayers)) {
                 Player p = Bukkit.getPlayer(uid);
@@ -213,23 +503,41 @@ public final class NexHoloService implements NexHologramService, Listener {
                 ensureHidden(p);
                 ensureShown(p);
             }
+            reindex();
+            updateViewers(this);
         }
         @Override public void updateLines(List<Component> newLines) {
+            if (newLines == null) return;
+            if (isShared()) {
+                // ein Metadaten-Paket für alle Viewer
+                staticLines = new ArrayList<>(newLines);
+                if (shared != null) shared.updateLines(staticLines);
+                return;
+            }
             // static overwrite
-            if (newLines != null) {
-                for (UUID uid : visiblePlayers) {
-                    Player p = Bukkit.getPlayer(uid);
-                    if (p == null) continue;
-                    NexHologram holo = perViewerHolo.get(uid);
-                    if (holo == null) continue;
-                    holo.updateLines(newLines);
-                    lastRendered.put(uid, newLines);
-                }
+            for (UUID uid : visiblePlayers) {
+                Player p = Bukkit.getPlayer(uid);
+                if (p == null) continue;
+                NexHologram holo = perViewerHolo.get(uid);
+                if (holo == null) continue;
+                holo.updateLines(newLines);
+                lastRendered.put(uid, newLines);
+            }
+        }
+        @Override public void destroy() {
+            hideFromAll();
+            if (shared != null) {
+                shared.destroy();
+                shared = null;
             }
+            unindex();
+            attached.remove(this);
+            registry.remove(id);
         }
-        @Override public void destroy() { hideFromAll(); registry.remove(id); }
 
         void refreshVisible() {
+            // statische Zeilen ändern sich nur über updateLines(...) -> kein Diff pro Viewer
+            if (isShared()) return;
             for (UUID uid : new ArrayList<>(visiblePlayers)) {
                 Player p = Bukkit.getPlayer(uid);
                 if(p == null) continue;
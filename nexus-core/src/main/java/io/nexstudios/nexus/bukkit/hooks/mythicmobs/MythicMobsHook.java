@@ -32,6 +32,14 @@ public class MythicMobsHook implements Listener {
         return activeMob.getType().getInternalName().equals(id);
     }
 
+    /**
+     * @return the internal MythicMobs type name of the entity, or {@code null} if it is no mythic mob
+     */
+    public String getMythicMobType(Entity entity) {
+        ActiveMob activeMob = MythicBukkit.inst().getAPIHelper().getMythicMobInstance(entity);
+        return activeMob == null ? null : activeMob.getType().getInternalName();
+    }
+
     public static void registerMythicDeathEvent(IMythicDeathEvent event) {
         mythicDeathEvents.add(event);
     }
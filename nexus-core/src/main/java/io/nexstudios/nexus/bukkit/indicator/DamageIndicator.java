@@ -1,6 +1,8 @@
 package io.nexstudios.nexus.bukkit.indicator;
 
 import io.nexstudios.nexus.bukkit.NexusPlugin;
+import io.nexstudios.nexus.bukkit.actions.NexParams;
+import io.nexstudios.nexus.bukkit.conditions.CompiledConditionPlan;
 import io.nexstudios.nexus.bukkit.hologram.NexHologram;
 import io.nexstudios.nexus.bukkit.hologram.HoloBuilder;
 import io.nexstudios.nexus.bukkit.hooks.EcoSkillsHook;
@@ -31,7 +33,7 @@ public class DamageIndicator implements Listener {
     private final EcoSkillsHook ecoSkillsHook;
 
     private boolean enabled;
-    private List<Map<String, Object>> conditions;
+    private CompiledConditionPlan conditions = CompiledConditionPlan.EMPTY;
     private int fractionDigits;
     private int lifeTimeTicks;
     private String normalFormat;
@@ -66,9 +68,7 @@ public class DamageIndicator implements Listener {
 
         this.enabled = root.getBoolean("enable", true);
 
-        List<Map<String, Object>> enableConditions = new ArrayList<>();
-
-        this.conditions = (List<Map<String, Object>>) (List<?>) root.getMapList("enable-conditions");
+        this.conditions = compileConditions(root);
 
         this.lifeTimeTicks = root.getInt("life-time-ticks", 10);
         this.fractionDigits = root.getInt("fraction-digits", 2);
@@ -121,7 +121,7 @@ public class DamageIndicator implements Listener {
         ConfigurationSection root = plugin.getSettingsFile().getConfigurationSection("damage-indicator");
         if (root == null) {
             this.enabled = false;
-            this.conditions = List.of();
+            this.conditions = CompiledConditionPlan.EMPTY;
             this.fractionDigits = 2;
             this.lifeTimeTicks = 10;
             this.normalFormat = "<red>#damage#";
@@ -133,7 +133,7 @@ public class DamageIndicator implements Listener {
         }
 
         this.enabled = root.getBoolean("enable", true);
-        this.conditions = (List<Map<String, Object>>) (List<?>) root.getMapList("enable-conditions");
+        this.conditions = compileConditions(root);
         this.lifeTimeTicks = root.getInt("life-time-ticks", 10);
         this.fractionDigits = root.getInt("fraction-digits", 2);
 
@@ -177,6 +177,13 @@ public class DamageIndicator implements Listener {
         this.papiAvailable = NexusPlugin.getInstance().getPapiHook() != null;
     }
 
+    // einmal pro (Re-)Load kompiliert, nicht pro Treffer
+    @SuppressWarnings("unchecked")
+    private CompiledConditionPlan compileConditions(ConfigurationSection root) {
+        List<Map<String, Object>> raw = (List<Map<String, Object>>) (List<?>) root.getMapList("enable-conditions");
+        return plugin.getConditionFactory().compile(raw);
+    }
+
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
     public void onDamage(EntityDamageByEntityEvent event) {
 
@@ -184,7 +191,7 @@ public class DamageIndicator implements Listener {
 
         if (!enabled) return;
         if(player != null) {
-            if(!NexusPlugin.getInstance().getConditionFactory().checkConditions(player, event.getEntity().getLocation(), conditions)) {
+            if(!conditions.test(player, event.getEntity().getLocation(), NexParams.empty())) {
                 return;
             }
         }
@@ -1,24 +1,81 @@
 package io.nexstudios.nexus.bukkit.inv;
 
+import io.nexstudios.nexus.bukkit.NexusPlugin;
+import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * Tracks open {@link NexInventoryView}s and drives their auto-updates.
+ * <p>
+ * All auto-updating views share one repeating sync task that only runs while views need it.
+ * Every view renders at most once per tick: periodic updates and {@link #requestUpdate(NexInventoryView)}
+ * calls are coalesced. Render counters are kept per inventory id.
+ */
 public class NexInventoryManager {
 
     private static final NexInventoryManager INSTANCE = new NexInventoryManager();
     public static NexInventoryManager get() { return INSTANCE; }
 
+    /**
+     * Render counters of one inventory id.
+     *
+     * @param renders      number of flushes (full renders and partial updates)
+     * @param slotWrites   slots actually written to the inventory
+     * @param slotsSkipped slots left untouched because their item did not change
+     */
+    public record RenderStats(long renders, long slotWrites, long slotsSkipped) {
+    }
+
+    private static final class Counters {
+        final LongAdder renders = new LongAdder();
+        final LongAdder slotWrites = new LongAdder();
+        final LongAdder slotsSkipped = new LongAdder();
+
+        RenderStats snapshot() {
+            return new RenderStats(renders.sum(), slotWrites.sum(), slotsSkipped.sum());
+        }
+    }
+
+    private static final class Schedule {
+        final int period;
+        int countdown;
+
+        Schedule(int period) {
+            this.period = period;
+            this.countdown = period;
+        }
+    }
+
     private final Map<UUID, NexInventoryView> views = new ConcurrentHashMap<>();
 
+    // Ticker-State: nur vom Main-Thread verwendet
+    private final Map<NexInventoryView, Schedule> autoUpdating = new LinkedHashMap<>();
+    private final Set<NexInventoryView> requested = new LinkedHashSet<>();
+    private int tickTaskId = -1;
+
+    private final Map<String, Counters> stats = new ConcurrentHashMap<>();
+
     public void register(UUID playerId, NexInventoryView view) {
         views.put(playerId, view);
     }
 
     public void unregister(UUID playerId) {
-        views.remove(playerId);
+        NexInventoryView view = views.remove(playerId);
+        if (view == null) return;
+        if (Bukkit.isPrimaryThread()) {
+            stopUpdates(view);
+        } else {
+            Bukkit.getScheduler().runTask(NexusPlugin.getInstance(), () -> stopUpdates(view));
+        }
     }
 
     public NexInventoryView viewOf(UUID playerId) {
@@ -38,5 +95,111 @@ public class NexInventoryManager {
             }
         }
         views.clear();
+        autoUpdating.clear();
+        requested.clear();
+        stopTicker();
+    }
+
+    // ---- Auto-Update ----
+
+    /**
+     * Adds the view to the shared ticker with its configured update interval.
+     */
+    void startUpdates(NexInventoryView view) {
+        int period = view.updateIntervalTicks();
+        if (period <= 0) return;
+        autoUpdating.computeIfAbsent(view, v -> new Schedule(period));
+        ensureTicker();
+    }
+
+    void stopUpdates(NexInventoryView view) {
+        autoUpdating.remove(view);
+        requested.remove(view);
+    }
+
+    /**
+     * Renders the view on the next tick. Multiple requests within one tick result in one render.
+     * Safe to call from any thread; off the main thread the request is handed over to it first.
+     */
+    public void requestUpdate(NexInventoryView view) {
+        if (view == null) return;
+        if (!Bukkit.isPrimaryThread()) {
+            Bukkit.getScheduler().runTask(NexusPlugin.getInstance(), () -> requestUpdate(view));
+            return;
+        }
+        requested.add(view);
+        ensureTicker();
+    }
+
+    private void ensureTicker() {
+        if (tickTaskId != -1) return;
+        tickTaskId = Bukkit.getScheduler().scheduleSyncRepeatingTask(NexusPlugin.getInstance(), this::tick, 1L, 1L);
+    }
+
+    private void stopTicker() {
+        if (tickTaskId != -1) {
+            Bukkit.getScheduler().cancelTask(tickTaskId);
+            tickTaskId = -1;
+        }
+    }
+
+    private void tick() {
+        // Snapshot: ein Render kann das Inventar schließen und so die View während des Ticks austragen
+        NexInventoryView[] active = autoUpdating.keySet().toArray(new NexInventoryView[0]);
+        for (NexInventoryView view : active) {
+            Schedule schedule = autoUpdating.get(view);
+            if (schedule == null) continue;
+
+            boolean wasRequested = requested.remove(view);
+            if (--schedule.countdown > 0 && !wasRequested) continue;
+            schedule.countdown = schedule.period;
+
+            if (!view.autoUpdate()) {
+                autoUpdating.remove(view);
+            }
+        }
+
+        // angeforderte Updates von Views ohne Intervall
+        if (!requested.isEmpty()) {
+            NexInventoryView[] pending = requested.toArray(new NexInventoryView[0]);
+            requested.clear();
+            for (NexInventoryView view : pending) {
+                view.autoUpdate();
+            }
+        }
+
+        if (autoUpdating.isEmpty() && requested.isEmpty()) {
+            stopTicker();
+        }
+    }
+
+    // ---- Stats ----
+
+    void recordRender(String inventoryId, int slotWrites, int slotsSkipped) {
+        Counters c = stats.computeIfAbsent(String.valueOf(inventoryId), __ -> new Counters());
+        c.renders.increment();
+        c.slotWrites.add(slotWrites);
+        c.slotsSkipped.add(slotsSkipped);
+    }
+
+    /**
+     * @return render counters of the inventory id, zero if it never rendered
+     */
+    public RenderStats stats(String inventoryId) {
+        Counters c = stats.get(String.valueOf(inventoryId));
+        return c == null ? new RenderStats(0, 0, 0) : c.snapshot();
+    }
+
+    /**
+     * @return render counters of all inventory ids
+     */
+    public Map<String, RenderStats> stats() {
+        Map<String, RenderStats> out = new HashMap<>();
+        stats.forEach((id, c) -> out.put(id, c.snapshot()));
+        return out;
+    }
+
+    public void resetStats() {
+        stats.clear();
     }
 }
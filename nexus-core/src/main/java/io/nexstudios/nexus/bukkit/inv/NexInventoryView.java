@@ -1,9 +1,12 @@
 package io.nexstudios.nexus.bukkit.inv;
 
 import io.nexstudios.nexus.bukkit.NexusPlugin;
+import io.nexstudios.nexus.bukkit.inv.api.NexFillerEntry;
 import io.nexstudios.nexus.bukkit.inv.config.NexItemConfig;
 import io.nexstudios.nexus.bukkit.inv.fill.InvAlignment;
 import io.nexstudios.nexus.bukkit.inv.fill.InvFillStrategy;
+import io.nexstudios.nexus.bukkit.inv.pagination.NexPageProvider;
+import io.nexstudios.nexus.bukkit.inv.pagination.NexPageWindow;
 import io.nexstudios.nexus.bukkit.items.ItemBuilder;
 import io.nexstudios.nexus.bukkit.items.ItemHideFlag;
 import io.nexstudios.nexus.bukkit.language.NexusLanguage;
@@ -47,6 +50,9 @@ public class NexInventoryView {
     // Per-model click handlers (absolute index -> handler)
     private List<NexOnClick> bodyHandlersByModelIndex = null;
 
+    // Gestreamter Body (populateFillerPages): ersetzt bodyModels, hält nur Seiten um die aktuelle
+    private NexPageWindow pagedBody;
+
     // Slot -> static click handler (navigation/required/custom/extra)
     private final Map<Integer, NexOnClick> staticClickHandlers = new HashMap<>();
     // Slot -> namespace (navigation:*, required:*, custom:*, extra)
@@ -72,13 +78,19 @@ public class NexInventoryView {
 
     private final Map<Integer, Integer> staticPriorities = new HashMap<>();
 
-    private int updateTaskId = -1;
     @Setter private TagResolver titleTagResolver;
 
+    // Gewünschter Inhalt pro Slot; die render*-Methoden schreiben nur hierhin
+    private final ItemStack[] slots;
+    // Zuletzt ins Inventar gesetzter Inhalt (Kopien) -> flush() setzt nur geänderte Slots
+    private final ItemStack[] sent;
+
     public NexInventoryView(NexInventory inv, Player player, NexusLanguage nexusLanguage) {
         this.inv = inv;
         this.player = player;
         this.top = inv.getInventory();
+        this.slots = new ItemStack[inv.size()];
+        this.sent = new ItemStack[inv.size()];
         NexInventoryView.nexusLanguage = nexusLanguage;
     }
 
@@ -95,9 +107,12 @@ public class NexInventoryView {
 
         Component titleComp = resolveTitle(rawTitle, inv.inventoryId(), player, titleTagResolver);
         this.top = Bukkit.createInventory(inv, inv.size(), titleComp);
+        Arrays.fill(sent, null);
+        // vor dem Öffnen befüllen -> Inhalt geht mit dem Open-Paket raus statt Slot für Slot
+        renderAll();
+        flush();
         player.openInventory(this.top);
         NexInventoryManager.get().register(player.getUniqueId(), this);
-        renderAll();
         startAutoUpdate();
     }
 
@@ -111,14 +126,11 @@ public class NexInventoryView {
 
         Component titleComp = resolveTitle(rawTitle, inv.inventoryId(), player, titleTagResolver);
 
-        Inventory newTop = Bukkit.createInventory(inv, inv.size(), titleComp);
-        if (this.top != null) {
-            for (int i = 0; i < inv.size(); i++) {
-                newTop.setItem(i, this.top.getItem(i));
-            }
-        }
+        this.top = Bukkit.createInventory(inv, inv.size(), titleComp);
+        // neues Inventar ist leer -> kompletten gewünschten Inhalt übertragen
+        Arrays.fill(sent, null);
+        flush();
 
-        this.top = newTop;
         player.openInventory(this.top);
         NexInventoryManager.get().register(player.getUniqueId(), this);
     }
@@ -154,43 +166,68 @@ public class NexInventoryView {
     }
 
     private void startAutoUpdate() {
-        int period = inv.updateIntervalTicks();
-        if (period <= 0 || updateTaskId != -1) return;
-
-        updateTaskId = Bukkit.getScheduler().scheduleSyncRepeatingTask(
-                NexusPlugin.getInstance(),
-                () -> {
-                    // Stop when player is no longer viewing this inventory or offline
-                    if (!player.isOnline()) { stopAutoUpdate(); return; }
-                    var openView = player.getOpenInventory();
-                    if (openView.getTopInventory() != this.top) {
-                        stopAutoUpdate();
-                        return;
-                    }
-
-                    // Lightweight refresh: body + navigation
-                    try {
-                        renderBodyOnly();
-                        renderNavigation();
-                    } catch (Throwable t) {
-                        stopAutoUpdate();
-                    }
-                },
-                period, period
-        );
+        if (inv.updateIntervalTicks() <= 0) return;
+        NexInventoryManager.get().startUpdates(this);
     }
 
     private void stopAutoUpdate() {
-        if (updateTaskId != -1) {
-            Bukkit.getScheduler().cancelTask(updateTaskId);
-            updateTaskId = -1;
-        }
+        NexInventoryManager.get().stopUpdates(this);
     }
 
     public void dispose() {
         stopAutoUpdate();
     }
 
+    /**
+     * Re-renders body and navigation on the next tick. Several requests within one tick are coalesced.
+     */
+    public void requestUpdate() {
+        NexInventoryManager.get().requestUpdate(this);
+    }
+
+    int updateIntervalTicks() {
+        return inv.updateIntervalTicks();
+    }
+
+    /**
+     * Called by the shared ticker of {@link NexInventoryManager}.
+     *
+     * @return false if the view should stop updating (player offline or no longer viewing it)
+     */
+    boolean autoUpdate() {
+        // Stop when player is no longer viewing this inventory or offline
+        if (!player.isOnline()) return false;
+        if (player.getOpenInventory().getTopInventory() != this.top) return false;
+
+        // Lightweight refresh: body + navigation, nur geänderte Slots werden gesetzt
+        try {
+            renderBodyOnly();
+            renderNavigation();
+            flush();
+            return true;
+        } catch (Throwable t) {
+            return false;
+        }
+    }
+
+    /**
+     * Writes all slots whose desired item differs from the last written one into the inventory.
+     */
+    private void flush() {
+        int written = 0;
+        for (int i = 0; i < slots.length; i++) {
+            ItemStack want = slots[i];
+            ItemStack have = sent[i];
+            if (want == null ? have == null : want.equals(have)) continue;
+
+            top.setItem(i, want);
+            // Kopie, damit spätere Änderungen am Stack-Objekt im Diff sichtbar bleiben
+            sent[i] = want == null ? null : want.clone();
+            written++;
+        }
+        NexInventoryManager.get().recordRender(inv.inventoryId(), written, slots.length - written);
+    }
+
     private static String languageTitlePath(String raw, String invId) {
         String s = raw;
 
@@ -213,7 +250,7 @@ public class NexInventoryView {
         InvFillStrategy.BodyZone zone = (overrideZone != null ? overrideZone : inv.bodyZone());
         int pageSize = Math.max(1, zone.slots.size());
 
-        int totalItems = bodyModels.size();
+        int totalItems = bodyTotal();
         int totalPages = Math.max(1, (int) Math.ceil(totalItems / (double) pageSize));
 
         int newIndex = Math.min(pageIndex + 1, totalPages - 1);
@@ -221,6 +258,7 @@ public class NexInventoryView {
             pageIndex = newIndex;
             renderBodyOnly();
             renderNavigation();
+            flush();
         }
     }
 
@@ -228,7 +266,7 @@ public class NexInventoryView {
         InvFillStrategy.BodyZone zone = (overrideZone != null ? overrideZone : inv.bodyZone());
         int pageSize = Math.max(1, zone.slots.size());
 
-        int totalItems = bodyModels.size();
+        int totalItems = bodyTotal();
         int totalPages = Math.max(1, (int) Math.ceil(totalItems / (double) pageSize));
 
         int newIndex = Math.max(pageIndex - 1, 0);
@@ -236,9 +274,14 @@ public class NexInventoryView {
             pageIndex = newIndex;
             renderBodyOnly();
             renderNavigation();
+            flush();
         }
     }
 
+    private int bodyTotal() {
+        return pagedBody != null ? pagedBody.totalItems() : bodyModels.size();
+    }
+
     // Rendering
 
     private void renderAll() {
@@ -251,7 +294,7 @@ public class NexInventoryView {
     }
 
     private void clearAll() {
-        for (int i = 0; i < inv.size(); i++) top.setItem(i, null);
+        Arrays.fill(slots, null);
         staticClickHandlers.clear();
         staticNamespaces.clear();
         bodyHandlersPerIndex.clear();
@@ -260,11 +303,7 @@ public class NexInventoryView {
 
     private void placeDecoration() {
         if (!inv.decorationEnabled()) return;
-        ItemStack deco = renderItemSpec(inv.decorationItemSpec(), null);
-        deco = NexServices.newItemBuilder().itemStack(deco).displayName(Component.text(" ")).build();
-        for (int i = 0; i < inv.size(); i++) {
-            top.setItem(i, deco);
-        }
+        Arrays.fill(slots, decoration());
     }
 
     private void renderNavigation() {
@@ -281,7 +320,7 @@ public class NexInventoryView {
                 int s0 = Math.max(0, s1b - 1);
                 if (s0 >= inv.size()) continue;
 
-                top.setItem(s0, null);
+                slots[s0] = null;
                 staticClickHandlers.remove(s0);
                 staticNamespaces.remove(s0);
                 staticPriorities.remove(s0);
@@ -291,7 +330,7 @@ public class NexInventoryView {
         InvFillStrategy.BodyZone zone = (overrideZone != null ? overrideZone : inv.bodyZone());
         int pageSize = Math.max(1, zone.slots.size());
 
-        int totalItems = bodyModels.size();
+        int totalItems = bodyTotal();
         int totalPages = Math.max(1, (int) Math.ceil(totalItems / (double) pageSize));
 
         if (pageIndex >= totalPages) pageIndex = totalPages - 1;
@@ -326,16 +365,15 @@ public class NexInventoryView {
 
         // Fehlt an einem Navigation-Slot ein Item, fülle ihn wieder mit der Deko
         if (inv.decorationEnabled()) {
-            ItemStack deco = renderItemSpec(inv.decorationItemSpec(), null);
-            deco = NexServices.newItemBuilder().itemStack(deco).displayName(Component.text(" ")).build();
+            ItemStack deco = decoration();
 
             for (NexItemConfig cfg : nav.values()) {
                 if (cfg == null || cfg.slots1b == null) continue;
                 for (Integer s1b : cfg.slots1b) {
                     int s0 = Math.max(0, s1b - 1);
                     if (s0 >= inv.size()) continue;
-                    if (top.getItem(s0) == null) {
-                        top.setItem(s0, deco);
+                    if (slots[s0] == null) {
+                        slots[s0] = deco;
                     }
                 }
             }
@@ -371,7 +409,7 @@ public class NexInventoryView {
         InvAlignment align = (overrideAlignment != null ? overrideAlignment : inv.bodyAlignment());
 
         int pageSize = Math.max(1, zone.slots.size());
-        int totalItems = bodyModels.size();
+        int totalItems = bodyTotal();
         int totalPages = Math.max(1, (int) Math.ceil(totalItems / (double) pageSize));
         if (pageIndex >= totalPages) pageIndex = totalPages - 1;
         if (pageIndex < 0) pageIndex = 0;
@@ -385,7 +423,7 @@ public class NexInventoryView {
 
         // Clear body zone
         for (int slot : zone.slots) {
-            top.setItem(slot, null);
+            slots[slot] = null;
         }
         bodyHandlersPerIndex.clear();
 
@@ -394,6 +432,26 @@ public class NexInventoryView {
         );
 
         // Place fillers
+        if (pagedBody != null) {
+            placePagedBody(map, pageSize);
+        } else {
+            placeBodyModels(map, pageOffset);
+        }
+
+        // Fill empty slots in body zone back with decoration (if enabled)
+        if (inv.decorationEnabled()) {
+            ItemStack deco = decoration();
+            if (deco != null) {
+                for (int slot : zone.slots) {
+                    if (slots[slot] == null) {
+                        slots[slot] = deco;
+                    }
+                }
+            }
+        }
+    }
+
+    private void placeBodyModels(Map<Integer, Integer> map, int pageOffset) {
         for (Map.Entry<Integer, Integer> e : map.entrySet()) {
             int slot = e.getKey();
             int bodyIndexInPage = e.getValue();
@@ -402,7 +460,7 @@ public class NexInventoryView {
             Object model = bodyModels.get(modelAbsIndex);
             ItemStack stack = renderBodyModel(model);
             if (stack != null) {
-                top.setItem(slot, stack);
+                slots[slot] = stack;
 
                 NexOnClick handler = null;
                 if (bodyHandlersByModelIndex != null
@@ -417,27 +475,40 @@ public class NexInventoryView {
                 }
             }
         }
+    }
 
-        // Fill empty slots in body zone back with decoration (if enabled)
-        if (inv.decorationEnabled()) {
-            ItemStack deco = renderItemSpec(inv.decorationItemSpec(), null);
-            deco = NexServices.newItemBuilder().itemStack(deco).displayName(Component.text(" ")).build();
-            if (deco != null) {
-                for (int slot : zone.slots) {
-                    if (top.getItem(slot) == null) {
-                        top.setItem(slot, deco);
-                    }
+    private void placePagedBody(Map<Integer, Integer> map, int pageSize) {
+        List<NexFillerEntry> page = pagedBody.page(pageIndex, pageSize);
+        if (page == null) {
+            // Seite lädt noch: Platzhalter ohne Click-Handler, Re-Render nach dem Laden
+            ItemStack placeholder = pagedBody.provider().placeholder();
+            if (placeholder != null) {
+                for (int slot : map.keySet()) {
+                    slots[slot] = placeholder;
                 }
             }
+            return;
+        }
+
+        for (Map.Entry<Integer, Integer> e : map.entrySet()) {
+            int bodyIndexInPage = e.getValue();
+            if (bodyIndexInPage >= page.size()) continue;
+
+            NexFillerEntry entry = page.get(bodyIndexInPage);
+            if (entry == null || entry.item() == null) continue;
+            slots[e.getKey()] = entry.item();
+
+            NexOnClick handler = entry.onClick() != null ? entry.onClick() : bodyClickHandler;
+            if (handler != null) {
+                bodyHandlersPerIndex.put(bodyIndexInPage, handler);
+            }
         }
     }
 
     private void placeStaticItem(NexItemConfig cfg, String namespace, NexOnClick override) {
-        ItemStack stack = inv.renderer().renderStatic(cfg, inv.inventoryId());
+        ItemStack stack = renderConfigItem(cfg, null);
         if (stack == null) return;
 
-        stack = applyLanguageForPlayer(stack, cfg, inv.inventoryId(), player.getUniqueId());
-
         int newRank = rankForNamespace(namespace);
 
         for (Integer s1b : cfg.slots1b) {
@@ -450,7 +521,7 @@ public class NexInventoryView {
                 continue;
             }
 
-            top.setItem(s0, stack);
+            slots[s0] = stack;
             NexOnClick h = (override != null) ? override : (event, ctx) -> {};
             staticClickHandlers.put(s0, h);
             staticNamespaces.put(s0, namespace);
@@ -473,7 +544,8 @@ public class NexInventoryView {
         int s0 = Math.max(0, slot1b - 1);
         if (s0 >= inv.size()) return;
 
-        top.setItem(s0, stack);
+        slots[s0] = stack;
+        flush();
 
         if (handler != null) {
             staticClickHandlers.put(s0, handler);
@@ -503,21 +575,18 @@ public class NexInventoryView {
         if (cfg == null) return;
 
         // Basis-Stack + Sprache erneut anwenden
-        ItemStack base = inv.renderer().renderStatic(cfg, inv.inventoryId());
-        if (base == null) return;
-
-        ItemStack rendered = applyLanguageForPlayer(
-                base, cfg, inv.inventoryId(), player.getUniqueId(), extraResolver
-        );
+        ItemStack rendered = renderConfigItem(cfg, extraResolver);
+        if (rendered == null) return;
 
         // In alle Slots dieses Required-Items setzen
         for (Integer s1b : cfg.slots1b) {
             int s0 = Math.max(0, s1b - 1);
             if (s0 >= inv.size()) continue;
 
-            top.setItem(s0, rendered);
+            slots[s0] = rendered;
             // Handler/Namespaces/Prioritäten bleiben wie sie sind
         }
+        flush();
     }
 
     /**
@@ -539,13 +608,8 @@ public class NexInventoryView {
         }
         if (cfg == null) return;
 
-        // Basis-Stack + Sprache
-        ItemStack base = inv.renderer().renderStatic(cfg, inv.inventoryId());
-        if (base == null) return;
-
-        ItemStack rendered = applyLanguageForPlayer(
-                base, cfg, inv.inventoryId(), player.getUniqueId(), extraResolver
-        );
+        // Basis-Stack + Sprache (Kopie aus dem Render-Cache, darf verändert werden)
+        ItemStack rendered = renderConfigItem(cfg, extraResolver);
         if (rendered == null) return;
 
         var meta = rendered.getItemMeta();
@@ -565,8 +629,9 @@ public class NexInventoryView {
             int s0 = Math.max(0, s1b - 1);
             if (s0 < 0 || s0 >= inv.size()) continue;
 
-            top.setItem(s0, rendered);
+            slots[s0] = rendered;
         }
+        flush();
     }
 
     public void updateSlotItem(int slot1b, UnaryOperator<ItemStack> transformer) {
@@ -575,13 +640,15 @@ public class NexInventoryView {
         int s0 = Math.max(0, slot1b - 1);
         if (s0 >= inv.size()) return;
 
-        ItemStack current = top.getItem(s0);
+        // Kopie übergeben: derselbe Stack kann in mehreren Slots liegen (z. B. Deko)
+        ItemStack current = slots[s0] == null ? null : slots[s0].clone();
         if (current == null) return;
 
         ItemStack updated = transformer.apply(current);
         if (updated == null) return;
 
-        top.setItem(s0, updated);
+        slots[s0] = updated;
+        flush();
     }
 
     private List<Component> sanitizeLore(List<Component> lore) {
@@ -654,6 +721,7 @@ public class NexInventoryView {
         if (idOrNull == null) { requiredGlobal = handler; }
         else { requiredHandlers.put(idOrNull, handler); }
         renderRequired();
+        flush();
     }
 
     public void bindCustom(String idOrNull, NexOnClick handler) {
@@ -661,6 +729,7 @@ public class NexInventoryView {
         if (idOrNull == null) { customGlobal = handler; }
         else { customHandlers.put(idOrNull, handler); }
         renderCustom();
+        flush();
     }
 
     public void bindNavigation(String idOrNull, NexOnClick handler) {
@@ -668,10 +737,19 @@ public class NexInventoryView {
         if (idOrNull == null) { navigationGlobal = handler; }
         else { navigationHandlers.put(idOrNull, handler); }
         renderNavigation();
+        flush();
     }
 
     public void populateFillerStacks(List<ItemStack> items, int startSlot1b, int endSlot1b, InvAlignment alignment,
                                      NexOnClick clickHandler) {
+        setFillerStacks(items, startSlot1b, endSlot1b, alignment, clickHandler);
+        renderBodyOnly();
+        renderNavigation();
+        flush();
+    }
+
+    private void setFillerStacks(List<ItemStack> items, int startSlot1b, int endSlot1b, InvAlignment alignment,
+                                 NexOnClick clickHandler) {
         if (items == null) items = List.of();
 
         // Normalize range
@@ -713,9 +791,37 @@ public class NexInventoryView {
         this.bodyModels = new ArrayList<>(items);
         this.bodyClickHandler = clickHandler;
         this.bodyHandlersByModelIndex = null;
+        this.pagedBody = null;
+    }
+
+    /**
+     * Populates the body from a page provider instead of a materialized list.
+     * Only the current page and its neighbours are held; pages that load asynchronously
+     * show the provider's placeholder and are rendered once they arrive.
+     */
+    public void populateFillerPages(NexPageProvider provider, int startSlot1b, int endSlot1b, InvAlignment alignment) {
+        Objects.requireNonNull(provider, "provider");
+
+        setFillerStacks(List.of(), startSlot1b, endSlot1b, alignment, null);
+        this.pagedBody = new NexPageWindow(provider, loadedPage -> {
+            if (loadedPage == pageIndex) requestUpdate();
+        });
 
         renderBodyOnly();
         renderNavigation();
+        flush();
+    }
+
+    /**
+     * Drops all loaded pages of a provider-backed body and reloads the current page,
+     * e.g. after the underlying data changed. No-op for list-backed bodies.
+     */
+    public void reloadPages() {
+        if (pagedBody == null) return;
+        pagedBody.invalidate();
+        renderBodyOnly();
+        renderNavigation();
+        flush();
     }
 
     // Per-entry filler population with per-model handlers.
@@ -727,12 +833,13 @@ public class NexInventoryView {
             throw new IllegalArgumentException("handlers.size() must match items.size()");
         }
 
-        populateFillerStacks(items, startSlot1b, endSlot1b, alignment, null);
+        setFillerStacks(items, startSlot1b, endSlot1b, alignment, null);
 
         this.bodyHandlersByModelIndex = new ArrayList<>(handlers);
 
         renderBodyOnly();
         renderNavigation();
+        flush();
     }
 
     // Update a visible body item by its page-local index.
@@ -743,7 +850,7 @@ public class NexInventoryView {
         InvAlignment align = (overrideAlignment != null ? overrideAlignment : inv.bodyAlignment());
 
         int pageSize = Math.max(1, zone.slots.size());
-        int totalItems = bodyModels.size();
+        int totalItems = bodyTotal();
         int totalPages = Math.max(1, (int) Math.ceil(totalItems / (double) pageSize));
         if (pageIndex >= totalPages) pageIndex = totalPages - 1;
         if (pageIndex < 0) pageIndex = 0;
@@ -765,11 +872,17 @@ public class NexInventoryView {
         }
         if (targetSlot == null) return;
 
-        ItemStack current = top.getItem(targetSlot);
+        ItemStack current = slots[targetSlot] == null ? null : slots[targetSlot].clone();
         ItemStack updated = transformer.apply(current);
         if (updated == null) return;
 
-        top.setItem(targetSlot, updated);
+        slots[targetSlot] = updated;
+        flush();
+
+        if (pagedBody != null) {
+            pagedBody.replaceItem(pageIndex, bodyIndexInPage, updated);
+            return;
+        }
 
         int absIndex = pageOffset + bodyIndexInPage;
         if (absIndex >= 0 && absIndex < bodyModels.size()) {
@@ -792,18 +905,37 @@ public class NexInventoryView {
             return is;
         }
         if (model instanceof NexItemConfig cfg) {
-            ItemStack st = inv.renderer().renderStatic(cfg, inv.inventoryId());
-            if (st != null) {
-                st = applyLanguageForPlayer(st, cfg, inv.inventoryId(), player.getUniqueId());
-            }
-            return st;
+            return renderConfigItem(cfg, null);
         }
         return null;
     }
 
-    private ItemStack applyLanguageForPlayer(ItemStack stack, NexItemConfig cfg, String inventoryId, UUID playerId) {
-        // Standard: kein zusätzlicher Resolver
-        return applyLanguageForPlayer(stack, cfg, inventoryId, playerId, null);
+    /**
+     * Basis-Stack + Sprache für ein Config-Item. Gleiche Items werden für alle Spieler mit derselben
+     * Sprache nur einmal gebaut (siehe {@link NexItemRenderCache}), zurück kommt immer eine eigene Kopie.
+     */
+    private ItemStack renderConfigItem(NexItemConfig cfg, TagResolver extraResolver) {
+        UUID playerId = player.getUniqueId();
+        NexItemRenderCache.Key key = NexItemRenderCache.keyFor(
+                inv, cfg, nexusLanguage.getSelectedLanguage(playerId), extraResolver
+        );
+        if (key == null) {
+            return renderConfigItemUncached(cfg, playerId, extraResolver);
+        }
+        return NexItemRenderCache.get().get(key, () -> renderConfigItemUncached(cfg, playerId, extraResolver));
+    }
+
+    private ItemStack renderConfigItemUncached(NexItemConfig cfg, UUID playerId, TagResolver extraResolver) {
+        ItemStack base = inv.renderer().renderStatic(cfg, inv.inventoryId());
+        if (base == null) return null;
+        return applyLanguageForPlayer(base, cfg, inv.inventoryId(), playerId, extraResolver);
+    }
+
+    private ItemStack decoration() {
+        return NexItemRenderCache.get().get(NexItemRenderCache.decorationKey(inv), () -> {
+            ItemStack deco = renderItemSpec(inv.decorationItemSpec(), null);
+            return NexServices.newItemBuilder().itemStack(deco).displayName(Component.text(" ")).build();
+        });
     }
 
     private ItemStack applyLanguageForPlayer(ItemStack stack,
@@ -990,7 +1122,7 @@ public class NexInventoryView {
         InvFillStrategy.BodyZone zone = (overrideZone != null ? overrideZone : inv.bodyZone());
         InvAlignment align = (overrideAlignment != null ? overrideAlignment : inv.bodyAlignment());
         int pageSize = Math.max(1, zone.slots.size());
-        int totalItems = bodyModels.size();
+        int totalItems = bodyTotal();
         int totalPages = Math.max(1, (int) Math.ceil(totalItems / (double) pageSize));
 
         if (pageIndex >= totalPages) pageIndex = totalPages - 1;
@@ -0,0 +1,153 @@
+package io.nexstudios.nexus.bukkit.inv;
+
+import io.nexstudios.nexus.bukkit.inv.config.NexItemConfig;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache of fully rendered (language-applied) menu items.
+ * <p>
+ * Entries are keyed by inventory, item, language and resolver fingerprint. The cache stores a
+ * private prototype stack and always hands out clones, so callers may modify the returned stack.
+ * Items whose rendering depends on the individual player (plain lore lines with PlaceholderAPI or
+ * Nexus placeholders, non-empty tag resolvers, items from external plugins) are never cached.
+ * <p>
+ * Invalidated by {@code InvService.reload()}, {@code InvService.reloadWithNamespace(...)} and
+ * whenever a {@code NexusLanguage} is (re)loaded.
+ */
+public final class NexItemRenderCache {
+
+    private static final NexItemRenderCache INSTANCE = new NexItemRenderCache();
+    public static NexItemRenderCache get() { return INSTANCE; }
+
+    static final int MAX_ENTRIES = 4096;
+
+    /**
+     * @param inventory   owning inventory (ids are only unique within a namespace)
+     * @param fingerprint fingerprint of the extra tag resolver, empty if none
+     */
+    record Key(NexInventory inventory, String namespaceType, String itemId, String itemSpec,
+               String language, String fingerprint) {
+    }
+
+    /**
+     * @param hits    renders served from the cache
+     * @param misses  renders that had to build the item
+     * @param entries cached prototypes
+     */
+    public record Stats(long hits, long misses, int entries) {
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+    }
+
+    // guarded by this
+    private final LinkedHashMap<Key, ItemStack> prototypes = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, ItemStack> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private NexItemRenderCache() {
+    }
+
+    /**
+     * Key for a config item, or {@code null} if its rendering is player-specific and must not be cached.
+     */
+    static Key keyFor(NexInventory inventory, NexItemConfig cfg, String language, TagResolver extraResolver) {
+        if (cfg == null) return null;
+        String fingerprint = fingerprintOf(extraResolver);
+        if (fingerprint == null) return null;
+        if (!isVanilla(cfg.itemSpec) || !hasOnlyLanguageLore(cfg.lore)) return null;
+        return new Key(inventory, cfg.namespaceType, cfg.id, cfg.itemSpec, language, fingerprint);
+    }
+
+    /**
+     * Key for the decoration item of an inventory (language independent).
+     */
+    static Key decorationKey(NexInventory inventory) {
+        return new Key(inventory, "decoration", "deco", inventory.decorationItemSpec(), "", "");
+    }
+
+    /**
+     * Returns a clone of the cached prototype, rendering and caching it on a miss.
+     * {@code null} results are not cached.
+     */
+    ItemStack get(Key key, Supplier<ItemStack> renderer) {
+        ItemStack prototype;
+        synchronized (this) {
+            prototype = prototypes.get(key);
+        }
+        if (prototype != null) {
+            hits.increment();
+            return prototype.clone();
+        }
+
+        misses.increment();
+        ItemStack rendered = renderer.get();
+        if (rendered == null) return null;
+
+        synchronized (this) {
+            prototypes.put(key, rendered.clone());
+        }
+        return rendered;
+    }
+
+    /**
+     * Drops all cached items of one inventory.
+     */
+    public synchronized void invalidate(NexInventory inventory) {
+        prototypes.keySet().removeIf(k -> k.inventory() == inventory);
+    }
+
+    /**
+     * Drops every cached item. Called whenever languages or menus are reloaded.
+     */
+    public synchronized void invalidateAll() {
+        prototypes.clear();
+    }
+
+    public synchronized int size() {
+        return prototypes.size();
+    }
+
+    public Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), size());
+    }
+
+    // Resolver haben keine Wert-Gleichheit -> nur "kein Resolver" ist sicher cachebar
+    private static String fingerprintOf(TagResolver resolver) {
+        if (resolver == null || resolver == TagResolver.empty()) return "";
+        return null;
+    }
+
+    private static boolean isVanilla(String itemSpec) {
+        String spec = itemSpec == null ? "" : itemSpec.trim().toLowerCase(Locale.ROOT);
+        return spec.startsWith("minecraft:") || spec.startsWith("vanilla:") || !spec.contains(":");
+    }
+
+    // Nicht-Language-Zeilen laufen durch PlaceholderAPI/NexusPlaceholders und sind damit spielerabhängig
+    private static boolean hasOnlyLanguageLore(Object lore) {
+        if (lore == null || lore instanceof String) return true;
+        if (lore instanceof List<?> list) {
+            for (Object o : list) {
+                if (o instanceof String ls && !ls.startsWith("#language:") && !ls.isBlank()) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
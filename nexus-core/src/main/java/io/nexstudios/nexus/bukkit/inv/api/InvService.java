@@ -5,6 +5,7 @@ import io.nexstudios.nexus.bukkit.NexusPlugin;
 import io.nexstudios.nexus.bukkit.files.NexusFileReader;
 import io.nexstudios.nexus.bukkit.inv.NexInventory;
 import io.nexstudios.nexus.bukkit.inv.NexInventoryManager;
+import io.nexstudios.nexus.bukkit.inv.NexItemRenderCache;
 import io.nexstudios.nexus.bukkit.inv.NexInventoryView;
 import io.nexstudios.nexus.bukkit.inv.NexOnClick;
 import io.nexstudios.nexus.bukkit.inv.config.NexInventoryConfig;
@@ -72,8 +73,13 @@ public final class InvService {
             fr.reload();
         }
 
-        // Alle Registry-Einträge dieses Namespaces entfernen
-        registry.keySet().removeIf(k -> k != null && nsLower.equalsIgnoreCase(k.namespace()));
+        // Alle Registry-Einträge dieses Namespaces entfernen (inkl. gecachter Items)
+        registry.entrySet().removeIf(e -> {
+            InvKey k = e.getKey();
+            if (k == null || !nsLower.equalsIgnoreCase(k.namespace())) return false;
+            NexItemRenderCache.get().invalidate(e.getValue().inventory());
+            return true;
+        });
 
         // Nur diesen Namespace erneut preloaden (verwendet den Reader aus 'namespaces')
         preloadNamespace(namespace);
@@ -92,8 +98,9 @@ public final class InvService {
         // Dann Namespaces neu laden
         namespaces.values().forEach(NexusFileReader::reload);
 
-        // Registry leeren und für alle Namespaces neu aufbauen
+        // Registry und Render-Cache leeren und für alle Namespaces neu aufbauen
         registry.clear();
+        NexItemRenderCache.get().invalidateAll();
         namespaces.keySet().forEach(this::preloadNamespace);
     }
 
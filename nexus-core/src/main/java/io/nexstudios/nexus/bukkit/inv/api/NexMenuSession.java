@@ -4,6 +4,7 @@ import io.nexstudios.nexus.bukkit.inv.NexInventory;
 import io.nexstudios.nexus.bukkit.inv.NexInventoryView;
 import io.nexstudios.nexus.bukkit.inv.NexOnClick;
 import io.nexstudios.nexus.bukkit.inv.fill.InvAlignment;
+import io.nexstudios.nexus.bukkit.inv.pagination.NexPageProvider;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
 import org.bukkit.enchantments.Enchantment;
@@ -48,6 +49,7 @@ public class NexMenuSession {
             @Override public NexMenuSession onNavigationClick(String idOrNull, NexOnClick handler) { return this; }
             @Override public FillerBinding populateFiller(List<ItemStack> items, int startSlot1b, int endSlot1b, InvAlignment alignment) { return new FillerBinding(this, startSlot1b, endSlot1b, alignment); }
             @Override public NexMenuSession populateFillerEntries(List<NexFillerEntry> entries, int startSlot1b, int endSlot1b, InvAlignment alignment) { return this; }
+            @Override public NexMenuSession populateFillerPages(NexPageProvider provider, int startSlot1b, int endSlot1b, InvAlignment alignment) { return this; }
         };
     }
 
@@ -350,6 +352,27 @@ public class NexMenuSession {
         return this;
     }
 
+    /**
+     * Populates the body from a page provider. Only the current page and its neighbours are loaded,
+     * so the full dataset is never materialized.
+     */
+    public NexMenuSession populateFillerPages(NexPageProvider provider, int startSlot1b, int endSlot1b, InvAlignment alignment) {
+        Objects.requireNonNull(provider, "provider");
+
+        Runnable task = () -> {
+            ensureView();
+            view.populateFillerPages(provider, startSlot1b, endSlot1b, alignment);
+        };
+
+        if (opened && view != null) {
+            task.run();
+        } else {
+            preOpenTasks.add(task);
+        }
+
+        return this;
+    }
+
     public static final class FillerBinding {
         private final NexMenuSession session;
         private final int start1b;
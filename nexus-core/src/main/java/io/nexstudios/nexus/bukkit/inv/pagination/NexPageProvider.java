@@ -0,0 +1,52 @@
+package io.nexstudios.nexus.bukkit.inv.pagination;
+
+import io.nexstudios.nexus.bukkit.inv.api.NexFillerEntry;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Streams body entries of a menu page by page, so large menus never have to materialize
+ * the whole dataset. Only a small window of pages around the current one is kept
+ * (see {@link NexPageWindow}).
+ */
+public interface NexPageProvider {
+
+    /**
+     * @return total number of entries, may change between calls
+     */
+    int totalItems();
+
+    /**
+     * Loads the entries {@code [offset, offset + limit)}. Synchronous providers return a completed future;
+     * asynchronous ones may complete on any thread, the view switches back to the main thread.
+     */
+    CompletableFuture<List<NexFillerEntry>> load(int offset, int limit);
+
+    /**
+     * Item shown in the body slots while a page is still loading, {@code null} keeps them empty.
+     */
+    default ItemStack placeholder() {
+        return null;
+    }
+
+    /**
+     * Synchronous provider over an existing list (no copy).
+     */
+    static NexPageProvider of(List<NexFillerEntry> entries) {
+        return new NexPageProvider() {
+            @Override
+            public int totalItems() {
+                return entries.size();
+            }
+
+            @Override
+            public CompletableFuture<List<NexFillerEntry>> load(int offset, int limit) {
+                int from = Math.min(offset, entries.size());
+                int to = Math.min(entries.size(), offset + limit);
+                return CompletableFuture.completedFuture(entries.subList(from, to));
+            }
+        };
+    }
+}
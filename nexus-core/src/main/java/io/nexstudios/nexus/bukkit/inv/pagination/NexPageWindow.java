@@ -0,0 +1,149 @@
+package io.nexstudios.nexus.bukkit.inv.pagination;
+
+import io.nexstudios.nexus.bukkit.NexusPlugin;
+import io.nexstudios.nexus.bukkit.inv.api.NexFillerEntry;
+import org.bukkit.Bukkit;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.IntConsumer;
+
+/**
+ * Window of loaded pages over a {@link NexPageProvider}.
+ * <p>
+ * Requesting a page loads it (if needed), prefetches the adjacent pages and drops pages
+ * that are further than {@link #KEEP_RADIUS} away from it. Asynchronous loads are applied
+ * on the main thread and reported through the {@code onLoaded} callback.
+ * Not thread-safe, only used from the main thread.
+ */
+public final class NexPageWindow {
+
+    static final int PREFETCH_RADIUS = 1;
+    static final int KEEP_RADIUS = 2;
+
+    private static final class Page {
+        List<NexFillerEntry> entries; // null solange geladen wird
+    }
+
+    private final NexPageProvider provider;
+    private final IntConsumer onLoaded;
+    private final Map<Integer, Page> pages = new HashMap<>();
+    private int pageSize = -1;
+
+    /**
+     * @param onLoaded called on the main thread with the page index when an async load finished
+     */
+    public NexPageWindow(NexPageProvider provider, IntConsumer onLoaded) {
+        this.provider = provider;
+        this.onLoaded = onLoaded;
+    }
+
+    public NexPageProvider provider() {
+        return provider;
+    }
+
+    public int totalItems() {
+        return Math.max(0, provider.totalItems());
+    }
+
+    /**
+     * Returns the entries of a page and prefetches its neighbours.
+     *
+     * @return the entries, or {@code null} while the page is loading
+     */
+    public List<NexFillerEntry> page(int pageIndex, int pageSize) {
+        if (pageSize != this.pageSize) {
+            // andere Seitengröße -> geladene Seiten passen nicht mehr
+            pages.clear();
+            this.pageSize = pageSize;
+        }
+
+        pages.keySet().removeIf(i -> Math.abs(i - pageIndex) > KEEP_RADIUS);
+
+        Page current = request(pageIndex);
+
+        int totalPages = new NexPageSource(totalItems(), pageSize).totalPages();
+        for (int d = 1; d <= PREFETCH_RADIUS; d++) {
+            if (pageIndex - d >= 0) request(pageIndex - d);
+            if (pageIndex + d < totalPages) request(pageIndex + d);
+        }
+        return current.entries;
+    }
+
+    /**
+     * Replaces the item of one loaded entry and keeps its click handler (e.g. after a visible item was updated).
+     * No-op if the page is not loaded.
+     */
+    public void replaceItem(int pageIndex, int indexInPage, ItemStack item) {
+        Page page = pages.get(pageIndex);
+        if (page == null || page.entries == null || indexInPage < 0 || indexInPage >= page.entries.size()) return;
+        if (!(page.entries instanceof ArrayList)) {
+            page.entries = new ArrayList<>(page.entries);
+        }
+        NexFillerEntry old = page.entries.get(indexInPage);
+        page.entries.set(indexInPage, new NexFillerEntry(item, old == null ? null : old.onClick()));
+    }
+
+    /**
+     * Drops all loaded pages, e.g. after the underlying data changed.
+     */
+    public void invalidate() {
+        pages.clear();
+    }
+
+    private Page request(int pageIndex) {
+        Page page = pages.get(pageIndex);
+        if (page != null) return page;
+
+        Page p = new Page();
+        pages.put(pageIndex, p);
+
+        CompletableFuture<List<NexFillerEntry>> future;
+        try {
+            future = provider.load(pageIndex * pageSize, pageSize);
+        } catch (Exception e) {
+            logLoadError(pageIndex, e);
+            p.entries = List.of();
+            return p;
+        }
+
+        // synchrone Provider: direkt übernehmen, ohne Umweg über den Scheduler
+        if (future.isDone()) {
+            try {
+                p.entries = orEmpty(future.join());
+            } catch (Exception e) {
+                logLoadError(pageIndex, e);
+                p.entries = List.of();
+            }
+            return p;
+        }
+
+        future.whenComplete((list, ex) -> Bukkit.getScheduler().runTask(NexusPlugin.getInstance(), () -> {
+            // inzwischen verdrängt oder neu angefordert -> Ergebnis verwerfen
+            if (pages.get(pageIndex) != p) return;
+            if (ex != null) {
+                logLoadError(pageIndex, ex);
+                p.entries = List.of();
+            } else {
+                p.entries = orEmpty(list);
+            }
+            onLoaded.accept(pageIndex);
+        }));
+        return p;
+    }
+
+    private static List<NexFillerEntry> orEmpty(List<NexFillerEntry> list) {
+        return list == null ? List.of() : list;
+    }
+
+    private static void logLoadError(int pageIndex, Throwable t) {
+        NexusPlugin.nexusLogger.error(List.of(
+                "Could not load menu page " + (pageIndex + 1),
+                "Error: " + t.getMessage()
+        ));
+    }
+}
@@ -1,6 +1,7 @@
 package io.nexstudios.nexus.bukkit.language;
 
 import io.nexstudios.nexus.bukkit.NexusPlugin;
+import io.nexstudios.nexus.bukkit.inv.NexItemRenderCache;
 import io.nexstudios.nexus.bukkit.utils.NexusLogger;
 import io.nexstudios.nexus.bukkit.files.NexusFileReader;
 import lombok.Getter;
@@ -33,6 +34,9 @@ public class NexusLanguage {
             loadedLanguages.put(languageName, YamlConfiguration.loadConfiguration(file));
         });
 
+        // neue Sprachdateien -> gecachte Menü-Items mit alten Übersetzungen verwerfen
+        NexItemRenderCache.get().invalidateAll();
+
         nexusLogger.info("Loaded " + availableLanguages.size() + " languages.");
     }
 
@@ -0,0 +1,486 @@
+package io.nexstudios.nexus.bukkit.levels;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * In-memory level cache of {@link NexLevel}.
+ * <p>
+ * Every player owns a {@link Node} with its progress per level type and its own dirty set.
+ * The node monitor is the lock stripe: marking, draining, invalidating or resetting one player
+ * only locks and touches that player's node. A global set of player ids with pending dirty
+ * entries lets the periodic flush find work without scanning every cached player.
+ * <p>
+ * Each node remembers its last access, so {@link NexLevel} can evict idle offline
+ * players in bounded mode; hits, misses and evictions are counted for sizing.
+ * <p>
+ * Cached {@link LevelProgress} objects are changed in place, so every change has to hold
+ * {@link #lockOf(UUID)}. Drains hand out copies taken under the same lock, which keeps the
+ * flush thread from ever writing a half-applied total/level pair.
+ * <p>
+ * While the database row of a placeholder is still loading, local changes are recorded as a
+ * {@link PendingLoad} and its dirty entry is held back, so a flush never writes the placeholder
+ * over the stored total; {@link NexLevel} merges both once the row arrives.
+ */
+final class LevelCache {
+
+    private static final class Node {
+        final ConcurrentMap<LevelKey, LevelProgress> progress = new ConcurrentHashMap<>();
+        // guarded by this
+        final Map<LevelKey, LevelProgress> dirty = new HashMap<>();
+        // guarded by this: Typen, deren DB-Row noch geladen wird
+        final Map<LevelKey, PendingLoad> loading = new HashMap<>();
+        volatile long lastAccess = System.currentTimeMillis();
+    }
+
+    /**
+     * Local changes made to a placeholder while its database row is still loading.
+     * Guarded by {@link #lockOf(UUID)}.
+     */
+    static final class PendingLoad {
+        /**
+         * XP added (or removed) locally since the placeholder was created.
+         */
+        double delta;
+        /**
+         * The value was set absolutely (set level/XP, handoff), so the loaded row no longer counts.
+         */
+        boolean absolute;
+    }
+
+    /**
+     * Player selected for eviction, together with the access time seen when it was selected.
+     */
+    record EvictionCandidate(UUID playerId, long lastAccess) {
+    }
+
+    private final ConcurrentMap<UUID, Node> nodes = new ConcurrentHashMap<>();
+    // Invariante: ein Node mit Dirty-Einträgen ist immer in dirtyPlayers enthalten (gepflegt unter dem Node-Lock)
+    private final Set<UUID> dirtyPlayers = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @return the (possibly new) progress map of the player
+     */
+    ConcurrentMap<LevelKey, LevelProgress> progressOf(UUID playerId) {
+        return touch(playerId).progress;
+    }
+
+    private Node touch(UUID playerId) {
+        Node node = nodes.computeIfAbsent(playerId, __ -> new Node());
+        node.lastAccess = System.currentTimeMillis();
+        return node;
+    }
+
+    /**
+     * Monitor guarding in-place changes of the player's cached progress.
+     */
+    Object lockOf(UUID playerId) {
+        // bewusst ohne touch(): Hintergrund-Änderungen (z.B. Kurven-Reload) halten Spieler nicht im Cache
+        return nodes.computeIfAbsent(playerId, __ -> new Node());
+    }
+
+    /**
+     * Like {@link #lockOf(UUID)}, but never creates a node; for remote changes of players
+     * that may not be cached here.
+     *
+     * @return the player's monitor, or {@code null} if the player is not cached
+     */
+    Object lockIfPresent(UUID playerId) {
+        return nodes.get(playerId);
+    }
+
+    LevelProgress get(UUID playerId, LevelKey key) {
+        Node node = nodes.get(playerId);
+        return node == null ? null : node.progress.get(key);
+    }
+
+    /**
+     * @return copy of all cached progress of the player, empty if not cached
+     */
+    List<LevelProgress> snapshot(UUID playerId) {
+        Node node = nodes.get(playerId);
+        return node == null ? List.of() : new ArrayList<>(node.progress.values());
+    }
+
+    void put(LevelProgress p) {
+        progressOf(p.getPlayerId()).put(p.getKey(), p);
+    }
+
+    /**
+     * Calls {@code action} for every cached progress of the given level type.
+     */
+    void forEachOfKey(LevelKey key, Consumer<LevelProgress> action) {
+        for (Node node : nodes.values()) {
+            LevelProgress p = node.progress.get(key);
+            if (p != null) {
+                action.accept(p);
+            }
+        }
+    }
+
+    void markDirty(LevelProgress p) {
+        UUID pid = p.getPlayerId();
+        while (true) {
+            Node node = touch(pid);
+            synchronized (node) {
+                // Node wurde zwischenzeitlich evicted/entfernt -> mit neuem Node erneut versuchen
+                if (nodes.get(pid) != node) continue;
+                node.dirty.put(p.getKey(), p);
+                dirtyPlayers.add(pid);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Marks a freshly inserted placeholder as loading. Call under {@link #lockOf(UUID)}.
+     */
+    void beginLoad(UUID playerId, LevelKey key) {
+        Node node = nodes.computeIfAbsent(playerId, __ -> new Node());
+        synchronized (node) {
+            node.loading.putIfAbsent(key, new PendingLoad());
+        }
+    }
+
+    /**
+     * Marks every cached key of the player that has no pending local change as loading, so the
+     * database row can replace it. Dirty keys are newer than the row and stay untouched.
+     *
+     * @return the keys to read from the database
+     */
+    Set<LevelKey> beginRefresh(UUID playerId) {
+        Node node = nodes.get(playerId);
+        if (node == null) return Set.of();
+        Set<LevelKey> out = new HashSet<>();
+        synchronized (node) {
+            for (LevelKey key : node.progress.keySet()) {
+                if (node.dirty.containsKey(key) || node.loading.containsKey(key)) continue;
+                node.loading.put(key, new PendingLoad());
+                out.add(key);
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Records a local change of a progress whose row is still loading; no-op otherwise.
+     * Call under {@link #lockOf(UUID)}.
+     *
+     * @param delta    XP difference of a relative change
+     * @param absolute {@code true} if the value was set absolutely
+     */
+    void recordLocalChange(UUID playerId, LevelKey key, double delta, boolean absolute) {
+        Node node = nodes.get(playerId);
+        if (node == null) return;
+        synchronized (node) {
+            PendingLoad pending = node.loading.get(key);
+            if (pending == null) return;
+            if (absolute) {
+                pending.absolute = true;
+            } else {
+                pending.delta += delta;
+            }
+        }
+    }
+
+    /**
+     * Ends the loading state of a key and releases its held-back dirty entry.
+     *
+     * @return the local changes recorded while loading, or {@code null} if the key was not loading
+     */
+    PendingLoad endLoad(UUID playerId, LevelKey key) {
+        Node node = nodes.get(playerId);
+        if (node == null) return null;
+        synchronized (node) {
+            return node.loading.remove(key);
+        }
+    }
+
+    /**
+     * Re-adds entries of a failed flush. Keys that were marked dirty again in the meantime
+     * keep their newer entry; otherwise the live cached instance (or the copy, if the player
+     * is no longer cached) is queued.
+     */
+    void requeue(List<LevelProgress> flushed) {
+        for (LevelProgress copy : flushed) {
+            UUID pid = copy.getPlayerId();
+            while (true) {
+                Node node = touch(pid);
+                synchronized (node) {
+                    if (nodes.get(pid) != node) continue;
+                    LevelProgress live = node.progress.get(copy.getKey());
+                    node.dirty.putIfAbsent(copy.getKey(), live != null ? live : copy);
+                    dirtyPlayers.add(pid);
+                    break;
+                }
+            }
+        }
+    }
+
+    // Flush-Kopie, wird unter dem Node-Lock gezogen
+    private static LevelProgress copyOf(LevelProgress p) {
+        return new LevelProgress(p.getPlayerId(), p.getKey(), p.getLevel(), p.getXp(), p.getTotalXp(), p.getLastAppliedLevel());
+    }
+
+    /**
+     * Removes and returns copies of all dirty entries of one player (entries still loading stay queued).
+     */
+    List<LevelProgress> drainPlayer(UUID playerId) {
+        Node node = nodes.get(playerId);
+        if (node == null) {
+            dirtyPlayers.remove(playerId);
+            return List.of();
+        }
+        synchronized (node) {
+            if (node.dirty.isEmpty()) {
+                return List.of();
+            }
+            List<LevelProgress> out = new ArrayList<>(node.dirty.size());
+            Iterator<LevelProgress> dit = node.dirty.values().iterator();
+            while (dit.hasNext()) {
+                LevelProgress p = dit.next();
+                // Placeholder mit laufendem Load bleiben dirty, bis die DB-Row gemerged ist
+                if (node.loading.containsKey(p.getKey())) continue;
+                out.add(copyOf(p));
+                dit.remove();
+            }
+            if (node.dirty.isEmpty()) {
+                dirtyPlayers.remove(playerId);
+            }
+            return out;
+        }
+    }
+
+    /**
+     * Moves copies of up to {@code max} dirty entries (across players) into {@code out}.
+     *
+     * @return number of drained entries
+     */
+    int drainInto(List<LevelProgress> out, int max) {
+        int drained = 0;
+        Iterator<UUID> it = dirtyPlayers.iterator();
+        while (drained < max && it.hasNext()) {
+            UUID pid = it.next();
+            Node node = nodes.get(pid);
+            if (node == null) {
+                it.remove();
+                continue;
+            }
+            synchronized (node) {
+                Iterator<LevelProgress> dit = node.dirty.values().iterator();
+                while (drained < max && dit.hasNext()) {
+                    LevelProgress p = dit.next();
+                    if (node.loading.containsKey(p.getKey())) continue;
+                    out.add(copyOf(p));
+                    dit.remove();
+                    drained++;
+                }
+                if (node.dirty.isEmpty()) {
+                    dirtyPlayers.remove(pid);
+                }
+            }
+        }
+        return drained;
+    }
+
+    int dirtyCount() {
+        int count = 0;
+        for (UUID pid : dirtyPlayers) {
+            Node node = nodes.get(pid);
+            if (node == null) continue;
+            synchronized (node) {
+                count += node.dirty.size();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Drops the whole node of a player (progress and dirty entries).
+     *
+     * @return {@code true} if the player had cached or dirty data
+     */
+    boolean removePlayer(UUID playerId) {
+        Node node = nodes.remove(playerId);
+        if (node == null) {
+            return dirtyPlayers.remove(playerId);
+        }
+        synchronized (node) {
+            node.dirty.clear();
+            node.loading.clear();
+            dirtyPlayers.remove(playerId);
+        }
+        return true;
+    }
+
+    /**
+     * Drops the node of a player unless it has dirty entries or rows still loading.
+     *
+     * @return {@code true} if the node was dropped
+     */
+    boolean removeIfClean(UUID playerId) {
+        Node node = nodes.get(playerId);
+        if (node == null) {
+            return false;
+        }
+        synchronized (node) {
+            if (!node.dirty.isEmpty() || !node.loading.isEmpty()) {
+                return false;
+            }
+            return nodes.remove(playerId, node);
+        }
+    }
+
+    /**
+     * Drops one level type of a player (progress and dirty entry).
+     *
+     * @return {@code true} if the player had cached or dirty data for that key
+     */
+    boolean remove(UUID playerId, LevelKey key) {
+        Node node = nodes.get(playerId);
+        if (node == null) {
+            return false;
+        }
+        boolean had;
+        boolean empty;
+        synchronized (node) {
+            had = node.progress.remove(key) != null;
+            had |= node.dirty.remove(key) != null;
+            node.loading.remove(key);
+            if (node.dirty.isEmpty()) {
+                dirtyPlayers.remove(playerId);
+            }
+            empty = node.progress.isEmpty() && node.dirty.isEmpty() && node.loading.isEmpty();
+        }
+        if (empty) {
+            nodes.remove(playerId, node);
+        }
+        return had;
+    }
+
+    /**
+     * Drops one level type for all players.
+     *
+     * @return {@code true} if any player had cached or dirty data for that key
+     */
+    boolean removeKey(LevelKey key) {
+        boolean had = false;
+        for (UUID pid : nodes.keySet()) {
+            had |= remove(pid, key);
+        }
+        return had;
+    }
+
+    /**
+     * Drops everything.
+     *
+     * @return {@code true} if anything was cached or dirty
+     */
+    boolean clear() {
+        boolean had = !nodes.isEmpty() || !dirtyPlayers.isEmpty();
+        for (UUID pid : nodes.keySet()) {
+            removePlayer(pid);
+        }
+        dirtyPlayers.clear();
+        return had;
+    }
+
+    int size() {
+        return nodes.size();
+    }
+
+    void recordHit() {
+        hits.increment();
+    }
+
+    void recordMiss() {
+        misses.increment();
+    }
+
+    long hits() {
+        return hits.sum();
+    }
+
+    long misses() {
+        return misses.sum();
+    }
+
+    long evictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Selects offline players that should leave the cache: everyone idle for longer than
+     * {@code idleMillis} and, while the cache is above {@code maxPlayers}, the least recently
+     * used remaining ones. Online players are never selected.
+     *
+     * @param idleMillis idle expiry in milliseconds, {@code <= 0} disables idle expiry
+     * @param maxPlayers maximum number of cached players, {@code <= 0} means unbounded
+     * @param isOnline   online check for a player id
+     * @return candidates, oldest first
+     */
+    List<EvictionCandidate> evictionCandidates(long idleMillis, int maxPlayers, Predicate<UUID> isOnline) {
+        List<EvictionCandidate> offline = new ArrayList<>();
+        for (Map.Entry<UUID, Node> e : nodes.entrySet()) {
+            if (isOnline.test(e.getKey())) continue;
+            offline.add(new EvictionCandidate(e.getKey(), e.getValue().lastAccess));
+        }
+        if (offline.isEmpty()) {
+            return offline;
+        }
+        offline.sort(Comparator.comparingLong(EvictionCandidate::lastAccess));
+
+        long idleBefore = idleMillis > 0 ? System.currentTimeMillis() - idleMillis : Long.MIN_VALUE;
+        int overflow = maxPlayers > 0 ? Math.max(0, nodes.size() - maxPlayers) : 0;
+
+        List<EvictionCandidate> out = new ArrayList<>();
+        for (EvictionCandidate c : offline) {
+            if (c.lastAccess() < idleBefore || out.size() < overflow) {
+                out.add(c);
+            } else {
+                break;
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Removes the node of a candidate if it was not accessed since selection and has no
+     * pending dirty entries. Dirty entries must be flushed by the caller beforehand.
+     *
+     * @return {@code true} if the node was evicted
+     */
+    boolean evict(EvictionCandidate candidate) {
+        UUID pid = candidate.playerId();
+        Node node = nodes.get(pid);
+        if (node == null) {
+            return false;
+        }
+        synchronized (node) {
+            if (node.lastAccess != candidate.lastAccess() || !node.dirty.isEmpty()) {
+                return false;
+            }
+            if (!nodes.remove(pid, node)) {
+                return false;
+            }
+        }
+        evictions.increment();
+        return true;
+    }
+}
@@ -1,14 +1,15 @@
 package io.nexstudios.nexus.bukkit.levels;
 
-import io.nexstudios.nexus.bukkit.NexusPlugin;
-
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.util.*;
 import java.util.function.Consumer;
 
-record LevelDao(String tableName) {
+record LevelDao(String tableName, LevelSqlDialect dialect) {
+
+    // 5 Parameter pro Zeile -> 500 Bind-Parameter, bleibt unter dem alten SQLite-Limit von 999
+    static final int ROWS_PER_STATEMENT = 100;
 
     public Optional<LevelProgress> load(Connection c, UUID playerId, LevelKey key) throws Exception {
         String sql = "SELECT xp, last_applied_level FROM " + tableName + " WHERE player_uuid=? AND namespace=? AND level_key=?";
@@ -34,9 +35,103 @@ record LevelDao(String tableName) {
         return Optional.empty();
     }
 
+    /**
+     * Lädt alle gespeicherten Level-Typen eines Spielers mit einer einzigen Abfrage.
+     */
+    public List<LevelProgress> loadAllForPlayer(Connection c, UUID playerId) throws Exception {
+        String sql = "SELECT namespace, level_key, xp, last_applied_level FROM " + tableName + " WHERE player_uuid=?";
+        List<LevelProgress> out = new ArrayList<>();
+        try (PreparedStatement ps = c.prepareStatement(sql)) {
+            ps.setString(1, playerId.toString());
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    String ns = rs.getString(1);
+                    String key = rs.getString(2);
+                    double totalXp = rs.getDouble(3);
+                    int lastApplied;
+                    try {
+                        lastApplied = rs.getInt(4);
+                    } catch (Exception ignored) {
+                        lastApplied = 0;
+                    }
+                    // level/xp werden später anhand LevelDefinition berechnet
+                    out.add(new LevelProgress(playerId, new LevelKey(ns, key), 0, 0.0d, totalXp, lastApplied));
+                }
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Schreibt alle Einträge per Upsert in die Tabelle.
+     * <p>
+     * MariaDB/MySQL und SQLite erhalten mehrzeilige {@code INSERT ... VALUES (...),(...)}-Statements
+     * mit dialekt-eigenem Upsert, d.h. ein Roundtrip pro {@link #ROWS_PER_STATEMENT} Einträge.
+     * Die Transaktion wird vom Aufrufer gesteuert.
+     */
     public void upsertBatch(Connection c, List<LevelProgress> batch) throws Exception {
-        NexusPlugin.nexusLogger.info("[NexLevel] upsertBatch called with " + batch.size() + " entries");
+        if (batch.isEmpty()) {
+            return;
+        }
+        if (dialect == LevelSqlDialect.GENERIC) {
+            upsertBatchGeneric(c, batch);
+            return;
+        }
+
+        int size = batch.size();
+        int fullChunks = size / ROWS_PER_STATEMENT;
+        int rest = size % ROWS_PER_STATEMENT;
+
+        if (fullChunks > 0) {
+            try (PreparedStatement ps = c.prepareStatement(upsertSql(ROWS_PER_STATEMENT))) {
+                for (int chunk = 0; chunk < fullChunks; chunk++) {
+                    int from = chunk * ROWS_PER_STATEMENT;
+                    bindRows(ps, batch, from, from + ROWS_PER_STATEMENT);
+                    ps.executeUpdate();
+                }
+            }
+        }
+        if (rest > 0) {
+            try (PreparedStatement ps = c.prepareStatement(upsertSql(rest))) {
+                bindRows(ps, batch, size - rest, size);
+                ps.executeUpdate();
+            }
+        }
+    }
 
+    private void bindRows(PreparedStatement ps, List<LevelProgress> batch, int from, int to) throws Exception {
+        ps.clearParameters();
+        int idx = 1;
+        for (int i = from; i < to; i++) {
+            LevelProgress p = batch.get(i);
+            ps.setString(idx++, p.getPlayerId().toString());
+            ps.setString(idx++, p.getKey().getNamespace());
+            ps.setString(idx++, p.getKey().getKey());
+            ps.setDouble(idx++, p.getTotalXp());
+            ps.setInt(idx++, p.getLastAppliedLevel());
+        }
+    }
+
+    private String upsertSql(int rows) {
+        StringBuilder sb = new StringBuilder(128 + rows * 40);
+        sb.append("INSERT INTO ").append(tableName)
+                .append(" (player_uuid, namespace, level_key, xp, last_applied_level, updated_at) VALUES ");
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) sb.append(',');
+            sb.append("(?, ?, ?, ?, ?, CURRENT_TIMESTAMP)");
+        }
+        if (dialect == LevelSqlDialect.MYSQL) {
+            sb.append(" ON DUPLICATE KEY UPDATE xp=VALUES(xp), last_applied_level=VALUES(last_applied_level), " +
+                    "updated_at=VALUES(updated_at)");
+        } else {
+            sb.append(" ON CONFLICT(player_uuid, namespace, level_key) DO UPDATE SET xp=excluded.xp, " +
+                    "last_applied_level=excluded.last_applied_level, updated_at=excluded.updated_at");
+        }
+        return sb.toString();
+    }
+
+    // Fallback für Datenbanken ohne bekannte Upsert-Syntax
+    private void upsertBatchGeneric(Connection c, List<LevelProgress> batch) throws Exception {
         String update = "UPDATE " + tableName + " SET xp=?, last_applied_level=?, updated_at=CURRENT_TIMESTAMP " +
                 "WHERE player_uuid=? AND namespace=? AND level_key=?";
         String insert = "INSERT INTO " + tableName + " (player_uuid, namespace, level_key, xp, last_applied_level, updated_at) " +
@@ -68,8 +163,6 @@ record LevelDao(String tableName) {
             }
             in.executeBatch();
         }
-
-        NexusPlugin.nexusLogger.info("[NexLevel] upsertBatch finished");
     }
 
     public void streamAll(Connection c, Consumer<LevelProgress> consumer) throws Exception {
@@ -1,22 +1,60 @@
 package io.nexstudios.nexus.bukkit.levels;
 
-import java.util.Collections;
 import java.util.List;
 
 /**
- * @param neededExp Index 0 => Level 1 Requirement
+ * Immutable level curve.
+ * <p>
+ * The per-level requirements are copied once into primitive arrays, together with
+ * a cumulative (prefix sum) threshold array. Level lookups from total XP are a binary
+ * search over that array and allocate nothing.
  */
-public record LevelDefinition(List<Double> neededExp) {
+public final class LevelDefinition {
+
+    // Toleranz für Rundungsfehler bei aufsummierten double-Werten
+    private static final double EPSILON = 1e-9;
+
+    /**
+     * Index 0 => Level 1 Requirement
+     */
+    private final List<Double> neededExp;
+    private final double[] perLevel;
+    private final double[] cumulative;
+    // false bei negativen Requirements -> Präfixsummen nicht sortiert, Binärsuche nicht zulässig
+    private final boolean monotonic;
+
+    /**
+     * @param neededExp Index 0 => Level 1 Requirement
+     */
     public LevelDefinition(List<Double> neededExp) {
         if (neededExp == null || neededExp.isEmpty()) {
             throw new IllegalArgumentException("neededExp darf nicht leer sein");
         }
+        int max = neededExp.size();
+        double[] per = new double[max];
+        double[] cum = new double[max];
+        double sum = 0.0d;
+        boolean mono = true;
+        for (int i = 0; i < max; i++) {
+            double req = neededExp.get(i);
+            if (req < 0.0d) mono = false;
+            per[i] = req;
+            sum += req;
+            cum[i] = sum;
+        }
         // defensive copy + unmodifiable
-        this.neededExp = Collections.unmodifiableList(neededExp);
+        this.neededExp = List.copyOf(neededExp);
+        this.perLevel = per;
+        this.cumulative = cum;
+        this.monotonic = mono;
+    }
+
+    public List<Double> neededExp() {
+        return neededExp;
     }
 
     public int maxLevel() {
-        return neededExp.size();
+        return perLevel.length;
     }
 
     public double requirementFor(int level) {
@@ -24,6 +62,74 @@ public record LevelDefinition(List<Double> neededExp) {
         if (level < 1 || level > maxLevel()) {
             throw new IllegalArgumentException("Level außerhalb des gültigen Bereichs: " + level);
         }
-        return neededExp.get(level - 1);
+        return perLevel[level - 1];
+    }
+
+    /**
+     * Cumulative XP needed to reach the given level.
+     *
+     * @param level target level, clamped to {@code [0, maxLevel]}
+     * @return total XP threshold of that level ({@code 0.0} for level 0)
+     */
+    public double totalXpFor(int level) {
+        if (level <= 0) return 0.0d;
+        if (level > perLevel.length) level = perLevel.length;
+        return cumulative[level - 1];
+    }
+
+    /**
+     * Resolves the level implied by the given total XP.
+     *
+     * @param totalXp total XP (negative values are treated as 0)
+     * @return level in {@code [0, maxLevel]}
+     */
+    public int levelFor(double totalXp) {
+        if (totalXp < 0.0d) totalXp = 0.0d;
+        double probe = totalXp + EPSILON;
+
+        if (!monotonic) {
+            int level = 0;
+            for (int i = 0; i < cumulative.length; i++) {
+                if (probe >= cumulative[i]) {
+                    level = i + 1;
+                } else {
+                    break;
+                }
+            }
+            return level;
+        }
+
+        // größter Index mit cumulative[i] <= probe
+        int lo = 0;
+        int hi = cumulative.length - 1;
+        int found = -1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (cumulative[mid] <= probe) {
+                found = mid;
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return found + 1;
+    }
+
+    /**
+     * Writes level, XP-in-level and total XP for the given total into {@code target}.
+     * {@code lastAppliedLevel} is left untouched.
+     * <p>
+     * For progress that is already cached, callers must hold {@code LevelCache#lockOf}
+     * of the player, otherwise a concurrent flush may see a torn total/level pair.
+     *
+     * @param target  progress to update in place
+     * @param totalXp new total XP (negative values are treated as 0)
+     */
+    public void applyTotal(LevelProgress target, double totalXp) {
+        if (totalXp < 0.0d) totalXp = 0.0d;
+        int level = levelFor(totalXp);
+        target.setLevel(level);
+        target.setXp(level == 0 ? totalXp : totalXp - cumulative[level - 1]);
+        target.setTotalXp(totalXp);
     }
-}
\ No newline at end of file
+}
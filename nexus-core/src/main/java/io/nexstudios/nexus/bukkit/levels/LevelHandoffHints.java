@@ -0,0 +1,103 @@
+package io.nexstudios.nexus.bukkit.levels;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Totals handed off by another server on quit, kept only as a hint for the next database read.
+ * <p>
+ * The database stays authoritative: a join always loads the player's rows. If a loaded total
+ * differs from a recent handoff, the previous server has most likely not committed its quit flush
+ * yet, so {@link NexLevel} reads that key again. After {@code maxRetries} reads (or once the hint
+ * expired) the database row wins, so a lost or stale handoff can never overwrite newer data.
+ * <p>
+ * Hints are only kept for players that are not online here and expire after {@code ttlMillis}.
+ */
+final class LevelHandoffHints {
+
+    private static final class Hint {
+        final ConcurrentMap<LevelKey, Double> totals = new ConcurrentHashMap<>();
+        volatile long receivedAt;
+        // guarded by this
+        int reads;
+    }
+
+    private final ConcurrentMap<UUID, Hint> hints = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+    private final int maxRetries;
+    private final LongSupplier clock;
+
+    LevelHandoffHints(long ttlMillis, int maxRetries) {
+        this(ttlMillis, maxRetries, System::currentTimeMillis);
+    }
+
+    LevelHandoffHints(long ttlMillis, int maxRetries, LongSupplier clock) {
+        this.ttlMillis = ttlMillis;
+        this.maxRetries = maxRetries;
+        this.clock = clock;
+    }
+
+    /**
+     * Remembers a handed off total; expired hints of other players are dropped on the way.
+     */
+    void remember(UUID playerId, LevelKey key, double totalXp) {
+        long now = clock.getAsLong();
+        hints.values().removeIf(h -> now - h.receivedAt > ttlMillis);
+        Hint hint = hints.computeIfAbsent(playerId, __ -> new Hint());
+        hint.receivedAt = now;
+        hint.totals.put(key, totalXp);
+    }
+
+    /**
+     * Compares loaded totals against the player's hint. Keys that match are resolved; keys that
+     * still differ are returned, until the retries are used up or the hint expired.
+     *
+     * @param keys   level types that were just read
+     * @param loaded loaded totals per key (keys without a row are missing)
+     * @return keys that should be read again, empty if the loaded rows can be merged
+     */
+    Set<LevelKey> lagging(UUID playerId, Set<LevelKey> keys, Map<LevelKey, Double> loaded) {
+        Hint hint = hints.get(playerId);
+        if (hint == null) {
+            return Set.of();
+        }
+        if (clock.getAsLong() - hint.receivedAt > ttlMillis) {
+            hints.remove(playerId, hint);
+            return Set.of();
+        }
+        Set<LevelKey> out = new HashSet<>();
+        synchronized (hint) {
+            for (LevelKey key : keys) {
+                Double expected = hint.totals.get(key);
+                if (expected == null) continue;
+                if (expected.equals(loaded.getOrDefault(key, 0.0d))) {
+                    hint.totals.remove(key);
+                } else {
+                    out.add(key);
+                }
+            }
+            if (!out.isEmpty() && ++hint.reads > maxRetries) {
+                // DB hat nicht nachgezogen: der Hinweis ist veraltet, die Row gewinnt
+                hint.totals.keySet().removeAll(out);
+                out.clear();
+            }
+        }
+        if (hint.totals.isEmpty()) {
+            hints.remove(playerId, hint);
+        }
+        return out;
+    }
+
+    void forget(UUID playerId) {
+        hints.remove(playerId);
+    }
+
+    int size() {
+        return hints.size();
+    }
+}
@@ -0,0 +1,256 @@
+package io.nexstudios.nexus.bukkit.levels;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Rank-queryable leaderboard for a single level type.
+ * <p>
+ * Players are kept in an order-statistics treap sorted by total XP (descending, ties by UUID),
+ * where every node knows the size of its subtree. {@link NexLevel} feeds it on every XP change,
+ * load and reset, so rank queries never touch the database:
+ * <ul>
+ *     <li>{@link #rankOf(UUID)} – O(log n)</li>
+ *     <li>{@link #topN(int)} – O(log n + n)</li>
+ *     <li>{@link #around(UUID, int)} – O(k log n)</li>
+ * </ul>
+ * All methods are thread-safe.
+ */
+public final class LevelLeaderboard {
+
+    /**
+     * @param rank     1-based rank
+     * @param playerId the player's UUID
+     * @param totalXp  the player's total XP for this level type
+     */
+    public record Entry(int rank, UUID playerId, double totalXp) {
+    }
+
+    private static final class Node {
+        final UUID playerId;
+        final double score;
+        final int priority = ThreadLocalRandom.current().nextInt();
+        Node left;
+        Node right;
+        int size = 1;
+
+        Node(UUID playerId, double score) {
+            this.playerId = playerId;
+            this.score = score;
+        }
+    }
+
+    private final LevelKey key;
+    // guarded by this
+    private final Map<UUID, Double> scores = new HashMap<>();
+    private Node root;
+
+    LevelLeaderboard(LevelKey key) {
+        this.key = key;
+    }
+
+    public LevelKey getKey() {
+        return key;
+    }
+
+    public synchronized int size() {
+        return size(root);
+    }
+
+    /**
+     * Inserts or moves a player to the given total XP.
+     */
+    public synchronized void update(UUID playerId, double totalXp) {
+        Double old = scores.put(playerId, totalXp);
+        if (old != null) {
+            if (old == totalXp) return;
+            root = erase(root, old, playerId);
+        }
+        root = insert(root, new Node(playerId, totalXp));
+    }
+
+    public synchronized void remove(UUID playerId) {
+        Double old = scores.remove(playerId);
+        if (old != null) {
+            root = erase(root, old, playerId);
+        }
+    }
+
+    public synchronized void clear() {
+        scores.clear();
+        root = null;
+    }
+
+    /**
+     * @return 1-based rank of the player, or {@code 0} if the player is not ranked
+     */
+    public synchronized int rankOf(UUID playerId) {
+        Double score = scores.get(playerId);
+        if (score == null) return 0;
+
+        int rank = 0;
+        Node t = root;
+        while (t != null) {
+            int c = compare(score, playerId, t.score, t.playerId);
+            if (c < 0) {
+                t = t.left;
+            } else if (c > 0) {
+                rank += size(t.left) + 1;
+                t = t.right;
+            } else {
+                return rank + size(t.left) + 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @return the entry at the given 1-based rank, or {@code null} if out of range
+     */
+    public synchronized Entry atRank(int rank) {
+        Node n = select(rank);
+        return n == null ? null : new Entry(rank, n.playerId, n.score);
+    }
+
+    /**
+     * @return the best {@code n} players, best first
+     */
+    public synchronized List<Entry> topN(int n) {
+        if (n <= 0 || root == null) return Collections.emptyList();
+        List<Entry> out = new ArrayList<>(Math.min(n, size(root)));
+        Deque<Node> stack = new ArrayDeque<>();
+        Node t = root;
+        while ((t != null || !stack.isEmpty()) && out.size() < n) {
+            while (t != null) {
+                stack.push(t);
+                t = t.left;
+            }
+            t = stack.pop();
+            out.add(new Entry(out.size() + 1, t.playerId, t.score));
+            t = t.right;
+        }
+        return out;
+    }
+
+    /**
+     * @return up to {@code k} players above and below the given player (including the player),
+     * best first; empty if the player is not ranked
+     */
+    public synchronized List<Entry> around(UUID playerId, int k) {
+        int rank = rankOf(playerId);
+        if (rank == 0) return Collections.emptyList();
+        int from = Math.max(1, rank - Math.max(0, k));
+        int to = Math.min(size(root), rank + Math.max(0, k));
+        List<Entry> out = new ArrayList<>(to - from + 1);
+        for (int r = from; r <= to; r++) {
+            Node n = select(r);
+            if (n != null) {
+                out.add(new Entry(r, n.playerId, n.score));
+            }
+        }
+        return out;
+    }
+
+    // ---- Treap internals ----
+
+    // absteigend nach Score, bei Gleichstand nach UUID
+    private static int compare(double scoreA, UUID idA, double scoreB, UUID idB) {
+        int c = Double.compare(scoreB, scoreA);
+        return c != 0 ? c : idA.compareTo(idB);
+    }
+
+    private static int size(Node n) {
+        return n == null ? 0 : n.size;
+    }
+
+    private static void pull(Node n) {
+        n.size = 1 + size(n.left) + size(n.right);
+    }
+
+    private Node select(int rank) {
+        if (rank < 1 || rank > size(root)) return null;
+        Node t = root;
+        while (t != null) {
+            int ls = size(t.left);
+            if (rank <= ls) {
+                t = t.left;
+            } else if (rank == ls + 1) {
+                return t;
+            } else {
+                rank -= ls + 1;
+                t = t.right;
+            }
+        }
+        return null;
+    }
+
+    private static Node insert(Node t, Node n) {
+        if (t == null) return n;
+        if (n.priority > t.priority) {
+            Node[] parts = split(t, n.score, n.playerId);
+            n.left = parts[0];
+            n.right = parts[1];
+            pull(n);
+            return n;
+        }
+        if (compare(n.score, n.playerId, t.score, t.playerId) < 0) {
+            t.left = insert(t.left, n);
+        } else {
+            t.right = insert(t.right, n);
+        }
+        pull(t);
+        return t;
+    }
+
+    private static Node erase(Node t, double score, UUID playerId) {
+        if (t == null) return null;
+        int c = compare(score, playerId, t.score, t.playerId);
+        if (c == 0) {
+            return merge(t.left, t.right);
+        }
+        if (c < 0) {
+            t.left = erase(t.left, score, playerId);
+        } else {
+            t.right = erase(t.right, score, playerId);
+        }
+        pull(t);
+        return t;
+    }
+
+    // [0] = alle Knoten vor (score, playerId), [1] = der Rest
+    private static Node[] split(Node t, double score, UUID playerId) {
+        if (t == null) return new Node[2];
+        if (compare(t.score, t.playerId, score, playerId) < 0) {
+            Node[] parts = split(t.right, score, playerId);
+            t.right = parts[0];
+            pull(t);
+            parts[0] = t;
+            return parts;
+        }
+        Node[] parts = split(t.left, score, playerId);
+        t.left = parts[1];
+        pull(t);
+        parts[1] = t;
+        return parts;
+    }
+
+    private static Node merge(Node a, Node b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        if (a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            pull(a);
+            return a;
+        }
+        b.left = merge(a, b.left);
+        pull(b);
+        return b;
+    }
+}
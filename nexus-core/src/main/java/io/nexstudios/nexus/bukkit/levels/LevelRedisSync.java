@@ -0,0 +1,247 @@
+package io.nexstudios.nexus.bukkit.levels;
+
+import io.nexstudios.nexus.bukkit.NexusPlugin;
+import io.nexstudios.nexus.bukkit.redis.NexusRedisMessage;
+import io.nexstudios.nexus.bukkit.redis.NexusRedisPayload;
+import io.nexstudios.nexus.bukkit.redis.NexusRedisService;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cross-server synchronization of {@link NexLevel} caches over {@link NexusRedisService}.
+ * <p>
+ * Local XP changes are coalesced per player and level type and published every
+ * {@code publishIntervalMillis} as absolute totals, so a lost or duplicated message never
+ * corrupts remote state. Receiving servers update players they have cached and all
+ * leaderboards. On quit ({@link NexLevel#flushOnQuit(UUID)}) the player's progress is handed
+ * off immediately; other servers keep it only as a hint, so the next server reads the rows again
+ * until the previous server's write has arrived, while the database stays authoritative.
+ * <p>
+ * Every entry carries a version per player and level type ({@link LevelSyncVersions}); older
+ * entries than the local state are dropped, so a late update cannot overwrite a newer handoff.
+ * Values and version are read under the player's cache lock, remote entries are applied under it.
+ * Version slots are dropped when a player leaves the local cache and after {@link #VERSION_IDLE_MILLIS}.
+ * <p>
+ * The origin server stays the only writer of its rows; remote updates are never marked dirty.
+ */
+public final class LevelRedisSync {
+
+    public static final String CHANNEL = "nexus:levels";
+
+    static final String TYPE_UPDATE = "LEVEL_UPDATE";
+    static final String TYPE_HANDOFF = "LEVEL_HANDOFF";
+    static final String TYPE_RESET = "LEVEL_RESET";
+
+    // Nachrichten sind nach Sekunden zugestellt oder verloren, ältere Slots werden nicht mehr gebraucht
+    static final long VERSION_IDLE_MILLIS = 10 * 60_000L;
+    private static final long PRUNE_INTERVAL_MILLIS = 60_000L;
+
+    private record PendingKey(UUID playerId, LevelKey key) {
+    }
+
+    private final LevelSyncTarget level;
+    private final NexusRedisService redis;
+    // eindeutig pro Instanz, damit eigene Nachrichten auch bei gleichem Servernamen erkannt werden
+    private final String origin;
+    private final long publishIntervalMillis;
+
+    private final ConcurrentMap<PendingKey, LevelProgress> pending = new ConcurrentHashMap<>();
+    private final LevelSyncVersions versions = new LevelSyncVersions();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "NexLevel-Sync");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private ScheduledFuture<?> publishTask;
+    private ScheduledFuture<?> pruneTask;
+    private UUID subscriptionId;
+
+    public LevelRedisSync(NexLevel level, NexusRedisService redis, String serverName, long publishIntervalMillis) {
+        this(Objects.requireNonNull(level, "level").syncTarget(), redis, serverName, publishIntervalMillis);
+    }
+
+    LevelRedisSync(LevelSyncTarget level, NexusRedisService redis, String serverName, long publishIntervalMillis) {
+        this.level = Objects.requireNonNull(level, "level");
+        this.redis = Objects.requireNonNull(redis, "redis");
+        this.origin = Objects.requireNonNull(serverName, "serverName") + "#" + UUID.randomUUID().toString().substring(0, 8);
+        this.publishIntervalMillis = Math.max(10L, publishIntervalMillis);
+    }
+
+    public void start() {
+        subscriptionId = redis.subscribe(CHANNEL, this::onMessage);
+        publishTask = scheduler.scheduleAtFixedRate(this::publishPendingSafe,
+                publishIntervalMillis, publishIntervalMillis, TimeUnit.MILLISECONDS);
+        pruneTask = scheduler.scheduleAtFixedRate(() -> versions.prune(VERSION_IDLE_MILLIS),
+                PRUNE_INTERVAL_MILLIS, PRUNE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        level.attachSync(this);
+        NexusPlugin.nexusLogger.info("[NexLevel] Cross-server level sync enabled (" + origin + ")");
+    }
+
+    /**
+     * Publishes what is still pending and detaches from NexLevel and Redis.
+     */
+    public void stop() {
+        level.detachSync(this);
+        if (publishTask != null) {
+            publishTask.cancel(false);
+        }
+        if (pruneTask != null) {
+            pruneTask.cancel(false);
+        }
+        scheduler.execute(this::publishPendingSafe);
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (subscriptionId != null) {
+            redis.unsubscribe(subscriptionId);
+            subscriptionId = null;
+        }
+    }
+
+    // ---- lokal -> remote ----
+
+    void localChanged(LevelProgress p) {
+        pending.put(new PendingKey(p.getPlayerId(), p.getKey()), p);
+    }
+
+    void handoff(UUID playerId, List<LevelProgress> progress) {
+        if (progress.isEmpty()) {
+            return;
+        }
+        publish(TYPE_HANDOFF, playerId, progress);
+    }
+
+    /**
+     * Drops the version slots of a player who left the local cache.
+     */
+    void forget(UUID playerId) {
+        versions.forget(playerId);
+    }
+
+    void localReset(UUID playerId, LevelKey key) {
+        NexusRedisPayload payload = NexusRedisPayload.create();
+        if (playerId != null) {
+            payload.putUuid("player", playerId);
+            pending.keySet().removeIf(k -> k.playerId().equals(playerId) && (key == null || k.key().equals(key)));
+        } else {
+            pending.keySet().removeIf(k -> key == null || k.key().equals(key));
+        }
+        if (key != null) {
+            payload.put("ns", key.getNamespace()).put("key", key.getKey());
+        }
+        send(payload.toMessage(TYPE_RESET, origin));
+    }
+
+    void publishPendingSafe() {
+        try {
+            Map<UUID, List<LevelProgress>> byPlayer = new HashMap<>();
+            for (PendingKey k : pending.keySet()) {
+                // erst entfernen, dann lesen: spätere Änderungen landen wieder in pending
+                LevelProgress p = pending.remove(k);
+                if (p != null) {
+                    byPlayer.computeIfAbsent(k.playerId(), __ -> new ArrayList<>()).add(p);
+                }
+            }
+            byPlayer.forEach((pid, list) -> publish(TYPE_UPDATE, pid, list));
+        } catch (Throwable t) {
+            NexusPlugin.nexusLogger.error("[NexLevel] Sync publish failed: " + t.getMessage());
+        }
+    }
+
+    private void publish(String type, UUID playerId, List<LevelProgress> progress) {
+        NexusRedisPayload payload = NexusRedisPayload.create()
+                .putUuid("player", playerId)
+                .put("count", progress.size());
+        // Version und Werte unter demselben Lock: eine höhere Version trägt nie einen älteren Stand
+        Object lock = level.progressLock(playerId);
+        if (lock != null) {
+            synchronized (lock) {
+                putEntries(payload, playerId, progress);
+            }
+        } else {
+            // Spieler nicht (mehr) im Cache: die Einträge werden nirgends mehr in place geändert
+            putEntries(payload, playerId, progress);
+        }
+        send(payload.toMessage(type, origin));
+    }
+
+    private void putEntries(NexusRedisPayload payload, UUID playerId, List<LevelProgress> progress) {
+        for (int i = 0; i < progress.size(); i++) {
+            LevelProgress p = progress.get(i);
+            payload.put("ns." + i, p.getKey().getNamespace())
+                    .put("key." + i, p.getKey().getKey())
+                    .put("xp." + i, p.getTotalXp())
+                    .put("applied." + i, p.getLastAppliedLevel())
+                    .put("ver." + i, versions.next(playerId, p.getKey()));
+        }
+    }
+
+    private void send(NexusRedisMessage message) {
+        redis.publish(CHANNEL, message).exceptionally(t -> {
+            NexusPlugin.nexusLogger.warning("[NexLevel] Sync message " + message.getType() + " failed: " + t.getMessage());
+            return null;
+        });
+    }
+
+    // ---- remote -> lokal ----
+
+    private void onMessage(String channel, NexusRedisMessage message) {
+        if (origin.equals(message.getOrigin())) {
+            return;
+        }
+        try {
+            NexusRedisPayload payload = NexusRedisPayload.fromMessage(message);
+            switch (message.getType()) {
+                case TYPE_UPDATE -> applyProgress(payload, false);
+                case TYPE_HANDOFF -> applyProgress(payload, true);
+                case TYPE_RESET -> {
+                    String ns = payload.getString("ns");
+                    String key = payload.getString("key");
+                    level.applyRemoteReset(payload.getUuid("player"),
+                            (ns != null && key != null) ? new LevelKey(ns, key) : null);
+                }
+                default -> {
+                }
+            }
+        } catch (Exception e) {
+            NexusPlugin.nexusLogger.error("[NexLevel] Failed to apply sync message " + message.getType() + ": " + e.getMessage());
+        }
+    }
+
+    private void applyProgress(NexusRedisPayload payload, boolean handoff) {
+        UUID playerId = payload.getUuid("player");
+        if (playerId == null) {
+            return;
+        }
+        int count = payload.getInt("count", 0);
+        for (int i = 0; i < count; i++) {
+            String ns = payload.getString("ns." + i);
+            String key = payload.getString("key." + i);
+            Double xp = payload.getDouble("xp." + i);
+            if (ns == null || key == null || xp == null) {
+                continue;
+            }
+            LevelKey lk = new LevelKey(ns, key);
+            if (!versions.accept(playerId, lk, payload.getLong("ver." + i, 0L))) {
+                // veraltet, z.B. ein verspätetes Update nach dem Handoff
+                continue;
+            }
+            level.applyRemoteProgress(playerId, lk, xp, payload.getInt("applied." + i, 0), handoff);
+        }
+    }
+}
@@ -23,6 +23,10 @@ public interface LevelService {
 
     double getRequiredXp(String namespace, String key, int level);
 
+    // Ranglisten
+    LevelLeaderboard getLeaderboard(String namespace, String key);
+    int getLevelForTotalXp(String namespace, String key, double totalXp);
+
     default double getRequiredXpForCurrentLevel(UUID playerId, String namespace, String key) {
         LevelProgress progress = getProgress(playerId, namespace, key);
         if (progress == null) {
@@ -0,0 +1,53 @@
+package io.nexstudios.nexus.bukkit.levels;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.util.Locale;
+
+/**
+ * SQL-Dialekt der Level-Tabelle.
+ * <p>
+ * NexLevel kennt nur die {@link javax.sql.DataSource} des {@code NexusDatabaseService},
+ * daher wird der Dialekt einmalig beim Bootstrap anhand der JDBC-Metadaten bestimmt.
+ */
+public enum LevelSqlDialect {
+
+    /**
+     * MariaDB / MySQL: {@code INSERT ... ON DUPLICATE KEY UPDATE}.
+     */
+    MYSQL,
+
+    /**
+     * SQLite (>= 3.24): {@code INSERT ... ON CONFLICT(...) DO UPDATE}.
+     */
+    SQLITE,
+
+    /**
+     * Unbekannte Datenbank: klassisches UPDATE, danach INSERT für fehlende Zeilen.
+     */
+    GENERIC;
+
+    public static LevelSqlDialect detect(Connection c) {
+        try {
+            DatabaseMetaData meta = c.getMetaData();
+            String product = meta.getDatabaseProductName();
+            if (product == null) {
+                return GENERIC;
+            }
+            String p = product.toLowerCase(Locale.ROOT);
+            if (p.contains("mariadb") || p.contains("mysql")) {
+                return MYSQL;
+            }
+            if (p.contains("sqlite")) {
+                // UPSERT-Syntax gibt es erst ab SQLite 3.24
+                int major = meta.getDatabaseMajorVersion();
+                int minor = meta.getDatabaseMinorVersion();
+                if (major > 3 || (major == 3 && minor >= 24)) {
+                    return SQLITE;
+                }
+            }
+        } catch (Exception ignored) {
+        }
+        return GENERIC;
+    }
+}
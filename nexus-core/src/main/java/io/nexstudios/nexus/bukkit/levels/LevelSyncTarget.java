@@ -0,0 +1,31 @@
+package io.nexstudios.nexus.bukkit.levels;
+
+import java.util.UUID;
+
+/**
+ * Local side of {@link LevelRedisSync}: the level cache that remote entries are applied to.
+ * Implemented by {@link NexLevel}; tests can attach their own cache.
+ */
+interface LevelSyncTarget {
+
+    /**
+     * Applies progress of another server; ordering was already checked by the caller.
+     *
+     * @param handoff {@code true} if the entry was sent on quit of the player
+     */
+    void applyRemoteProgress(UUID playerId, LevelKey key, double totalXp, int lastAppliedLevel, boolean handoff);
+
+    /**
+     * Applies a reset of another server; {@code null} means all players or all level types.
+     */
+    void applyRemoteReset(UUID playerId, LevelKey key);
+
+    /**
+     * @return the monitor guarding in-place changes of the player's progress, or {@code null} if not cached
+     */
+    Object progressLock(UUID playerId);
+
+    void attachSync(LevelRedisSync sync);
+
+    void detachSync(LevelRedisSync sync);
+}
@@ -0,0 +1,92 @@
+package io.nexstudios.nexus.bukkit.levels;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Version counters per player and level type used by {@link LevelRedisSync} to order messages.
+ * <p>
+ * Every published entry takes the next local version, every accepted remote entry raises the
+ * local counter to the received version. An entry is only accepted if its version is newer than
+ * anything seen or published so far for that key, so a late update can never overwrite the
+ * newer total a handoff already delivered. Version {@code 0} marks entries of senders without
+ * versioning and is always accepted.
+ * <p>
+ * Slots are dropped with {@link #forget(UUID)} and {@link #prune(long)}. A new slot starts at
+ * the wall clock (milliseconds times 1000), so a server that forgot a player still publishes
+ * versions above the ones other servers remember, as long as the clocks roughly agree.
+ */
+final class LevelSyncVersions {
+
+    private record Slot(UUID playerId, LevelKey key) {
+    }
+
+    private record Stamp(long version, long touchedAt) {
+    }
+
+    private final ConcurrentMap<Slot, Stamp> versions = new ConcurrentHashMap<>();
+    private final LongSupplier clock;
+
+    LevelSyncVersions() {
+        this(System::currentTimeMillis);
+    }
+
+    LevelSyncVersions(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * @return the version for the next published entry of this key
+     */
+    long next(UUID playerId, LevelKey key) {
+        long now = clock.getAsLong();
+        return versions.compute(new Slot(playerId, key), (slot, cur) ->
+                new Stamp(Math.max(cur == null ? 0L : cur.version() + 1L, now * 1000L), now)).version();
+    }
+
+    /**
+     * Checks a received entry and remembers its version if it is accepted.
+     *
+     * @return {@code true} if the entry is newer than the local state and should be applied
+     */
+    boolean accept(UUID playerId, LevelKey key, long version) {
+        if (version <= 0L) {
+            return true;
+        }
+        long now = clock.getAsLong();
+        boolean[] accepted = {false};
+        versions.compute(new Slot(playerId, key), (slot, cur) -> {
+            if (cur == null || version > cur.version()) {
+                accepted[0] = true;
+                return new Stamp(version, now);
+            }
+            return cur;
+        });
+        return accepted[0];
+    }
+
+    /**
+     * Drops all slots of a player, e.g. when the player left the local cache.
+     */
+    void forget(UUID playerId) {
+        versions.keySet().removeIf(slot -> slot.playerId().equals(playerId));
+    }
+
+    /**
+     * Drops slots that were neither published nor accepted for longer than {@code idleMillis}.
+     *
+     * @return number of dropped slots
+     */
+    int prune(long idleMillis) {
+        long before = clock.getAsLong() - idleMillis;
+        int size = versions.size();
+        versions.values().removeIf(stamp -> stamp.touchedAt() < before);
+        return size - versions.size();
+    }
+
+    int size() {
+        return versions.size();
+    }
+}
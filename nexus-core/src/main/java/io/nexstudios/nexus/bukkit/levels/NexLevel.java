@@ -8,18 +8,26 @@ import io.nexstudios.nexus.bukkit.levels.handler.NexLevelUpEvent;
 import lombok.Getter;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Core level engine of the Nexus plugin.
@@ -27,7 +35,8 @@ import java.util.concurrent.atomic.AtomicBoolean;
  * Responsibilities:
  * <ul>
  *     <li>Manage all level types (skills) via {@link LevelKey} and {@link LevelDefinition}</li>
- *     <li>Track per-player progress ({@link LevelProgress}) in an in-memory cache</li>
+ *     <li>Track per-player progress ({@link LevelProgress}) in an in-memory cache ({@link LevelCache})
+ *         with a dirty set per player, so flushes and resets stay player-scoped</li>
  *     <li>Persist progress (total XP + last applied level) asynchronously to the database
  *         using {@link LevelDao} and a background flush scheduler</li>
  *     <li>Recalculate player level and XP-in-level from total XP when level curves change</li>
@@ -59,7 +68,11 @@ import java.util.concurrent.atomic.AtomicBoolean;
  * <p>
  * Threading:
  * <ul>
- *     <li>DB access and periodic flushes run on a dedicated single-threaded scheduler</li>
+ *     <li>Periodic flushes run on a dedicated single-threaded scheduler, loads on the
+ *         executor of the {@link NexusDatabaseService}; shutdown waits for running loads
+ *         before the final flush</li>
+ *     <li>Cached progress is changed in place under the player's cache lock; flushes write
+ *         copies taken under that lock</li>
  *     <li>Bukkit events are always fired on the primary server thread</li>
  *     <li>All public API methods are designed to be safe to call from the main thread</li>
  * </ul>
@@ -70,6 +83,27 @@ public final class NexLevel {
         public long flushIntervalMillis = 5 * 60_000L;
         public int batchSize = 500;
         public String tableName = "nex_player_levels";
+        /**
+         * Maximum number of players kept in the cache; {@code <= 0} means unbounded.
+         * Online players are never evicted, so this is a soft limit.
+         * <p>
+         * Only the progress cache is bounded: leaderboards still rank every stored row, so ranks
+         * stay exact for players that are not cached. They are seeded at startup by one scan of
+         * the whole table (no progress is cached) and keep one small node per row in memory.
+         */
+        public int maxCachedPlayers = 0;
+        /**
+         * Offline players idle for longer than this are evicted; {@code <= 0} disables idle expiry.
+         */
+        public long idleExpireMillis = 0L;
+        public long evictionIntervalMillis = 60_000L;
+
+        /**
+         * @return {@code true} if eviction is enabled and the full-table preload is skipped
+         */
+        public boolean isBounded() {
+            return maxCachedPlayers > 0 || idleExpireMillis > 0;
+        }
     }
 
     @Getter
@@ -78,9 +112,8 @@ public final class NexLevel {
     private final NexusDatabaseService db;
     private final FlushConfig cfg;
     private final LevelRegistry registry = new LevelRegistry();
-    private final ConcurrentMap<UUID, ConcurrentMap<LevelKey, LevelProgress>> cache = new ConcurrentHashMap<>();
-    private final ConcurrentMap<String, LevelProgress> dirtyIndex = new ConcurrentHashMap<>();
-    private final ConcurrentLinkedQueue<LevelProgress> dirtyQueue = new ConcurrentLinkedQueue<>();
+    private final LevelCache cache = new LevelCache();
+    private final ConcurrentMap<LevelKey, LevelLeaderboard> leaderboards = new ConcurrentHashMap<>();
 
     private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
         Thread t = new Thread(r, "NexLevel-Flush");
@@ -88,16 +121,86 @@ public final class NexLevel {
         return t;
     });
 
+    // DB-Loads laufen auf dem Executor des DB-Services (getrennt vom Flush-Thread); laufende Loads
+    // werden hier gemerkt, damit der Shutdown-Flush erst nach ihnen startet
+    private final Set<CompletableFuture<Void>> runningLoads = ConcurrentHashMap.newKeySet();
+
+    // Online-Spieler, gepflegt auf dem Main-Thread (Join/Quit); die Eviction prüft nur gegen dieses Set
+    private final Set<UUID> onlinePlayers = ConcurrentHashMap.newKeySet();
+    private final Listener presenceListener = new PresenceListener();
+
     private ScheduledFuture<?> flushTask;
+    private ScheduledFuture<?> evictionTask;
     private final AtomicBoolean shuttingDown = new AtomicBoolean(false);
 
-    private final LevelDao dao;
+    // Dialekt wird erst im bootstrap() anhand der Connection ermittelt
+    private volatile LevelDao dao;
+
+    // optionaler Cross-Server-Sync (Redis), null = nur lokaler Cache
+    private volatile LevelRedisSync sync;
+    // bleibt package-private: die Sync-Methoden gehören nicht zur öffentlichen API von NexLevel
+    private final LevelSyncTarget syncTarget = new SyncTarget();
+
+    // Handoffs anderer Server sind nur Hinweise für den nächsten DB-Read, die DB bleibt maßgeblich
+    static final long HANDOFF_HINT_TTL_MILLIS = 30_000L;
+    static final int HANDOFF_HINT_RETRIES = 5;
+    static final long HANDOFF_HINT_RETRY_MILLIS = 250L;
+    private final LevelHandoffHints handoffHints = new LevelHandoffHints(HANDOFF_HINT_TTL_MILLIS, HANDOFF_HINT_RETRIES);
+
+    // Flush-Metriken (werden ausschließlich auf dem NexLevel-Flush Thread geschrieben)
+    private final AtomicLong flushCount = new AtomicLong();
+    private final AtomicLong flushFailures = new AtomicLong();
+    private final AtomicLong flushedRows = new AtomicLong();
+    private final AtomicLong flushNanosTotal = new AtomicLong();
+    private final AtomicLong flushNanosMax = new AtomicLong();
+    private volatile long lastFlushNanos;
+    private volatile int lastFlushRows;
 
     private NexLevel(JavaPlugin plugin, NexusDatabaseService db, FlushConfig cfg) {
         this.plugin = plugin;
         this.db = db;
         this.cfg = cfg;
-        this.dao = new LevelDao(cfg.tableName);
+        this.dao = new LevelDao(cfg.tableName, LevelSqlDialect.GENERIC);
+    }
+
+    /**
+     * Snapshot of the level cache counters.
+     *
+     * @param players   number of players currently cached
+     * @param hits      {@code getProgress} calls answered from the cache
+     * @param misses    {@code getProgress} calls that had to schedule a DB load
+     * @param evictions players evicted because they were idle or over the size limit
+     */
+    public record CacheStats(int players, long hits, long misses, long evictions) {
+
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0.0d : hits / (double) total;
+        }
+    }
+
+    /**
+     * Snapshot of the flush metrics collected by {@code flushBatch}.
+     *
+     * @param flushes        number of successful batch flushes
+     * @param failures       number of failed batch flushes
+     * @param rows           total number of rows written
+     * @param totalNanos     accumulated flush latency in nanoseconds
+     * @param maxNanos       slowest single flush in nanoseconds
+     * @param lastNanos      latency of the last flush in nanoseconds
+     * @param lastRows       row count of the last flush
+     * @param pendingDirty   number of entries currently waiting for the next flush
+     */
+    public record FlushStats(long flushes, long failures, long rows, long totalNanos, long maxNanos,
+                             long lastNanos, int lastRows, int pendingDirty) {
+
+        public double averageMillis() {
+            return flushes == 0 ? 0.0d : (totalNanos / (double) flushes) / 1_000_000.0d;
+        }
+
+        public double averageRows() {
+            return flushes == 0 ? 0.0d : rows / (double) flushes;
+        }
     }
 
     /**
@@ -137,6 +240,9 @@ public final class NexLevel {
         try {
             db.withConnection(c -> {
                 try {
+                    LevelSqlDialect dialect = LevelSqlDialect.detect(c);
+                    dao = new LevelDao(cfg.tableName, dialect);
+                    NexusPlugin.nexusLogger.debug("[NexLevel] Using SQL dialect " + dialect + " for level flushes", 3);
                     dao.ensureSchema(c);
                 } catch (Exception e) {
                     throw new RuntimeException(e);
@@ -146,7 +252,15 @@ public final class NexLevel {
             NexusPlugin.nexusLogger.error("[NexLevel] Schema-Init fehlgeschlagen: " + e.getMessage());
         }
 
+        for (Player online : Bukkit.getOnlinePlayers()) {
+            onlinePlayers.add(online.getUniqueId());
+        }
+        Bukkit.getPluginManager().registerEvents(presenceListener, plugin);
+
         flushTask = scheduler.scheduleAtFixedRate(this::flushOnceSafe, cfg.flushIntervalMillis, cfg.flushIntervalMillis, TimeUnit.MILLISECONDS);
+        if (cfg.isBounded()) {
+            evictionTask = scheduler.scheduleAtFixedRate(this::evictIdleSafe, cfg.evictionIntervalMillis, cfg.evictionIntervalMillis, TimeUnit.MILLISECONDS);
+        }
     }
 
     private void teardown() {
@@ -154,8 +268,13 @@ public final class NexLevel {
         if (flushTask != null) {
             flushTask.cancel(false);
         }
+        if (evictionTask != null) {
+            evictionTask.cancel(false);
+        }
+        HandlerList.unregisterAll(presenceListener);
 
         try {
+            awaitRunningLoads();
             NexusPlugin.nexusLogger.info("[NexLevel] Performing shutdown flush (full blocking flush on NexLevel scheduler) ...");
 
             scheduler.execute(this::flushAllBlocking);
@@ -231,32 +350,25 @@ public final class NexLevel {
                         () -> Bukkit.getPluginManager().callEvent(new NexLevelUpEvent(pid, lk, oldMaxLevel, currentLevel)));
             }
             
-            if (p.getLastAppliedLevel() < currentLevel) {
-                p.setLastAppliedLevel(currentLevel);
-                markDirty(p);
+            synchronized (cache.lockOf(pid)) {
+                if (p.getLastAppliedLevel() < currentLevel) {
+                    p.setLastAppliedLevel(currentLevel);
+                }
             }
+            markDirty(p);
 
             flushPlayer(pid);
         }
     }
 
     private void recalcCacheForKey(LevelKey key, LevelDefinition def) {
-        for (Map.Entry<UUID, ConcurrentMap<LevelKey, LevelProgress>> entry : cache.entrySet()) {
-            UUID pid = entry.getKey();
-            ConcurrentMap<LevelKey, LevelProgress> perPlayer = entry.getValue();
-            if (perPlayer == null) continue;
-
-            LevelProgress old = perPlayer.get(key);
-            if (old == null) continue;
-
-            double totalXp = old.getTotalXp();
-            LevelProgress recalced = recalcFromTotal(pid, key, totalXp, def);
-
-            recalced.setLastAppliedLevel(old.getLastAppliedLevel());
-
-            perPlayer.put(key, recalced);
-            markDirty(recalced);
-        }
+        cache.forEachOfKey(key, old -> {
+            // neue Kurve -> Level/XP-in-Level aus totalXp neu ableiten (in place, unter dem Node-Lock)
+            synchronized (cache.lockOf(old.getPlayerId())) {
+                def.applyTotal(old, old.getTotalXp());
+            }
+            markDirty(old);
+        });
     }
 
     /**
@@ -289,12 +401,51 @@ public final class NexLevel {
         return def.requirementFor(level);
     }
 
+    /**
+     * Returns the leaderboard of the given level type.
+     * <p>
+     * The leaderboard is seeded from the database on startup and updated on every
+     * XP change, so rank queries never hit the database.
+     *
+     * @param namespace namespace of the level type
+     * @param key       key of the level type
+     * @return the (live) {@link LevelLeaderboard}
+     * @throws IllegalStateException if the level type is not registered
+     */
+    public LevelLeaderboard getLeaderboard(String namespace, String key) {
+        LevelKey lk = new LevelKey(namespace, key);
+        ensureRegistered(lk);
+        return leaderboardOf(lk);
+    }
+
+    /**
+     * Resolves the level implied by a total XP value for the given level type.
+     *
+     * @param namespace namespace of the level type
+     * @param key       key of the level type
+     * @param totalXp   total XP
+     * @return the level for {@code totalXp}
+     * @throws IllegalStateException if the level type is not registered
+     */
+    public int getLevelForTotalXp(String namespace, String key, double totalXp) {
+        return ensureRegistered(new LevelKey(namespace, key)).levelFor(totalXp);
+    }
+
+    private LevelLeaderboard leaderboardOf(LevelKey key) {
+        return leaderboards.computeIfAbsent(key, LevelLeaderboard::new);
+    }
+
+    private void updateRanking(LevelProgress p) {
+        leaderboardOf(p.getKey()).update(p.getPlayerId(), p.getTotalXp());
+    }
+
     /**
      * Preloads level progress for all registered level types for the given player.
      * <p>
-     * This triggers lazy loading of {@code totalXp} (and {@code lastAppliedLevel})
-     * from the database into the in-memory cache. Loading itself is performed
-     * asynchronously per key.
+     * Default entries are inserted for every level type that is not cached yet, then
+     * all rows of the player are fetched with a single {@code SELECT ... WHERE player_uuid=?}
+     * on the executor of the database service. Missing level-ups found in the loaded data are fired
+     * together in one main-thread task.
      *
      * @param playerId the player's UUID
      */
@@ -303,9 +454,21 @@ public final class NexLevel {
         if (keys.isEmpty()) {
             return;
         }
-        for (LevelKey key : keys) {
-            getProgress(playerId, key.getNamespace(), key.getKey());
+
+        ConcurrentMap<LevelKey, LevelProgress> map = cache.progressOf(playerId);
+        Set<LevelKey> missing = new HashSet<>();
+        synchronized (cache.lockOf(playerId)) {
+            for (LevelKey key : keys) {
+                if (map.putIfAbsent(key, new LevelProgress(playerId, key, 0, 0.0d, 0.0d, 0)) == null) {
+                    cache.beginLoad(playerId, key);
+                    missing.add(key);
+                }
+            }
         }
+        if (missing.isEmpty()) {
+            return;
+        }
+        scheduleLoad(playerId, missing);
     }
 
     /**
@@ -343,8 +506,9 @@ public final class NexLevel {
      *     <li>If a cached entry exists, it is returned immediately.</li>
      *     <li>Otherwise, a default progress (level 0, totalXp 0) is inserted into
      *         the cache and an asynchronous DB load is scheduled.</li>
-     *     <li>Once the async load completes, the cached progress is recalculated
-     *         from {@code totalXp} using the current {@link LevelDefinition}.</li>
+     *     <li>Once the async load completes, the stored total plus any XP changed on the
+     *         default entry in the meantime becomes the cached progress, recalculated
+     *         using the current {@link LevelDefinition}.</li>
      * </ul>
      *
      * @param playerId  the player's UUID
@@ -355,69 +519,28 @@ public final class NexLevel {
      */
     public LevelProgress getProgress(UUID playerId, String namespace, String key) {
         LevelKey lk = new LevelKey(namespace, key);
-        LevelDefinition def = ensureRegistered(lk);
+        ensureRegistered(lk);
 
-        ConcurrentMap<LevelKey, LevelProgress> map =
-                cache.computeIfAbsent(playerId, __ -> new ConcurrentHashMap<>());
+        ConcurrentMap<LevelKey, LevelProgress> map = cache.progressOf(playerId);
         LevelProgress existing = map.get(lk);
-        if (existing != null) return existing;
+        if (existing != null) {
+            cache.recordHit();
+            return existing;
+        }
 
         LevelProgress fallback = new LevelProgress(playerId, lk, 0, 0.0d, 0.0d, 0);
-        LevelProgress prev = map.putIfAbsent(lk, fallback);
-        if (prev != null) return prev;
-
-        CompletableFuture.runAsync(() -> {
-            try {
-                db.withConnection(c -> {
-                    try {
-                        dao.load(c, playerId, lk).ifPresent(dbProg -> {
-                            LevelProgress recalced = recalcFromTotal(
-                                    playerId, lk, dbProg.getTotalXp(), def
-                            );
-                            recalced.setLastAppliedLevel(dbProg.getLastAppliedLevel());
-
-                            map.compute(lk, (k2, cur) -> {
-                                if (cur == null) return recalced;
-                                if (cur.getLevel() == 0 && cur.getTotalXp() == 0.0d) {
-                                    return recalced;
-                                }
-                                return cur;
-                            });
-
-                            Bukkit.getScheduler().runTask(plugin, () -> {
-                                LevelProgress current = cache
-                                        .getOrDefault(playerId, new ConcurrentHashMap<>())
-                                        .get(lk);
-                                if (current == null) {
-                                    return;
-                                }
-
-                                LevelProgress tmp = recalcFromTotal(
-                                        playerId, lk, current.getTotalXp(), def
-                                );
-                                int theoreticalLevel = tmp.getLevel();
-                                int lastApplied = current.getLastAppliedLevel();
-
-                                if (theoreticalLevel <= lastApplied) {
-                                    return;
-                                }
-
-                                Bukkit.getPluginManager().callEvent(
-                                        new NexLevelUpEvent(playerId, lk, lastApplied, theoreticalLevel)
-                                );
-
-                                current.setLastAppliedLevel(theoreticalLevel);
-                                markDirty(current);
-                            });
-                        });
-                    } catch (Exception e) {
-                        throw new RuntimeException(e);
-                    }
-                });
-            } catch (Exception e) {
-                NexusPlugin.nexusLogger.error("[NexLevel] Lazy-Load fehlgeschlagen: " + e.getMessage());
+        synchronized (cache.lockOf(playerId)) {
+            LevelProgress prev = map.putIfAbsent(lk, fallback);
+            if (prev != null) {
+                cache.recordHit();
+                return prev;
             }
-        });
+            // lokale Änderungen bis zum Eintreffen der DB-Row werden als Differenz gemerkt
+            cache.beginLoad(playerId, lk);
+        }
+
+        cache.recordMiss();
+        scheduleLoad(playerId, Set.of(lk));
         return fallback;
     }
 
@@ -447,23 +570,30 @@ public final class NexLevel {
         LevelDefinition def = ensureRegistered(lk);
 
         LevelProgress current = getProgress(playerId, namespace, key);
-        final double oldXp = current.getXp();
-        final int oldLevel = current.getLevel();
-        final double oldTotalXp = current.getTotalXp();
-
-        double newTotal = oldTotalXp + deltaXp;
-        if (newTotal < 0.0d) newTotal = 0.0d;
-
-        LevelProgress after = recalcFromTotal(playerId, lk, newTotal, def);
-        setProgressInternal(after);
-
-        final int newLevelFinal = after.getLevel();
-        final double newXpFinal = after.getXp();
-
-        if (newLevelFinal > current.getLastAppliedLevel()) {
-            after.setLastAppliedLevel(newLevelFinal);
-            markDirty(after);
+        final double oldXp;
+        final int oldLevel;
+        final int newLevelFinal;
+        final double newXpFinal;
+
+        // Der Cache-Eintrag wird unter dem Node-Lock in place aktualisiert, alte Werte werden vorher gesichert
+        synchronized (cache.lockOf(playerId)) {
+            oldXp = current.getXp();
+            oldLevel = current.getLevel();
+            double oldTotal = current.getTotalXp();
+
+            double newTotal = oldTotal + deltaXp;
+            if (newTotal < 0.0d) newTotal = 0.0d;
+            def.applyTotal(current, newTotal);
+            cache.recordLocalChange(playerId, lk, newTotal - oldTotal, false);
+
+            newLevelFinal = current.getLevel();
+            newXpFinal = current.getXp();
+            if (newLevelFinal > current.getLastAppliedLevel()) {
+                current.setLastAppliedLevel(newLevelFinal);
+            }
         }
+        LevelProgress after = current;
+        setProgressInternal(after);
 
         if (Bukkit.isPrimaryThread()) {
             Bukkit.getPluginManager().callEvent(new NexLevelGainXPEvent(playerId, lk, deltaXp, oldXp, newXpFinal));
@@ -505,16 +635,22 @@ public final class NexLevel {
         LevelDefinition def = ensureRegistered(lk);
 
         LevelProgress current = getProgress(playerId, namespace, key);
-        final int oldLevel = current.getLevel();
-        final double oldTotal = current.getTotalXp();
+        final int oldLevel;
+        final int newLevelFinal;
 
-        double newTotal = oldTotal - deltaXp;
-        if (newTotal < 0.0d) newTotal = 0.0d;
+        synchronized (cache.lockOf(playerId)) {
+            oldLevel = current.getLevel();
+            double oldTotal = current.getTotalXp();
 
-        LevelProgress after = recalcFromTotal(playerId, lk, newTotal, def);
-        setProgressInternal(after);
+            double newTotal = oldTotal - deltaXp;
+            if (newTotal < 0.0d) newTotal = 0.0d;
+            def.applyTotal(current, newTotal);
+            cache.recordLocalChange(playerId, lk, newTotal - oldTotal, false);
 
-        final int newLevelFinal = after.getLevel();
+            newLevelFinal = current.getLevel();
+        }
+        LevelProgress after = current;
+        setProgressInternal(after);
 
         if (Bukkit.isPrimaryThread()) {
             if (newLevelFinal < oldLevel) {
@@ -559,10 +695,12 @@ public final class NexLevel {
         LevelProgress after = setLevel(playerId, namespace, key, target);
         final int newLevelFinal = after.getLevel();
 
-        if (newLevelFinal > before.getLastAppliedLevel()) {
-            after.setLastAppliedLevel(newLevelFinal);
-            markDirty(after);
+        synchronized (cache.lockOf(playerId)) {
+            if (newLevelFinal > after.getLastAppliedLevel()) {
+                after.setLastAppliedLevel(newLevelFinal);
+            }
         }
+        markDirty(after);
 
         if (Bukkit.isPrimaryThread()) {
             if (newLevelFinal > oldLevel) {
@@ -604,20 +742,23 @@ public final class NexLevel {
         LevelDefinition def = ensureRegistered(lk);
         LevelProgress current = getProgress(playerId, namespace, key);
 
-        final int oldLevel = current.getLevel();
-
         int lv = Math.max(0, Math.min(newLevel, def.maxLevel()));
-        double newTotal = (lv == 0) ? 0.0d : totalXpForLevel(def, lv);
-
-        LevelProgress after = recalcFromTotal(playerId, lk, newTotal, def);
-        setProgressInternal(after);
-
-        final int newLvFinal = after.getLevel();
-
-        if (newLvFinal > current.getLastAppliedLevel()) {
-            after.setLastAppliedLevel(newLvFinal);
-            markDirty(after);
+        double newTotal = def.totalXpFor(lv);
+
+        final int oldLevel;
+        final int newLvFinal;
+        synchronized (cache.lockOf(playerId)) {
+            oldLevel = current.getLevel();
+            def.applyTotal(current, newTotal);
+            cache.recordLocalChange(playerId, lk, 0.0d, true);
+
+            newLvFinal = current.getLevel();
+            if (newLvFinal > current.getLastAppliedLevel()) {
+                current.setLastAppliedLevel(newLvFinal);
+            }
         }
+        LevelProgress after = current;
+        setProgressInternal(after);
 
         if (newLvFinal != oldLevel) {
             if (Bukkit.isPrimaryThread()) {
@@ -662,20 +803,24 @@ public final class NexLevel {
         LevelKey lk = new LevelKey(namespace, key);
         LevelDefinition def = ensureRegistered(lk);
         LevelProgress current = getProgress(playerId, namespace, key);
-        final int oldLevel = current.getLevel();
 
         double newTotal = newXp;
 
-        LevelProgress after = recalcFromTotal(playerId, lk, newTotal, def);
-        setProgressInternal(after);
-
-        final int newLevelFinal = after.getLevel();
-
-        // lastAppliedLevel nur nach oben anpassen
-        if (newLevelFinal > current.getLastAppliedLevel()) {
-            after.setLastAppliedLevel(newLevelFinal);
-            markDirty(after);
+        final int oldLevel;
+        final int newLevelFinal;
+        synchronized (cache.lockOf(playerId)) {
+            oldLevel = current.getLevel();
+            def.applyTotal(current, newTotal);
+            cache.recordLocalChange(playerId, lk, 0.0d, true);
+
+            newLevelFinal = current.getLevel();
+            // lastAppliedLevel nur nach oben anpassen
+            if (newLevelFinal > current.getLastAppliedLevel()) {
+                current.setLastAppliedLevel(newLevelFinal);
+            }
         }
+        LevelProgress after = current;
+        setProgressInternal(after);
 
         if (newLevelFinal != oldLevel) {
             if (Bukkit.isPrimaryThread()) {
@@ -730,7 +875,7 @@ public final class NexLevel {
     /**
      * Resets all level data for all players and all level types.
      * <p>
-     * This clears the entire in-memory cache and dirty queues and deletes all
+     * This clears the entire in-memory cache and all dirty sets and deletes all
      * rows from the underlying level table.
      *
      * @return a future completing with {@code true} if any data was removed
@@ -754,12 +899,9 @@ public final class NexLevel {
     }
 
     private boolean resetPlayerSync(UUID playerId) {
-        boolean hadCache = cache.containsKey(playerId);
-        boolean hadDirty = dirtyIndex.keySet().stream().anyMatch(k -> k.startsWith(playerId.toString() + "|"));
-
-        cache.remove(playerId);
-        dirtyQueue.removeIf(p -> p.getPlayerId().equals(playerId));
-        dirtyIndex.keySet().removeIf(k -> k.startsWith(playerId.toString() + "|"));
+        boolean hadData = dropCached(playerId, null);
+        LevelRedisSync s = sync;
+        if (s != null) s.localReset(playerId, null);
 
         int deletedRows = 0;
         try {
@@ -776,25 +918,15 @@ public final class NexLevel {
             NexusPlugin.nexusLogger.error("[NexLevel] resetPlayer DB delete failed: " + e.getMessage());
         }
 
-        return hadCache || hadDirty || deletedRows > 0;
+        return hadData || deletedRows > 0;
     }
 
     private boolean resetPlayerForTypeSync(UUID playerId, String namespace, String key) {
         LevelKey lk = new LevelKey(namespace, key);
 
-        ConcurrentMap<LevelKey, LevelProgress> m = cache.get(playerId);
-        boolean hadCache = (m != null && m.containsKey(lk));
-        boolean hadDirty = dirtyIndex.containsKey(playerId.toString() + "|" + lk);
-
-        if (m != null) {
-            m.remove(lk);
-            if (m.isEmpty()) {
-                cache.remove(playerId, m);
-            }
-        }
-
-        dirtyQueue.removeIf(p -> p.getPlayerId().equals(playerId) && p.getKey().equals(lk));
-        dirtyIndex.remove(playerId + "|" + lk);
+        boolean hadData = dropCached(playerId, lk);
+        LevelRedisSync s = sync;
+        if (s != null) s.localReset(playerId, lk);
 
         int deletedRows = 0;
         try {
@@ -811,29 +943,16 @@ public final class NexLevel {
             NexusPlugin.nexusLogger.error("[NexLevel] resetPlayerForType DB delete failed: " + e.getMessage());
         }
 
-        return hadCache || hadDirty || deletedRows > 0;
+        return hadData || deletedRows > 0;
     }
 
     private boolean resetAllPlayersForTypeSync(String namespace, String key) {
         LevelKey lk = new LevelKey(namespace, key);
 
         boolean registered = registry.isRegistered(lk);
-        boolean hadCache = cache.values().stream().anyMatch(m -> m != null && m.containsKey(lk));
-        boolean hadDirty = dirtyQueue.stream().anyMatch(p -> p.getKey().equals(lk))
-                || dirtyIndex.keySet().stream().anyMatch(k -> k.endsWith("|" + lk.toString()));
-
-        for (Map.Entry<UUID, ConcurrentMap<LevelKey, LevelProgress>> entry : cache.entrySet()) {
-            ConcurrentMap<LevelKey, LevelProgress> m = entry.getValue();
-            if (m != null) {
-                m.remove(lk);
-                if (m.isEmpty()) {
-                    cache.remove(entry.getKey(), m);
-                }
-            }
-        }
-
-        dirtyQueue.removeIf(p -> p.getKey().equals(lk));
-        dirtyIndex.keySet().removeIf(k -> k.endsWith("|" + lk.toString()));
+        boolean hadData = dropCached(null, lk);
+        LevelRedisSync s = sync;
+        if (s != null) s.localReset(null, lk);
 
         int deletedRows = 0;
         try {
@@ -850,16 +969,13 @@ public final class NexLevel {
             NexusPlugin.nexusLogger.error("[NexLevel] resetAllPlayersForType DB delete failed: " + e.getMessage());
         }
 
-        return registered || hadCache || hadDirty || deletedRows > 0;
+        return registered || hadData || deletedRows > 0;
     }
 
     private boolean resetAllPlayersSync() {
-        boolean hadCache = !cache.isEmpty();
-        boolean hadDirty = !dirtyQueue.isEmpty() || !dirtyIndex.isEmpty();
-
-        cache.clear();
-        dirtyQueue.clear();
-        dirtyIndex.clear();
+        boolean hadData = dropCached(null, null);
+        LevelRedisSync s = sync;
+        if (s != null) s.localReset(null, null);
 
         int deletedRows = 0;
         try {
@@ -876,33 +992,45 @@ public final class NexLevel {
             NexusPlugin.nexusLogger.error("[NexLevel] resetAllPlayers DB delete failed: " + e.getMessage());
         }
 
-        return hadCache || hadDirty || deletedRows > 0;
+        return hadData || deletedRows > 0;
+    }
+
+    // Cache- und Leaderboard-Anteil eines Resets; null = alle Spieler bzw. alle Typen
+    private boolean dropCached(UUID playerId, LevelKey lk) {
+        if (playerId != null && lk != null) {
+            boolean hadData = cache.remove(playerId, lk);
+            LevelLeaderboard lb = leaderboards.get(lk);
+            if (lb != null) lb.remove(playerId);
+            return hadData;
+        }
+        if (playerId != null) {
+            boolean hadData = cache.removePlayer(playerId);
+            leaderboards.values().forEach(lb -> lb.remove(playerId));
+            forgetSynced(playerId);
+            return hadData;
+        }
+        if (lk != null) {
+            boolean hadData = cache.removeKey(lk);
+            LevelLeaderboard lb = leaderboards.get(lk);
+            if (lb != null) lb.clear();
+            return hadData;
+        }
+        boolean hadData = cache.clear();
+        leaderboards.values().forEach(LevelLeaderboard::clear);
+        return hadData;
     }
 
     /**
      * Flushes all dirty level entries for the given player to the database.
      * <p>
-     * This collects the latest dirty entries for the player from the internal
-     * queues and schedules an asynchronous batch upsert on the NexLevel
+     * This drains the dirty entries from the player's own cache node (other
+     * players are not touched) and schedules an asynchronous batch upsert on the NexLevel
      * scheduler thread.
      *
      * @param playerId the player's UUID
      */
     public void flushPlayer(UUID playerId) {
-        List<LevelProgress> list = new ArrayList<>();
-        dirtyQueue.removeIf(p -> {
-            if (p.getPlayerId().equals(playerId)) {
-                String idx = indexKey(p);
-                // IMMER den aktuellsten Stand aus dirtyIndex holen,
-                // nicht den alten Wert aus der Queue selbst verwenden.
-                LevelProgress cur = dirtyIndex.remove(idx);
-                if (cur != null) {
-                    list.add(cur);
-                }
-                return true;
-            }
-            return false;
-        });
+        List<LevelProgress> list = cache.drainPlayer(playerId);
 
         if (list.isEmpty()) {
             return;
@@ -915,7 +1043,7 @@ public final class NexLevel {
                 NexusPlugin.nexusLogger.error("[NexLevel] FlushPlayer failed: " + ex.getMessage());
                 ex.printStackTrace();
                 if (!shuttingDown.get()) {
-                    list.forEach(this::markDirty);
+                    cache.requeue(list);
                 } else {
                     NexusPlugin.nexusLogger.error("[NexLevel] Shutdown in progress, will NOT requeue dirty entries for player " + playerId);
                 }
@@ -923,6 +1051,22 @@ public final class NexLevel {
         });
     }
 
+    /**
+     * Quit path: with cross-server sync enabled, the player's cached progress is handed off
+     * to the other servers first, so the next server knows which totals to wait for when it
+     * reads the rows; then the player's dirty entries are flushed like {@link #flushPlayer(UUID)}.
+     *
+     * @param playerId the player's UUID
+     */
+    public void flushOnQuit(UUID playerId) {
+        LevelRedisSync s = sync;
+        if (s != null) {
+            s.handoff(playerId, cache.snapshot(playerId));
+            s.forget(playerId);
+        }
+        flushPlayer(playerId);
+    }
+
     /**
      * Schedules a full flush of all dirty level entries to the database.
      * <p>
@@ -946,11 +1090,7 @@ public final class NexLevel {
      * @param key       key of the level type
      */
     public void invalidate(UUID playerId, String namespace, String key) {
-        LevelKey lk = new LevelKey(namespace, key);
-        ConcurrentMap<LevelKey, LevelProgress> m = cache.get(playerId);
-        if (m != null) m.remove(lk);
-        dirtyQueue.removeIf(p -> p.getPlayerId().equals(playerId) && p.getKey().equals(lk));
-        dirtyIndex.remove(playerId.toString() + "|" + lk);
+        cache.remove(playerId, new LevelKey(namespace, key));
     }
 
     /**
@@ -970,9 +1110,7 @@ public final class NexLevel {
         LevelKey lk = new LevelKey(namespace, key);
         LevelDefinition def = ensureRegistered(lk);
         LevelProgress current = getProgress(playerId, namespace, key);
-        LevelProgress recalced = recalcFromTotal(playerId, lk, current.getTotalXp(), def);
-
-        return recalced.getLevel();
+        return def.levelFor(current.getTotalXp());
     }
 
     /**
@@ -1005,17 +1143,15 @@ public final class NexLevel {
             LevelProgress progress = getProgress(playerId, key.getNamespace(), key.getKey());
             LevelDefinition def = ensureRegistered(key);
 
-            LevelProgress recalced = recalcFromTotal(
-                    playerId,
-                    key,
-                    progress.getTotalXp(),
-                    def
-            );
-            int theoreticalLevel = recalced.getLevel();
-
-            int lastApplied = progress.getLastAppliedLevel();
-            if (theoreticalLevel <= lastApplied) {
-                continue;
+            final int theoreticalLevel;
+            final int lastApplied;
+            synchronized (cache.lockOf(playerId)) {
+                theoreticalLevel = def.levelFor(progress.getTotalXp());
+                lastApplied = progress.getLastAppliedLevel();
+                if (theoreticalLevel <= lastApplied) {
+                    continue;
+                }
+                progress.setLastAppliedLevel(theoreticalLevel);
             }
 
             if (Bukkit.isPrimaryThread()) {
@@ -1030,7 +1166,6 @@ public final class NexLevel {
                 );
             }
 
-            progress.setLastAppliedLevel(theoreticalLevel);
             markDirty(progress);
             changedAny = true;
         }
@@ -1040,113 +1175,322 @@ public final class NexLevel {
         }
     }
 
-    private LevelDefinition ensureRegistered(LevelKey lk) {
-        return registry.get(lk).orElseThrow(() ->
-                new IllegalStateException("LevelType not registered: " + lk));
+    /**
+     * Loads the given level types of a player on the database service executor and merges them into
+     * the cache. A single key uses the point query, several keys share one per-player query.
+     * Placeholders for {@code keys} must already be in the cache and marked as loading; a failed
+     * load is retried with backoff, because the held-back placeholders must not be flushed unmerged.
+     */
+    private void scheduleLoad(UUID playerId, Set<LevelKey> keys) {
+        scheduleLoad(playerId, keys, 0);
     }
 
-    private double totalXpForLevel(LevelDefinition def, int level) {
-        double sum = 0.0d;
-        for (int i = 1; i <= level; i++) {
-            sum += def.requirementFor(i);
-        }
-        return sum;
+    private void scheduleLoad(UUID playerId, Set<LevelKey> keys, int attempt) {
+        submitLoad(() -> {
+            List<LevelProgress> rows;
+            try {
+                rows = db.withConnection(c -> {
+                    try {
+                        if (keys.size() == 1) {
+                            LevelKey only = keys.iterator().next();
+                            return dao.load(c, playerId, only).map(List::of).orElse(List.of());
+                        }
+                        return dao.loadAllForPlayer(c, playerId);
+                    } catch (Exception e) {
+                        throw new RuntimeException(e);
+                    }
+                });
+            } catch (Exception e) {
+                long delay = Math.min(30_000L, 1_000L << Math.min(attempt, 5));
+                NexusPlugin.nexusLogger.error("[NexLevel] Lazy-Load fehlgeschlagen (Versuch " + (attempt + 1)
+                        + "), neuer Versuch in " + delay + "ms: " + e.getMessage());
+                if (!shuttingDown.get()) {
+                    scheduler.schedule(() -> scheduleLoad(playerId, keys, attempt + 1), delay, TimeUnit.MILLISECONDS);
+                }
+                return;
+            }
+            applyLoadedRows(playerId, keys, rows);
+        });
     }
 
-    private LevelProgress recalcFromTotal(UUID playerId, LevelKey key, double totalXp, LevelDefinition def) {
-        if (totalXp < 0.0d) {
-            totalXp = 0.0d;
+    /**
+     * Merges loaded rows into the cache. For a placeholder that was changed while loading, the
+     * stored total plus the locally accumulated difference wins, unless the value was set
+     * absolutely in the meantime. Keys without a row simply leave the loading state.
+     * <p>
+     * Keys whose row still differs from a recent handoff stay loading and are read again shortly,
+     * because the previous server has not committed its quit flush yet (see {@link LevelHandoffHints}).
+     */
+    private void applyLoadedRows(UUID playerId, Set<LevelKey> keys, List<LevelProgress> rows) {
+        Map<LevelKey, LevelProgress> byKey = new HashMap<>(rows.size() * 2);
+        Map<LevelKey, Double> totals = new HashMap<>(rows.size() * 2);
+        for (LevelProgress row : rows) {
+            byKey.put(row.getKey(), row);
+            totals.put(row.getKey(), row.getTotalXp());
         }
 
-        List<Double> perLevelList = def.neededExp();
-        int max = perLevelList.size();
+        // beim Shutdown wird nicht mehr gewartet, sonst blieben die Einträge für den letzten Flush zurückgehalten
+        Set<LevelKey> lagging = shuttingDown.get() ? Set.of() : handoffHints.lagging(playerId, keys, totals);
+        if (!lagging.isEmpty()) {
+            scheduler.schedule(() -> scheduleLoad(playerId, lagging), HANDOFF_HINT_RETRY_MILLIS, TimeUnit.MILLISECONDS);
+        }
 
-        double[] thresholds = new double[max];
-        double sum = 0.0d;
-        for (int i = 0; i < max; i++) {
-            sum += perLevelList.get(i);
-            thresholds[i] = sum;
+        ConcurrentMap<LevelKey, LevelProgress> map = cache.progressOf(playerId);
+        List<LevelKey> loaded = new ArrayList<>(keys.size());
+        for (LevelKey lk : keys) {
+            if (lagging.contains(lk)) {
+                // bleibt im Loading-Zustand, bis der vorige Server seinen Quit-Flush committed hat
+                continue;
+            }
+            LevelProgress dbProg = byKey.get(lk);
+            LevelDefinition def = registry.get(lk).orElse(null);
+            LevelProgress effective;
+            synchronized (cache.lockOf(playerId)) {
+                LevelCache.PendingLoad pending = cache.endLoad(playerId, lk);
+                if (dbProg == null || def == null) {
+                    // keine Row: der lokale Stand ist bereits vollständig
+                    continue;
+                }
+                def.applyTotal(dbProg, dbProg.getTotalXp());
+
+                LevelProgress cur = map.get(lk);
+                if (cur == null) {
+                    map.put(lk, dbProg);
+                    effective = dbProg;
+                } else if (pending == null) {
+                    // nicht (mehr) als ladend markiert, z.B. nach einem Reset neu angelegt: nur leere Placeholder ersetzen
+                    if (cur.getLevel() == 0 && cur.getTotalXp() == 0.0d) {
+                        map.put(lk, dbProg);
+                        effective = dbProg;
+                    } else {
+                        effective = cur;
+                    }
+                } else {
+                    if (!pending.absolute) {
+                        def.applyTotal(cur, dbProg.getTotalXp() + pending.delta);
+                    }
+                    cur.setLastAppliedLevel(Math.max(cur.getLastAppliedLevel(), dbProg.getLastAppliedLevel()));
+                    effective = cur;
+                }
+            }
+            updateRanking(effective);
+            loaded.add(lk);
+        }
+        if (loaded.isEmpty()) {
+            return;
         }
 
-        int level = 0;
+        // fehlende Level-Ups aller geladenen Typen gesammelt in einem Main-Thread Task
+        Bukkit.getScheduler().runTask(plugin, () -> {
+            for (LevelKey lk : loaded) {
+                LevelProgress current = cache.get(playerId, lk);
+                LevelDefinition def = registry.get(lk).orElse(null);
+                if (current == null || def == null) {
+                    continue;
+                }
 
-        for (int i = 0; i < max; i++) {
-            if (totalXp + 1e-9 >= thresholds[i]) {
-                level = i + 1;
-            } else {
-                break;
+                int theoreticalLevel;
+                int lastApplied;
+                synchronized (cache.lockOf(playerId)) {
+                    theoreticalLevel = def.levelFor(current.getTotalXp());
+                    lastApplied = current.getLastAppliedLevel();
+                    if (theoreticalLevel <= lastApplied) {
+                        continue;
+                    }
+                    current.setLastAppliedLevel(theoreticalLevel);
+                }
+
+                Bukkit.getPluginManager().callEvent(
+                        new NexLevelUpEvent(playerId, lk, lastApplied, theoreticalLevel)
+                );
+
+                markDirty(current);
+                notifySync(current);
             }
+        });
+    }
+
+    /**
+     * Join path: the cached copy of a player may be stale (remote updates are at-most-once), so every
+     * cached level type without pending local changes is read again and replaced by its row.
+     * Level types that are not cached yet are loaded by {@link #preloadAllForPlayer(UUID)}.
+     */
+    private void refreshFromDatabase(UUID playerId) {
+        Set<LevelKey> keys = cache.beginRefresh(playerId);
+        if (!keys.isEmpty()) {
+            scheduleLoad(playerId, keys);
         }
+    }
 
-        double xpInLevel;
-        if (level == 0) {
-            xpInLevel = totalXp;
-        } else {
-            double thresholdForLevel = thresholds[level - 1];
-            xpInLevel = totalXp - thresholdForLevel;
+    // Loads nach Beginn des Shutdowns werden verworfen, der Cache wird ohnehin gleich geflusht
+    private void submitLoad(Runnable load) {
+        if (shuttingDown.get()) return;
+        CompletableFuture<Void> future = CompletableFuture.runAsync(() -> {
+            if (!shuttingDown.get()) load.run();
+        }, db.executor());
+        runningLoads.add(future);
+        future.whenComplete((v, t) -> runningLoads.remove(future));
+    }
+
+    private void awaitRunningLoads() throws InterruptedException {
+        if (runningLoads.isEmpty()) return;
+        try {
+            CompletableFuture.allOf(runningLoads.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+        } catch (ExecutionException ignored) {
+            // Fehler wurden bereits im Load selbst geloggt
+        } catch (TimeoutException e) {
+            NexusPlugin.nexusLogger.warning("[NexLevel] " + runningLoads.size() + " level loads still running after 5 seconds, flushing anyway.");
         }
+    }
 
-        return new LevelProgress(playerId, key, level, xpInLevel, totalXp, 0);
+    private LevelDefinition ensureRegistered(LevelKey lk) {
+        return registry.get(lk).orElseThrow(() ->
+                new IllegalStateException("LevelType not registered: " + lk));
     }
 
     private void setProgressInternal(LevelProgress updated) {
-        cache.compute(updated.getPlayerId(), (pid, map) -> {
-            if (map == null) map = new ConcurrentHashMap<>();
-            map.put(updated.getKey(), updated);
-            return map;
-        });
-
+        cache.put(updated);
+        updateRanking(updated);
         markDirty(updated);
+        notifySync(updated);
     }
 
-    private String indexKey(LevelProgress p) {
-        return p.getPlayerId() + "|" + p.getKey();
+    private void notifySync(LevelProgress p) {
+        LevelRedisSync s = sync;
+        if (s != null) s.localChanged(p);
     }
 
-    private void markDirty(LevelProgress p) {
-        String idx = indexKey(p);
-        LevelProgress prev = dirtyIndex.put(idx, p);
-        if (prev == null) {
-            dirtyQueue.add(p);
+    // ---- Cross-Server-Sync ----
+
+    /**
+     * @return the view of this instance that {@link LevelRedisSync} applies remote entries to
+     */
+    LevelSyncTarget syncTarget() {
+        return syncTarget;
+    }
+
+    void attachSync(LevelRedisSync sync) {
+        this.sync = sync;
+    }
+
+    void detachSync(LevelRedisSync sync) {
+        if (this.sync == sync) {
+            this.sync = null;
+        }
+    }
+
+    /**
+     * Monitor guarding in-place changes of the player's cached progress (see {@link LevelCache#lockOf(UUID)}).
+     *
+     * @return the monitor, or {@code null} if the player is not cached
+     */
+    Object progressLock(UUID playerId) {
+        return cache.lockIfPresent(playerId);
+    }
+
+    // Versions-Slots und Handoff-Hinweise eines Spielers verwerfen, der den Cache verlassen hat
+    private void forgetSynced(UUID playerId) {
+        handoffHints.forget(playerId);
+        LevelRedisSync s = sync;
+        if (s != null) s.forget(playerId);
+    }
+
+    /**
+     * Applies progress published by another server. Runs on the Redis subscriber thread and
+     * changes the cached entry under the player's cache lock; ordering is checked by the caller.
+     * <p>
+     * The entry is not marked dirty: the origin server owns the database write. Only players
+     * that are already cached are updated (leaderboards are updated either way); no cache node is
+     * created for anyone else. A handoff of a player who is not online here is only remembered as
+     * a hint for the next database read ({@link LevelHandoffHints}) and drops the player's clean
+     * cached copy, so the next join always loads the rows. A placeholder that is still loading
+     * treats the remote total as absolute, so the loaded row does not replace it.
+     */
+    void applyRemoteProgress(UUID playerId, LevelKey lk, double totalXp, int lastAppliedLevel, boolean handoff) {
+        LevelDefinition def = registry.get(lk).orElse(null);
+        if (def == null) {
+            return;
         }
+        if (handoff && !onlinePlayers.contains(playerId)) {
+            handoffHints.remember(playerId, lk, totalXp);
+            cache.removeIfClean(playerId);
+        }
+        Object lock = cache.lockIfPresent(playerId);
+        if (lock == null) {
+            leaderboardOf(lk).update(playerId, totalXp);
+            return;
+        }
+        LevelProgress current;
+        synchronized (lock) {
+            current = cache.get(playerId, lk);
+            if (current == null) {
+                leaderboardOf(lk).update(playerId, totalXp);
+                return;
+            }
+            def.applyTotal(current, totalXp);
+            cache.recordLocalChange(playerId, lk, 0.0d, true);
+            // Level-Ups wurden auf dem Ursprungs-Server bereits ausgelöst
+            current.setLastAppliedLevel(Math.max(current.getLastAppliedLevel(), lastAppliedLevel));
+        }
+        updateRanking(current);
+    }
+
+    /**
+     * Applies a reset done on another server to the local cache and leaderboards.
+     * The database rows were already deleted by the origin server.
+     */
+    void applyRemoteReset(UUID playerId, LevelKey lk) {
+        dropCached(playerId, lk);
+    }
+
+    private void markDirty(LevelProgress p) {
+        cache.markDirty(p);
     }
 
     private void flushOnceSafe() {
         try {
             List<LevelProgress> batch = new ArrayList<>(cfg.batchSize);
-            for (int i = 0; i < cfg.batchSize; i++) {
-                LevelProgress p = dirtyQueue.poll();
-                if (p == null) break;
-                String k = indexKey(p);
-                LevelProgress cur = dirtyIndex.remove(k);
-                if (cur != null) {
-                    batch.add(cur);
-                }
-            }
-            if (batch.isEmpty()) return;
+            if (cache.drainInto(batch, cfg.batchSize) == 0) return;
             flushBatch(batch);
         } catch (Throwable t) {
             NexusPlugin.nexusLogger.error("[NexLevel] Flush failed: " + t.getMessage());
         }
     }
 
+    /**
+     * Evicts idle offline players (and, above {@code maxCachedPlayers}, the least recently
+     * used offline players). Dirty entries of a candidate are flushed synchronously first;
+     * if that flush fails the entries are requeued and the player stays cached.
+     */
+    private void evictIdleSafe() {
+        try {
+            List<LevelCache.EvictionCandidate> candidates = cache.evictionCandidates(
+                    cfg.idleExpireMillis, cfg.maxCachedPlayers, onlinePlayers::contains);
+            if (candidates.isEmpty()) return;
+
+            int evicted = 0;
+            for (LevelCache.EvictionCandidate candidate : candidates) {
+                List<LevelProgress> pending = cache.drainPlayer(candidate.playerId());
+                if (!pending.isEmpty()) {
+                    flushBatch(pending);
+                }
+                if (cache.evict(candidate)) {
+                    forgetSynced(candidate.playerId());
+                    evicted++;
+                }
+            }
+            NexusPlugin.nexusLogger.debug("[NexLevel] Evicted " + evicted + " idle players from level cache ("
+                    + cache.size() + " cached)", 3);
+        } catch (Throwable t) {
+            NexusPlugin.nexusLogger.error("[NexLevel] Cache eviction failed: " + t.getMessage());
+        }
+    }
+
     private void flushAllBlocking() {
         try {
             while (true) {
                 List<LevelProgress> batch = new ArrayList<>(cfg.batchSize);
-                for (int i = 0; i < cfg.batchSize; i++) {
-                    LevelProgress p = dirtyQueue.poll();
-                    if (p == null) break;
-                    String k = indexKey(p);
-                    LevelProgress cur = dirtyIndex.remove(k);
-                    if (cur != null) {
-                        batch.add(cur);
-                    }
-                }
-                if (batch.isEmpty()) {
-                    if (dirtyQueue.isEmpty()) break;
-                    else continue;
-                }
+                if (cache.drainInto(batch, cfg.batchSize) == 0) break;
                 flushBatch(batch);
             }
         } catch (Throwable t) {
@@ -1159,10 +1503,16 @@ public final class NexLevel {
      * into the in-memory cache.
      * <p>
      * Useful during plugin startup to warm the cache without blocking
-     * the main server thread.
+     * the main server thread. In bounded cache mode only online players are
+     * preloaded; everyone else is loaded lazily, the leaderboards are still seeded
+     * from a full table scan (see {@link FlushConfig#maxCachedPlayers}).
      */
     public void preloadAllAsync() {
-        CompletableFuture.runAsync(this::preloadAllBlockingSafe);
+        if (cfg.isBounded()) {
+            preloadOnlinePlayers();
+            return;
+        }
+        CompletableFuture.runAsync(this::preloadAllBlockingSafe, db.executor());
     }
 
     /**
@@ -1171,12 +1521,55 @@ public final class NexLevel {
      * <p>
      * This call blocks until the preload has finished and should therefore
      * only be used during controlled startup phases, never from performance
-     * critical paths on the main server thread.
+     * critical paths on the main server thread. In bounded cache mode only
+     * online players are preloaded (asynchronously); everyone else is loaded lazily.
      */
     public void preloadAllSync() {
+        if (cfg.isBounded()) {
+            preloadOnlinePlayers();
+            return;
+        }
         preloadAllBlockingSafe();
     }
 
+    // Im Bounded-Modus wird nicht die ganze Tabelle geladen, Offline-Spieler werden lazy nachgeladen
+    private void preloadOnlinePlayers() {
+        int players = 0;
+        for (Player online : Bukkit.getOnlinePlayers()) {
+            preloadAllForPlayer(online.getUniqueId());
+            players++;
+        }
+        NexusPlugin.nexusLogger.info("NexLevel cache is bounded, skipped full preload (" + players + " online players queued)");
+        submitLoad(this::seedLeaderboardsSafe);
+    }
+
+    // Bounded-Modus: Leaderboards trotzdem vollständig aus der Tabelle aufbauen, ohne den Cache zu füllen.
+    // Kosten: ein Full-Table-Scan beim Start (gestreamt, Fetch-Size 5000) und ein Leaderboard-Knoten
+    // pro Zeile; eine Begrenzung auf Top-N pro Level-Typ würde Ränge außerhalb der Top-N verfälschen
+    private void seedLeaderboardsSafe() {
+        long start = System.currentTimeMillis();
+        int[] count = {0};
+        try {
+            db.withConnection(c -> {
+                try {
+                    dao.streamAll(c, lp -> {
+                        // Online-Spieler sind bereits über den Cache gerankt und evtl. aktueller als die DB
+                        if (cache.get(lp.getPlayerId(), lp.getKey()) == null) {
+                            updateRanking(lp);
+                        }
+                        count[0]++;
+                    });
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            NexusPlugin.nexusLogger.info("NexLevel leaderboards seeded with " + count[0] + " entries in "
+                    + (System.currentTimeMillis() - start) + "ms");
+        } catch (Exception e) {
+            NexusPlugin.nexusLogger.error("NexLevel leaderboard seeding failed: " + e.getMessage());
+        }
+    }
+
 
     private void preloadAllBlockingSafe() {
         long start = System.currentTimeMillis();
@@ -1186,12 +1579,11 @@ public final class NexLevel {
                 try {
                     dao.streamAll(c, lp -> {
                         LevelDefinition def = registry.get(lp.getKey()).orElse(null);
-                        LevelProgress toCache = lp;
                         if (def != null) {
-                            toCache = recalcFromTotal(lp.getPlayerId(), lp.getKey(), lp.getTotalXp(), def);
+                            def.applyTotal(lp, lp.getTotalXp());
                         }
-                        cache.computeIfAbsent(toCache.getPlayerId(), __ -> new ConcurrentHashMap<>())
-                                .put(toCache.getKey(), toCache);
+                        cache.put(lp);
+                        updateRanking(lp);
                         count[0]++;
                     });
                 } catch (Exception e) {
@@ -1207,7 +1599,46 @@ public final class NexLevel {
         }
     }
 
+    /**
+     * Returns a snapshot of the cache counters (size, hits, misses, evictions).
+     *
+     * @return current {@link CacheStats}
+     */
+    public CacheStats getCacheStats() {
+        return new CacheStats(cache.size(), cache.hits(), cache.misses(), cache.evictions());
+    }
+
+    /**
+     * Returns a snapshot of the flush metrics (latency and row counts per batch flush).
+     *
+     * @return current {@link FlushStats}
+     */
+    public FlushStats getFlushStats() {
+        return new FlushStats(
+                flushCount.get(),
+                flushFailures.get(),
+                flushedRows.get(),
+                flushNanosTotal.get(),
+                flushNanosMax.get(),
+                lastFlushNanos,
+                lastFlushRows,
+                cache.dirtyCount()
+        );
+    }
+
+    private void recordFlush(int rows, long nanos) {
+        flushCount.incrementAndGet();
+        flushedRows.addAndGet(rows);
+        flushNanosTotal.addAndGet(nanos);
+        flushNanosMax.accumulateAndGet(nanos, Math::max);
+        lastFlushNanos = nanos;
+        lastFlushRows = rows;
+        NexusPlugin.nexusLogger.debug("[NexLevel] Flushed " + rows + " entries in "
+                + String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0d) + "ms", 3);
+    }
+
     private void flushBatch(List<LevelProgress> batch) {
+        long start = System.nanoTime();
         try {
             // WICHTIG: keine verschachtelten Pool-Zugriffe mehr (inTransaction + withConnection),
             // sondern genau EINE Connection holen und auf dieser Connection die Transaktion fahren.
@@ -1220,6 +1651,7 @@ public final class NexLevel {
                     dao.upsertBatch(c, batch);
 
                     c.commit();
+                    recordFlush(batch.size(), System.nanoTime() - start);
                 } catch (Exception e) {
                     try {
                         c.rollback();
@@ -1236,14 +1668,59 @@ public final class NexLevel {
                 }
             });
         } catch (Exception e) {
+            flushFailures.incrementAndGet();
             NexusPlugin.nexusLogger.error("[NexLevel] Batch-Flush failed: " + e.getMessage());
             e.printStackTrace();
             if (!shuttingDown.get()) {
                 NexusPlugin.nexusLogger.warning("[NexLevel] Requeue dirty entries for next flush attempt.");
-                batch.forEach(this::markDirty);
+                cache.requeue(batch);
             } else {
                 NexusPlugin.nexusLogger.warning("[NexLevel] Shutdown in progress, will NOT requeue dirty entries.");
             }
         }
     }
-}
\ No newline at end of file
+
+    private final class PresenceListener implements Listener {
+
+        @EventHandler(priority = EventPriority.LOWEST)
+        public void onJoin(PlayerJoinEvent event) {
+            UUID pid = event.getPlayer().getUniqueId();
+            onlinePlayers.add(pid);
+            // auf dem Flush-Thread: ein noch laufender Quit-Flush dieses Servers ist dann bereits durch
+            scheduler.execute(() -> refreshFromDatabase(pid));
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onQuit(PlayerQuitEvent event) {
+            onlinePlayers.remove(event.getPlayer().getUniqueId());
+        }
+    }
+
+    private final class SyncTarget implements LevelSyncTarget {
+
+        @Override
+        public void applyRemoteProgress(UUID playerId, LevelKey key, double totalXp, int lastAppliedLevel, boolean handoff) {
+            NexLevel.this.applyRemoteProgress(playerId, key, totalXp, lastAppliedLevel, handoff);
+        }
+
+        @Override
+        public void applyRemoteReset(UUID playerId, LevelKey key) {
+            NexLevel.this.applyRemoteReset(playerId, key);
+        }
+
+        @Override
+        public Object progressLock(UUID playerId) {
+            return NexLevel.this.progressLock(playerId);
+        }
+
+        @Override
+        public void attachSync(LevelRedisSync sync) {
+            NexLevel.this.attachSync(sync);
+        }
+
+        @Override
+        public void detachSync(LevelRedisSync sync) {
+            NexLevel.this.detachSync(sync);
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package io.nexstudios.nexus.bukkit.levels.events;
 
-import io.nexstudios.nexus.bukkit.NexusPlugin;
-import io.nexstudios.nexus.bukkit.levels.LevelService;
+import io.nexstudios.nexus.bukkit.levels.NexLevel;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerQuitEvent;
@@ -10,8 +9,9 @@ public class LevelFlushListener implements Listener {
 
     @EventHandler
     public void onQuit(PlayerQuitEvent e) {
-        LevelService svc = NexusPlugin.getInstance().getLevelService();
-        if (svc != null) svc.safeToDatabase(e.getPlayer().getUniqueId());
+        // Handoff an andere Server nur beim Quit, reguläre Flushes schreiben nur die DB
+        NexLevel level = NexLevel.getInstance();
+        if (level != null) level.flushOnQuit(e.getPlayer().getUniqueId());
     }
 
 }
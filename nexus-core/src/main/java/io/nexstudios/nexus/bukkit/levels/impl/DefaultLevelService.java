@@ -1,5 +1,6 @@
 package io.nexstudios.nexus.bukkit.levels.impl;
 
+import io.nexstudios.nexus.bukkit.levels.LevelLeaderboard;
 import io.nexstudios.nexus.bukkit.levels.LevelProgress;
 import io.nexstudios.nexus.bukkit.levels.LevelService;
 import io.nexstudios.nexus.bukkit.levels.NexLevel;
@@ -82,6 +83,16 @@ public final class DefaultLevelService implements LevelService {
         return core.getRequiredXp(namespace, key, level);
     }
 
+    @Override
+    public LevelLeaderboard getLeaderboard(String namespace, String key) {
+        return core.getLeaderboard(namespace, key);
+    }
+
+    @Override
+    public int getLevelForTotalXp(String namespace, String key, double totalXp) {
+        return core.getLevelForTotalXp(namespace, key, totalXp);
+    }
+
     @Override
     public void preloadAllForPlayer(UUID playerId) {
         core.preloadAllForPlayer(playerId);
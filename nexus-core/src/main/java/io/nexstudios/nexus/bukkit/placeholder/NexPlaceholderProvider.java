@@ -4,6 +4,8 @@ import net.kyori.adventure.text.Component;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.List;
+
 /**
  * Provider for a specific namespace. One provider per namespace.
  *
@@ -36,6 +38,17 @@ public interface NexPlaceholderProvider {
      */
     @Nullable PlaceholderValue resolve(Player player, String key);
 
+    /**
+     * Optional: resolve many players and keys in one call (used by {@link NexusPlaceholders#resolveAll}).
+     *
+     * The result is flat: the value for {@code players.get(p)} and {@code keys.get(k)} is stored at
+     * index {@code p * keys.size() + k}; null entries mean "not resolved" (fallbacks apply as usual).
+     * Return null (default) to let the caller resolve every cell through {@link #resolve(Player, String)}.
+     */
+    default @Nullable PlaceholderValue[] resolveBatch(List<Player> players, List<String> keys) {
+        return null;
+    }
+
     /**
      * Optional per-key fallback string when a key cannot be resolved.
      * Return null if no fallback is defined for this key.
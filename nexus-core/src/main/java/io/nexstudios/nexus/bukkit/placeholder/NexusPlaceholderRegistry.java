@@ -4,10 +4,14 @@ package io.nexstudios.nexus.bukkit.placeholder;
 import io.nexstudios.nexus.bukkit.NexusPlugin;
 import net.kyori.adventure.text.Component;
 import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.event.server.PluginDisableEvent;
 import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Locale;
@@ -16,7 +20,11 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Thread-safe registry for placeholder providers.
@@ -26,6 +34,10 @@ import java.util.concurrent.ConcurrentHashMap;
  * - Auto-unregister on PluginDisableEvent.
  * - Per-namespace cache policy with default TTL and per-key override.
  * - Fine-grained cache invalidation (namespace+key, optionally per player).
+ * - Size-bounded value cache: per-player entries are dropped on PlayerQuitEvent and
+ *   expired entries are removed by a periodic async sweep (see {@link CacheConfig}).
+ * - Optional refresh-ahead: hot keys are recomputed on a background thread shortly
+ *   before their TTL runs out, so frequent readers (scoreboards) keep hitting the cache.
  *
  * Notes:
  * - All logs are deliberately quiet (no spam). Only critical issues are logged once.
@@ -63,29 +75,69 @@ public final class NexusPlaceholderRegistry {
 
     public record Registration(Plugin owner, String namespace, NexPlaceholderProvider provider, CachePolicy cachePolicy) { }
 
+    /**
+     * Value cache settings. Apply with {@link #configureCache(CacheConfig)} before the first provider is registered.
+     */
+    public static class CacheConfig {
+        // max. cached values over all namespaces and players (<= 0 = unbounded)
+        public int maxEntries = 50_000;
+        // interval of the async expiry sweep (<= 0 = only remove expired entries on read)
+        public long sweepIntervalMillis = 30_000L;
+        // recompute entries read in the last quarter of their TTL on a background thread
+        public boolean refreshAhead = false;
+    }
+
     private static final Map<String, Registration> PROVIDERS = new ConcurrentHashMap<>();
-    private static final Map<CacheKey, CacheEntry> CACHE = new ConcurrentHashMap<>();
+    private static final PlaceholderCache CACHE = new PlaceholderCache(new CacheConfig().maxEntries);
     private static final Map<String, NexusPAPIBridge> PAPI_BRIDGES = new ConcurrentHashMap<>();
+    // Bumped on every provider change, so compiled templates re-resolve their Registration references
+    private static final AtomicInteger GENERATION = new AtomicInteger();
 
     private static volatile boolean listenerRegistered = false;
     private static volatile boolean papiIntegrationEnabled = false;
 
+    private static volatile CacheConfig cacheConfig = new CacheConfig();
+    private static @Nullable BukkitTask sweepTask;
+    private static @Nullable ThreadPoolExecutor refreshExecutor;
 
-    private record CacheKey(String namespace, String key, @Nullable UUID playerId) {}
-
-    private static final class CacheEntry {
-        final @Nullable String stringValue;
-        final @Nullable Component componentValue;
-        volatile long expiresAtMillis;
-
-        CacheEntry(@Nullable String stringValue, @Nullable Component componentValue, long expiresAtMillis) {
-            this.stringValue = stringValue;
-            this.componentValue = componentValue;
-            this.expiresAtMillis = expiresAtMillis;
+    /**
+     * Applies cache settings. Size and refresh-ahead take effect immediately,
+     * the sweep interval when the registry listener is installed (first registration).
+     */
+    public static synchronized void configureCache(CacheConfig config) {
+        Objects.requireNonNull(config, "config");
+        cacheConfig = config;
+        CACHE.setMaxEntries(config.maxEntries);
+        if (config.refreshAhead) {
+            if (refreshExecutor == null) {
+                // bounded queue: when refreshes pile up, entries simply expire and resolve inline again
+                ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                        new ArrayBlockingQueue<>(1024), r -> {
+                    Thread t = new Thread(r, "Nexus-PlaceholderRefresh");
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.DiscardPolicy());
+                refreshExecutor = executor;
+            }
+            ThreadPoolExecutor executor = refreshExecutor;
+            CACHE.setRefresher((ck, entry) -> executor.execute(() -> refresh(ck, entry)));
+        } else {
+            CACHE.setRefresher(null);
         }
+    }
 
-        boolean isExpired(long now) {
-            return expiresAtMillis < now;
+    /**
+     * Stops the sweep task and the refresh thread. Cached values stay until they expire.
+     */
+    public static synchronized void shutdownCache() {
+        CACHE.setRefresher(null);
+        if (sweepTask != null) {
+            sweepTask.cancel();
+            sweepTask = null;
+        }
+        if (refreshExecutor != null) {
+            refreshExecutor.shutdownNow();
+            refreshExecutor = null;
         }
     }
 
@@ -101,9 +153,7 @@ public final class NexusPlaceholderRegistry {
         ensureDisableListenerInstalled();
 
         String ns = namespace.toLowerCase(Locale.ROOT).trim();
-        Registration reg = new Registration(owner, ns, provider, cachePolicy);
-        Registration existing = PROVIDERS.putIfAbsent(ns, reg);
-        if (existing != null) {
+        if (!addRegistration(new Registration(owner, ns, provider, cachePolicy))) {
             // Intentionally quiet: allow caller to decide how to proceed.
             return false;
         }
@@ -121,8 +171,9 @@ public final class NexusPlaceholderRegistry {
         if (namespace == null) return false;
         Registration removed = PROVIDERS.remove(namespace.toLowerCase(Locale.ROOT).trim());
         if (removed != null) {
+            GENERATION.incrementAndGet();
             // remove all cache entries for that namespace
-            CACHE.keySet().removeIf(k -> k.namespace.equals(removed.namespace));
+            CACHE.removeNamespace(removed.namespace);
 
             // Unregister from PlaceholderAPI
             if (papiIntegrationEnabled) {
@@ -141,7 +192,8 @@ public final class NexusPlaceholderRegistry {
         PROVIDERS.entrySet().removeIf(e -> {
             boolean remove = e.getValue().owner == owner || e.getKey().equals(pluginName);
             if (remove) {
-                CACHE.keySet().removeIf(k -> k.namespace.equals(e.getKey()));
+                GENERATION.incrementAndGet();
+                CACHE.removeNamespace(e.getKey());
 
                 // Unregister from PlaceholderAPI
                 if (papiIntegrationEnabled) {
@@ -221,13 +273,31 @@ public final class NexusPlaceholderRegistry {
         if (listenerRegistered) return;
         synchronized (NexusPlaceholderRegistry.class) {
             if (listenerRegistered) return;
-            // Self-register a lightweight listener to auto-unregister providers on plugin disable.
+            // Self-register a lightweight listener to auto-unregister providers on plugin disable
+            // and to drop per-player cache entries on quit.
+            Plugin owner = getOwningPluginSafe();
             Bukkit.getPluginManager().registerEvents(new Listener() {
                 @EventHandler
                 public void onPluginDisable(PluginDisableEvent event) {
                     unregisterFor(event.getPlugin());
+                    if (event.getPlugin() == owner) {
+                        // Bukkit drops this listener with its owner -> install again on next registration
+                        shutdownCache();
+                        listenerRegistered = false;
+                    }
+                }
+
+                @EventHandler(priority = EventPriority.MONITOR)
+                public void onQuit(PlayerQuitEvent event) {
+                    CACHE.removePlayer(event.getPlayer().getUniqueId());
                 }
-            }, getOwningPluginSafe());
+            }, owner);
+
+            long sweepTicks = cacheConfig.sweepIntervalMillis / 50L;
+            if (sweepTicks > 0) {
+                sweepTask = Bukkit.getScheduler().runTaskTimerAsynchronously(owner,
+                        () -> CACHE.sweep(System.currentTimeMillis()), sweepTicks, sweepTicks);
+            }
             listenerRegistered = true;
         }
     }
@@ -249,6 +319,21 @@ public final class NexusPlaceholderRegistry {
         throw new IllegalStateException("No enabled plugin found to register events for NexusPlaceholderRegistry.");
     }
 
+    /**
+     * Adds a registration (namespace already lower-cased) without the Bukkit listener and PAPI side effects.
+     */
+    static boolean addRegistration(Registration reg) {
+        if (PROVIDERS.putIfAbsent(reg.namespace(), reg) != null) {
+            return false;
+        }
+        GENERATION.incrementAndGet();
+        return true;
+    }
+
+    static int generation() {
+        return GENERATION.get();
+    }
+
     static Optional<Registration> getRegistration(String namespace) {
         if (namespace == null) return Optional.empty();
         return Optional.ofNullable(PROVIDERS.get(namespace.toLowerCase(Locale.ROOT).trim()));
@@ -257,12 +342,8 @@ public final class NexusPlaceholderRegistry {
     // ---- Cache helpers ----
 
     static @Nullable PlaceholderValue getCached(String namespace, String key, @Nullable UUID playerId, long nowMillis) {
-        CacheEntry e = CACHE.get(new CacheKey(namespace, key, playerId));
+        PlaceholderCache.CacheEntry e = CACHE.get(new PlaceholderCache.CacheKey(namespace, key, playerId), nowMillis);
         if (e == null) return null;
-        if (e.isExpired(nowMillis)) {
-            CACHE.remove(new CacheKey(namespace, key, playerId));
-            return null;
-        }
         if (e.stringValue == null && e.componentValue == null) return null;
         if (e.stringValue != null && e.componentValue != null) {
             return PlaceholderValue.of(e.stringValue, e.componentValue);
@@ -277,21 +358,70 @@ public final class NexusPlaceholderRegistry {
                           @Nullable String stringValue, @Nullable Component componentValue,
                           long ttlMillis, long nowMillis) {
         long exp = nowMillis + Math.max(0, ttlMillis);
-        CACHE.put(new CacheKey(namespace, key, playerId), new CacheEntry(stringValue, componentValue, exp));
+        CACHE.put(new PlaceholderCache.CacheKey(namespace, key, playerId),
+                new PlaceholderCache.CacheEntry(stringValue, componentValue, nowMillis, exp));
+    }
+
+    /**
+     * Refresh-ahead task: recomputes one entry off the main thread. Providers are thread-safe by contract.
+     * Entries of players who went offline are dropped instead.
+     * The new value only replaces {@code expected}; if the entry was invalidated (or the player
+     * removed) while the provider ran, the value is discarded.
+     */
+    private static void refresh(PlaceholderCache.CacheKey ck, PlaceholderCache.CacheEntry expected) {
+        Registration reg = PROVIDERS.get(ck.namespace());
+        if (reg == null) {
+            CACHE.remove(ck);
+            return;
+        }
+        Player player = null;
+        if (ck.playerId() != null) {
+            player = Bukkit.getPlayer(ck.playerId());
+            if (player == null) {
+                CACHE.remove(ck);
+                return;
+            }
+        }
+        try {
+            PlaceholderValue val = (player == null) ? reg.provider().resolve(ck.key()) : reg.provider().resolve(player, ck.key());
+            if (val == null) return;
+            long ttl = NexusPlaceholders.cacheTtl(reg, ck.key(), val);
+            if (ttl <= 0) return;
+            long now = System.currentTimeMillis();
+            CACHE.replace(ck, expected,
+                    new PlaceholderCache.CacheEntry(val.stringValue(), val.componentValue(), now, now + ttl));
+        } catch (Throwable t) {
+            // Quiet: the entry expires normally and the next read resolves inline.
+        }
     }
 
     public static void invalidate(String namespace, String key) {
         if (namespace == null || key == null) return;
         String ns = namespace.toLowerCase(Locale.ROOT).trim();
         String k = key.toLowerCase(Locale.ROOT).trim();
-        CACHE.keySet().removeIf(ck -> ck.namespace.equals(ns) && ck.key.equals(k));
+        CACHE.removeKey(ns, k);
     }
 
     public static void invalidate(String namespace, String key, UUID playerId) {
         if (namespace == null || key == null || playerId == null) return;
         String ns = namespace.toLowerCase(Locale.ROOT).trim();
         String k = key.toLowerCase(Locale.ROOT).trim();
-        CACHE.remove(new CacheKey(ns, k, playerId));
+        CACHE.remove(new PlaceholderCache.CacheKey(ns, k, playerId));
+    }
+
+    /**
+     * Drops all cached values of one player.
+     */
+    public static void invalidatePlayer(UUID playerId) {
+        if (playerId == null) return;
+        CACHE.removePlayer(playerId);
+    }
+
+    /**
+     * Returns how many placeholder values are currently cached.
+     */
+    public static int cacheSize() {
+        return CACHE.size();
     }
 
     /**
@@ -1,14 +1,21 @@
 package io.nexstudios.nexus.bukkit.placeholder;
 
 import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.TextReplacementConfig;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.event.HoverEvent;
 import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
-import java.util.regex.Pattern;
 
 /**
  * Placeholder resolver facade.
@@ -25,6 +32,10 @@ import java.util.regex.Pattern;
  * - Otherwise keep original token unchanged.
  *
  * Notes:
+ * - String inputs are compiled once into a cached {@link PlaceholderTemplate};
+ *   use {@link PlaceholderTemplate#compile(String)} directly for hot lines.
+ * - Scoreboards and tab lists should render all players and lines at once with
+ *   {@link #resolveAll(Collection, List)}.
  * - All methods are thread-safe and side-effect free.
  * - All comments are in English.
  */
@@ -32,20 +43,14 @@ public final class NexusPlaceholders {
 
     private NexusPlaceholders() {}
 
-    private static final int MAX_DEPTH = 3;
-
-    // Regex to find tokens: "#" then any non-# chars (lazily) then "#"
-    private static final Pattern TOKEN_PATTERN = Pattern.compile("#([^#]+?)#");
-    // "##" escaping gets mapped to a sentinel char first
-    private static final Pattern ESCAPED_HASH = Pattern.compile("##");
-    private static final String HASH_SENTINEL = "\u0007"; // bell char, unlikely to occur
+    private static final int MAX_DEPTH = PlaceholderTemplate.MAX_DEPTH;
 
     public static String resolve(String text) {
-        return resolveInternal(text, null, 0);
+        return resolveInternal(text, null);
     }
 
     public static String resolveWithPlayer(String text, Player player) {
-        return resolveInternal(text, player, 0);
+        return resolveInternal(text, player);
     }
 
     public static Component resolve(Component component) {
@@ -63,166 +68,258 @@ public final class NexusPlaceholders {
 
         var regOpt = NexusPlaceholderRegistry.getRegistration(ns);
         if (regOpt.isEmpty()) return Optional.empty();
-        var reg = regOpt.get();
 
+        PlaceholderValue val = resolveValue(regOpt.get(), ns, k, player, System.currentTimeMillis());
+        if (val == null) return Optional.empty();
+        if (val.stringValue() != null) return Optional.of(val.stringValue());
+        if (val.componentValue() != null) {
+            return Optional.of(PlainTextComponentSerializer.plainText().serialize(val.componentValue()));
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Renders every template for every player in one pass.
+     *
+     * Distinct tokens are collected once across all templates and grouped by provider; each provider
+     * is asked once per batch ({@link NexPlaceholderProvider#resolveBatch}) for the cache misses, and
+     * one timestamp is used for the whole batch. Nested placeholders in resolved values are rendered
+     * through the regular per-player path.
+     *
+     * @param players   players to render for
+     * @param templates compiled lines (see {@link PlaceholderTemplate#compile(String)})
+     * @return flat result, see {@link PlaceholderBatchResult#get(int, int)}
+     */
+    public static PlaceholderBatchResult resolveAll(Collection<? extends Player> players, List<PlaceholderTemplate> templates) {
+        List<Player> playerList = List.copyOf(players);
+        List<PlaceholderTemplate> templateList = List.copyOf(templates);
+        int playerCount = playerList.size();
+        int templateCount = templateList.size();
+        String[] lines = new String[playerCount * templateCount];
+        if (lines.length == 0) {
+            return new PlaceholderBatchResult(playerList, templateList, lines);
+        }
         long now = System.currentTimeMillis();
-        var cachedVal = NexusPlaceholderRegistry.getCached(ns, k, player == null ? null : player.getUniqueId(), now);
-        if (cachedVal != null) {
-            if (cachedVal.stringValue() != null) return Optional.of(cachedVal.stringValue());
-            if (cachedVal.componentValue() != null) {
-                return Optional.of(PlainTextComponentSerializer.plainText().serialize(cachedVal.componentValue()));
+
+        // 1) assign one slot per distinct (namespace, key) and group the slots by provider
+        Map<String, Integer> slotByToken = new HashMap<>();
+        Map<NexusPlaceholderRegistry.Registration, List<PlaceholderTemplate.Token>> byProvider = new LinkedHashMap<>();
+        Map<PlaceholderTemplate.Token, Integer> slotOf = new IdentityHashMap<>();
+        int[][] slotsBySegment = new int[templateCount][];
+        for (int t = 0; t < templateCount; t++) {
+            PlaceholderTemplate.Segment[] segments = templateList.get(t).segments();
+            int[] slots = new int[segments.length];
+            for (int s = 0; s < segments.length; s++) {
+                if (!(segments[s] instanceof PlaceholderTemplate.Token token)) {
+                    slots[s] = -1;
+                    continue;
+                }
+                Integer slot = slotByToken.get(token.namespace + ':' + token.key);
+                if (slot == null) {
+                    slot = slotByToken.size();
+                    slotByToken.put(token.namespace + ':' + token.key, slot);
+                    slotOf.put(token, slot);
+                    NexusPlaceholderRegistry.Registration reg = token.registration();
+                    if (reg != null) {
+                        byProvider.computeIfAbsent(reg, __ -> new ArrayList<>()).add(token);
+                    }
+                }
+                slots[s] = slot;
             }
+            slotsBySegment[t] = slots;
         }
 
-        PlaceholderValue val = player == null ? reg.provider().resolve(k) : reg.provider().resolve(player, k);
-        if (val == null) {
-            String fb = reg.provider().fallback(player, k);
-            if (fb != null) return Optional.of(fb);
-            return Optional.empty();
+        // 2) resolve values: cache first, then one batch call per provider for the misses
+        int slotCount = slotByToken.size();
+        PlaceholderValue[] values = new PlaceholderValue[playerCount * slotCount];
+        for (var group : byProvider.entrySet()) {
+            resolveGroup(group.getKey(), group.getValue(), slotOf, playerList, slotCount, values, now);
         }
 
-        // Determine TTL and cacheability
-        boolean cacheable = val.cacheable() && !reg.cachePolicy().isNonCacheable(k) && reg.provider().isCacheable(k);
-        long ttl = Optional.ofNullable(val.ttlMillisOverride())
-                .or(() -> Optional.ofNullable(reg.provider().ttlMillis(k)))
-                .or(() -> Optional.ofNullable(reg.cachePolicy().perKeyTtlMillis(k)))
-                .orElse(reg.cachePolicy().defaultTtlMillis());
+        // 3) render
+        for (int p = 0; p < playerCount; p++) {
+            Player player = playerList.get(p);
+            int base = p * slotCount;
+            for (int t = 0; t < templateCount; t++) {
+                lines[p * templateCount + t] = templateList.get(t).render(player, now, values, base, slotsBySegment[t]);
+            }
+        }
+        return new PlaceholderBatchResult(playerList, templateList, lines);
+    }
 
-        if (cacheable && ttl > 0) {
-            NexusPlaceholderRegistry.putCached(ns, k, player == null ? null : player.getUniqueId(),
-                    val.stringValue(), val.componentValue(), ttl, now);
+    private static void resolveGroup(NexusPlaceholderRegistry.Registration reg,
+                                     List<PlaceholderTemplate.Token> tokens,
+                                     Map<PlaceholderTemplate.Token, Integer> slotOf,
+                                     List<Player> players, int slotCount,
+                                     PlaceholderValue[] values, long now) {
+        int keyCount = tokens.size();
+        boolean[] keyMissing = new boolean[keyCount];
+        List<Player> missingPlayers = new ArrayList<>();
+        List<Integer> missingPlayerIndex = new ArrayList<>();
+
+        for (int p = 0; p < players.size(); p++) {
+            Player player = players.get(p);
+            boolean playerMissing = false;
+            for (int k = 0; k < keyCount; k++) {
+                PlaceholderTemplate.Token token = tokens.get(k);
+                PlaceholderValue cached = NexusPlaceholderRegistry.getCached(token.namespace, token.key, player.getUniqueId(), now);
+                if (cached != null) {
+                    values[p * slotCount + slotOf.get(token)] = cached;
+                } else {
+                    keyMissing[k] = true;
+                    playerMissing = true;
+                }
+            }
+            if (playerMissing) {
+                missingPlayers.add(player);
+                missingPlayerIndex.add(p);
+            }
+        }
+        if (missingPlayers.isEmpty()) return;
+
+        List<PlaceholderTemplate.Token> missingTokens = new ArrayList<>();
+        List<String> missingKeys = new ArrayList<>();
+        for (int k = 0; k < keyCount; k++) {
+            if (keyMissing[k]) {
+                missingTokens.add(tokens.get(k));
+                missingKeys.add(tokens.get(k).key);
+            }
         }
 
-        if (val.stringValue() != null) return Optional.of(val.stringValue());
-        if (val.componentValue() != null) {
-            return Optional.of(PlainTextComponentSerializer.plainText().serialize(val.componentValue()));
+        PlaceholderValue[] batch = reg.provider().resolveBatch(missingPlayers, missingKeys);
+        if (batch != null && batch.length != missingPlayers.size() * missingKeys.size()) {
+            // Malformed answer -> ignore it and resolve per cell
+            batch = null;
+        }
+
+        for (int mp = 0; mp < missingPlayers.size(); mp++) {
+            Player player = missingPlayers.get(mp);
+            int base = missingPlayerIndex.get(mp) * slotCount;
+            for (int mk = 0; mk < missingTokens.size(); mk++) {
+                PlaceholderTemplate.Token token = missingTokens.get(mk);
+                int idx = base + slotOf.get(token);
+                if (values[idx] != null) continue; // cached for this player
+                values[idx] = batch != null
+                        ? storeValue(reg, token.namespace, token.key, player, batch[mp * missingKeys.size() + mk], now)
+                        : computeValue(reg, token.namespace, token.key, player, now);
+            }
         }
-        return Optional.empty();
     }
 
     // ---- String resolver ----
 
-    private static String resolveInternal(String input, @Nullable Player player, int depth) {
+    private static String resolveInternal(String input, @Nullable Player player) {
         if (input == null || input.isEmpty()) return input;
-        if (depth >= MAX_DEPTH) return unescapeHashes(input);
-
-        StringBuilder out = new StringBuilder(input.length());
-        int i = 0;
-        while (i < input.length()) {
-            char c = input.charAt(i);
-
-            // Escaped '#': "##" -> literal '#'
-            if (c == '#' && i + 1 < input.length() && input.charAt(i + 1) == '#') {
-                out.append('#');
-                i += 2;
-                continue;
-            }
+        // no '#' means no tokens and no escapes -> nothing to do (and nothing to cache)
+        if (input.indexOf('#') < 0) return input;
+        return PlaceholderTemplate.compile(input).render(player);
+    }
 
-            if (c == '#') {
-                int end = findClosingHash(input, i + 1);
-                if (end > i + 1) {
-                    String token = input.substring(i + 1, end);
-                    String replacement = resolveTokenToString(token, player);
-                    if (replacement != null) {
-                        out.append(replacement);
-                    } else {
-                        out.append('#').append(token).append('#');
-                    }
-                    i = end + 1;
-                    continue;
-                }
+    // ---- Component resolver (style-preserving, single tree walk) ----
+
+    private static Component resolveInternal(Component component, @Nullable Player player, int depth) {
+        if (component == null) return Component.empty();
+        return walk(component, player, System.currentTimeMillis(), depth);
+    }
+
+    /**
+     * Visits every node once. Text leaves containing '#' are split into their template
+     * segments, keeping the leaf's style on the new parent node. Unchanged subtrees are
+     * returned as the same instance, so lines without placeholders allocate nothing.
+     */
+    private static Component walk(Component c, @Nullable Player player, long now, int depth) {
+        if (depth >= MAX_DEPTH) return c;
+
+        List<Component> children = c.children();
+        List<Component> newChildren = null;
+        for (int i = 0; i < children.size(); i++) {
+            Component child = children.get(i);
+            Component resolved = walk(child, player, now, depth);
+            if (resolved != child) {
+                if (newChildren == null) newChildren = new ArrayList<>(children);
+                newChildren.set(i, resolved);
             }
+        }
 
-            out.append(c);
-            i++;
+        Component result = c;
+        if (c instanceof TextComponent tc && tc.content().indexOf('#') >= 0) {
+            result = resolveText(tc, newChildren != null ? newChildren : children, player, now, depth);
+        } else if (newChildren != null) {
+            result = c.children(newChildren);
         }
 
-        String result = out.toString();
-        if (containsUnescapedHash(result) && depth + 1 < MAX_DEPTH) {
-            // recursive pass if more tokens remain
-            return resolveInternal(result, player, depth + 1);
+        // resolve hover texts as well (as the old replaceText passes did)
+        HoverEvent<?> hover = result.hoverEvent();
+        if (hover != null && hover.action() == HoverEvent.Action.SHOW_TEXT) {
+            Component text = (Component) hover.value();
+            Component resolvedText = walk(text, player, now, depth);
+            if (resolvedText != text) {
+                result = result.hoverEvent(HoverEvent.showText(resolvedText));
+            }
         }
         return result;
     }
 
-    // ---- Component resolver (style-preserving via TextReplacementConfig) ----
+    private static Component resolveText(TextComponent tc, List<Component> children,
+                                         @Nullable Player player, long now, int depth) {
+        PlaceholderTemplate template = PlaceholderTemplate.compile(tc.content());
+        PlaceholderTemplate.Segment[] segments = template.segments();
 
-    private static Component resolveInternal(Component component, @Nullable Player player, int depth) {
-        if (component == null) return Component.empty();
-        if (depth >= MAX_DEPTH) return component;
-
-        // 1) Temporarily replace "##" with a sentinel to protect escaped hashes
-        Component step1 = component.replaceText(TextReplacementConfig.builder()
-                .match(ESCAPED_HASH)
-                .replacement(HASH_SENTINEL)
-                .build());
-
-        // 2) Replace placeholder tokens "#...#" with resolved Components/Strings
-        Component step2 = step1.replaceText(TextReplacementConfig.builder()
-                .match(TOKEN_PATTERN)
-                .replacement((match, builder) -> {
-                    String token = match.group(1); // content without surrounding '#'
-                    PlaceholderValue resolved = resolveToken(token, player);
-                    if (resolved == null) {
-                        // unknown -> keep original literal token
-                        return Component.text("#" + token + "#");
-                    }
-                    if (resolved.componentValue() != null) {
-                        return resolved.componentValue();
-                    }
-                    if (resolved.stringValue() != null) {
-                        return Component.text(resolved.stringValue());
-                    }
-                    return Component.text("#" + token + "#");
-                })
-                .build());
-
-        // 3) Restore sentinel back to "#" (literal hash)
-        Component step3 = step2.replaceText(TextReplacementConfig.builder()
-                .match(Pattern.quote(HASH_SENTINEL))
-                .replacement("#")
-                .build());
-
-        // 4) Optional recursive pass if placeholders remain
-        if (depth + 1 < MAX_DEPTH && containsUnescapedHash(PlainTextComponentSerializer.plainText().serialize(step3))) {
-            return resolveInternal(step3, player, depth + 1);
+        if (!template.hasTokens()) {
+            // escapes ("##") only
+            String text = ((PlaceholderTemplate.Literal) segments[0]).text();
+            if (text.equals(tc.content()) && children == tc.children()) return tc;
+            return tc.content(text).children(children);
         }
-        return step3;
-    }
 
-    private static boolean containsUnescapedHash(String s) {
-        if (s == null || s.isEmpty()) return false;
-        for (int i = 0; i < s.length(); i++) {
-            if (s.charAt(i) == '#') {
-                if (i + 1 < s.length() && s.charAt(i + 1) == '#') {
-                    i++; // skip escaped '##'
-                } else {
-                    return true;
-                }
+        // leading literal stays the node content, the rest becomes children in front of the existing ones
+        int start = 0;
+        String content = "";
+        if (segments[0] instanceof PlaceholderTemplate.Literal first) {
+            content = first.text();
+            start = 1;
+        }
+        List<Component> parts = new ArrayList<>(segments.length - start + children.size());
+        for (int i = start; i < segments.length; i++) {
+            PlaceholderTemplate.Segment seg = segments[i];
+            if (seg instanceof PlaceholderTemplate.Literal lit) {
+                parts.add(Component.text(lit.text()));
+            } else {
+                parts.add(resolveTokenComponent((PlaceholderTemplate.Token) seg, player, now, depth));
             }
         }
-        return false;
+        parts.addAll(children);
+        return tc.content(content).children(parts);
     }
 
-    private static int findClosingHash(String s, int start) {
-        int i = start;
-        while (i < s.length()) {
-            char c = s.charAt(i);
-            if (c == '#') {
-                // if this is an escaped '##', skip one and continue
-                if (i + 1 < s.length() && s.charAt(i + 1) == '#') {
-                    i += 2;
-                    continue;
-                }
-                return i;
+    private static Component resolveTokenComponent(PlaceholderTemplate.Token token, @Nullable Player player,
+                                                   long now, int depth) {
+        PlaceholderValue val = resolveTokenValue(token, player, now);
+        if (val != null && val.componentValue() != null) {
+            return walk(val.componentValue(), player, now, depth + 1);
+        }
+        if (val != null && val.stringValue() != null) {
+            String s = val.stringValue();
+            if (depth + 1 < MAX_DEPTH && s.indexOf('#') >= 0) {
+                s = PlaceholderTemplate.parse(s).render(player, now, depth + 1);
             }
-            i++;
+            return Component.text(s);
         }
-        return -1;
+        // unknown -> keep original literal token
+        return Component.text(token.literal());
+    }
+
+    static @Nullable PlaceholderValue resolveTokenValue(PlaceholderTemplate.Token token, @Nullable Player player, long now) {
+        NexusPlaceholderRegistry.Registration reg = token.registration();
+        if (reg == null) return null;
+        return resolveValue(reg, token.namespace, token.key, player, now);
     }
 
-    private static @Nullable String resolveTokenToString(String token, @Nullable Player player) {
-        PlaceholderValue val = resolveToken(token, player);
+    static @Nullable String resolveTokenToString(PlaceholderTemplate.Token token, @Nullable Player player, long now) {
+        return valueToString(resolveTokenValue(token, player, now));
+    }
+
+    static @Nullable String valueToString(@Nullable PlaceholderValue val) {
         if (val == null) return null;
         if (val.stringValue() != null) return val.stringValue();
         if (val.componentValue() != null) {
@@ -231,26 +328,35 @@ public final class NexusPlaceholders {
         return null;
     }
 
-    private static @Nullable PlaceholderValue resolveToken(String token, @Nullable Player player) {
-        if (token == null || token.isEmpty()) return null;
-        String t = token.toLowerCase(Locale.ROOT).trim();
-        int idx = t.indexOf(':');
-        if (idx <= 0) return null; // missing namespace
-        String namespace = t.substring(0, idx).trim();
-        String key = t.substring(idx + 1).trim();
-        if (namespace.isEmpty() || key.isEmpty()) return null;
-
-        var regOpt = NexusPlaceholderRegistry.getRegistration(namespace);
-        if (regOpt.isEmpty()) return null;
-        var reg = regOpt.get();
-
-        long now = System.currentTimeMillis();
+    /**
+     * Cache probe, then {@link #computeValue} on a miss, for one (already lower-cased) key.
+     */
+    static @Nullable PlaceholderValue resolveValue(NexusPlaceholderRegistry.Registration reg,
+                                                   String namespace, String key,
+                                                   @Nullable Player player, long now) {
         var cachedVal = NexusPlaceholderRegistry.getCached(namespace, key, player == null ? null : player.getUniqueId(), now);
         if (cachedVal != null) {
             return cachedVal;
         }
+        return computeValue(reg, namespace, key, player, now);
+    }
 
+    /**
+     * Provider call, fallback and cache store without a cache probe.
+     */
+    static @Nullable PlaceholderValue computeValue(NexusPlaceholderRegistry.Registration reg,
+                                                   String namespace, String key,
+                                                   @Nullable Player player, long now) {
         PlaceholderValue val = (player == null) ? reg.provider().resolve(key) : reg.provider().resolve(player, key);
+        return storeValue(reg, namespace, key, player, val, now);
+    }
+
+    /**
+     * Applies the fallback to an unresolved value and stores a resolved one according to the cache policy.
+     */
+    static @Nullable PlaceholderValue storeValue(NexusPlaceholderRegistry.Registration reg,
+                                                 String namespace, String key,
+                                                 @Nullable Player player, @Nullable PlaceholderValue val, long now) {
         if (val == null) {
             String fb = reg.provider().fallback(player, key);
             if (fb != null) {
@@ -259,14 +365,8 @@ public final class NexusPlaceholders {
             return null;
         }
 
-        // Determine TTL and cacheability
-        boolean cacheable = val.cacheable() && !reg.cachePolicy().isNonCacheable(key) && reg.provider().isCacheable(key);
-        long ttl = Optional.ofNullable(val.ttlMillisOverride())
-                .or(() -> Optional.ofNullable(reg.provider().ttlMillis(key)))
-                .or(() -> Optional.ofNullable(reg.cachePolicy().perKeyTtlMillis(key)))
-                .orElse(reg.cachePolicy().defaultTtlMillis());
-
-        if (cacheable && ttl > 0) {
+        long ttl = cacheTtl(reg, key, val);
+        if (ttl > 0) {
             NexusPlaceholderRegistry.putCached(namespace, key, player == null ? null : player.getUniqueId(),
                     val.stringValue(), val.componentValue(), ttl, now);
         }
@@ -274,19 +374,15 @@ public final class NexusPlaceholders {
         return val;
     }
 
-    private static String unescapeHashes(String s) {
-        if (s == null || s.isEmpty()) return s;
-        StringBuilder out = new StringBuilder(s.length());
-        int i = 0;
-        while (i < s.length()) {
-            if (s.charAt(i) == '#' && i + 1 < s.length() && s.charAt(i + 1) == '#') {
-                out.append('#');
-                i += 2;
-            } else {
-                out.append(s.charAt(i));
-                i++;
-            }
-        }
-        return out.toString();
+    /**
+     * TTL a resolved value is cached with according to value, provider and cache policy; {@code 0} if not cacheable.
+     */
+    static long cacheTtl(NexusPlaceholderRegistry.Registration reg, String key, PlaceholderValue val) {
+        boolean cacheable = val.cacheable() && !reg.cachePolicy().isNonCacheable(key) && reg.provider().isCacheable(key);
+        if (!cacheable) return 0L;
+        return Optional.ofNullable(val.ttlMillisOverride())
+                .or(() -> Optional.ofNullable(reg.provider().ttlMillis(key)))
+                .or(() -> Optional.ofNullable(reg.cachePolicy().perKeyTtlMillis(key)))
+                .orElse(reg.cachePolicy().defaultTtlMillis());
     }
-}
\ No newline at end of file
+}
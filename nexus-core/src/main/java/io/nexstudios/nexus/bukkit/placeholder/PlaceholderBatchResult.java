@@ -0,0 +1,67 @@
+package io.nexstudios.nexus.bukkit.placeholder;
+
+import org.bukkit.entity.Player;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Result of {@link NexusPlaceholders#resolveAll}.
+ *
+ * Rendered lines are stored in one flat array, player-major:
+ * the line of template {@code t} for player {@code p} sits at {@code p * templateCount + t}.
+ *
+ * Instances are immutable and thread-safe.
+ */
+public final class PlaceholderBatchResult {
+
+    private final List<Player> players;
+    private final List<PlaceholderTemplate> templates;
+    private final String[] lines;
+
+    PlaceholderBatchResult(List<Player> players, List<PlaceholderTemplate> templates, String[] lines) {
+        this.players = players;
+        this.templates = templates;
+        this.lines = lines;
+    }
+
+    /**
+     * Players in batch order.
+     */
+    public List<Player> players() {
+        return players;
+    }
+
+    /**
+     * Templates in batch order.
+     */
+    public List<PlaceholderTemplate> templates() {
+        return templates;
+    }
+
+    public int playerCount() {
+        return players.size();
+    }
+
+    public int templateCount() {
+        return templates.size();
+    }
+
+    /**
+     * @param playerIndex   index into {@link #players()}
+     * @param templateIndex index into {@link #templates()}
+     * @return the rendered line
+     */
+    public String get(int playerIndex, int templateIndex) {
+        return lines[playerIndex * templates.size() + templateIndex];
+    }
+
+    /**
+     * @return all rendered lines of one player, in template order
+     */
+    public List<String> linesOf(int playerIndex) {
+        int from = playerIndex * templates.size();
+        return Collections.unmodifiableList(Arrays.asList(lines).subList(from, from + templates.size()));
+    }
+}
@@ -0,0 +1,211 @@
+package io.nexstudios.nexus.bukkit.placeholder;
+
+import net.kyori.adventure.text.Component;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+
+/**
+ * Size-bounded value cache behind {@link NexusPlaceholderRegistry}.
+ *
+ * Features:
+ * - Secondary indexes per namespace and per player, so namespace/key invalidation,
+ *   provider unregistration and player quits only touch their own entries.
+ * - Expired entries are removed on read and by {@link #sweep(long)}.
+ * - When {@code maxEntries} is exceeded, expired entries are dropped first, then the
+ *   entries closest to expiry, down to 90% of the limit.
+ * - Optional refresh-ahead: a read of an entry in the last quarter of its TTL hands the
+ *   entry to a refresher (once), while the read still returns the current value. The
+ *   refreshed value only replaces that same entry (see {@link #replace}), so a refresh
+ *   never brings back a value that was invalidated while it was running.
+ *
+ * Thread-safe.
+ */
+final class PlaceholderCache {
+
+    record CacheKey(String namespace, String key, @Nullable UUID playerId) {}
+
+    static final class CacheEntry {
+        final @Nullable String stringValue;
+        final @Nullable Component componentValue;
+        final long createdAtMillis;
+        final long expiresAtMillis;
+        final AtomicBoolean refreshing = new AtomicBoolean(false);
+
+        CacheEntry(@Nullable String stringValue, @Nullable Component componentValue, long createdAtMillis, long expiresAtMillis) {
+            this.stringValue = stringValue;
+            this.componentValue = componentValue;
+            this.createdAtMillis = createdAtMillis;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        boolean isExpired(long now) {
+            return expiresAtMillis < now;
+        }
+
+        boolean inRefreshWindow(long now) {
+            long ttl = expiresAtMillis - createdAtMillis;
+            return now >= expiresAtMillis - ttl / 4;
+        }
+    }
+
+    private final Map<CacheKey, CacheEntry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Set<CacheKey>> byNamespace = new ConcurrentHashMap<>();
+    private final Map<UUID, Set<CacheKey>> byPlayer = new ConcurrentHashMap<>();
+
+    private volatile int maxEntries;
+    private volatile @Nullable BiConsumer<CacheKey, CacheEntry> refresher;
+
+    PlaceholderCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * @param refresher called (at most once per entry) with the key and the entry to refresh for hot entries
+     *                  close to expiry; null disables refresh-ahead
+     */
+    void setRefresher(@Nullable BiConsumer<CacheKey, CacheEntry> refresher) {
+        this.refresher = refresher;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    @Nullable CacheEntry get(CacheKey ck, long now) {
+        CacheEntry e = entries.get(ck);
+        if (e == null) return null;
+        if (e.isExpired(now)) {
+            remove(ck, e);
+            return null;
+        }
+        BiConsumer<CacheKey, CacheEntry> r = refresher;
+        if (r != null && e.inRefreshWindow(now) && e.refreshing.compareAndSet(false, true)) {
+            r.accept(ck, e);
+        }
+        return e;
+    }
+
+    void put(CacheKey ck, CacheEntry e) {
+        if (entries.put(ck, e) == null) {
+            byNamespace.computeIfAbsent(ck.namespace(), __ -> ConcurrentHashMap.newKeySet()).add(ck);
+            if (ck.playerId() != null) {
+                byPlayer.computeIfAbsent(ck.playerId(), __ -> ConcurrentHashMap.newKeySet()).add(ck);
+            }
+            int max = maxEntries;
+            if (max > 0 && entries.size() > max) {
+                trim(e.createdAtMillis, max);
+            }
+        }
+    }
+
+    /**
+     * Replaces {@code expected} with {@code e}, but only if {@code expected} is still cached under {@code ck}.
+     * Fails if the entry was invalidated, evicted or overwritten in the meantime.
+     *
+     * @return true if the entry was replaced
+     */
+    boolean replace(CacheKey ck, CacheEntry expected, CacheEntry e) {
+        // same key, so the indexes stay as they are
+        return entries.replace(ck, expected, e);
+    }
+
+    void remove(CacheKey ck) {
+        if (entries.remove(ck) != null) {
+            unindex(ck);
+        }
+    }
+
+    private void remove(CacheKey ck, CacheEntry expected) {
+        if (entries.remove(ck, expected)) {
+            unindex(ck);
+        }
+    }
+
+    private void unindex(CacheKey ck) {
+        Set<CacheKey> ns = byNamespace.get(ck.namespace());
+        if (ns != null) ns.remove(ck);
+        if (ck.playerId() != null) {
+            Set<CacheKey> pk = byPlayer.get(ck.playerId());
+            if (pk != null) pk.remove(ck);
+        }
+    }
+
+    void removeNamespace(String namespace) {
+        Set<CacheKey> keys = byNamespace.remove(namespace);
+        if (keys == null) return;
+        for (CacheKey ck : keys) {
+            if (entries.remove(ck) != null && ck.playerId() != null) {
+                Set<CacheKey> pk = byPlayer.get(ck.playerId());
+                if (pk != null) pk.remove(ck);
+            }
+        }
+    }
+
+    void removeKey(String namespace, String key) {
+        Set<CacheKey> keys = byNamespace.get(namespace);
+        if (keys == null) return;
+        for (CacheKey ck : keys) {
+            if (ck.key().equals(key)) {
+                remove(ck);
+            }
+        }
+    }
+
+    void removePlayer(UUID playerId) {
+        Set<CacheKey> keys = byPlayer.remove(playerId);
+        if (keys == null) return;
+        for (CacheKey ck : keys) {
+            if (entries.remove(ck) != null) {
+                Set<CacheKey> ns = byNamespace.get(ck.namespace());
+                if (ns != null) ns.remove(ck);
+            }
+        }
+    }
+
+    /**
+     * Removes all expired entries and empty index buckets.
+     *
+     * @return number of removed entries
+     */
+    int sweep(long now) {
+        int removed = 0;
+        for (Iterator<Map.Entry<CacheKey, CacheEntry>> it = entries.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<CacheKey, CacheEntry> e = it.next();
+            if (e.getValue().isExpired(now)) {
+                it.remove();
+                unindex(e.getKey());
+                removed++;
+            }
+        }
+        byNamespace.values().removeIf(Set::isEmpty);
+        byPlayer.values().removeIf(Set::isEmpty);
+        return removed;
+    }
+
+    private synchronized void trim(long now, int max) {
+        if (entries.size() <= max) return;
+        sweep(now);
+        int target = max - max / 10;
+        int excess = entries.size() - target;
+        if (excess <= 0) return;
+
+        // entries closest to expiry are the cheapest to lose
+        entries.entrySet().stream()
+                .sorted(Map.Entry.comparingByValue((a, b) -> Long.compare(a.expiresAtMillis, b.expiresAtMillis)))
+                .limit(excess)
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(this::remove);
+    }
+}
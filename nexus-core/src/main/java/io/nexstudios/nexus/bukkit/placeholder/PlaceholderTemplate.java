@@ -0,0 +1,269 @@
+package io.nexstudios.nexus.bukkit.placeholder;
+
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pre-parsed placeholder string.
+ *
+ * A template is parsed once into literal and token segments; escapes ("##") are already
+ * folded into the literals and every token knows its lower-cased namespace and key plus
+ * the provider {@link NexusPlaceholderRegistry.Registration} it belongs to. Rendering only
+ * appends segments and asks the registry cache / provider for the token values.
+ *
+ * Templates obtained through {@link #compile(String)} are cached by source string,
+ * so lore, scoreboard and hologram lines are parsed only once.
+ *
+ * Semantics match {@link NexusPlaceholders}:
+ * - Unknown tokens are kept as literal "#ns:key#".
+ * - Resolved values may contain tokens themselves; they are resolved up to MAX_DEPTH levels.
+ *
+ * Instances are immutable and thread-safe.
+ */
+public final class PlaceholderTemplate {
+
+    static final int MAX_DEPTH = 3;
+
+    // Upper bound for the template cache; cleared on overflow so dynamic strings cannot flood it
+    private static final int MAX_CACHED_TEMPLATES = 4096;
+    private static final Map<String, PlaceholderTemplate> CACHE = new ConcurrentHashMap<>();
+
+    sealed interface Segment permits Literal, Token {
+    }
+
+    record Literal(String text) implements Segment {
+    }
+
+    static final class Token implements Segment {
+        final String raw;       // original token without surrounding '#'
+        final String namespace; // lower-case
+        final String key;       // lower-case
+
+        // Registration is resolved on first use and re-fetched after registry changes
+        private volatile NexusPlaceholderRegistry.Registration registration;
+        private volatile int registrationGeneration = -1;
+
+        Token(String raw, String namespace, String key) {
+            this.raw = raw;
+            this.namespace = namespace;
+            this.key = key;
+        }
+
+        @Nullable NexusPlaceholderRegistry.Registration registration() {
+            int gen = NexusPlaceholderRegistry.generation();
+            if (gen != registrationGeneration) {
+                registration = NexusPlaceholderRegistry.getRegistration(namespace).orElse(null);
+                registrationGeneration = gen;
+            }
+            return registration;
+        }
+
+        String literal() {
+            return "#" + raw + "#";
+        }
+    }
+
+    private final String source;
+    private final Segment[] segments;
+    private final int literalLength;
+
+    private PlaceholderTemplate(String source, Segment[] segments) {
+        this.source = source;
+        this.segments = segments;
+        int len = 0;
+        for (Segment s : segments) {
+            if (s instanceof Literal l) len += l.text().length();
+        }
+        this.literalLength = len;
+    }
+
+    /**
+     * Returns the (cached) compiled template for the given source string.
+     */
+    public static PlaceholderTemplate compile(String source) {
+        if (source == null) source = "";
+        PlaceholderTemplate cached = CACHE.get(source);
+        if (cached != null) {
+            return cached;
+        }
+        PlaceholderTemplate compiled = parse(source);
+        if (CACHE.size() >= MAX_CACHED_TEMPLATES) {
+            CACHE.clear();
+        }
+        CACHE.putIfAbsent(source, compiled);
+        return compiled;
+    }
+
+    /**
+     * Compiles without touching the template cache (for one-off, dynamic strings).
+     */
+    public static PlaceholderTemplate compileUncached(String source) {
+        return parse(source == null ? "" : source);
+    }
+
+    public String source() {
+        return source;
+    }
+
+    /**
+     * @return {@code true} if the template contains at least one placeholder token
+     */
+    public boolean hasTokens() {
+        for (Segment s : segments) {
+            if (s instanceof Token) return true;
+        }
+        return false;
+    }
+
+    Segment[] segments() {
+        return segments;
+    }
+
+    /**
+     * Renders the template without player context.
+     */
+    public String render() {
+        return render(null);
+    }
+
+    /**
+     * Renders the template for the given player (may be null).
+     */
+    public String render(@Nullable Player player) {
+        return render(player, System.currentTimeMillis(), 0);
+    }
+
+    String render(@Nullable Player player, long now, int depth) {
+        if (segments.length == 1 && segments[0] instanceof Literal l) {
+            return l.text();
+        }
+        StringBuilder out = new StringBuilder(literalLength + 16 * segments.length);
+        for (Segment s : segments) {
+            if (s instanceof Literal l) {
+                out.append(l.text());
+            } else {
+                Token t = (Token) s;
+                String value = NexusPlaceholders.resolveTokenToString(t, player, now);
+                if (value == null) {
+                    out.append('#').append(t.raw).append('#');
+                } else if (depth + 1 < MAX_DEPTH && value.indexOf('#') >= 0) {
+                    // value contains placeholders itself -> resolve nested
+                    out.append(parse(value).render(player, now, depth + 1));
+                } else {
+                    out.append(value);
+                }
+            }
+        }
+        return out.toString();
+    }
+
+    /**
+     * Renders with pre-resolved token values (batch path).
+     *
+     * @param values        flat value array of the batch
+     * @param base          offset of this player's values
+     * @param slotBySegment value slot per segment, -1 for literals
+     */
+    String render(@Nullable Player player, long now, PlaceholderValue[] values, int base, int[] slotBySegment) {
+        if (segments.length == 1 && segments[0] instanceof Literal l) {
+            return l.text();
+        }
+        StringBuilder out = new StringBuilder(literalLength + 16 * segments.length);
+        for (int i = 0; i < segments.length; i++) {
+            Segment s = segments[i];
+            if (s instanceof Literal l) {
+                out.append(l.text());
+                continue;
+            }
+            Token t = (Token) s;
+            String value = NexusPlaceholders.valueToString(values[base + slotBySegment[i]]);
+            if (value == null) {
+                out.append('#').append(t.raw).append('#');
+            } else if (value.indexOf('#') >= 0) {
+                // value contains placeholders itself -> resolve nested
+                out.append(parse(value).render(player, now, 1));
+            } else {
+                out.append(value);
+            }
+        }
+        return out.toString();
+    }
+
+    // ---- Parser ----
+
+    static PlaceholderTemplate parse(String input) {
+        List<Segment> segments = new ArrayList<>();
+        StringBuilder literal = new StringBuilder(input.length());
+        int i = 0;
+        while (i < input.length()) {
+            char c = input.charAt(i);
+
+            // Escaped '#': "##" -> literal '#'
+            if (c == '#' && i + 1 < input.length() && input.charAt(i + 1) == '#') {
+                literal.append('#');
+                i += 2;
+                continue;
+            }
+
+            if (c == '#') {
+                int end = findClosingHash(input, i + 1);
+                if (end > i + 1) {
+                    String raw = input.substring(i + 1, end);
+                    Token token = toToken(raw);
+                    if (token != null) {
+                        if (!literal.isEmpty()) {
+                            segments.add(new Literal(literal.toString()));
+                            literal.setLength(0);
+                        }
+                        segments.add(token);
+                    } else {
+                        // not a valid token (e.g. missing namespace) -> keep as text
+                        literal.append('#').append(raw).append('#');
+                    }
+                    i = end + 1;
+                    continue;
+                }
+            }
+
+            literal.append(c);
+            i++;
+        }
+        if (!literal.isEmpty() || segments.isEmpty()) {
+            segments.add(new Literal(literal.toString()));
+        }
+        return new PlaceholderTemplate(input, segments.toArray(new Segment[0]));
+    }
+
+    private static @Nullable Token toToken(String raw) {
+        String t = raw.toLowerCase(Locale.ROOT).trim();
+        int idx = t.indexOf(':');
+        if (idx <= 0) return null; // missing namespace
+        String namespace = t.substring(0, idx).trim();
+        String key = t.substring(idx + 1).trim();
+        if (namespace.isEmpty() || key.isEmpty()) return null;
+        return new Token(raw, namespace, key);
+    }
+
+    static int findClosingHash(String s, int start) {
+        int i = start;
+        while (i < s.length()) {
+            char c = s.charAt(i);
+            if (c == '#') {
+                // if this is an escaped '##', skip one and continue
+                if (i + 1 < s.length() && s.charAt(i + 1) == '#') {
+                    i += 2;
+                    continue;
+                }
+                return i;
+            }
+            i++;
+        }
+        return -1;
+    }
+}
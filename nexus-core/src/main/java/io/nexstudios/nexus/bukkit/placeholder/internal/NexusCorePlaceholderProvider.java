@@ -1,6 +1,7 @@
 package io.nexstudios.nexus.bukkit.placeholder.internal;
 
 import io.nexstudios.nexus.bukkit.NexusPlugin;
+import io.nexstudios.nexus.bukkit.levels.LevelLeaderboard;
 import io.nexstudios.nexus.bukkit.levels.LevelProgress;
 import io.nexstudios.nexus.bukkit.levels.LevelRewardConfig;
 import io.nexstudios.nexus.bukkit.levels.LevelRewardRegistry;
@@ -10,6 +11,7 @@ import io.nexstudios.nexus.bukkit.placeholder.NexPlaceholderProvider;
 import io.nexstudios.nexus.bukkit.placeholder.PlaceholderValue;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.Nullable;
 
@@ -24,6 +26,8 @@ import java.util.*;
  *     <li><b>level_{namespace}_{key}_current_level</b></li>
  *     <li><b>level_{namespace}_{key}_current_exp</b></li>
  *     <li><b>level_{namespace}_{key}_required_exp</b></li>
+ *     <li><b>leaderboard_{namespace}_{key}_rank</b> – rank of the player, "-" if unranked</li>
+ *     <li><b>leaderboard_{namespace}_{key}_{n}_name|xp|level</b> – entry at rank n (also without player)</li>
  * </ul>
  *
  * Notes on key format:
@@ -53,6 +57,11 @@ public final class NexusCorePlaceholderProvider implements NexPlaceholderProvide
             return null;
         }
 
+        // Leaderboard entries by rank work without a player.
+        if (isLeaderboardKey(norm)) {
+            return resolveLeaderboardPlaceholder(null, norm);
+        }
+
         return null;
     }
 
@@ -66,6 +75,10 @@ public final class NexusCorePlaceholderProvider implements NexPlaceholderProvide
             return PlaceholderValue.of(plain, display).cacheable(true);
         }
 
+        if (isLeaderboardKey(norm)) {
+            return resolveLeaderboardPlaceholder(player, norm);
+        }
+
         if (!isLevelKey(norm)) {
             return null;
         }
@@ -95,7 +108,11 @@ public final class NexusCorePlaceholderProvider implements NexPlaceholderProvide
                 KEY_PLAYERNAME,
                 "level_*_*_current_level",
                 "level_*_*_current_exp",
-                "level_*_*_required_exp"
+                "level_*_*_required_exp",
+                "leaderboard_*_*_rank",
+                "leaderboard_*_*_*_name",
+                "leaderboard_*_*_*_xp",
+                "leaderboard_*_*_*_level"
         );
     }
 
@@ -112,6 +129,72 @@ public final class NexusCorePlaceholderProvider implements NexPlaceholderProvide
         return normKey.startsWith("level_");
     }
 
+    private boolean isLeaderboardKey(String normKey) {
+        return normKey.startsWith("leaderboard_");
+    }
+
+    private @Nullable PlaceholderValue resolveLeaderboardPlaceholder(@Nullable Player player, String normKey) {
+        // Expected pattern after normalize():
+        // leaderboard_{namespace}_{key}_rank
+        // leaderboard_{namespace}_{key}_{n}_name|xp|level
+
+        String[] parts = normKey.split("_");
+        if (parts.length != 4 && parts.length != 5) {
+            return null;
+        }
+
+        String namespace = parts[1];
+        String levelKey = parts[2];
+
+        LevelService levels = NexusPlugin.getInstance().getLevelService();
+        if (levels == null) {
+            return null;
+        }
+
+        LevelLeaderboard board;
+        try {
+            board = levels.getLeaderboard(namespace, levelKey);
+        } catch (IllegalStateException unknownType) {
+            return null;
+        }
+
+        if (parts.length == 4) {
+            if (!"rank".equals(parts[3]) || player == null) return null;
+            int rank = board.rankOf(player.getUniqueId());
+            return PlaceholderValue.ofString(rank > 0 ? String.valueOf(rank) : "-").cacheable(false);
+        }
+
+        int rank;
+        try {
+            rank = Integer.parseInt(parts[3]);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+
+        LevelLeaderboard.Entry entry = board.atRank(rank);
+        String field = parts[4];
+        if (entry == null) {
+            // rank not taken (yet)
+            return switch (field) {
+                case "name" -> PlaceholderValue.ofString("-").cacheable(false);
+                case "xp" -> PlaceholderValue.ofString(fmt(0.0d)).cacheable(false);
+                case "level" -> PlaceholderValue.ofString("0").cacheable(false);
+                default -> null;
+            };
+        }
+
+        return switch (field) {
+            case "name" -> {
+                String name = Bukkit.getOfflinePlayer(entry.playerId()).getName();
+                yield PlaceholderValue.ofString(name != null ? name : "-").cacheable(false);
+            }
+            case "xp" -> PlaceholderValue.ofString(fmt(entry.totalXp())).cacheable(false);
+            case "level" -> PlaceholderValue.ofString(
+                    String.valueOf(levels.getLevelForTotalXp(namespace, levelKey, entry.totalXp()))).cacheable(false);
+            default -> null;
+        };
+    }
+
     private @Nullable PlaceholderValue resolveLevelPlaceholder(Player player, String normKey) {
         // Expected pattern after normalize():
         // level_{namespace}_{key}_current_level
@@ -0,0 +1,357 @@
+package io.nexstudios.nexus.bukkit.redis;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Compact binary wire format.
+ *
+ * Layout:
+ * <pre>
+ * magic(1) version(1) type(str) origin(nullable str) count(varint) { key(str) tag(1) value }*
+ * str = varint byte length + UTF-8 bytes, nullable str = length + 1 (0 = null)
+ * </pre>
+ * Numbers, booleans, UUIDs ({@code 16 bytes}), {@link NexusRedisLocation}s and string lists are
+ * written as native typed values, so decoding needs no text parsing. Any other value is
+ * written as its {@code toString()}, like the JSON codec does.
+ * <p>
+ * The flattened "<key>.world", "<key>.x", ... entries next to a native location are not written;
+ * decoding restores them from the location, so readers of either form keep working.
+ */
+final class BinaryNexusRedisCodec implements NexusRedisCodec {
+
+    // JSON-Frames beginnen immer mit '{' (0x7B), daher kollidiert das Magic-Byte nicht
+    static final byte MAGIC = (byte) 0xB7;
+    static final byte VERSION = 1;
+
+    private static final byte T_NULL = 0;
+    private static final byte T_STRING = 1;
+    private static final byte T_INT = 2;
+    private static final byte T_LONG = 3;
+    private static final byte T_DOUBLE = 4;
+    private static final byte T_FLOAT = 5;
+    private static final byte T_TRUE = 6;
+    private static final byte T_FALSE = 7;
+    private static final byte T_UUID = 8;
+    private static final byte T_LOCATION = 9;
+    private static final byte T_STRING_LIST = 10;
+
+    @Override
+    public String name() {
+        return "binary";
+    }
+
+    @Override
+    public boolean accepts(byte[] frame) {
+        return frame != null && frame.length >= 2 && frame[0] == MAGIC;
+    }
+
+    @Override
+    public byte[] encode(NexusRedisMessage message) {
+        Writer w = new Writer(64 + message.getPayload().size() * 24);
+        w.u8(MAGIC);
+        w.u8(VERSION);
+        w.str(message.getType());
+        w.nullableStr(message.getOrigin());
+        Map<String, Object> payload = message.getPayload();
+        Set<String> flattened = flattenedLocationKeys(payload);
+        w.varint(payload.size() - flattened.size());
+        for (Map.Entry<String, Object> e : payload.entrySet()) {
+            if (flattened.contains(e.getKey())) continue;
+            w.str(e.getKey());
+            writeValue(w, e.getValue());
+        }
+        return w.toByteArray();
+    }
+
+    // flache Einträge, die beim Dekodieren aus einer nativen Location wiederhergestellt werden
+    private static Set<String> flattenedLocationKeys(Map<String, Object> payload) {
+        Set<String> keys = null;
+        for (Map.Entry<String, Object> e : payload.entrySet()) {
+            if (!(e.getValue() instanceof NexusRedisLocation)) continue;
+            for (String suffix : NexusRedisLocation.FLAT_SUFFIXES) {
+                String flat = e.getKey() + suffix;
+                if (payload.containsKey(flat)) {
+                    if (keys == null) keys = new HashSet<>();
+                    keys.add(flat);
+                }
+            }
+        }
+        return keys == null ? Set.of() : keys;
+    }
+
+    private static void writeValue(Writer w, Object v) {
+        switch (v) {
+            case null -> w.u8(T_NULL);
+            case String s -> {
+                w.u8(T_STRING);
+                w.str(s);
+            }
+            case Integer i -> {
+                w.u8(T_INT);
+                w.varint(zigZag(i));
+            }
+            case Short sh -> {
+                w.u8(T_INT);
+                w.varint(zigZag(sh));
+            }
+            case Byte b -> {
+                w.u8(T_INT);
+                w.varint(zigZag(b));
+            }
+            case Long l -> {
+                w.u8(T_LONG);
+                w.i64(l);
+            }
+            case Float f -> {
+                w.u8(T_FLOAT);
+                w.i32(Float.floatToRawIntBits(f));
+            }
+            case Double d -> {
+                w.u8(T_DOUBLE);
+                w.i64(Double.doubleToRawLongBits(d));
+            }
+            case Boolean b -> w.u8(b ? T_TRUE : T_FALSE);
+            case UUID u -> {
+                w.u8(T_UUID);
+                w.i64(u.getMostSignificantBits());
+                w.i64(u.getLeastSignificantBits());
+            }
+            case NexusRedisLocation loc -> {
+                w.u8(T_LOCATION);
+                w.str(loc.world());
+                w.i64(Double.doubleToRawLongBits(loc.x()));
+                w.i64(Double.doubleToRawLongBits(loc.y()));
+                w.i64(Double.doubleToRawLongBits(loc.z()));
+                w.i32(Float.floatToRawIntBits(loc.yaw()));
+                w.i32(Float.floatToRawIntBits(loc.pitch()));
+            }
+            case List<?> list when isStringList(list) -> {
+                w.u8(T_STRING_LIST);
+                w.varint(list.size());
+                for (Object o : list) {
+                    w.nullableStr((String) o);
+                }
+            }
+            case Number n -> {
+                // BigDecimal, AtomicLong, ... -> wie bisher als double
+                w.u8(T_DOUBLE);
+                w.i64(Double.doubleToRawLongBits(n.doubleValue()));
+            }
+            default -> {
+                w.u8(T_STRING);
+                w.str(String.valueOf(v));
+            }
+        }
+    }
+
+    private static boolean isStringList(List<?> list) {
+        for (Object o : list) {
+            if (o != null && !(o instanceof String)) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public NexusRedisMessage decode(byte[] frame) {
+        if (!accepts(frame)) {
+            throw new IllegalArgumentException("Not a binary NexusRedis frame");
+        }
+        try {
+            Reader r = new Reader(frame, 1);
+            int version = r.u8();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported binary frame version " + version);
+            }
+            String type = r.str();
+            String origin = r.nullableStr();
+            int count = r.varint();
+            Map<String, Object> payload = HashMap.newHashMap(count);
+            List<String> locationKeys = null;
+            for (int i = 0; i < count; i++) {
+                String key = r.str();
+                Object value = readValue(r);
+                payload.put(key, value);
+                if (value instanceof NexusRedisLocation) {
+                    if (locationKeys == null) locationKeys = new ArrayList<>(1);
+                    locationKeys.add(key);
+                }
+            }
+            if (locationKeys != null) {
+                for (String key : locationKeys) {
+                    ((NexusRedisLocation) payload.get(key)).putFlattened(key, payload);
+                }
+            }
+            return new NexusRedisMessage(type, origin, payload);
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Truncated binary frame", e);
+        }
+    }
+
+    private static Object readValue(Reader r) {
+        byte tag = (byte) r.u8();
+        return switch (tag) {
+            case T_NULL -> null;
+            case T_STRING -> r.str();
+            case T_INT -> unZigZag(r.varint());
+            case T_LONG -> r.i64();
+            case T_DOUBLE -> Double.longBitsToDouble(r.i64());
+            case T_FLOAT -> Float.intBitsToFloat(r.i32());
+            case T_TRUE -> Boolean.TRUE;
+            case T_FALSE -> Boolean.FALSE;
+            case T_UUID -> new UUID(r.i64(), r.i64());
+            case T_LOCATION -> new NexusRedisLocation(r.str(),
+                    Double.longBitsToDouble(r.i64()),
+                    Double.longBitsToDouble(r.i64()),
+                    Double.longBitsToDouble(r.i64()),
+                    Float.intBitsToFloat(r.i32()),
+                    Float.intBitsToFloat(r.i32()));
+            case T_STRING_LIST -> {
+                int size = r.varint();
+                List<String> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(r.nullableStr());
+                }
+                yield Collections.unmodifiableList(list);
+            }
+            default -> throw new IllegalArgumentException("Unknown value tag " + tag);
+        };
+    }
+
+    private static int zigZag(int v) {
+        return (v << 1) ^ (v >> 31);
+    }
+
+    private static int unZigZag(int v) {
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    private static final class Writer {
+        private byte[] buf;
+        private int pos;
+
+        Writer(int capacity) {
+            this.buf = new byte[Math.max(16, capacity)];
+        }
+
+        private void ensure(int extra) {
+            if (pos + extra > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length << 1, pos + extra));
+            }
+        }
+
+        void u8(int v) {
+            ensure(1);
+            buf[pos++] = (byte) v;
+        }
+
+        void varint(int v) {
+            ensure(5);
+            while ((v & ~0x7F) != 0) {
+                buf[pos++] = (byte) ((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            buf[pos++] = (byte) v;
+        }
+
+        void i32(int v) {
+            ensure(4);
+            buf[pos++] = (byte) (v >>> 24);
+            buf[pos++] = (byte) (v >>> 16);
+            buf[pos++] = (byte) (v >>> 8);
+            buf[pos++] = (byte) v;
+        }
+
+        void i64(long v) {
+            i32((int) (v >>> 32));
+            i32((int) v);
+        }
+
+        void str(String s) {
+            byte[] b = s.getBytes(StandardCharsets.UTF_8);
+            varint(b.length);
+            ensure(b.length);
+            System.arraycopy(b, 0, buf, pos, b.length);
+            pos += b.length;
+        }
+
+        void nullableStr(String s) {
+            if (s == null) {
+                varint(0);
+                return;
+            }
+            byte[] b = s.getBytes(StandardCharsets.UTF_8);
+            varint(b.length + 1);
+            ensure(b.length);
+            System.arraycopy(b, 0, buf, pos, b.length);
+            pos += b.length;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buf, pos);
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] buf;
+        private int pos;
+
+        Reader(byte[] buf, int pos) {
+            this.buf = buf;
+            this.pos = pos;
+        }
+
+        int u8() {
+            return buf[pos++] & 0xFF;
+        }
+
+        int varint() {
+            int result = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                int b = buf[pos++];
+                result |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint");
+        }
+
+        int i32() {
+            return ((buf[pos++] & 0xFF) << 24)
+                    | ((buf[pos++] & 0xFF) << 16)
+                    | ((buf[pos++] & 0xFF) << 8)
+                    | (buf[pos++] & 0xFF);
+        }
+
+        long i64() {
+            return ((long) i32() << 32) | (i32() & 0xFFFFFFFFL);
+        }
+
+        String str() {
+            return bytes(varint());
+        }
+
+        String nullableStr() {
+            int len = varint();
+            return len == 0 ? null : bytes(len - 1);
+        }
+
+        private String bytes(int len) {
+            if (len < 0 || pos + len > buf.length) {
+                throw new IllegalArgumentException("String length out of bounds: " + len);
+            }
+            String s = new String(buf, pos, len, StandardCharsets.UTF_8);
+            pos += len;
+            return s;
+        }
+    }
+}
@@ -1,84 +1,240 @@
 package io.nexstudios.nexus.bukkit.redis;
 
 import io.nexstudios.nexus.bukkit.NexusPlugin;
+import redis.clients.jedis.BinaryJedisPubSub;
 import redis.clients.jedis.Jedis;
-import redis.clients.jedis.JedisPubSub;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisPoolConfig;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Simple Jedis-based implementation of {@link NexusRedisService}.
  *
  * Responsibilities:
- * - Manage a single shared Jedis connection for PUB (short-lived)
- *   and a dedicated SUB connection running on its own thread.
- * - Maintain in-memory subscriptions (UUID -> listener) and dispatch
- *   messages to them when Redis delivers a payload.
+ * - Publish through a {@link JedisPool}. Messages are queued and flushed by a
+ *   single publisher thread: everything that arrives within the flush window is
+ *   grouped per channel and sent as one pipeline on one pooled connection.
+ * - Run a dedicated SUB connection on its own thread. Channels and patterns are
+ *   (P)SUBSCRIBEd / (P)UNSUBSCRIBEd incrementally on that live connection, so
+ *   adding or removing a listener never drops the other subscriptions.
+ * - Maintain in-memory subscriptions (UUID -> listener) plus a channel/pattern
+ *   index, so an incoming message only reaches its own listeners without a scan.
+ *   Optionally every channel and every pattern gets its own serial dispatch lane
+ *   on a small pool, so slow listeners do not stall the socket.
  * - Perform network I/O off the Bukkit main thread.
  *
- * This implementation is intentionally minimal and can be extended
- * later with better JSON handling (Jackson/Gson), connection pooling,
- * authentication, etc.
+ * Publish latency (enqueue until PUBLISH reply) and queue depth are exposed via
+ * {@link #getPublishStats()}.
  */
 public class JedisNexusRedisService implements NexusRedisService, Closeable {
 
+    public static final class PublishConfig {
+        /**
+         * Maximum number of pooled connections (publisher + ping).
+         */
+        public int poolSize = 8;
+        /**
+         * Time to wait for further messages before a batch is sent; {@code 0} sends immediately.
+         */
+        public long flushWindowMillis = 2L;
+        /**
+         * Maximum number of messages per pipeline.
+         */
+        public int maxBatchSize = 256;
+        public int timeoutMillis = 2000;
+        /**
+         * Wire format of outgoing messages. Incoming messages are decoded with whatever
+         * codec produced them, so switch to "binary" once every server runs a version
+         * that understands it.
+         */
+        public NexusRedisCodec codec = NexusRedisCodecs.json();
+    }
+
+    public static final class SubscribeConfig {
+        /**
+         * Dispatch messages on a worker pool instead of the subscriber thread.
+         * Ordering per channel is kept (one serial lane per channel, pattern
+         * subscriptions share one lane per pattern).
+         */
+        public boolean asyncDispatch = false;
+        public int dispatchThreads = 2;
+    }
+
+    /**
+     * Snapshot of the publisher metrics.
+     *
+     * @param published        successfully published messages
+     * @param failed           messages whose future completed exceptionally
+     * @param batches          pipelines sent
+     * @param queueDepth       messages currently waiting to be sent
+     * @param avgLatencyMillis average time from {@code publish()} to the Redis reply
+     * @param maxLatencyMillis maximum time from {@code publish()} to the Redis reply
+     */
+    public record PublishStats(long published, long failed, long batches, int queueDepth,
+                               double avgLatencyMillis, double maxLatencyMillis) {
+    }
+
+    private record PendingPublish(String channel, NexusRedisMessage message,
+                                  CompletableFuture<Long> future, long enqueuedNanos) {
+    }
+
     private final NexusPlugin plugin;
     private final String host;
     private final int port;
     private final String password; // may be null/empty for no auth
     private final int database;    // usually 0 if you don't care
 
-    private final ExecutorService publishExecutor;
+    private final PublishConfig publishConfig;
+    private final JedisPool pool;
+    private final ScheduledExecutorService publishExecutor;
+    private final Queue<PendingPublish> publishQueue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
     private final AtomicBoolean running = new AtomicBoolean(false);
 
-    private Jedis subscriberJedis;
+    // Publish-Metriken
+    private final AtomicLong publishedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong batchCount = new AtomicLong();
+    private final AtomicLong latencyNanosTotal = new AtomicLong();
+    private final AtomicLong latencyNanosMax = new AtomicLong();
+
+    // Hält die Sub-Connection dauerhaft im Subscribe-Modus, auch ohne Listener
+    private static final String CONTROL_CHANNEL = "nexus:internal:control";
+    private static final byte[] CONTROL_CHANNEL_BYTES = CONTROL_CHANNEL.getBytes(StandardCharsets.UTF_8);
+
+    private final SubscribeConfig subscribeConfig;
+    private final ExecutorService dispatchExecutor; // null = Dispatch auf dem Subscriber-Thread
+    // Lanes pro Channel bzw. pro Pattern; Pattern-Nachrichten teilen sich die Lane ihres Patterns,
+    // sonst entstünde für jeden jemals gematchten Channel eine Lane, die nie wieder entfernt wird
+    private final ConcurrentMap<String, DispatchLane> dispatchLanes = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, DispatchLane> patternLanes = new ConcurrentHashMap<>();
+
+    private volatile Jedis subscriberJedis;
     private Thread subscriberThread;
     private final InternalPubSub pubSub;
 
-    // subscriptionId -> (channel, listener)
+    // subscriptionId -> (channel|pattern, listener)
     private final ConcurrentMap<UUID, Subscription> subscriptions = new ConcurrentHashMap<>();
+    // channel -> listeners bzw. pattern -> listeners, für O(1)-Dispatch
+    private final ConcurrentMap<String, List<Subscription>> channelIndex = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, List<Subscription>> patternIndex = new ConcurrentHashMap<>();
 
-    private static final class Subscription {
-        final String channel;
-        final NexusRedisListener listener;
+    // Auf der aktuellen Connection (P)SUBSCRIBEd; guarded by subscriptionLock
+    private final Set<String> activeChannels = new HashSet<>();
+    private final Set<String> activePatterns = new HashSet<>();
+    private boolean live;
+    private final Object subscriptionLock = new Object();
 
-        Subscription(String channel, NexusRedisListener listener) {
-            this.channel = channel;
-            this.listener = listener;
-        }
+    private record Subscription(String topic, boolean pattern, NexusRedisListener listener) {
     }
 
     /**
-     * Internal JedisPubSub that dispatches incoming messages
-     * to the registered NexusRedisListeners.
+     * Serial executor per channel: runs messages of one channel in order on the shared
+     * dispatch pool, without blocking other channels.
      */
-    private final class InternalPubSub extends JedisPubSub {
+    private final class DispatchLane implements Runnable {
+        private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+        void submit(Runnable task) {
+            queue.add(task);
+            if (scheduled.compareAndSet(false, true)) {
+                dispatchExecutor.execute(this);
+            }
+        }
 
         @Override
-        public void onMessage(String channel, String message) {
-            // Decode wire format into NexusRedisMessage and dispatch
-            NexusRedisMessage decoded;
-            try {
-                decoded = decodeMessage(message);
-            } catch (Exception e) {
-                NexusPlugin.nexusLogger.error("[NexusRedis] Failed to decode message on channel " + channel + ": " + e.getMessage());
-                return;
+        public void run() {
+            Runnable task;
+            while ((task = queue.poll()) != null) {
+                task.run();
+            }
+            scheduled.set(false);
+            // zwischen poll() und set(false) eingetroffene Tasks nicht liegen lassen
+            if (!queue.isEmpty() && scheduled.compareAndSet(false, true)) {
+                dispatchExecutor.execute(this);
             }
+        }
+    }
 
-            for (Subscription sub : subscriptions.values()) {
-                if (!sub.channel.equals(channel)) continue;
-                try {
-                    sub.listener.onMessage(channel, decoded);
-                } catch (Throwable t) {
-                    NexusPlugin.nexusLogger.error("[NexusRedis] Listener threw exception on channel " + channel + ": " + t.getMessage());
-                    t.printStackTrace();
+    /**
+     * Internal binary PubSub that dispatches incoming messages
+     * to the registered NexusRedisListeners. Frames are received as raw
+     * bytes, the codec is detected per frame (binary or legacy JSON).
+     */
+    private final class InternalPubSub extends BinaryJedisPubSub {
+
+        @Override
+        public void onSubscribe(byte[] rawChannel, int subscribedChannels) {
+            // Erstes SUBSCRIBE (Control-Channel) bestätigt -> Connection ist live, fehlende Topics nachziehen
+            if (Arrays.equals(rawChannel, CONTROL_CHANNEL_BYTES)) {
+                synchronized (subscriptionLock) {
+                    live = true;
+                    reconcileSubscriptions();
                 }
             }
         }
+
+        @Override
+        public void onMessage(byte[] rawChannel, byte[] message) {
+            String channel = new String(rawChannel, StandardCharsets.UTF_8);
+            dispatch(channel, dispatchLanes, channel, channelIndex.get(channel), message);
+        }
+
+        @Override
+        public void onPMessage(byte[] rawPattern, byte[] rawChannel, byte[] message) {
+            String channel = new String(rawChannel, StandardCharsets.UTF_8);
+            String pattern = new String(rawPattern, StandardCharsets.UTF_8);
+            dispatch(channel, patternLanes, pattern, patternIndex.get(pattern), message);
+        }
+    }
+
+    private void dispatch(String channel, ConcurrentMap<String, DispatchLane> lanes, String topic,
+                          List<Subscription> targets, byte[] message) {
+        if (targets == null || targets.isEmpty()) {
+            return;
+        }
+        // Decode wire format into NexusRedisMessage and dispatch (einmal pro Nachricht, nicht pro Listener)
+        NexusRedisMessage decoded;
+        try {
+            decoded = NexusRedisCodecs.detect(message).decode(message);
+        } catch (Exception e) {
+            NexusPlugin.nexusLogger.error("[NexusRedis] Failed to decode message on channel " + channel + ": " + e.getMessage());
+            return;
+        }
+
+        if (dispatchExecutor == null) {
+            deliver(channel, targets, decoded);
+            return;
+        }
+        try {
+            lanes.computeIfAbsent(topic, __ -> new DispatchLane())
+                    .submit(() -> deliver(channel, targets, decoded));
+        } catch (RejectedExecutionException e) {
+            // Shutdown läuft
+        }
+    }
+
+    private void deliver(String channel, List<Subscription> targets, NexusRedisMessage decoded) {
+        for (Subscription sub : targets) {
+            try {
+                sub.listener().onMessage(channel, decoded);
+            } catch (Throwable t) {
+                NexusPlugin.nexusLogger.error("[NexusRedis] Listener threw exception on channel " + channel + ": " + t.getMessage());
+                t.printStackTrace();
+            }
+        }
     }
 
     public JedisNexusRedisService(NexusPlugin plugin,
@@ -86,20 +242,45 @@ public class JedisNexusRedisService implements NexusRedisService, Closeable {
                                   int port,
                                   String password,
                                   int database) {
+        this(plugin, host, port, password, database, new PublishConfig(), new SubscribeConfig());
+    }
+
+    public JedisNexusRedisService(NexusPlugin plugin,
+                                  String host,
+                                  int port,
+                                  String password,
+                                  int database,
+                                  PublishConfig publishConfig,
+                                  SubscribeConfig subscribeConfig) {
         this.plugin = plugin;
         this.host = Objects.requireNonNull(host, "host");
         this.port = port;
         this.password = password;
         this.database = database;
-
-        this.publishExecutor = Executors.newFixedThreadPool(
-                Math.max(2, Runtime.getRuntime().availableProcessors()),
-                r -> {
-                    Thread t = new Thread(r, "NexusRedis-Publish");
+        this.publishConfig = Objects.requireNonNull(publishConfig, "publishConfig");
+        this.subscribeConfig = Objects.requireNonNull(subscribeConfig, "subscribeConfig");
+
+        JedisPoolConfig poolConfig = new JedisPoolConfig();
+        poolConfig.setMaxTotal(Math.max(1, publishConfig.poolSize));
+        poolConfig.setMaxIdle(Math.max(1, publishConfig.poolSize));
+        poolConfig.setMinIdle(1);
+        poolConfig.setTestWhileIdle(true);
+        // AUTH/SELECT passieren einmal pro gepoolter Connection, nicht mehr pro Nachricht
+        this.pool = new JedisPool(poolConfig, host, port, publishConfig.timeoutMillis,
+                (password == null || password.isEmpty()) ? null : password, database);
+
+        this.publishExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "NexusRedis-Publish");
+            t.setDaemon(true);
+            return t;
+        });
+        this.dispatchExecutor = subscribeConfig.asyncDispatch
+                ? Executors.newFixedThreadPool(Math.max(1, subscribeConfig.dispatchThreads), r -> {
+                    Thread t = new Thread(r, "NexusRedis-Dispatch");
                     t.setDaemon(true);
                     return t;
-                }
-        );
+                })
+                : null;
         this.pubSub = new InternalPubSub();
     }
 
@@ -129,19 +310,11 @@ public class JedisNexusRedisService implements NexusRedisService, Closeable {
 
                 this.subscriberJedis = jedis;
 
-                Set<String> channels = collectChannelsSnapshot();
-                if (channels.isEmpty()) {
-                    // No subscriptions yet; sleep a bit and retry
-                    try {
-                        Thread.sleep(1000L);
-                    } catch (InterruptedException ignored) {
-                    }
-                    continue;
-                }
-
-                String[] channelArray = channels.toArray(new String[0]);
-                NexusPlugin.nexusLogger.info("[NexusRedis] Subscribing to channels: " + channels);
-                jedis.subscribe(pubSub, channelArray);
+                // Nur der Control-Channel; alle anderen Topics werden nach dem Bestätigen
+                // inkrementell über reconcileSubscriptions() nachgezogen (siehe onSubscribe)
+                NexusPlugin.nexusLogger.info("[NexusRedis] Subscriber connected, restoring "
+                        + channelIndex.size() + " channels and " + patternIndex.size() + " patterns");
+                jedis.subscribe(pubSub, CONTROL_CHANNEL_BYTES);
 
             } catch (Exception e) {
                 if (!running.get()) {
@@ -154,14 +327,66 @@ public class JedisNexusRedisService implements NexusRedisService, Closeable {
                 }
             } finally {
                 this.subscriberJedis = null;
+                synchronized (subscriptionLock) {
+                    live = false;
+                    activeChannels.clear();
+                    activePatterns.clear();
+                }
             }
         }
     }
 
-    private Set<String> collectChannelsSnapshot() {
-        Set<String> out = new HashSet<>();
-        for (Subscription s : subscriptions.values()) {
-            out.add(s.channel);
+    /**
+     * Brings the live connection in line with the index: SUBSCRIBE/PSUBSCRIBE what is
+     * missing, UNSUBSCRIBE/PUNSUBSCRIBE what has no listeners left. Only the difference
+     * is sent, existing subscriptions are never interrupted.
+     * Must be called while holding {@code subscriptionLock}.
+     */
+    private void reconcileSubscriptions() {
+        if (!live) {
+            // Wird beim nächsten Connect vollständig nachgeholt
+            return;
+        }
+        try {
+            List<String> toSub = missing(channelIndex.keySet(), activeChannels);
+            List<String> toUnsub = missing(activeChannels, channelIndex.keySet());
+            List<String> toPSub = missing(patternIndex.keySet(), activePatterns);
+            List<String> toPUnsub = missing(activePatterns, patternIndex.keySet());
+
+            if (!toSub.isEmpty()) {
+                pubSub.subscribe(toBytes(toSub));
+                activeChannels.addAll(toSub);
+            }
+            if (!toUnsub.isEmpty()) {
+                pubSub.unsubscribe(toBytes(toUnsub));
+                toUnsub.forEach(activeChannels::remove);
+            }
+            if (!toPSub.isEmpty()) {
+                pubSub.psubscribe(toBytes(toPSub));
+                activePatterns.addAll(toPSub);
+            }
+            if (!toPUnsub.isEmpty()) {
+                pubSub.punsubscribe(toBytes(toPUnsub));
+                toPUnsub.forEach(activePatterns::remove);
+            }
+        } catch (Exception e) {
+            // Connection weg -> Subscriber-Loop verbindet neu und gleicht dann komplett ab
+            NexusPlugin.nexusLogger.warning("[NexusRedis] Failed to update subscriptions: " + e.getMessage());
+        }
+    }
+
+    private static List<String> missing(Set<String> wanted, Set<String> present) {
+        List<String> out = new ArrayList<>();
+        for (String s : wanted) {
+            if (!present.contains(s)) out.add(s);
+        }
+        return out;
+    }
+
+    private static byte[][] toBytes(List<String> topics) {
+        byte[][] out = new byte[topics.size()][];
+        for (int i = 0; i < out.length; i++) {
+            out[i] = topics.get(i).getBytes(StandardCharsets.UTF_8);
         }
         return out;
     }
@@ -177,72 +402,180 @@ public class JedisNexusRedisService implements NexusRedisService, Closeable {
             return future;
         }
 
-        publishExecutor.submit(() -> {
-            try (Jedis jedis = new Jedis(host, port)) {
-                if (password != null && !password.isEmpty()) {
-                    jedis.auth(password);
+        publishQueue.add(new PendingPublish(channel, message, future, System.nanoTime()));
+        queueDepth.incrementAndGet();
+        scheduleFlush(publishConfig.flushWindowMillis);
+        return future;
+    }
+
+    /**
+     * @return current publisher metrics
+     */
+    public PublishStats getPublishStats() {
+        long published = publishedCount.get();
+        long failed = failedCount.get();
+        long done = published + failed;
+        double avg = done == 0 ? 0.0d : latencyNanosTotal.get() / 1_000_000.0d / done;
+        return new PublishStats(published, failed, batchCount.get(), queueDepth.get(),
+                avg, latencyNanosMax.get() / 1_000_000.0d);
+    }
+
+    private void scheduleFlush(long delayMillis) {
+        // nur ein Flush gleichzeitig geplant; weitere Nachrichten landen im selben Batch
+        if (!flushScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            if (delayMillis <= 0) {
+                publishExecutor.execute(this::flushPublishQueue);
+            } else {
+                publishExecutor.schedule(this::flushPublishQueue, delayMillis, TimeUnit.MILLISECONDS);
+            }
+        } catch (RejectedExecutionException e) {
+            flushScheduled.set(false);
+            failPending(new IllegalStateException("NexusRedisService is not running"));
+        }
+    }
+
+    private void flushPublishQueue() {
+        flushScheduled.set(false);
+        try {
+            int max = Math.max(1, publishConfig.maxBatchSize);
+            while (true) {
+                // nach Channel gruppiert, Reihenfolge innerhalb eines Channels bleibt erhalten
+                Map<String, List<PendingPublish>> byChannel = new LinkedHashMap<>();
+                int drained = 0;
+                PendingPublish next;
+                while (drained < max && (next = publishQueue.poll()) != null) {
+                    byChannel.computeIfAbsent(next.channel(), __ -> new ArrayList<>()).add(next);
+                    drained++;
                 }
-                if (database != 0) {
-                    jedis.select(database);
+                if (drained == 0) {
+                    return;
+                }
+                queueDepth.addAndGet(-drained);
+                sendBatch(byChannel, drained);
+                if (drained < max) {
+                    return;
+                }
+            }
+        } finally {
+            // Nachrichten, die während des Sendens eingetroffen sind, nicht liegen lassen
+            if (!publishQueue.isEmpty()) {
+                scheduleFlush(0L);
+            }
+        }
+    }
+
+    private void sendBatch(Map<String, List<PendingPublish>> byChannel, int size) {
+        List<PendingPublish> sent = new ArrayList<>(size);
+        List<Response<Long>> replies = new ArrayList<>(size);
+        try (Jedis jedis = pool.getResource()) {
+            Pipeline pipeline = jedis.pipelined();
+            NexusRedisCodec codec = publishConfig.codec;
+            for (Map.Entry<String, List<PendingPublish>> e : byChannel.entrySet()) {
+                byte[] channel = e.getKey().getBytes(StandardCharsets.UTF_8);
+                for (PendingPublish p : e.getValue()) {
+                    byte[] payload;
+                    try {
+                        payload = codec.encode(p.message());
+                    } catch (Exception ex) {
+                        complete(p, null, ex);
+                        continue;
+                    }
+                    sent.add(p);
+                    replies.add(pipeline.publish(channel, payload));
                 }
+            }
+            pipeline.sync();
+            batchCount.incrementAndGet();
+        } catch (Exception e) {
+            NexusPlugin.nexusLogger.error("[NexusRedis] Failed to publish batch of " + sent.size() + " messages: " + e.getMessage());
+            for (PendingPublish p : sent) {
+                complete(p, null, e);
+            }
+            return;
+        }
 
-                String payload = encodeMessage(message);
-                Long receivers = jedis.publish(channel, payload);
-                future.complete(receivers);
+        for (int i = 0; i < sent.size(); i++) {
+            try {
+                complete(sent.get(i), replies.get(i).get(), null);
             } catch (Exception e) {
-                future.completeExceptionally(e);
+                complete(sent.get(i), null, e);
             }
-        });
+        }
+    }
 
-        return future;
+    private void complete(PendingPublish p, Long receivers, Throwable error) {
+        long latency = System.nanoTime() - p.enqueuedNanos();
+        latencyNanosTotal.addAndGet(latency);
+        latencyNanosMax.accumulateAndGet(latency, Math::max);
+        if (error == null) {
+            publishedCount.incrementAndGet();
+            p.future().complete(receivers);
+        } else {
+            failedCount.incrementAndGet();
+            p.future().completeExceptionally(error);
+        }
+    }
+
+    private void failPending(Throwable error) {
+        PendingPublish p;
+        while ((p = publishQueue.poll()) != null) {
+            queueDepth.decrementAndGet();
+            complete(p, null, error);
+        }
     }
 
     @Override
     public UUID subscribe(String channel, NexusRedisListener listener) {
         Objects.requireNonNull(channel, "channel");
         Objects.requireNonNull(listener, "listener");
+        return addSubscription(new Subscription(channel, false, listener));
+    }
 
-        UUID id = UUID.randomUUID();
-        subscriptions.put(id, new Subscription(channel, listener));
+    @Override
+    public UUID subscribePattern(String pattern, NexusRedisListener listener) {
+        Objects.requireNonNull(pattern, "pattern");
+        Objects.requireNonNull(listener, "listener");
+        return addSubscription(new Subscription(pattern, true, listener));
+    }
 
-        // If subscriber is already running, we need to resubscribe with the new channel set.
-        // Simplest approach: unsubscribe all and let the loop restart.
-        Jedis sj = this.subscriberJedis;
-        if (sj != null) {
-            try {
-                // WICHTIG: unsubscriben macht man auf dem JedisPubSub, nicht auf dem Jedis.
-                pubSub.unsubscribe();
-            } catch (Exception ignored) {
-            }
+    private UUID addSubscription(Subscription sub) {
+        UUID id = UUID.randomUUID();
+        ConcurrentMap<String, List<Subscription>> index = sub.pattern() ? patternIndex : channelIndex;
+        synchronized (subscriptionLock) {
+            subscriptions.put(id, sub);
+            // Copy-on-write, damit der Dispatch ohne Lock über die Liste laufen kann
+            index.computeIfAbsent(sub.topic(), __ -> new CopyOnWriteArrayList<>()).add(sub);
+            reconcileSubscriptions();
         }
-
         return id;
     }
 
     @Override
     public void unsubscribe(UUID subscriptionId) {
         if (subscriptionId == null) return;
-        subscriptions.remove(subscriptionId);
-        Jedis sj = this.subscriberJedis;
-        if (sj != null) {
-            try {
-                // ebenfalls: auf dem PubSub unsubscriben, damit subscribe() im Loop zurückkehrt
-                pubSub.unsubscribe();
-            } catch (Exception ignored) {
+        synchronized (subscriptionLock) {
+            Subscription sub = subscriptions.remove(subscriptionId);
+            if (sub == null) return;
+            ConcurrentMap<String, List<Subscription>> index = sub.pattern() ? patternIndex : channelIndex;
+            List<Subscription> list = index.get(sub.topic());
+            if (list != null) {
+                list.remove(sub);
+                if (list.isEmpty()) {
+                    index.remove(sub.topic());
+                    (sub.pattern() ? patternLanes : dispatchLanes).remove(sub.topic());
+                }
             }
+            reconcileSubscriptions();
         }
     }
 
     @Override
     public boolean isConnected() {
         if (!running.get()) return false;
-        try (Jedis jedis = new Jedis(host, port)) {
-            if (password != null && !password.isEmpty()) {
-                jedis.auth(password);
-            }
-            if (database != 0) {
-                jedis.select(database);
-            }
+        try (Jedis jedis = pool.getResource()) {
             String pong = jedis.ping();
             return "PONG".equalsIgnoreCase(pong);
         } catch (Exception e) {
@@ -256,10 +589,24 @@ public class JedisNexusRedisService implements NexusRedisService, Closeable {
             return;
         }
 
-        // stop new publishes
+        // stop new publishes, noch wartende Nachrichten werden vom letzten Flush mitgenommen
+        publishExecutor.execute(this::flushPublishQueue);
         publishExecutor.shutdown();
+        try {
+            if (!publishExecutor.awaitTermination(publishConfig.timeoutMillis, TimeUnit.MILLISECONDS)) {
+                publishExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            publishExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        failPending(new IllegalStateException("NexusRedisService was shut down"));
+        pool.close();
 
         // stop subscriber
+        if (dispatchExecutor != null) {
+            dispatchExecutor.shutdown();
+        }
         if (subscriberJedis != null) {
             try {
                 subscriberJedis.close();
@@ -273,239 +620,24 @@ public class JedisNexusRedisService implements NexusRedisService, Closeable {
             }
         }
 
-        subscriptions.clear();
-    }
-
-    @Override
-    public void close() throws IOException {
-        shutdown();
-    }
-
-    /**
-     * Encodes a NexusRedisMessage into a wire format string.
-     * Currently a very simple JSON-like format; replace with
-     * a proper JSON library (Jackson/Gson) if needed.
-     */
-    private String encodeMessage(NexusRedisMessage msg) {
-        // Very simple manual JSON; you probably want Jackson in production.
-        StringBuilder sb = new StringBuilder();
-        sb.append("{");
-        sb.append("\"type\":\"").append(escape(msg.getType())).append("\"");
-        if (msg.getOrigin() != null) {
-            sb.append(",\"origin\":\"").append(escape(msg.getOrigin())).append("\"");
-        }
-        sb.append(",\"payload\":{");
-        boolean first = true;
-        for (Map.Entry<String, Object> e : msg.getPayload().entrySet()) {
-            if (!first) sb.append(",");
-            first = false;
-            sb.append("\"").append(escape(e.getKey())).append("\":");
-            Object v = e.getValue();
-            if (v == null) {
-                sb.append("null");
-            } else if (v instanceof Number || v instanceof Boolean) {
-                sb.append(v.toString());
-            } else {
-                sb.append("\"").append(escape(String.valueOf(v))).append("\"");
-            }
+        synchronized (subscriptionLock) {
+            subscriptions.clear();
+            channelIndex.clear();
+            patternIndex.clear();
         }
-        sb.append("}}");
-        return sb.toString();
+        dispatchLanes.clear();
+        patternLanes.clear();
     }
 
     /**
-     * Decodes a wire format string into NexusRedisMessage.
-     * This expects the format produced by encodeMessage.
-     * Für eine robuste API solltest du später auf eine echte JSON-Library wechseln.
+     * @return number of dispatch lanes currently held (channels plus patterns)
      */
-    private NexusRedisMessage decodeMessage(String raw) {
-        String type = "unknown";
-        String origin = null;
-        Map<String, Object> payload = Collections.emptyMap();
-
-        try {
-            int typeIdx = raw.indexOf("\"type\"");
-            if (typeIdx >= 0) {
-                int colon = raw.indexOf(":", typeIdx);
-                int start = raw.indexOf("\"", colon + 1) + 1;
-                int end = raw.indexOf("\"", start);
-                if (start > 0 && end > start) {
-                    type = unescape(raw.substring(start, end));
-                }
-            }
-            int originIdx = raw.indexOf("\"origin\"");
-            if (originIdx >= 0) {
-                int colon = raw.indexOf(":", originIdx);
-                int start = raw.indexOf("\"", colon + 1) + 1;
-                int end = raw.indexOf("\"", start);
-                if (start > 0 && end > start) {
-                    origin = unescape(raw.substring(start, end));
-                }
-            }
-
-            // payload parsen (erwartet {...} wie in encodeMessage)
-            int payloadIdx = raw.indexOf("\"payload\"");
-            if (payloadIdx >= 0) {
-                int colon = raw.indexOf(":", payloadIdx);
-                int startObj = raw.indexOf("{", colon + 1);
-                if (startObj >= 0) {
-                    // Ende des Payload-Objekts finden: passende schließende Klammer
-                    int depth = 0;
-                    int endObj = -1;
-                    for (int i = startObj; i < raw.length(); i++) {
-                        char c = raw.charAt(i);
-                        if (c == '{') {
-                            depth++;
-                        } else if (c == '}') {
-                            depth--;
-                            if (depth == 0) {
-                                endObj = i;
-                                break;
-                            }
-                        }
-                    }
-
-                    if (endObj > startObj) {
-                        String inner = raw.substring(startObj + 1, endObj).trim();
-                        payload = parsePayload(inner);
-                    }
-                }
-            }
-        } catch (Exception ignored) {
-        }
-
-        return new NexusRedisMessage(type, origin, payload);
-    }
-
-    /**
-     * Mini-Parser für das Payload-Object, das encodeMessage() produziert.
-     * Unterstützt:
-     * - Strings: "text"
-     * - Zahlen: 1, 1.23
-     * - Boolean: true/false
-     * - null
-     * KEINE verschachtelten Objekte/Arrays.
-     */
-    private Map<String, Object> parsePayload(String inner) {
-        Map<String, Object> result = new HashMap<>();
-        if (inner.isEmpty()) {
-            return result;
-        }
-
-        List<String> entries = splitTopLevel(inner);
-        for (String entry : entries) {
-            String trimmed = entry.trim();
-            if (trimmed.isEmpty()) continue;
-
-            int colonIdx = trimmed.indexOf(':');
-            if (colonIdx <= 0) continue;
-
-            String keyPart = trimmed.substring(0, colonIdx).trim();
-            String valuePart = trimmed.substring(colonIdx + 1).trim();
-
-            if (!keyPart.startsWith("\"") || !keyPart.endsWith("\"")) {
-                continue;
-            }
-
-            String key = unescape(keyPart.substring(1, keyPart.length() - 1));
-            Object value = parseJsonValue(valuePart);
-            result.put(key, value);
-        }
-        return result;
-    }
-
-    /**
-     * Splittet ein einfaches JSON-Objekt am Top-Level nach Kommas.
-     * Kommas innerhalb von Strings werden ignoriert.
-     */
-    private List<String> splitTopLevel(String s) {
-        List<String> parts = new ArrayList<>();
-        StringBuilder current = new StringBuilder();
-        boolean inString = false;
-        boolean escaping = false;
-
-        for (int i = 0; i < s.length(); i++) {
-            char c = s.charAt(i);
-
-            if (escaping) {
-                current.append(c);
-                escaping = false;
-                continue;
-            }
-
-            if (c == '\\') {
-                current.append(c);
-                escaping = true;
-                continue;
-            }
-
-            if (c == '"') {
-                inString = !inString;
-                current.append(c);
-                continue;
-            }
-
-            if (c == ',' && !inString) {
-                parts.add(current.toString());
-                current.setLength(0);
-                continue;
-            }
-
-            current.append(c);
-        }
-
-        if (!current.isEmpty()) {
-            parts.add(current.toString());
-        }
-
-        return parts;
+    int dispatchLaneCount() {
+        return dispatchLanes.size() + patternLanes.size();
     }
 
-    /**
-     * Parsen eines sehr kleinen JSON-Werte-Sets: String, Number, Boolean, null.
-     */
-    private Object parseJsonValue(String valuePart) {
-        String v = valuePart.trim();
-        if (v.isEmpty()) return null;
-
-        // String
-        if (v.startsWith("\"") && v.endsWith("\"") && v.length() >= 2) {
-            String inner = v.substring(1, v.length() - 1);
-            return unescape(inner);
-        }
-
-        // null
-        if ("null".equalsIgnoreCase(v)) {
-            return null;
-        }
-
-        // boolean
-        if ("true".equalsIgnoreCase(v)) {
-            return Boolean.TRUE;
-        }
-        if ("false".equalsIgnoreCase(v)) {
-            return Boolean.FALSE;
-        }
-
-        // number (try long, then double)
-        try {
-            if (v.contains(".") || v.contains("e") || v.contains("E")) {
-                return Double.parseDouble(v);
-            } else {
-                return Long.parseLong(v);
-            }
-        } catch (NumberFormatException ignored) {
-        }
-
-        // fallback: raw String
-        return v;
-    }
-
-    private String escape(String in) {
-        return in.replace("\\", "\\\\").replace("\"", "\\\"");
-    }
-
-    private String unescape(String in) {
-        return in.replace("\\\"", "\"").replace("\\\\", "\\");
+    @Override
+    public void close() throws IOException {
+        shutdown();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,283 @@
+package io.nexstudios.nexus.bukkit.redis;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Legacy JSON-like wire format, understood by every Nexus version.
+ *
+ * Hand-written on purpose (no JSON library on the classpath). Supports flat
+ * payloads of strings, numbers, booleans and null; every other value is sent
+ * as its {@code toString()}.
+ */
+final class JsonNexusRedisCodec implements NexusRedisCodec {
+
+    @Override
+    public String name() {
+        return "json";
+    }
+
+    @Override
+    public boolean accepts(byte[] frame) {
+        return frame != null && frame.length > 0 && frame[0] == '{';
+    }
+
+    /**
+     * Encodes a NexusRedisMessage into the legacy JSON-like format.
+     * {@link NexusRedisLocation} values are flattened into "<key>.world", "<key>.x", ... unless the
+     * payload already carries the flattened entries (as {@code NexusRedisPayload#putLocation} writes them).
+     */
+    @Override
+    public byte[] encode(NexusRedisMessage msg) {
+        // Very simple manual JSON; you probably want Jackson in production.
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+        sb.append("\"type\":\"").append(escape(msg.getType())).append("\"");
+        if (msg.getOrigin() != null) {
+            sb.append(",\"origin\":\"").append(escape(msg.getOrigin())).append("\"");
+        }
+        sb.append(",\"payload\":{");
+        boolean first = true;
+        Map<String, Object> payload = msg.getPayload();
+        for (Map.Entry<String, Object> e : payload.entrySet()) {
+            Object v = e.getValue();
+            if (v instanceof NexusRedisLocation && payload.containsKey(e.getKey() + ".world")) {
+                // flache Einträge sind bereits in der Payload, der native Wert würde nur als toString() ankommen
+                continue;
+            }
+            if (!first) sb.append(",");
+            first = false;
+            if (v instanceof NexusRedisLocation loc) {
+                // ältere Versionen kennen nur die flachen "<key>.world", "<key>.x", ... Einträge
+                String base = e.getKey();
+                appendEntry(sb, base + ".world", loc.world());
+                sb.append(",");
+                appendEntry(sb, base + ".x", loc.x());
+                sb.append(",");
+                appendEntry(sb, base + ".y", loc.y());
+                sb.append(",");
+                appendEntry(sb, base + ".z", loc.z());
+                sb.append(",");
+                appendEntry(sb, base + ".yaw", loc.yaw());
+                sb.append(",");
+                appendEntry(sb, base + ".pitch", loc.pitch());
+            } else {
+                appendEntry(sb, e.getKey(), v);
+            }
+        }
+        sb.append("}}");
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void appendEntry(StringBuilder sb, String key, Object v) {
+        sb.append("\"").append(escape(key)).append("\":");
+        if (v == null) {
+            sb.append("null");
+        } else if (v instanceof Number || v instanceof Boolean) {
+            sb.append(v.toString());
+        } else {
+            sb.append("\"").append(escape(String.valueOf(v))).append("\"");
+        }
+    }
+
+    @Override
+    public NexusRedisMessage decode(byte[] frame) {
+        return decodeMessage(new String(frame, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a wire format string into NexusRedisMessage.
+     * This expects the format produced by encode.
+     * Für eine robuste API solltest du später auf eine echte JSON-Library wechseln.
+     */
+    private NexusRedisMessage decodeMessage(String raw) {
+        String type = "unknown";
+        String origin = null;
+        Map<String, Object> payload = Collections.emptyMap();
+
+        try {
+            int typeIdx = raw.indexOf("\"type\"");
+            if (typeIdx >= 0) {
+                int colon = raw.indexOf(":", typeIdx);
+                int start = raw.indexOf("\"", colon + 1) + 1;
+                int end = raw.indexOf("\"", start);
+                if (start > 0 && end > start) {
+                    type = unescape(raw.substring(start, end));
+                }
+            }
+            int originIdx = raw.indexOf("\"origin\"");
+            if (originIdx >= 0) {
+                int colon = raw.indexOf(":", originIdx);
+                int start = raw.indexOf("\"", colon + 1) + 1;
+                int end = raw.indexOf("\"", start);
+                if (start > 0 && end > start) {
+                    origin = unescape(raw.substring(start, end));
+                }
+            }
+
+            // payload parsen (erwartet {...} wie in encode)
+            int payloadIdx = raw.indexOf("\"payload\"");
+            if (payloadIdx >= 0) {
+                int colon = raw.indexOf(":", payloadIdx);
+                int startObj = raw.indexOf("{", colon + 1);
+                if (startObj >= 0) {
+                    // Ende des Payload-Objekts finden: passende schließende Klammer
+                    int depth = 0;
+                    int endObj = -1;
+                    for (int i = startObj; i < raw.length(); i++) {
+                        char c = raw.charAt(i);
+                        if (c == '{') {
+                            depth++;
+                        } else if (c == '}') {
+                            depth--;
+                            if (depth == 0) {
+                                endObj = i;
+                                break;
+                            }
+                        }
+                    }
+
+                    if (endObj > startObj) {
+                        String inner = raw.substring(startObj + 1, endObj).trim();
+                        payload = parsePayload(inner);
+                    }
+                }
+            }
+        } catch (Exception ignored) {
+        }
+
+        return new NexusRedisMessage(type, origin, payload);
+    }
+
+    /**
+     * Mini-Parser für das Payload-Object, das encode() produziert.
+     * Unterstützt:
+     * - Strings: "text"
+     * - Zahlen: 1, 1.23
+     * - Boolean: true/false
+     * - null
+     * KEINE verschachtelten Objekte/Arrays.
+     */
+    private Map<String, Object> parsePayload(String inner) {
+        Map<String, Object> result = new HashMap<>();
+        if (inner.isEmpty()) {
+            return result;
+        }
+
+        List<String> entries = splitTopLevel(inner);
+        for (String entry : entries) {
+            String trimmed = entry.trim();
+            if (trimmed.isEmpty()) continue;
+
+            int colonIdx = trimmed.indexOf(':');
+            if (colonIdx <= 0) continue;
+
+            String keyPart = trimmed.substring(0, colonIdx).trim();
+            String valuePart = trimmed.substring(colonIdx + 1).trim();
+
+            if (!keyPart.startsWith("\"") || !keyPart.endsWith("\"")) {
+                continue;
+            }
+
+            String key = unescape(keyPart.substring(1, keyPart.length() - 1));
+            Object value = parseJsonValue(valuePart);
+            result.put(key, value);
+        }
+        return result;
+    }
+
+    /**
+     * Splittet ein einfaches JSON-Objekt am Top-Level nach Kommas.
+     * Kommas innerhalb von Strings werden ignoriert.
+     */
+    private List<String> splitTopLevel(String s) {
+        List<String> parts = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean inString = false;
+        boolean escaping = false;
+
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+
+            if (escaping) {
+                current.append(c);
+                escaping = false;
+                continue;
+            }
+
+            if (c == '\\') {
+                current.append(c);
+                escaping = true;
+                continue;
+            }
+
+            if (c == '"') {
+                inString = !inString;
+                current.append(c);
+                continue;
+            }
+
+            if (c == ',' && !inString) {
+                parts.add(current.toString());
+                current.setLength(0);
+                continue;
+            }
+
+            current.append(c);
+        }
+
+        if (!current.isEmpty()) {
+            parts.add(current.toString());
+        }
+
+        return parts;
+    }
+
+    /**
+     * Parsen eines sehr kleinen JSON-Werte-Sets: String, Number, Boolean, null.
+     */
+    private Object parseJsonValue(String valuePart) {
+        String v = valuePart.trim();
+        if (v.isEmpty()) return null;
+
+        // String
+        if (v.startsWith("\"") && v.endsWith("\"") && v.length() >= 2) {
+            String inner = v.substring(1, v.length() - 1);
+            return unescape(inner);
+        }
+
+        // null
+        if ("null".equalsIgnoreCase(v)) {
+            return null;
+        }
+
+        // boolean
+        if ("true".equalsIgnoreCase(v)) {
+            return Boolean.TRUE;
+        }
+        if ("false".equalsIgnoreCase(v)) {
+            return Boolean.FALSE;
+        }
+
+        // number (try long, then double)
+        try {
+            if (v.contains(".") || v.contains("e") || v.contains("E")) {
+                return Double.parseDouble(v);
+            } else {
+                return Long.parseLong(v);
+            }
+        } catch (NumberFormatException ignored) {
+        }
+
+        // fallback: raw String
+        return v;
+    }
+
+    private String escape(String in) {
+        return in.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    private String unescape(String in) {
+        return in.replace("\\\"", "\"").replace("\\\\", "\\");
+    }
+}
@@ -68,6 +68,18 @@ public final class NexusRedisApi {
                 .map(svc -> svc.subscribe(channel, listener));
     }
 
+    /**
+     * Convenience wrapper around {@link NexusRedisService#subscribePattern(String, NexusRedisListener)}.
+     *
+     * @return Optional containing the subscription ID if the service is available,
+     *         or empty if the service is missing.
+     * @throws UnsupportedOperationException if the service does not support pattern subscriptions
+     */
+    public static Optional<UUID> subscribePattern(String pattern, NexusRedisListener listener) {
+        return getService()
+                .map(svc -> svc.subscribePattern(pattern, listener));
+    }
+
     /**
      * Convenience wrapper around {@link NexusRedisService#unsubscribe(UUID)}.
      *
@@ -0,0 +1,30 @@
+package io.nexstudios.nexus.bukkit.redis;
+
+/**
+ * Wire format of {@link NexusRedisMessage}s.
+ *
+ * Implementations must be stateless and thread-safe; the same instance is
+ * used by the publisher thread and the subscriber thread.
+ * Receivers pick the codec per frame via {@link NexusRedisCodecs#detect(byte[])},
+ * so the codec used for publishing can be switched without breaking subscribers
+ * that already know the new format.
+ */
+public interface NexusRedisCodec {
+
+    /**
+     * @return unique lower-case name, used in the configuration (e.g. "json", "binary")
+     */
+    String name();
+
+    /**
+     * @return {@code true} if the given frame was produced by this codec
+     */
+    boolean accepts(byte[] frame);
+
+    byte[] encode(NexusRedisMessage message);
+
+    /**
+     * @throws IllegalArgumentException if the frame is malformed
+     */
+    NexusRedisMessage decode(byte[] frame);
+}
@@ -0,0 +1,64 @@
+package io.nexstudios.nexus.bukkit.redis;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the available {@link NexusRedisCodec}s.
+ *
+ * "json" is the legacy format understood by every Nexus version,
+ * "binary" the compact length-prefixed format of {@link BinaryNexusRedisCodec}.
+ */
+public final class NexusRedisCodecs {
+
+    private static final NexusRedisCodec JSON = new JsonNexusRedisCodec();
+    private static final NexusRedisCodec BINARY = new BinaryNexusRedisCodec();
+
+    private static final Map<String, NexusRedisCodec> REGISTRY = new ConcurrentHashMap<>();
+
+    static {
+        register(BINARY);
+        register(JSON);
+    }
+
+    private NexusRedisCodecs() {
+    }
+
+    public static NexusRedisCodec json() {
+        return JSON;
+    }
+
+    public static NexusRedisCodec binary() {
+        return BINARY;
+    }
+
+    public static void register(NexusRedisCodec codec) {
+        Objects.requireNonNull(codec, "codec");
+        REGISTRY.put(codec.name().toLowerCase(Locale.ROOT), codec);
+    }
+
+    /**
+     * @return the codec with the given name, or the JSON codec if unknown
+     */
+    public static NexusRedisCodec byName(String name) {
+        if (name == null) return JSON;
+        return REGISTRY.getOrDefault(name.toLowerCase(Locale.ROOT), JSON);
+    }
+
+    /**
+     * Picks the codec that produced the given frame. Frames no codec claims are
+     * treated as legacy JSON.
+     */
+    public static NexusRedisCodec detect(byte[] frame) {
+        // Binär zuerst: das Magic-Byte ist eindeutig, JSON beginnt immer mit '{'
+        if (BINARY.accepts(frame)) return BINARY;
+        for (NexusRedisCodec codec : REGISTRY.values()) {
+            if (codec != JSON && codec.accepts(frame)) {
+                return codec;
+            }
+        }
+        return JSON;
+    }
+}
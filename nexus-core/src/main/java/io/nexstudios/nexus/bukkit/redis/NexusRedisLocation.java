@@ -0,0 +1,60 @@
+package io.nexstudios.nexus.bukkit.redis;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * World-independent location value for Redis payloads.
+ *
+ * Keeps the world by name, so a location can be decoded on servers
+ * where the world is not loaded.
+ */
+public record NexusRedisLocation(String world, double x, double y, double z, float yaw, float pitch) {
+
+    /**
+     * Suffixes of the flattened form ("<key>.world", "<key>.x", ...) that older readers use.
+     */
+    static final List<String> FLAT_SUFFIXES = List.of(".world", ".x", ".y", ".z", ".yaw", ".pitch");
+
+    public NexusRedisLocation {
+        Objects.requireNonNull(world, "world");
+    }
+
+    public static NexusRedisLocation of(Location location) {
+        Objects.requireNonNull(location, "location");
+        if (location.getWorld() == null) {
+            throw new IllegalArgumentException("Location world may not be null");
+        }
+        return new NexusRedisLocation(location.getWorld().getName(),
+                location.getX(), location.getY(), location.getZ(),
+                location.getYaw(), location.getPitch());
+    }
+
+    /**
+     * Writes the flattened form under {@code base} into {@code target}, keeping existing entries.
+     */
+    void putFlattened(String base, Map<String, Object> target) {
+        target.putIfAbsent(base + ".world", world);
+        target.putIfAbsent(base + ".x", x);
+        target.putIfAbsent(base + ".y", y);
+        target.putIfAbsent(base + ".z", z);
+        target.putIfAbsent(base + ".yaw", yaw);
+        target.putIfAbsent(base + ".pitch", pitch);
+    }
+
+    /**
+     * @return the Bukkit location, or {@code null} if the world is not loaded on this server
+     */
+    public Location toLocation() {
+        World w = Bukkit.getWorld(world);
+        if (w == null) {
+            return null;
+        }
+        return new Location(w, x, y, z, yaw, pitch);
+    }
+}
@@ -168,25 +168,33 @@ public final class NexusRedisPayload {
         return null;
     }
 
+    /**
+     * Speichert eine UUID als nativen Wert (der Binär-Codec schreibt 16 Bytes, JSON einen String).
+     */
+    public NexusRedisPayload putUuid(String key, UUID uuid) {
+        Objects.requireNonNull(key, "key");
+        values.put(key, uuid);
+        return this;
+    }
+
     /**
      * Speichert eine Bukkit-Location in der Payload.
-     * Die Daten werden unter Schlüsseln "<key>.world", "<key>.x", ... abgelegt.
+     * Wie bisher werden die flachen Einträge "<key>.world", "<key>.x", "<key>.y", "<key>.z",
+     * "<key>.yaw" und "<key>.pitch" geschrieben, damit bestehende Leser unverändert funktionieren.
+     * Zusätzlich liegt die Location als {@link NexusRedisLocation} unter {@code key}; der Binär-Codec
+     * überträgt nur diesen Wert und stellt die flachen Einträge beim Dekodieren wieder her.
      */
     public NexusRedisPayload putLocation(String key, Location location) {
         Objects.requireNonNull(key, "key");
         Objects.requireNonNull(location, "location");
-        if (location.getWorld() == null) {
-            throw new IllegalArgumentException("Location world may not be null");
-        }
 
         String base = key.endsWith(".") ? key.substring(0, key.length() - 1) : key;
-
-        values.put(base + ".world", location.getWorld().getName());
-        values.put(base + ".x", location.getX());
-        values.put(base + ".y", location.getY());
-        values.put(base + ".z", location.getZ());
-        values.put(base + ".yaw", location.getYaw());
-        values.put(base + ".pitch", location.getPitch());
+        NexusRedisLocation loc = NexusRedisLocation.of(location);
+        values.put(base, loc);
+        for (String suffix : NexusRedisLocation.FLAT_SUFFIXES) {
+            values.remove(base + suffix);
+        }
+        loc.putFlattened(base, values);
         return this;
     }
 
@@ -197,6 +205,12 @@ public final class NexusRedisPayload {
     public Location getLocation(String key) {
         String base = key.endsWith(".") ? key.substring(0, key.length() - 1) : key;
 
+        // nativ (Binär-Codec oder lokal erzeugte Payload)
+        if (values.get(base) instanceof NexusRedisLocation loc) {
+            return loc.toLocation();
+        }
+
+        // flaches Format (JSON-Codec)
         String worldName = getString(base + ".world");
         if (worldName == null) {
             return null;
@@ -39,6 +39,23 @@ public interface NexusRedisService {
      */
     UUID subscribe(String channel, NexusRedisListener listener);
 
+    /**
+     * Subscribes a listener to all channels matching a glob-style pattern
+     * (Redis PSUBSCRIBE, e.g. "nexus:levels:*").
+     *
+     * The listener receives the concrete channel name of each message.
+     * Implementations without pattern support keep this default, which throws
+     * {@link UnsupportedOperationException}.
+     *
+     * @param pattern  channel pattern
+     * @param listener callback invoked for each incoming message
+     * @return a subscription ID that can later be used to unsubscribe
+     * @throws UnsupportedOperationException if the implementation does not support pattern subscriptions
+     */
+    default UUID subscribePattern(String pattern, NexusRedisListener listener) {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support pattern subscriptions");
+    }
+
     /**
      * Cancels a previously registered subscription.
      *
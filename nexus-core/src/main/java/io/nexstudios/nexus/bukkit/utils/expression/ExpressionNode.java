@@ -0,0 +1,160 @@
+package io.nexstudios.nexus.bukkit.utils.expression;
+
+/**
+ * Node of a compiled {@link NexusExpression}.
+ * <p>
+ * Nodes are immutable; {@link #eval(double[])} reads variables from the frame by slot
+ * and allocates nothing.
+ */
+abstract class ExpressionNode {
+
+    abstract double eval(double[] frame);
+
+    boolean isConstant() {
+        return false;
+    }
+
+    static final class Const extends ExpressionNode {
+        final double value;
+
+        Const(double value) {
+            this.value = value;
+        }
+
+        @Override
+        double eval(double[] frame) {
+            return value;
+        }
+
+        @Override
+        boolean isConstant() {
+            return true;
+        }
+    }
+
+    static final class Var extends ExpressionNode {
+        final int slot;
+
+        Var(int slot) {
+            this.slot = slot;
+        }
+
+        @Override
+        double eval(double[] frame) {
+            return frame[slot];
+        }
+    }
+
+    static final class Neg extends ExpressionNode {
+        final ExpressionNode operand;
+
+        Neg(ExpressionNode operand) {
+            this.operand = operand;
+        }
+
+        @Override
+        double eval(double[] frame) {
+            return -operand.eval(frame);
+        }
+    }
+
+    static final class Binary extends ExpressionNode {
+        final char op;
+        final ExpressionNode left;
+        final ExpressionNode right;
+
+        Binary(char op, ExpressionNode left, ExpressionNode right) {
+            this.op = op;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        double eval(double[] frame) {
+            double a = left.eval(frame);
+            double b = right.eval(frame);
+            return switch (op) {
+                case '+' -> a + b;
+                case '-' -> a - b;
+                case '*' -> a * b;
+                case '/' -> {
+                    // wie NexusStringMath: Division durch 0 ist ein Fehler, kein Infinity
+                    if (b == 0) throw new ArithmeticException("Cant divide by zero");
+                    yield a / b;
+                }
+                case '^' -> Math.pow(a, b);
+                default -> throw new IllegalStateException("Unknown operator " + op);
+            };
+        }
+    }
+
+    static final class Min extends ExpressionNode {
+        final ExpressionNode[] args;
+
+        Min(ExpressionNode[] args) {
+            this.args = args;
+        }
+
+        @Override
+        double eval(double[] frame) {
+            double r = args[0].eval(frame);
+            for (int i = 1; i < args.length; i++) {
+                r = Math.min(r, args[i].eval(frame));
+            }
+            return r;
+        }
+    }
+
+    static final class Max extends ExpressionNode {
+        final ExpressionNode[] args;
+
+        Max(ExpressionNode[] args) {
+            this.args = args;
+        }
+
+        @Override
+        double eval(double[] frame) {
+            double r = args[0].eval(frame);
+            for (int i = 1; i < args.length; i++) {
+                r = Math.max(r, args[i].eval(frame));
+            }
+            return r;
+        }
+    }
+
+    static final class Clamp extends ExpressionNode {
+        final ExpressionNode value;
+        final ExpressionNode min;
+        final ExpressionNode max;
+
+        Clamp(ExpressionNode value, ExpressionNode min, ExpressionNode max) {
+            this.value = value;
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        double eval(double[] frame) {
+            return Math.max(min.eval(frame), Math.min(max.eval(frame), value.eval(frame)));
+        }
+    }
+
+    /**
+     * {@code log(x)} (natural) or {@code log(x, base)}.
+     */
+    static final class Log extends ExpressionNode {
+        final ExpressionNode value;
+        final ExpressionNode base; // null = natürlicher Logarithmus
+
+        Log(ExpressionNode value, ExpressionNode base) {
+            this.value = value;
+            this.base = base;
+        }
+
+        @Override
+        double eval(double[] frame) {
+            double x = Math.log(value.eval(frame));
+            return base == null ? x : x / Math.log(base.eval(frame));
+        }
+    }
+}
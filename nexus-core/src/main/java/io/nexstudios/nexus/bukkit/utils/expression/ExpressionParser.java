@@ -0,0 +1,239 @@
+package io.nexstudios.nexus.bukkit.utils.expression;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Recursive descent parser for {@link NexusExpression}.
+ * <p>
+ * Grammar (compatible with {@code NexusStringMath}):
+ * <pre>
+ * expr    := term (('+' | '-') term)*
+ * term    := power (('*' | '/') power)*
+ * power   := unary ('^' unary)*            (left-associative)
+ * unary   := ('+' | '-') unary | primary   (binds tighter than '^', -2^2 = 4)
+ * primary := number | '#' name '#' | function '(' expr (',' expr)* ')' | '(' expr ')'
+ * </pre>
+ * Whitespace is ignored. Constant subtrees are folded at compile time.
+ */
+final class ExpressionParser {
+
+    private final String src;
+    private final Map<String, Integer> slots = new LinkedHashMap<>();
+    private int pos;
+
+    ExpressionParser(String src) {
+        this.src = src;
+    }
+
+    NexusExpression parse() {
+        ExpressionNode root = parseExpr();
+        skipWhitespace();
+        if (pos < src.length()) {
+            char c = src.charAt(pos);
+            if (c == ')') throw new IllegalArgumentException("Fehlende öffnende Klammer");
+            throw new IllegalArgumentException("Unerwartetes Zeichen im Ausdruck: '" + c + "'");
+        }
+        return new NexusExpression(src, root, List.copyOf(slots.keySet()));
+    }
+
+    private ExpressionNode parseExpr() {
+        ExpressionNode left = parseTerm();
+        while (true) {
+            char c = peek();
+            if (c == '+' || c == '-') {
+                pos++;
+                left = binary(c, left, parseTerm());
+            } else {
+                return left;
+            }
+        }
+    }
+
+    private ExpressionNode parseTerm() {
+        ExpressionNode left = parsePower();
+        while (true) {
+            char c = peek();
+            if (c == '*' || c == '/') {
+                pos++;
+                left = binary(c, left, parsePower());
+            } else {
+                return left;
+            }
+        }
+    }
+
+    private ExpressionNode parsePower() {
+        ExpressionNode left = parseUnary();
+        while (peek() == '^') {
+            pos++;
+            left = binary('^', left, parseUnary());
+        }
+        return left;
+    }
+
+    private ExpressionNode parseUnary() {
+        char c = peek();
+        if (c == '+') {
+            pos++;
+            return parseUnary();
+        }
+        if (c == '-') {
+            pos++;
+            ExpressionNode operand = parseUnary();
+            return operand instanceof ExpressionNode.Const k ? new ExpressionNode.Const(-k.value) : new ExpressionNode.Neg(operand);
+        }
+        return parsePrimary();
+    }
+
+    private ExpressionNode parsePrimary() {
+        char c = peek();
+        if (c == 0) {
+            throw new IllegalArgumentException("Leerer oder ungültiger Ausdruck");
+        }
+        if (c == '(') {
+            pos++;
+            ExpressionNode inner = parseExpr();
+            expect(')', "Unausgeglichene Klammern");
+            return inner;
+        }
+        if (c == '#') {
+            return parseVariable();
+        }
+        if (Character.isDigit(c) || c == '.') {
+            return parseNumber();
+        }
+        if (Character.isLetter(c)) {
+            return parseFunction();
+        }
+        throw new IllegalArgumentException("Unerwartetes Zeichen im Ausdruck: '" + c + "'");
+    }
+
+    private ExpressionNode parseVariable() {
+        int start = ++pos;
+        int end = src.indexOf('#', start);
+        if (end <= start) {
+            throw new IllegalArgumentException("Ungültige Variable nahe Index " + (start - 1));
+        }
+        String name = src.substring(start, end);
+        pos = end + 1;
+        Integer slot = slots.get(name);
+        if (slot == null) {
+            slot = slots.size();
+            slots.put(name, slot);
+        }
+        return new ExpressionNode.Var(slot);
+    }
+
+    private ExpressionNode parseNumber() {
+        int start = pos;
+        boolean sawDigit = false;
+        while (pos < src.length() && (Character.isDigit(src.charAt(pos)) || src.charAt(pos) == '.')) {
+            sawDigit |= src.charAt(pos) != '.';
+            pos++;
+        }
+        // Exponententeil: e/E[+/-]?Ziffern+, sonst zurücknehmen
+        if (pos < src.length() && (src.charAt(pos) == 'e' || src.charAt(pos) == 'E')) {
+            int expStart = pos++;
+            if (pos < src.length() && (src.charAt(pos) == '+' || src.charAt(pos) == '-')) pos++;
+            int digits = pos;
+            while (pos < src.length() && Character.isDigit(src.charAt(pos))) pos++;
+            if (pos == digits) pos = expStart;
+        }
+        if (!sawDigit) {
+            throw new NumberFormatException("Ungültige Zahl in Ausdruck nahe Index " + start);
+        }
+        return new ExpressionNode.Const(Double.parseDouble(src.substring(start, pos)));
+    }
+
+    private ExpressionNode parseFunction() {
+        int start = pos;
+        while (pos < src.length() && Character.isLetterOrDigit(src.charAt(pos))) pos++;
+        String name = src.substring(start, pos).toLowerCase(Locale.ROOT);
+        expect('(', "Unbekannter Bezeichner im Ausdruck: '" + name + "'");
+
+        List<ExpressionNode> args = new ArrayList<>();
+        if (peek() != ')') {
+            do {
+                args.add(parseExpr());
+            } while (consume(','));
+        }
+        expect(')', "Unausgeglichene Klammern");
+
+        ExpressionNode[] a = args.toArray(new ExpressionNode[0]);
+        ExpressionNode node = switch (name) {
+            case "min" -> {
+                requireArgs(name, a, 1, Integer.MAX_VALUE);
+                yield new ExpressionNode.Min(a);
+            }
+            case "max" -> {
+                requireArgs(name, a, 1, Integer.MAX_VALUE);
+                yield new ExpressionNode.Max(a);
+            }
+            case "clamp" -> {
+                requireArgs(name, a, 3, 3);
+                yield new ExpressionNode.Clamp(a[0], a[1], a[2]);
+            }
+            case "pow" -> {
+                requireArgs(name, a, 2, 2);
+                yield new ExpressionNode.Binary('^', a[0], a[1]);
+            }
+            case "log" -> {
+                requireArgs(name, a, 1, 2);
+                yield new ExpressionNode.Log(a[0], a.length == 2 ? a[1] : null);
+            }
+            default -> throw new IllegalArgumentException("Unbekannte Funktion im Ausdruck: '" + name + "'");
+        };
+        return fold(node, a);
+    }
+
+    // ---- Helpers ----
+
+    private ExpressionNode binary(char op, ExpressionNode left, ExpressionNode right) {
+        return fold(new ExpressionNode.Binary(op, left, right), left, right);
+    }
+
+    // Teilbäume ohne Variablen direkt ausrechnen; Fehler (z. B. /0) bleiben Laufzeitfehler
+    private static ExpressionNode fold(ExpressionNode node, ExpressionNode... children) {
+        for (ExpressionNode child : children) {
+            if (!child.isConstant()) return node;
+        }
+        try {
+            return new ExpressionNode.Const(node.eval(null));
+        } catch (ArithmeticException e) {
+            return node;
+        }
+    }
+
+    private static void requireArgs(String name, ExpressionNode[] args, int min, int max) {
+        if (args.length < min || args.length > max) {
+            throw new IllegalArgumentException("Falsche Anzahl an Argumenten für " + name + "(): " + args.length);
+        }
+    }
+
+    private void skipWhitespace() {
+        while (pos < src.length() && Character.isWhitespace(src.charAt(pos))) pos++;
+    }
+
+    private char peek() {
+        skipWhitespace();
+        return pos < src.length() ? src.charAt(pos) : 0;
+    }
+
+    private boolean consume(char c) {
+        if (peek() == c) {
+            pos++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(char c, String error) {
+        if (!consume(c)) {
+            throw new IllegalArgumentException(error);
+        }
+    }
+}
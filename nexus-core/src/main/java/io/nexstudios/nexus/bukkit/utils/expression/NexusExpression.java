@@ -0,0 +1,119 @@
+package io.nexstudios.nexus.bukkit.utils.expression;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiled arithmetic expression.
+ * <p>
+ * An expression is parsed once into a tree of nodes. Variables are written as {@code #name#}
+ * and get a slot index in order of first appearance; {@link #evaluate(double[])} reads them
+ * from a primitive frame and allocates nothing.
+ * <p>
+ * Supported: {@code + - * / ^}, unary signs, parentheses, numbers with exponent
+ * ({@code 1.5e3}) and the functions {@code min(a, b, ...)}, {@code max(a, b, ...)},
+ * {@code clamp(x, min, max)}, {@code pow(a, b)}, {@code log(x)} (natural) and {@code log(x, base)}.
+ * Operator semantics match {@link io.nexstudios.nexus.bukkit.utils.NexusStringMath}
+ * (left-associative {@code ^}, division by zero throws {@link ArithmeticException}).
+ * <p>
+ * Instances are immutable and thread-safe.
+ */
+public final class NexusExpression {
+
+    // Obergrenze für den Compile-Cache; bei Überlauf geleert, damit dynamische Strings ihn nicht fluten
+    private static final int MAX_CACHED = 4096;
+    private static final Map<String, NexusExpression> CACHE = new ConcurrentHashMap<>();
+    private static final double[] EMPTY_FRAME = new double[0];
+
+    private final String source;
+    private final ExpressionNode root;
+    private final List<String> variables;
+
+    NexusExpression(String source, ExpressionNode root, List<String> variables) {
+        this.source = source;
+        this.root = root;
+        this.variables = variables;
+    }
+
+    /**
+     * Returns the (cached) compiled expression for the given source.
+     *
+     * @throws IllegalArgumentException if the expression is malformed
+     */
+    public static NexusExpression compile(String source) {
+        NexusExpression cached = CACHE.get(source);
+        if (cached != null) {
+            return cached;
+        }
+        NexusExpression compiled = compileUncached(source);
+        if (CACHE.size() >= MAX_CACHED) {
+            CACHE.clear();
+        }
+        CACHE.putIfAbsent(source, compiled);
+        return compiled;
+    }
+
+    /**
+     * Compiles without touching the cache (for one-off, dynamic strings).
+     *
+     * @throws IllegalArgumentException if the expression is malformed
+     */
+    public static NexusExpression compileUncached(String source) {
+        if (source == null) {
+            throw new IllegalArgumentException("Leerer oder ungültiger Ausdruck");
+        }
+        return new ExpressionParser(source).parse();
+    }
+
+    public String source() {
+        return source;
+    }
+
+    /**
+     * @return variable names by slot index
+     */
+    public List<String> variables() {
+        return variables;
+    }
+
+    /**
+     * @return slot index of the variable, or {@code -1} if the expression does not use it
+     */
+    public int slotOf(String variable) {
+        return variables.indexOf(variable);
+    }
+
+    /**
+     * @return {@code true} if the expression has no variables
+     */
+    public boolean isConstant() {
+        return variables.isEmpty();
+    }
+
+    /**
+     * Evaluates an expression without variables.
+     *
+     * @throws IllegalArgumentException if the expression has variables
+     * @throws ArithmeticException      on division by zero
+     */
+    public double evaluate() {
+        if (!variables.isEmpty()) {
+            throw new IllegalArgumentException("Nicht aufgelöste Variablen im Ausdruck: " + variables);
+        }
+        return evaluate(EMPTY_FRAME);
+    }
+
+    /**
+     * @param frame variable values by slot, at least {@code variables().size()} long
+     * @throws ArithmeticException on division by zero
+     */
+    public double evaluate(double[] frame) {
+        return root.eval(frame);
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+}
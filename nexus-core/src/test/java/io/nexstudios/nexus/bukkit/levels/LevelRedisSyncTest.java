@@ -0,0 +1,351 @@
+package io.nexstudios.nexus.bukkit.levels;
+
+import io.nexstudios.nexus.bukkit.NexusPlugin;
+import io.nexstudios.nexus.bukkit.redis.NexusRedisCodec;
+import io.nexstudios.nexus.bukkit.redis.NexusRedisCodecs;
+import io.nexstudios.nexus.bukkit.redis.NexusRedisListener;
+import io.nexstudios.nexus.bukkit.redis.NexusRedisMessage;
+import io.nexstudios.nexus.bukkit.redis.NexusRedisService;
+import io.nexstudios.nexus.bukkit.utils.NexusLogger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two {@link LevelRedisSync} nodes connected through an in-process Redis stand-in.
+ */
+class LevelRedisSyncTest {
+
+    private static final UUID PLAYER = UUID.fromString("7c1d2e3f-4a5b-6c7d-8e9f-a0b1c2d3e4f5");
+    private static final LevelKey MINING = new LevelKey("nexus", "mining");
+
+    private LocalRedis redis;
+    private CacheNode survival;
+    private CacheNode skyblock;
+    private LevelRedisSync survivalSync;
+    private LevelRedisSync skyblockSync;
+
+    @BeforeAll
+    static void quietLogger() {
+        NexusPlugin.nexusLogger = new NexusLogger("", false, 0, "") {
+            @Override
+            public void info(String message) {
+            }
+
+            @Override
+            public void warning(String message) {
+            }
+
+            @Override
+            public void error(String message) {
+            }
+        };
+    }
+
+    @BeforeEach
+    void setUp() {
+        redis = new LocalRedis();
+        survival = new CacheNode();
+        skyblock = new CacheNode();
+        // periodischer Publish praktisch aus, die Tests veröffentlichen explizit
+        survivalSync = new LevelRedisSync(survival, redis, "survival", 60_000L);
+        skyblockSync = new LevelRedisSync(skyblock, redis, "skyblock", 60_000L);
+        survivalSync.start();
+        skyblockSync.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        survivalSync.stop();
+        skyblockSync.stop();
+    }
+
+    @Test
+    void updateReachesCachedPlayerOnOtherServer() {
+        survival.put(PLAYER, MINING, 10.0d);
+        skyblock.put(PLAYER, MINING, 0.0d);
+
+        survivalSync.localChanged(survival.get(PLAYER, MINING));
+        survivalSync.publishPendingSafe();
+
+        assertEquals(10.0d, skyblock.get(PLAYER, MINING).getTotalXp());
+        assertEquals(10.0d, skyblock.ranking.get(PLAYER));
+    }
+
+    @Test
+    void updateOfUncachedPlayerOnlyTouchesLeaderboard() {
+        survival.put(PLAYER, MINING, 25.0d);
+
+        survivalSync.localChanged(survival.get(PLAYER, MINING));
+        survivalSync.publishPendingSafe();
+
+        assertNull(skyblock.get(PLAYER, MINING));
+        assertEquals(25.0d, skyblock.ranking.get(PLAYER));
+    }
+
+    @Test
+    void ownMessagesAreIgnored() {
+        survival.put(PLAYER, MINING, 10.0d);
+
+        survivalSync.localChanged(survival.get(PLAYER, MINING));
+        survivalSync.publishPendingSafe();
+
+        assertTrue(survival.applied.isEmpty());
+        assertEquals(1, skyblock.applied.size());
+    }
+
+    @Test
+    void handoffIsOnlyAHintUntilTheRowArrives() {
+        survival.put(PLAYER, MINING, 50.0d);
+        survivalSync.handoff(PLAYER, List.of(survival.get(PLAYER, MINING)));
+
+        // nichts wird gecacht, der Join auf skyblock liest die DB
+        assertNull(skyblock.get(PLAYER, MINING));
+        assertEquals(50.0d, skyblock.ranking.get(PLAYER));
+
+        // Quit-Flush von survival noch nicht committed: die Row wird erneut gelesen
+        assertEquals(Set.of(MINING), skyblock.hints.lagging(PLAYER, Set.of(MINING), Map.of(MINING, 40.0d)));
+        // committed: Row passt zum Hinweis und wird übernommen
+        assertEquals(Set.of(), skyblock.hints.lagging(PLAYER, Set.of(MINING), Map.of(MINING, 50.0d)));
+        assertEquals(0, skyblock.hints.size());
+    }
+
+    @Test
+    void staleHintLosesAgainstTheDatabase() {
+        survival.put(PLAYER, MINING, 50.0d);
+        survivalSync.handoff(PLAYER, List.of(survival.get(PLAYER, MINING)));
+
+        Set<LevelKey> lagging = Set.of(MINING);
+        int reads = 0;
+        while (!lagging.isEmpty()) {
+            lagging = skyblock.hints.lagging(PLAYER, Set.of(MINING), Map.of(MINING, 70.0d));
+            reads++;
+        }
+        assertEquals(NexLevel.HANDOFF_HINT_RETRIES + 1, reads);
+        assertEquals(0, skyblock.hints.size());
+    }
+
+    @Test
+    void lateUpdateIsDroppedAfterHandoff() {
+        survival.put(PLAYER, MINING, 10.0d);
+        skyblock.put(PLAYER, MINING, 0.0d);
+        skyblock.online.add(PLAYER);
+
+        redis.hold = true;
+        survivalSync.localChanged(survival.get(PLAYER, MINING));
+        survivalSync.publishPendingSafe();
+        survival.get(PLAYER, MINING).setTotalXp(20.0d);
+        survivalSync.handoff(PLAYER, List.of(survival.get(PLAYER, MINING)));
+
+        // Handoff überholt das periodische Update
+        redis.deliverReversed();
+
+        assertEquals(20.0d, skyblock.get(PLAYER, MINING).getTotalXp());
+        assertEquals(List.of(20.0d), skyblock.applied);
+    }
+
+    @Test
+    void updatesOfNextServerWinOverLateUpdatesOfPreviousServer() {
+        survival.put(PLAYER, MINING, 10.0d);
+        skyblock.put(PLAYER, MINING, 0.0d);
+        skyblock.online.add(PLAYER);
+
+        // Update von survival, das erst nach dem Wechsel auf skyblock ankommt
+        redis.hold = true;
+        survivalSync.localChanged(survival.get(PLAYER, MINING));
+        survivalSync.publishPendingSafe();
+        List<Delivery> late = redis.takeHeld();
+        redis.hold = false;
+
+        // Quit auf survival: Handoff, danach vergisst survival die Slots (wie NexLevel#flushOnQuit)
+        survival.get(PLAYER, MINING).setTotalXp(12.0d);
+        survivalSync.handoff(PLAYER, List.of(survival.get(PLAYER, MINING)));
+        survivalSync.forget(PLAYER);
+        assertEquals(12.0d, skyblock.get(PLAYER, MINING).getTotalXp());
+
+        skyblock.get(PLAYER, MINING).setTotalXp(30.0d);
+        skyblockSync.localChanged(skyblock.get(PLAYER, MINING));
+        skyblockSync.publishPendingSafe();
+        assertEquals(30.0d, survival.get(PLAYER, MINING).getTotalXp());
+
+        redis.deliver(late);
+        assertEquals(30.0d, skyblock.get(PLAYER, MINING).getTotalXp());
+        assertEquals(List.of(12.0d), skyblock.applied);
+    }
+
+    @Test
+    void lostMessageDoesNotBlockLaterUpdates() {
+        survival.put(PLAYER, MINING, 10.0d);
+        skyblock.put(PLAYER, MINING, 0.0d);
+
+        redis.hold = true;
+        survivalSync.localChanged(survival.get(PLAYER, MINING));
+        survivalSync.publishPendingSafe();
+        redis.takeHeld();
+        redis.hold = false;
+
+        survival.get(PLAYER, MINING).setTotalXp(15.0d);
+        survivalSync.localChanged(survival.get(PLAYER, MINING));
+        survivalSync.publishPendingSafe();
+
+        assertEquals(15.0d, skyblock.get(PLAYER, MINING).getTotalXp());
+    }
+
+    @Test
+    void remoteResetDropsCachedProgress() {
+        survival.put(PLAYER, MINING, 10.0d);
+        skyblock.put(PLAYER, MINING, 10.0d);
+
+        survivalSync.localReset(PLAYER, MINING);
+
+        assertNull(skyblock.get(PLAYER, MINING));
+    }
+
+    private record Delivery(String channel, byte[] frame) {
+    }
+
+    /**
+     * In-process pub/sub: every message is encoded with the binary codec and decoded for each
+     * subscriber, like a real Redis round trip. While {@link #hold} is set, messages are queued
+     * so tests can drop or reorder them.
+     */
+    private static final class LocalRedis implements NexusRedisService {
+
+        private final NexusRedisCodec codec = NexusRedisCodecs.binary();
+        private final Map<UUID, Map.Entry<String, NexusRedisListener>> subscribers = new ConcurrentHashMap<>();
+        private final List<Delivery> held = new ArrayList<>();
+        boolean hold;
+
+        @Override
+        public CompletableFuture<Long> publish(String channel, NexusRedisMessage message) {
+            Delivery delivery = new Delivery(channel, codec.encode(message));
+            if (hold) {
+                held.add(delivery);
+                return CompletableFuture.completedFuture(0L);
+            }
+            return CompletableFuture.completedFuture(dispatch(delivery));
+        }
+
+        private long dispatch(Delivery delivery) {
+            long receivers = 0;
+            for (Map.Entry<String, NexusRedisListener> sub : subscribers.values()) {
+                if (sub.getKey().equals(delivery.channel())) {
+                    sub.getValue().onMessage(delivery.channel(), codec.decode(delivery.frame()));
+                    receivers++;
+                }
+            }
+            return receivers;
+        }
+
+        List<Delivery> takeHeld() {
+            List<Delivery> out = new ArrayList<>(held);
+            held.clear();
+            return out;
+        }
+
+        void deliver(List<Delivery> deliveries) {
+            deliveries.forEach(this::dispatch);
+        }
+
+        void deliverReversed() {
+            List<Delivery> out = takeHeld();
+            Collections.reverse(out);
+            hold = false;
+            deliver(out);
+        }
+
+        @Override
+        public UUID subscribe(String channel, NexusRedisListener listener) {
+            UUID id = UUID.randomUUID();
+            subscribers.put(id, Map.entry(channel, listener));
+            return id;
+        }
+
+        @Override
+        public void unsubscribe(UUID subscriptionId) {
+            subscribers.remove(subscriptionId);
+        }
+
+        @Override
+        public boolean isConnected() {
+            return true;
+        }
+
+        @Override
+        public void shutdown() {
+            subscribers.clear();
+        }
+    }
+
+    /**
+     * Minimal level cache with the remote rules of {@link NexLevel}: remote entries only update
+     * cached players, handoffs of players who are not online become hints.
+     */
+    private static final class CacheNode implements LevelSyncTarget {
+
+        private final Map<UUID, Map<LevelKey, LevelProgress>> cache = new ConcurrentHashMap<>();
+        final Map<UUID, Double> ranking = new ConcurrentHashMap<>();
+        final List<Double> applied = Collections.synchronizedList(new ArrayList<>());
+        final Set<UUID> online = new HashSet<>();
+        final LevelHandoffHints hints = new LevelHandoffHints(NexLevel.HANDOFF_HINT_TTL_MILLIS, NexLevel.HANDOFF_HINT_RETRIES);
+
+        void put(UUID playerId, LevelKey key, double totalXp) {
+            cache.computeIfAbsent(playerId, __ -> new HashMap<>())
+                    .put(key, new LevelProgress(playerId, key, 0, 0.0d, totalXp, 0));
+        }
+
+        LevelProgress get(UUID playerId, LevelKey key) {
+            Map<LevelKey, LevelProgress> map = cache.get(playerId);
+            return map == null ? null : map.get(key);
+        }
+
+        @Override
+        public void applyRemoteProgress(UUID playerId, LevelKey key, double totalXp, int lastAppliedLevel, boolean handoff) {
+            applied.add(totalXp);
+            ranking.put(playerId, totalXp);
+            if (handoff && !online.contains(playerId)) {
+                hints.remember(playerId, key, totalXp);
+                cache.remove(playerId);
+            }
+            LevelProgress current = get(playerId, key);
+            if (current != null) {
+                current.setTotalXp(totalXp);
+            }
+        }
+
+        @Override
+        public void applyRemoteReset(UUID playerId, LevelKey key) {
+            Map<LevelKey, LevelProgress> map = cache.get(playerId);
+            if (map != null) {
+                map.remove(key);
+            }
+        }
+
+        @Override
+        public Object progressLock(UUID playerId) {
+            return cache.get(playerId);
+        }
+
+        @Override
+        public void attachSync(LevelRedisSync sync) {
+        }
+
+        @Override
+        public void detachSync(LevelRedisSync sync) {
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package io.nexstudios.nexus.bukkit.levels;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LevelSyncVersionsTest {
+
+    private static final UUID PLAYER = UUID.fromString("0a1b2c3d-4e5f-6071-8293-a4b5c6d7e8f9");
+    private static final LevelKey MINING = new LevelKey("nexus", "mining");
+    private static final LevelKey FISHING = new LevelKey("nexus", "fishing");
+
+    @Test
+    void lateUpdateIsDroppedAfterHandoff() {
+        LevelSyncVersions serverA = new LevelSyncVersions();
+        LevelSyncVersions serverB = new LevelSyncVersions();
+
+        // A veröffentlicht ein periodisches UPDATE und beim Quit den HANDOFF
+        long update = serverA.next(PLAYER, MINING);
+        long handoff = serverA.next(PLAYER, MINING);
+
+        // B bekommt den HANDOFF vor dem verspäteten UPDATE
+        assertTrue(serverB.accept(PLAYER, MINING, handoff));
+        assertFalse(serverB.accept(PLAYER, MINING, update));
+    }
+
+    @Test
+    void inOrderDeliveryIsAccepted() {
+        LevelSyncVersions serverA = new LevelSyncVersions();
+        LevelSyncVersions serverB = new LevelSyncVersions();
+
+        assertTrue(serverB.accept(PLAYER, MINING, serverA.next(PLAYER, MINING)));
+        assertTrue(serverB.accept(PLAYER, MINING, serverA.next(PLAYER, MINING)));
+    }
+
+    @Test
+    void duplicateDeliveryIsDropped() {
+        LevelSyncVersions serverA = new LevelSyncVersions();
+        LevelSyncVersions serverB = new LevelSyncVersions();
+
+        long version = serverA.next(PLAYER, MINING);
+        assertTrue(serverB.accept(PLAYER, MINING, version));
+        assertFalse(serverB.accept(PLAYER, MINING, version));
+    }
+
+    @Test
+    void receiverContinuesAfterAcceptedHandoff() {
+        LevelSyncVersions serverA = new LevelSyncVersions();
+        LevelSyncVersions serverB = new LevelSyncVersions();
+
+        serverA.next(PLAYER, MINING);
+        long handoff = serverA.next(PLAYER, MINING);
+        assertTrue(serverB.accept(PLAYER, MINING, handoff));
+
+        // Spieler ist jetzt auf B; dessen Updates müssen auf A neuer sein als A's eigener Stand
+        long fromB = serverB.next(PLAYER, MINING);
+        assertTrue(fromB > handoff);
+        assertTrue(serverA.accept(PLAYER, MINING, fromB));
+    }
+
+    @Test
+    void ownPublishedVersionRejectsOlderRemoteEntry() {
+        LevelSyncVersions serverA = new LevelSyncVersions();
+        LevelSyncVersions serverB = new LevelSyncVersions();
+
+        long stale = serverB.next(PLAYER, MINING);
+        serverA.next(PLAYER, MINING);
+        serverA.next(PLAYER, MINING);
+
+        assertFalse(serverA.accept(PLAYER, MINING, stale));
+    }
+
+    @Test
+    void versionsAreTrackedPerPlayerAndKey() {
+        LevelSyncVersions serverA = new LevelSyncVersions();
+        LevelSyncVersions serverB = new LevelSyncVersions();
+
+        serverA.next(PLAYER, MINING);
+        assertTrue(serverB.accept(PLAYER, MINING, serverA.next(PLAYER, MINING)));
+        assertTrue(serverB.accept(PLAYER, FISHING, serverA.next(PLAYER, FISHING)));
+        assertTrue(serverB.accept(UUID.randomUUID(), MINING, 1L));
+    }
+
+    @Test
+    void unversionedEntriesAreAlwaysAccepted() {
+        LevelSyncVersions versions = new LevelSyncVersions();
+
+        assertTrue(versions.accept(PLAYER, MINING, 5L));
+        assertTrue(versions.accept(PLAYER, MINING, 0L));
+        assertTrue(versions.accept(PLAYER, MINING, 0L));
+        assertFalse(versions.accept(PLAYER, MINING, 5L));
+    }
+}
@@ -0,0 +1,75 @@
+package io.nexstudios.nexus.bukkit.placeholder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlaceholderCacheTest {
+
+    private static final UUID PLAYER = UUID.fromString("0b1c2d3e-4f50-6172-8394-a5b6c7d8e9f0");
+    private static final PlaceholderCache.CacheKey KEY = new PlaceholderCache.CacheKey("shop", "balance", PLAYER);
+
+    private record Refresh(PlaceholderCache.CacheKey key, PlaceholderCache.CacheEntry entry) {}
+
+    private static PlaceholderCache.CacheEntry entry(String value, long now) {
+        return new PlaceholderCache.CacheEntry(value, null, now, now + 1000L);
+    }
+
+    /**
+     * Cache with one entry whose refresh was already requested (read in the last quarter of its TTL).
+     */
+    private static Refresh requestRefresh(PlaceholderCache cache) {
+        List<Refresh> requested = new ArrayList<>();
+        cache.setRefresher((ck, e) -> requested.add(new Refresh(ck, e)));
+        cache.put(KEY, entry("100", 0L));
+        assertNotNull(cache.get(KEY, 900L));
+        assertEquals(1, requested.size());
+        return requested.getFirst();
+    }
+
+    @Test
+    void refreshReplacesTheEntryItWasRequestedFor() {
+        PlaceholderCache cache = new PlaceholderCache(0);
+        Refresh r = requestRefresh(cache);
+
+        assertTrue(cache.replace(r.key(), r.entry(), entry("200", 950L)));
+        assertEquals("200", cache.get(KEY, 960L).stringValue);
+    }
+
+    @Test
+    void refreshDoesNotRestoreInvalidatedKey() {
+        PlaceholderCache cache = new PlaceholderCache(0);
+        Refresh r = requestRefresh(cache);
+
+        cache.removeKey("shop", "balance");
+        assertFalse(cache.replace(r.key(), r.entry(), entry("200", 950L)));
+        assertNull(cache.get(KEY, 960L));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void refreshDoesNotRestoreRemovedPlayer() {
+        PlaceholderCache cache = new PlaceholderCache(0);
+        Refresh r = requestRefresh(cache);
+
+        cache.removePlayer(PLAYER);
+        assertFalse(cache.replace(r.key(), r.entry(), entry("200", 950L)));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void refreshDoesNotOverwriteNewerValue() {
+        PlaceholderCache cache = new PlaceholderCache(0);
+        Refresh r = requestRefresh(cache);
+
+        // invalidated and resolved inline again while the refresh was running
+        cache.remove(KEY);
+        cache.put(KEY, entry("300", 920L));
+        assertFalse(cache.replace(r.key(), r.entry(), entry("200", 950L)));
+        assertEquals("300", cache.get(KEY, 960L).stringValue);
+    }
+}
@@ -0,0 +1,489 @@
+package io.nexstudios.nexus.bukkit.redis;
+
+import io.nexstudios.nexus.bukkit.NexusPlugin;
+import io.nexstudios.nexus.bukkit.utils.NexusLogger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Publisher and subscriber of {@link JedisNexusRedisService} against a local RESP server
+ * that speaks just enough of the Redis protocol (AUTH, SELECT, PING, PUBLISH, (P)SUBSCRIBE).
+ */
+class JedisNexusRedisServiceTest {
+
+    private static final String PASSWORD = "secret";
+    private static final int DATABASE = 3;
+
+    private LocalRespServer server;
+    private JedisNexusRedisService service;
+
+    @BeforeAll
+    static void quietLogger() {
+        NexusPlugin.nexusLogger = new NexusLogger("", false, 0, "") {
+            @Override
+            public void info(String message) {
+            }
+
+            @Override
+            public void warning(String message) {
+            }
+
+            @Override
+            public void error(String message) {
+            }
+        };
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new LocalRespServer();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.shutdown();
+        }
+        server.close();
+    }
+
+    private JedisNexusRedisService start(long flushWindowMillis, int maxBatchSize) {
+        return start(flushWindowMillis, maxBatchSize, new JedisNexusRedisService.SubscribeConfig());
+    }
+
+    private JedisNexusRedisService start(long flushWindowMillis, int maxBatchSize,
+                                         JedisNexusRedisService.SubscribeConfig subscribeConfig) {
+        JedisNexusRedisService.PublishConfig publishConfig = new JedisNexusRedisService.PublishConfig();
+        publishConfig.flushWindowMillis = flushWindowMillis;
+        publishConfig.maxBatchSize = maxBatchSize;
+        publishConfig.timeoutMillis = 1000;
+        publishConfig.codec = NexusRedisCodecs.binary();
+        service = new JedisNexusRedisService(null, "127.0.0.1", server.port(), PASSWORD, DATABASE,
+                publishConfig, subscribeConfig);
+        service.start();
+        return service;
+    }
+
+    private static NexusRedisMessage message(int seq) {
+        return NexusRedisPayload.create()
+                .put("seq", seq)
+                .toMessage("TEST", "survival-1");
+    }
+
+    private static int seqOf(byte[] frame) {
+        return NexusRedisPayload.fromMessage(NexusRedisCodecs.detect(frame).decode(frame)).getInt("seq", -1);
+    }
+
+    private static void awaitAll(List<CompletableFuture<Long>> futures) throws Exception {
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void burstWithinFlushWindowIsOnePipelineOnOnePooledConnection() throws Exception {
+        // Fenster deutlich länger als die Schleife, damit alles im selben Batch landet
+        start(500L, 256);
+
+        List<CompletableFuture<Long>> futures = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            futures.add(service.publish(i % 2 == 0 ? "nexus:test:a" : "nexus:test:b", message(i)));
+        }
+        awaitAll(futures);
+
+        JedisNexusRedisService.PublishStats stats = service.getPublishStats();
+        assertEquals(200, stats.published());
+        assertEquals(0, stats.failed());
+        assertEquals(1, stats.batches());
+        assertEquals(0, stats.queueDepth());
+
+        List<LocalRespServer.Published> published = server.published();
+        assertEquals(200, published.size());
+        assertEquals(1, published.stream().map(LocalRespServer.Published::connection).distinct().count());
+
+        // Reihenfolge pro Channel bleibt erhalten
+        List<Integer> a = new ArrayList<>();
+        List<Integer> b = new ArrayList<>();
+        for (LocalRespServer.Published p : published) {
+            (p.channel().equals("nexus:test:a") ? a : b).add(seqOf(p.payload()));
+        }
+        assertEquals(100, a.size());
+        assertEquals(100, b.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(2 * i, a.get(i));
+            assertEquals(2 * i + 1, b.get(i));
+        }
+
+        // AUTH/SELECT einmal beim Aufbau der gepoolten Connection, nicht pro Nachricht
+        List<String> commands = server.commandsOf(published.getFirst().connection());
+        assertEquals(1, commands.stream().filter("AUTH"::equals).count());
+        assertEquals(1, commands.stream().filter("SELECT"::equals).count());
+        assertTrue(commands.indexOf("SELECT") < commands.indexOf("PUBLISH"));
+    }
+
+    @Test
+    void backlogLargerThanMaxBatchSizeIsSplit() throws Exception {
+        start(500L, 50);
+
+        List<CompletableFuture<Long>> futures = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            futures.add(service.publish("nexus:test:a", message(i)));
+        }
+        awaitAll(futures);
+
+        JedisNexusRedisService.PublishStats stats = service.getPublishStats();
+        assertEquals(120, stats.published());
+        assertEquals(3, stats.batches());
+
+        List<LocalRespServer.Published> published = server.published();
+        for (int i = 0; i < published.size(); i++) {
+            assertEquals(i, seqOf(published.get(i).payload()));
+        }
+    }
+
+    @Test
+    void subscribersReceivePublishedMessagesAndFuturesCarryReceiverCount() throws Exception {
+        start(0L, 256);
+        LinkedBlockingQueue<String> received = new LinkedBlockingQueue<>();
+        service.subscribe("nexus:test:chat",
+                (channel, msg) -> received.add("channel " + channel + " " + msg.getPayload().get("seq")));
+        service.subscribePattern("nexus:test:*",
+                (channel, msg) -> received.add("pattern " + channel + " " + msg.getPayload().get("seq")));
+        awaitTrue(() -> server.isSubscribed("nexus:test:chat") && server.isPatternSubscribed("nexus:test:*"));
+
+        assertEquals(2L, service.publish("nexus:test:chat", message(7)).get(5, TimeUnit.SECONDS));
+        assertEquals(1L, service.publish("nexus:test:other", message(8)).get(5, TimeUnit.SECONDS));
+        assertEquals(0L, service.publish("nexus:elsewhere", message(9)).get(5, TimeUnit.SECONDS));
+
+        List<String> got = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            String next = received.poll(5, TimeUnit.SECONDS);
+            assertNotNull(next, "missing delivery, got " + got);
+            got.add(next);
+        }
+        assertTrue(got.containsAll(List.of(
+                "channel nexus:test:chat 7", "pattern nexus:test:chat 7", "pattern nexus:test:other 8")), got.toString());
+        assertNull(received.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void patternDeliveriesShareOneDispatchLanePerPattern() throws Exception {
+        JedisNexusRedisService.SubscribeConfig subscribeConfig = new JedisNexusRedisService.SubscribeConfig();
+        subscribeConfig.asyncDispatch = true;
+        start(0L, 256, subscribeConfig);
+        LinkedBlockingQueue<String> received = new LinkedBlockingQueue<>();
+        UUID id = service.subscribePattern("nexus:test:*", (channel, msg) -> received.add(channel));
+        awaitTrue(() -> server.isPatternSubscribed("nexus:test:*"));
+
+        for (int i = 0; i < 50; i++) {
+            service.publish("nexus:test:" + i, message(i)).get(5, TimeUnit.SECONDS);
+        }
+        // eine Lane je Pattern, in Reihenfolge, egal wie viele Channels gematcht wurden
+        for (int i = 0; i < 50; i++) {
+            assertEquals("nexus:test:" + i, received.poll(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, service.dispatchLaneCount());
+
+        service.unsubscribe(id);
+        assertEquals(0, service.dispatchLaneCount());
+    }
+
+    @Test
+    void pendingMessagesAreSentOnShutdown() throws Exception {
+        start(10_000L, 256);
+
+        List<CompletableFuture<Long>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(service.publish("nexus:test:a", message(i)));
+        }
+        service.shutdown();
+        awaitAll(futures);
+
+        assertEquals(10, server.published().size());
+        assertTrue(service.publish("nexus:test:a", message(10)).isCompletedExceptionally());
+    }
+
+    @Test
+    void failedBatchCompletesFuturesExceptionally() throws Exception {
+        start(0L, 256);
+        server.close();
+
+        CompletableFuture<Long> future = service.publish("nexus:test:a", message(1));
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertNotNull(e.getCause());
+        assertEquals(1, service.getPublishStats().failed());
+        assertEquals(0, service.getPublishStats().published());
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("condition not met within 5s");
+            }
+            Thread.sleep(10L);
+        }
+    }
+
+    /**
+     * Minimal RESP2 server: one thread per connection, records every command and forwards
+     * PUBLISH to (pattern) subscribers of other connections.
+     */
+    private static final class LocalRespServer {
+
+        record Published(int connection, String channel, byte[] payload) {
+        }
+
+        private final class Connection {
+            final int id;
+            final Socket socket;
+            final OutputStream out;
+            final List<String> commands = new CopyOnWriteArrayList<>();
+            final Set<String> channels = ConcurrentHashMap.newKeySet();
+            final Set<String> patterns = ConcurrentHashMap.newKeySet();
+
+            Connection(int id, Socket socket) throws IOException {
+                this.id = id;
+                this.socket = socket;
+                this.out = new BufferedOutputStream(socket.getOutputStream());
+            }
+
+            synchronized void write(byte[] reply) throws IOException {
+                out.write(reply);
+                out.flush();
+            }
+        }
+
+        private final ServerSocket socket;
+        private final ExecutorService threads = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "LocalRespServer");
+            t.setDaemon(true);
+            return t;
+        });
+        private final AtomicInteger ids = new AtomicInteger();
+        private final List<Connection> connections = new CopyOnWriteArrayList<>();
+        private final List<Published> published = new CopyOnWriteArrayList<>();
+
+        LocalRespServer() throws IOException {
+            socket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+            threads.execute(this::acceptLoop);
+        }
+
+        int port() {
+            return socket.getLocalPort();
+        }
+
+        List<Published> published() {
+            return List.copyOf(published);
+        }
+
+        List<String> commandsOf(int connection) {
+            for (Connection c : connections) {
+                if (c.id == connection) {
+                    return List.copyOf(c.commands);
+                }
+            }
+            return List.of();
+        }
+
+        boolean isSubscribed(String channel) {
+            return connections.stream().anyMatch(c -> c.channels.contains(channel));
+        }
+
+        boolean isPatternSubscribed(String pattern) {
+            return connections.stream().anyMatch(c -> c.patterns.contains(pattern));
+        }
+
+        void close() {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+            }
+            for (Connection c : connections) {
+                try {
+                    c.socket.close();
+                } catch (IOException ignored) {
+                }
+            }
+            threads.shutdownNow();
+        }
+
+        private void acceptLoop() {
+            while (!socket.isClosed()) {
+                try {
+                    Connection c = new Connection(ids.incrementAndGet(), socket.accept());
+                    connections.add(c);
+                    threads.execute(() -> serve(c));
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        }
+
+        private void serve(Connection c) {
+            try (c.socket) {
+                DataInputStream in = new DataInputStream(new BufferedInputStream(c.socket.getInputStream()));
+                List<byte[]> args;
+                while ((args = readCommand(in)) != null) {
+                    String name = text(args.getFirst()).toUpperCase(Locale.ROOT);
+                    c.commands.add(name);
+                    switch (name) {
+                        case "PING" -> c.write(simple("PONG"));
+                        case "PUBLISH" -> {
+                            String channel = text(args.get(1));
+                            published.add(new Published(c.id, channel, args.get(2)));
+                            c.write(integer(forward(channel, args.get(2))));
+                        }
+                        case "SUBSCRIBE", "UNSUBSCRIBE", "PSUBSCRIBE", "PUNSUBSCRIBE" -> {
+                            boolean pattern = name.startsWith("P");
+                            Set<String> topics = pattern ? c.patterns : c.channels;
+                            for (int i = 1; i < args.size(); i++) {
+                                String topic = text(args.get(i));
+                                if (name.contains("UNSUB")) {
+                                    topics.remove(topic);
+                                } else {
+                                    topics.add(topic);
+                                }
+                                c.write(array(bulk(name.toLowerCase(Locale.ROOT)), bulk(topic),
+                                        integer(c.channels.size() + c.patterns.size())));
+                            }
+                        }
+                        default -> c.write(simple("OK"));
+                    }
+                }
+            } catch (IOException ignored) {
+                // Client hat die Verbindung geschlossen
+            }
+        }
+
+        private int forward(String channel, byte[] payload) {
+            int receivers = 0;
+            for (Connection c : connections) {
+                try {
+                    if (c.channels.contains(channel)) {
+                        c.write(array(bulk("message"), bulk(channel), bulk(payload)));
+                        receivers++;
+                    }
+                    for (String pattern : c.patterns) {
+                        if (glob(pattern).matcher(channel).matches()) {
+                            c.write(array(bulk("pmessage"), bulk(pattern), bulk(channel), bulk(payload)));
+                            receivers++;
+                        }
+                    }
+                } catch (IOException ignored) {
+                }
+            }
+            return receivers;
+        }
+
+        private static Pattern glob(String pattern) {
+            StringBuilder regex = new StringBuilder();
+            for (char ch : pattern.toCharArray()) {
+                switch (ch) {
+                    case '*' -> regex.append(".*");
+                    case '?' -> regex.append('.');
+                    default -> regex.append(Pattern.quote(String.valueOf(ch)));
+                }
+            }
+            return Pattern.compile(regex.toString());
+        }
+
+        private static List<byte[]> readCommand(DataInputStream in) throws IOException {
+            String header;
+            try {
+                header = readLine(in);
+            } catch (EOFException e) {
+                return null;
+            }
+            if (header.isEmpty() || header.charAt(0) != '*') {
+                throw new IOException("Unsupported request: " + header);
+            }
+            int count = Integer.parseInt(header.substring(1));
+            List<byte[]> args = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                String len = readLine(in);
+                byte[] arg = new byte[Integer.parseInt(len.substring(1))];
+                in.readFully(arg);
+                readLine(in);
+                args.add(arg);
+            }
+            return args;
+        }
+
+        private static String readLine(DataInputStream in) throws IOException {
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            int b;
+            while ((b = in.read()) != '\r') {
+                if (b < 0) {
+                    throw new EOFException();
+                }
+                line.write(b);
+            }
+            in.read(); // '\n'
+            return line.toString(StandardCharsets.UTF_8);
+        }
+
+        private static String text(byte[] bytes) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private static byte[] simple(String s) {
+            return ("+" + s + "\r\n").getBytes(StandardCharsets.UTF_8);
+        }
+
+        private static byte[] integer(long n) {
+            return (":" + n + "\r\n").getBytes(StandardCharsets.UTF_8);
+        }
+
+        private static byte[] bulk(String s) {
+            return bulk(s.getBytes(StandardCharsets.UTF_8));
+        }
+
+        private static byte[] bulk(byte[] data) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length + 16);
+            out.writeBytes(("$" + data.length + "\r\n").getBytes(StandardCharsets.UTF_8));
+            out.writeBytes(data);
+            out.writeBytes("\r\n".getBytes(StandardCharsets.UTF_8));
+            return out.toByteArray();
+        }
+
+        private static byte[] array(byte[]... items) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            out.writeBytes(("*" + items.length + "\r\n").getBytes(StandardCharsets.UTF_8));
+            for (byte[] item : items) {
+                out.writeBytes(item);
+            }
+            return out.toByteArray();
+        }
+    }
+}
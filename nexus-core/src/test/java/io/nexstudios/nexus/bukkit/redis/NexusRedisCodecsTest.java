@@ -0,0 +1,112 @@
+package io.nexstudios.nexus.bukkit.redis;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NexusRedisCodecsTest {
+
+    private static final UUID PLAYER = UUID.fromString("5f1c2a3b-4d5e-6f70-8192-a3b4c5d6e7f8");
+
+    private static NexusRedisMessage sample() {
+        return NexusRedisPayload.create()
+                .putUuid("player", PLAYER)
+                .put("name", "Steve \"the\" builder, ä")
+                .put("count", 42)
+                .put("total", 1_234_567_890_123L)
+                .put("ratio", 0.75d)
+                .put("enabled", true)
+                .putStringList("tags", List.of("a", "b,c", "d"))
+                .putLocation("spawn", new Location(world("world_nether"), 1.5, 64.0, -20.25, 90.0f, -12.5f))
+                .toMessage("TEST_TYPE", "survival-1");
+    }
+
+    @Test
+    void binaryRoundTripKeepsValuesAndTypes() {
+        NexusRedisCodec codec = NexusRedisCodecs.binary();
+        byte[] frame = codec.encode(sample());
+
+        assertSame(codec, NexusRedisCodecs.detect(frame));
+        NexusRedisMessage decoded = codec.decode(frame);
+        assertEquals("TEST_TYPE", decoded.getType());
+        assertEquals("survival-1", decoded.getOrigin());
+        assertEquals(sample().getPayload(), decoded.getPayload());
+    }
+
+    @Test
+    void jsonRoundTripKeepsValues() {
+        NexusRedisCodec codec = NexusRedisCodecs.json();
+        byte[] frame = codec.encode(sample());
+
+        assertSame(codec, NexusRedisCodecs.detect(frame));
+        NexusRedisMessage decoded = codec.decode(frame);
+        assertEquals("TEST_TYPE", decoded.getType());
+        assertEquals("survival-1", decoded.getOrigin());
+
+        NexusRedisPayload p = NexusRedisPayload.fromMessage(decoded);
+        assertEquals(PLAYER, p.getUuid("player"));
+        assertEquals("Steve \"the\" builder, ä", p.getString("name"));
+        assertEquals(42, p.getInt("count", 0));
+        assertEquals(1_234_567_890_123L, p.getLong("total", 0L));
+        assertEquals(0.75d, p.getDouble("ratio", 0d));
+        assertTrue(p.getBoolean("enabled", false));
+    }
+
+    @Test
+    void locationIsReadableInFlattenedFormWithEitherCodec() {
+        for (NexusRedisCodec codec : List.of(NexusRedisCodecs.json(), NexusRedisCodecs.binary())) {
+            NexusRedisPayload p = NexusRedisPayload.fromMessage(codec.decode(codec.encode(sample())));
+            assertEquals("world_nether", p.getString("spawn.world"), codec.name());
+            assertEquals(1.5, p.getDouble("spawn.x", Double.NaN), codec.name());
+            assertEquals(64.0, p.getDouble("spawn.y", Double.NaN), codec.name());
+            assertEquals(-20.25, p.getDouble("spawn.z", Double.NaN), codec.name());
+            assertEquals(90.0, p.getDouble("spawn.yaw", Double.NaN), codec.name());
+            assertEquals(-12.5, p.getDouble("spawn.pitch", Double.NaN), codec.name());
+        }
+    }
+
+    @Test
+    void binaryFrameDoesNotCarryFlattenedLocationKeys() {
+        String frame = new String(NexusRedisCodecs.binary().encode(sample()), StandardCharsets.ISO_8859_1);
+        for (String suffix : NexusRedisLocation.FLAT_SUFFIXES) {
+            assertFalse(frame.contains("spawn" + suffix), suffix);
+        }
+    }
+
+    @Test
+    void truncatedBinaryFrameIsRejected() {
+        byte[] frame = NexusRedisCodecs.binary().encode(sample());
+        byte[] truncated = Arrays.copyOf(frame, frame.length / 2);
+        assertThrows(IllegalArgumentException.class, () -> NexusRedisCodecs.binary().decode(truncated));
+    }
+
+    @Test
+    void codecsAreFoundByNameAndUnknownFramesFallBackToJson() {
+        assertSame(NexusRedisCodecs.binary(), NexusRedisCodecs.byName(NexusRedisCodecs.binary().name().toUpperCase(Locale.ROOT)));
+        assertSame(NexusRedisCodecs.json(), NexusRedisCodecs.byName("does-not-exist"));
+        assertSame(NexusRedisCodecs.json(), NexusRedisCodecs.byName(null));
+        // Frames älterer Server ohne Magic-Byte werden als JSON gelesen
+        assertSame(NexusRedisCodecs.json(), NexusRedisCodecs.detect("{\"type\":\"X\"}".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    // nur getName() wird von NexusRedisLocation.of(...) benötigt
+    private static World world(String name) {
+        return (World) Proxy.newProxyInstance(World.class.getClassLoader(), new Class<?>[]{World.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getName" -> name;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "World{" + name + "}";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -34,7 +34,7 @@ import org.joml.Vector3f; // <-- NEU
 
 public final class PaperHoloBuilder implements HoloBuilder, HoloBuilderFactory {
 
-    private enum ViewerMode { ONLY_PLAYER, EVERYONE }
+    private enum ViewerMode { ONLY_PLAYER, EVERYONE, NONE }
 
     private Location baseLoc;
     private List<Component> lines = new ArrayList<>();
@@ -104,6 +104,13 @@ public final class PaperHoloBuilder implements HoloBuilder, HoloBuilderFactory {
         return this;
     }
 
+    @Override
+    public HoloBuilder viewersNone() {
+        this.viewerMode = ViewerMode.NONE;
+        this.onlyViewer = null;
+        return this;
+    }
+
     @Override public HoloBuilder useTextDisplay(boolean use) { return this; }
 
     @Override
@@ -137,7 +144,7 @@ public final class PaperHoloBuilder implements HoloBuilder, HoloBuilderFactory {
 
         if (viewerMode == ViewerMode.ONLY_PLAYER && onlyViewer != null && onlyViewer.isOnline()) {
             holo.showTo(onlyViewer);
-        } else {
+        } else if (viewerMode != ViewerMode.NONE) {
             for (Player p : Bukkit.getOnlinePlayers()) holo.showTo(p);
         }
 
@@ -165,6 +172,10 @@ public final class PaperHoloBuilder implements HoloBuilder, HoloBuilderFactory {
         private final Set<UUID> visibleFor = new HashSet<>();
         private final Accessors accessors;
 
+        // Spawn- und Metadaten-Paket werden einmal gebaut und für alle Viewer wiederverwendet
+        private Packet<?> spawnPacket;
+        private Packet<?> metaPacket;
+
         private PaperHologram(Level nmsLevel,
                               Location baseLoc,
                               List<Component> lines,
@@ -185,7 +196,7 @@ public final class PaperHoloBuilder implements HoloBuilder, HoloBuilderFactory {
             this.billboard = billboard;
             this.attachTo = attachTo;
             this.scale = (scale == null ? new Vector(1, 1, 1) : scale.clone());
-            this.accessors = Accessors.resolve(nmsLevel);
+            this.accessors = Accessors.of(nmsLevel);
         }
 
         @Override
@@ -193,8 +204,10 @@ public final class PaperHoloBuilder implements HoloBuilder, HoloBuilderFactory {
             if (player == null || !player.isOnline()) return;
             var sp = ((CraftPlayer) player).getHandle();
 
-            sp.connection.send(spawnTextDisplay(entityId, uuid, baseLoc));
-            sp.connection.send(metaTextDisplay(entityId, joinLines(lines)));
+            if (spawnPacket == null) spawnPacket = spawnTextDisplay(entityId, uuid, baseLoc);
+            if (metaPacket == null) metaPacket = metaTextDisplay(entityId, joinLines(lines));
+            sp.connection.send(spawnPacket);
+            sp.connection.send(metaPacket);
 
             if (attachTo != null) {
                 ClientboundSetPassengersPacket pkt = createPassengerPacketForBukkitEntity(attachTo, new int[]{entityId});
@@ -231,7 +244,8 @@ public final class PaperHoloBuilder implements HoloBuilder, HoloBuilderFactory {
             if (newLines == null || newLines.isEmpty()) return;
             this.lines = new ArrayList<>(newLines);
 
-            broadcast(metaTextDisplay(entityId, joinLines(newLines)));
+            metaPacket = metaTextDisplay(entityId, joinLines(newLines));
+            broadcast(metaPacket);
 
             if (attachTo != null) {
                 ClientboundSetPassengersPacket pkt = createPassengerPacketForBukkitEntity(attachTo, new int[]{entityId});
@@ -245,6 +259,7 @@ public final class PaperHoloBuilder implements HoloBuilder, HoloBuilderFactory {
         public void teleport(Location newBase) {
             if (newBase == null) return;
             this.baseLoc = newBase.clone();
+            this.spawnPacket = null;
         }
 
         @Override
@@ -378,6 +393,18 @@ public final class PaperHoloBuilder implements HoloBuilder, HoloBuilderFactory {
             this.displayScale = displayScale;
         }
 
+        private static volatile Accessors cached;
+
+        // Die Accessoren sind statisch je Entity-Klasse -> einmal auflösen statt pro Hologramm
+        static Accessors of(Level level) {
+            Accessors a = cached;
+            if (a == null) {
+                a = resolve(level);
+                if (a.textText != null) cached = a;
+            }
+            return a;
+        }
+
         static Accessors resolve(Level level) {
             Display.TextDisplay sample = newTextDisplay(level);
 